@@ -1,5 +1,6 @@
 package org.ton.java.address;
 
+import org.ton.java.utils.Codec;
 import org.ton.java.utils.Utils;
 
 import java.io.IOException;
@@ -43,13 +44,8 @@ public class Address {
         }
 
         if (address.indexOf(':') == -1) {
-            if (address.indexOf('-') != -1 || address.indexOf('_') != -1) {
-                isUrlSafe = true;
-                // convert to unsafe URL
-                address = address.replace('-', '+').replace('_', '/');
-            } else {
-                isUrlSafe = false;
-            }
+            // both alphabets are decoded by parseFriendlyAddress()
+            isUrlSafe = address.indexOf('-') != -1 || address.indexOf('_') != -1;
         }
 
         int colonIndex = address.indexOf(':');
@@ -156,11 +152,18 @@ public class Address {
     }
 
     public String toDecimal() {
-        return new BigInteger(Utils.bytesToHex(hashPart), 16).toString(10);
+        return toBigInteger().toString(10);
     }
 
     public BigInteger toBigInteger() {
-        return new BigInteger(Utils.bytesToHex(hashPart), 16);
+        return new BigInteger(1, hashPart);
+    }
+
+    /**
+     * @return immutable copy of this address, e.g. to be used as a key in maps
+     */
+    public ImmutableAddress toImmutable() {
+        return ImmutableAddress.of(this);
     }
 
     public String toHex() {
@@ -238,12 +241,7 @@ public class Address {
             System.arraycopy(addr, 0, addressWithChecksum, 0, 34);
             System.arraycopy(crc16, 0, addressWithChecksum, 34, 2);
 
-            String addressBase64 = Utils.bytesToBase64(addressWithChecksum);
-
-            if (isUrlSafe) {
-                addressBase64 = Utils.bytesToBase64SafeUrl(addressWithChecksum);
-            }
-            return addressBase64;
+            return Codec.toBase64(addressWithChecksum, isUrlSafe);
         }
     }
 
@@ -260,7 +258,7 @@ public class Address {
         if (addressString.length() != 48) {
             throw new Error("User-friendly address should contain strictly 48 characters");
         }
-        byte[] data = Utils.base64ToBytes(addressString);
+        byte[] data = Codec.fromBase64(addressString);
         if (data.length != 36) { // 1byte tag + 1byte workchain + 32 bytes hash + 2 byte crc
             throw new Error("Unknown address type: byte length is not equal to 36");
         }
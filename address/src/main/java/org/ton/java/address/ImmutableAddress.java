@@ -0,0 +1,291 @@
+package org.ton.java.address;
+
+import org.ton.java.utils.CRC16;
+import org.ton.java.utils.Codec;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Immutable standard address (workchain and 32 bytes hash), suitable as a key in maps and sets.
+ * <p>
+ * equals() and hashCode() take into account only workchain and hash, flags of the parsed form
+ * (bounceable, test only, url safe) are kept for toString() only. String renderings and
+ * BigInteger form are computed once on first use.
+ */
+public final class ImmutableAddress {
+
+    private static final byte bounceable_tag = 0x11;
+    private static final byte non_bounceable_tag = 0x51;
+    private static final int test_flag = 0x80;
+
+    private final byte wc;
+    private final byte[] hashPart;
+    private final int hashCode;
+
+    private final boolean isUserFriendly;
+    private final boolean isUrlSafe;
+    private final boolean isBounceable;
+    private final boolean isTestOnly;
+
+    private String raw;
+    private BigInteger bigInteger;
+    /**
+     * index: bounceable | testOnly << 1 | urlSafe << 2
+     */
+    private final String[] friendly = new String[8];
+
+    private ImmutableAddress(byte wc, byte[] hashPart, boolean isUserFriendly, boolean isUrlSafe,
+                             boolean isBounceable, boolean isTestOnly) {
+        this.wc = wc;
+        this.hashPart = hashPart;
+        this.isUserFriendly = isUserFriendly;
+        this.isUrlSafe = isUrlSafe;
+        this.isBounceable = isBounceable;
+        this.isTestOnly = isTestOnly;
+        this.hashCode = 31 * wc + (((hashPart[0] & 0xff) << 24) | ((hashPart[1] & 0xff) << 16)
+                | ((hashPart[2] & 0xff) << 8) | (hashPart[3] & 0xff));
+    }
+
+    /**
+     * @param wc       workchain
+     * @param hashPart 32 bytes, copied
+     */
+    public static ImmutableAddress of(int wc, byte[] hashPart) {
+        if (isNull(hashPart) || hashPart.length != 32) {
+            throw new IllegalArgumentException("Address hash should contain 32 bytes");
+        }
+        return new ImmutableAddress((byte) wc, hashPart.clone(), false, true, true, false);
+    }
+
+    public static ImmutableAddress of(Address address) {
+        if (isNull(address)) {
+            throw new IllegalArgumentException("Address is null");
+        }
+        return new ImmutableAddress(address.wc, address.hashPart.clone(), address.isUserFriendly,
+                address.isUrlSafe, address.isBounceable, address.isTestOnly);
+    }
+
+    /**
+     * Parses raw (wc:hex) or user-friendly (base64 or base64url) address.
+     */
+    public static ImmutableAddress of(String address) {
+        if (isNull(address)) {
+            throw new IllegalArgumentException("Address is null");
+        }
+        int colonIndex = address.indexOf(':');
+        if (colonIndex == -1) {
+            return parseFriendly(address);
+        }
+        return parseRaw(address, colonIndex);
+    }
+
+    public static boolean isValid(String address) {
+        try {
+            of(address);
+            return true;
+        } catch (Throwable e) {
+            return false;
+        }
+    }
+
+    private static ImmutableAddress parseRaw(String address, int colonIndex) {
+        if (colonIndex != address.lastIndexOf(':')) {
+            throw new Error("Invalid address " + address);
+        }
+        byte wc;
+        if (colonIndex == 1 && address.charAt(0) == '0') {
+            wc = 0;
+        } else if (colonIndex == 2 && address.charAt(0) == '-' && address.charAt(1) == '1') {
+            wc = -1;
+        } else {
+            throw new Error("Invalid address wc " + address);
+        }
+
+        int hexLength = address.length() - colonIndex - 1;
+        if (hexLength != 64 && hexLength != 63 && hexLength != 1) {
+            throw new Error("Invalid address hex " + address);
+        }
+        // shorter forms are left padded with zeros
+        byte[] hash = new byte[32];
+        int nibble = 64 - hexLength;
+        for (int i = colonIndex + 1; i < address.length(); i++, nibble++) {
+            int digit = Character.digit(address.charAt(i), 16);
+            if (digit < 0) {
+                throw new Error("Invalid address hex " + address);
+            }
+            hash[nibble >> 1] |= (byte) ((nibble & 1) == 0 ? digit << 4 : digit);
+        }
+        return new ImmutableAddress(wc, hash, false, false, false, false);
+    }
+
+    private static ImmutableAddress parseFriendly(String address) {
+        if (address.length() != 48) {
+            throw new Error("User-friendly address should contain strictly 48 characters");
+        }
+        byte[] data = new byte[36];
+        try {
+            Codec.fromBase64(address, 0, 48, data, 0);
+        } catch (IllegalArgumentException e) {
+            throw new Error("Invalid address " + address);
+        }
+        boolean urlSafe = address.indexOf('-') != -1 || address.indexOf('_') != -1;
+
+        int crc = CRC16.compute(data, 0, 34);
+        if (data[34] != (byte) (crc >> 8) || data[35] != (byte) crc) {
+            throw new Error("Wrong crc16 hashsum");
+        }
+
+        int tag = data[0] & 0xff;
+        boolean isTestOnly = (tag & test_flag) != 0;
+        tag &= ~test_flag;
+        if ((tag != bounceable_tag) && (tag != non_bounceable_tag)) {
+            throw new Error("Unknown address tag");
+        }
+        byte wc = data[1];
+        if (wc != 0 && wc != -1) {
+            throw new Error("Invalid address wc " + wc);
+        }
+        return new ImmutableAddress(wc, Arrays.copyOfRange(data, 2, 34), true, urlSafe,
+                tag == bounceable_tag, isTestOnly);
+    }
+
+    public int getWc() {
+        return wc;
+    }
+
+    /**
+     * @return copy of 32 bytes hash part
+     */
+    public byte[] getHashPart() {
+        return hashPart.clone();
+    }
+
+    public boolean isUserFriendly() {
+        return isUserFriendly;
+    }
+
+    public boolean isUrlSafe() {
+        return isUrlSafe;
+    }
+
+    public boolean isBounceable() {
+        return isBounceable;
+    }
+
+    public boolean isTestOnly() {
+        return isTestOnly;
+    }
+
+    /**
+     * @return new mutable Address with same flags
+     */
+    public Address toAddress() {
+        Address address = Address.of(isBounceable ? bounceable_tag : non_bounceable_tag, wc, hashPart.clone());
+        address.isTestOnly = isTestOnly;
+        address.isUserFriendly = isUserFriendly;
+        address.isUrlSafe = isUrlSafe;
+        return address;
+    }
+
+    public BigInteger toBigInteger() {
+        BigInteger result = bigInteger;
+        if (isNull(result)) {
+            result = new BigInteger(1, hashPart);
+            bigInteger = result;
+        }
+        return result;
+    }
+
+    public String toDecimal() {
+        return toBigInteger().toString(10);
+    }
+
+    public String toHex() {
+        return Codec.toHex(hashPart);
+    }
+
+    public String toRaw() {
+        String result = raw;
+        if (isNull(result)) {
+            result = wc + ":" + toHex();
+            raw = result;
+        }
+        return result;
+    }
+
+    public String toBounceable() {
+        return toString(true, true, true, false);
+    }
+
+    public String toBounceableTestnet() {
+        return toString(true, true, true, true);
+    }
+
+    public String toNonBounceable() {
+        return toString(true, true, false, false);
+    }
+
+    public String toNonBounceableTestnet() {
+        return toString(true, true, false, true);
+    }
+
+    /**
+     * Same as Address.toString(), user-friendly url safe bounceable form.
+     */
+    @Override
+    public String toString() {
+        return toBounceable();
+    }
+
+    public String toString(boolean isUserFriendly) {
+        return toString(isUserFriendly, isUrlSafe, isBounceable, isTestOnly);
+    }
+
+    public String toString(boolean isUserFriendly, boolean isUrlSafe, boolean isBounceable, boolean isTestOnly) {
+        if (!isUserFriendly) {
+            return toRaw();
+        }
+        int index = (isBounceable ? 1 : 0) | (isTestOnly ? 2 : 0) | (isUrlSafe ? 4 : 0);
+        String result = friendly[index];
+        if (isNull(result)) {
+            result = encodeFriendly(isUrlSafe, isBounceable, isTestOnly);
+            friendly[index] = result;
+        }
+        return result;
+    }
+
+    private String encodeFriendly(boolean isUrlSafe, boolean isBounceable, boolean isTestOnly) {
+        int tag = isBounceable ? bounceable_tag : non_bounceable_tag;
+        if (isTestOnly) {
+            tag |= test_flag;
+        }
+        byte[] data = new byte[36];
+        data[0] = (byte) tag;
+        data[1] = wc;
+        System.arraycopy(hashPart, 0, data, 2, 32);
+        int crc = CRC16.compute(data, 0, 34);
+        data[34] = (byte) (crc >> 8);
+        data[35] = (byte) crc;
+        return Codec.toBase64(data, isUrlSafe);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ImmutableAddress)) {
+            return false;
+        }
+        ImmutableAddress other = (ImmutableAddress) o;
+        return wc == other.wc && hashCode == other.hashCode && Arrays.equals(hashPart, other.hashPart);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+}
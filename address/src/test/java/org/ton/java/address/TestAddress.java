@@ -131,4 +131,46 @@ public class TestAddress {
         assertThat(Address.of(TEST_ADDRESS_5).isWallet).isTrue();
 
     }
+    @Test
+    public void testImmutableAddress() {
+        for (String addr : new String[]{TEST_ADDRESS_0, TEST_ADDRESS_1, TEST_ADDRESS_3, TEST_ADDRESS_4, TEST_ADDRESS_5,
+                Address.of(TEST_ADDRESS_3).toString(true, false, true, false)}) {
+            Address address = Address.of(addr);
+            ImmutableAddress immutable = ImmutableAddress.of(addr);
+
+            assertThat(immutable.getWc()).isEqualTo((int) address.wc);
+            assertThat(immutable.toRaw()).isEqualTo(address.toRaw());
+            assertThat(immutable.toString()).isEqualTo(address.toString());
+            assertThat(immutable.toNonBounceableTestnet()).isEqualTo(address.toNonBounceableTestnet());
+            assertThat(immutable.toString(true)).isEqualTo(address.toString(true));
+            assertThat(immutable.toString(true, false, true, false)).isEqualTo(address.toString(true, false, true, false));
+            assertThat(immutable.toBigInteger()).isEqualTo(address.toBigInteger());
+            assertThat(immutable.toDecimal()).isEqualTo(address.toDecimal());
+            assertThat(immutable.isBounceable()).isEqualTo(address.isBounceable);
+            assertThat(immutable.isTestOnly()).isEqualTo(address.isTestOnly);
+            assertThat(immutable.toAddress().toRaw()).isEqualTo(address.toRaw());
+            assertThat(address.toImmutable()).isEqualTo(immutable);
+        }
+
+        // same wc and hash, different flags
+        assertThat(ImmutableAddress.of(TEST_ADDRESS_0)).isEqualTo(ImmutableAddress.of(TEST_ADDRESS_1));
+        assertThat(ImmutableAddress.of(TEST_ADDRESS_0).hashCode()).isEqualTo(ImmutableAddress.of(TEST_ADDRESS_3).hashCode());
+        assertThat(ImmutableAddress.of(TEST_ADDRESS_0)).isNotEqualTo(ImmutableAddress.of(TEST_ADDRESS_5));
+
+        ImmutableAddress short1 = ImmutableAddress.of("0:1");
+        assertThat(short1.toRaw()).isEqualTo("0:0000000000000000000000000000000000000000000000000000000000000001");
+
+        assertThat(ImmutableAddress.isValid("0:2cf55953e92efbeadab7ba725c3f93a0b23f842cbba72d7b8e6f510a70e422e")).isTrue();
+        assertThat(ImmutableAddress.isValid("1:2cf55953e92efbeadab7ba725c3f93a0b23f842cbba72d7b8e6f510a70e422e3")).isFalse();
+        assertThat(ImmutableAddress.isValid("0QAs9VlT6S776tq3unJcP5Ogsj-ELLunLXuOb1EKcOQi4-QP")).isFalse();
+        assertThat(ImmutableAddress.isValid("0:2cf55953e92efbeadab7ba725c3f93a0b23f842cbba72d7b8e6f510a70e422zz")).isFalse();
+    }
+
+    @Test
+    public void testImmutableAddressCachesRenderings() {
+        ImmutableAddress address = ImmutableAddress.of(TEST_ADDRESS_3);
+        assertThat(address.toBounceable()).isSameAs(address.toBounceable());
+        assertThat(address.toRaw()).isSameAs(address.toRaw());
+        assertThat(address.toBigInteger()).isSameAs(address.toBigInteger());
+    }
 }
@@ -1,6 +1,7 @@
 package org.ton.java.bitstring;
 
 import org.ton.java.address.Address;
+import org.ton.java.utils.Codec;
 import org.ton.java.utils.Utils;
 
 import java.math.BigInteger;
@@ -31,51 +32,34 @@ public class BitString implements Bits<Boolean> {
     }
 
     public BitString(byte[] bytes) {
-        this(Utils.signedBytesToUnsigned(bytes));
+        this(bytes, bytes.length * 8);
     }
 
     public BitString(int[] bytes) {
-        if (bytes.length == 0) {
-            array = new ArrayDeque<>(0);
-            initialLength = 0;
-        } else {
-            byte[] bits = Utils.leftPadBytes(Utils.bytesToBitString(bytes).getBytes(StandardCharsets.UTF_8), bytes.length * 8, '0');
-
-            array = new ArrayDeque<>(bits.length);
-            for (byte bit : bits) { // whole length
-                if (bit == (byte) '1') {
-                    array.addLast(true);
-                } else if (bit == (byte) '0') {
-                    array.addLast(false);
-                } else {
-                    // else '-' sign - do nothing
-                }
-            }
-            initialLength = bits.length;
-        }
+        this(Utils.unsignedBytesToSigned(bytes));
     }
 
 //    public BitString(byte[] bytes, int size) {
 //        this(Utils.signedBytesToUnsigned(bytes), size); // todo redo below
 //    }
 
+    /**
+     * @param bytes packed bits
+     * @param size  number of bits to take from bytes
+     */
     public BitString(byte[] bytes, int size) {
         if (bytes.length == 0) {
             array = new ArrayDeque<>(0);
             initialLength = 0;
         } else {
-            byte[] bits = Utils.leftPadBytes(Utils.bytesToBitString(bytes).getBytes(StandardCharsets.UTF_8), bytes.length * 8, '0');
-            array = new ArrayDeque<>(bits.length);
-            for (int i = 0; i < size; i++) { // specified length
-                if (bits[i] == (byte) '1') {
-                    array.addLast(true);
-                } else if (bits[i] == (byte) '0') {
-                    array.addLast(false);
-                } else {
-                    // else '-' sign - do nothing
-                }
+            if (size > bytes.length * 8) {
+                throw new Error("BitString overflow");
+            }
+            array = new ArrayDeque<>(bytes.length * 8);
+            for (int i = 0; i < size; i++) {
+                array.addLast(Codec.getBit(bytes, i));
             }
-            initialLength = bits.length;
+            initialLength = bytes.length * 8;
         }
     }
 
@@ -150,8 +134,8 @@ public class BitString implements Bits<Boolean> {
     }
 
     public void writeBits(String b) {
-        for (Character c : b.toCharArray()) {
-            array.addLast(c == '1');
+        for (int i = 0; i < b.length(); i++) {
+            array.addLast(b.charAt(i) == '1');
         }
     }
 
@@ -265,7 +249,9 @@ public class BitString implements Bits<Boolean> {
      */
     public void writeBytes(byte[] ui8) {
         for (byte b : ui8) {
-            writeUint8(b & 0xff);
+            for (int i = 7; i >= 0; i--) {
+                array.addLast(((b >>> i) & 1) == 1);
+            }
         }
     }
 
@@ -276,7 +262,15 @@ public class BitString implements Bits<Boolean> {
      */
     public void writeBytes(int[] ui8) {
         for (int b : ui8) {
-            writeUint8(b);
+            if (b < 0) {
+                throw new Error("Unsigned number cannot be less than 0");
+            }
+            if (b > 255) {
+                throw new Error("bitLength is too small for number, got number=" + b + ", bitLength=8");
+            }
+            for (int i = 7; i >= 0; i--) {
+                array.addLast(((b >>> i) & 1) == 1);
+            }
         }
     }
 
@@ -315,8 +309,9 @@ public class BitString implements Bits<Boolean> {
             writeUint(BigInteger.ZERO, bitLength);
         } else {
             int bytesSize = (value.bitLength() + 7) / 8;
-            if (bytesSize >= bitLength) {
-                throw new Error("Amount is too big. Should fit in " + bitLength + " bits");
+            // length prefix of bitLength bits holds at most 2^bitLength - 1 bytes
+            if ((bitLength < 31) && (bytesSize >= (1 << bitLength))) {
+                throw new Error("Amount is too big. Its length should fit in " + bitLength + " bits");
             }
             writeUint(BigInteger.valueOf(bytesSize), bitLength);
             writeUint(value, bytesSize * 8);
@@ -414,24 +409,17 @@ public class BitString implements Bits<Boolean> {
         if (bitLength < 1) {
             throw new Error("Incorrect bitLength");
         }
+        if (bitLength > array.size()) {
+            throw new Error("BitString overflow");
+        }
 
-        BitString cloned = clone();
         int bytesNeeded = (bitLength + 7) / 8;
         byte[] bytes = new byte[bytesNeeded];
 
-        int bitIndex = 0;
-        int byteIndex = 0;
-
+        Iterator<Boolean> it = array.iterator();
         for (int i = 0; i < bitLength; i++) {
-            Boolean bit = cloned.readBit();
-            if (bit) {
-                bytes[byteIndex] |= (byte) (1 << (7 - bitIndex));
-            }
-
-            bitIndex++;
-            if (bitIndex == 8) {
-                bitIndex = 0;
-                byteIndex++;
+            if (it.next()) {
+                bytes[i / 8] |= (byte) (1 << (7 - (i % 8)));
             }
         }
 
@@ -444,6 +432,23 @@ public class BitString implements Bits<Boolean> {
         return bigInteger;
     }
 
+    /**
+     * Read bit at position without modifying BitString
+     *
+     * @param position zero-based bit position
+     * @return true or false
+     */
+    public Boolean preReadBitAt(int position) {
+        if (position >= array.size()) {
+            throw new Error("BitString overflow");
+        }
+        Iterator<Boolean> it = array.iterator();
+        for (int i = 0; i < position; i++) {
+            it.next();
+        }
+        return it.next();
+    }
+
     /**
      * Read unsigned int of bitLength
      *
@@ -484,6 +489,48 @@ public class BitString implements Bits<Boolean> {
         return bigInteger;
     }
 
+    /**
+     * Read up to 64 bits as unsigned number into long, without allocating BigInteger.
+     * For bitLength 64 the result holds the raw two's complement bits.
+     *
+     * @param bitLength int bitLength Size of uint in bits, 1..64
+     * @return long
+     */
+    public long readUintLong(int bitLength) {
+        if ((bitLength < 1) || (bitLength > 64)) {
+            throw new Error("Incorrect bitLength");
+        }
+        if (bitLength > array.size()) {
+            throw new Error("BitString overflow");
+        }
+        long result = 0;
+        for (int i = 0; i < bitLength; i++) {
+            result = (result << 1) | (array.pollFirst() ? 1 : 0);
+        }
+        return result;
+    }
+
+    /**
+     * Read up to 64 bits as unsigned number into long without modifying BitString
+     *
+     * @param bitLength int bitLength Size of uint in bits, 1..64
+     * @return long
+     */
+    public long preReadUintLong(int bitLength) {
+        if ((bitLength < 1) || (bitLength > 64)) {
+            throw new Error("Incorrect bitLength");
+        }
+        if (bitLength > array.size()) {
+            throw new Error("BitString overflow");
+        }
+        long result = 0;
+        Iterator<Boolean> it = array.iterator();
+        for (int i = 0; i < bitLength; i++) {
+            result = (result << 1) | (it.next() ? 1 : 0);
+        }
+        return result;
+    }
+
     /**
      * Read signed int of bitLength
      *
@@ -581,16 +628,7 @@ public class BitString implements Bits<Boolean> {
      * @return BitString from 0 to writeCursor
      */
     public String toBitString() {
-        BitString cloned = clone();
-        Deque<Boolean> deque = cloned.array;
-        char[] chars = new char[deque.size()];
-
-        int i = 0;
-        for (Boolean b : deque) {
-            chars[i++] = b ? '1' : '0';
-        }
-
-        return new String(chars);
+        return getBitString();
     }
 
     public int getLength() {
@@ -611,95 +649,51 @@ public class BitString implements Bits<Boolean> {
         return new String(chars);
     }
 
+    /**
+     * Unlike toByteArray(), incomplete last byte is not padded, i.e. bits 101 give 5.
+     */
     public int[] toUnsignedByteArray() {
-        if (array.isEmpty()) {
-            return new int[0];
-        }
-
-        String bin = getBitString();
-        int sz = bin.length();
-        int[] result = new int[(sz + 7) / 8];
-
-        for (int i = 0; i < sz; i += 8) {
-            String str = bin.substring(i, Math.min(sz, i + 8));
-            result[i / 8] = Integer.parseInt(str, 2);
-        }
-
-        return result;
+        return Utils.signedBytesToUnsigned(toSignedByteArray());
     }
 
+    /**
+     * Unlike toByteArray(), incomplete last byte is not padded, i.e. bits 101 give 5.
+     */
     public byte[] toSignedByteArray() {
-        if (array.isEmpty()) {
-            return new byte[0];
-        }
-
-        String bin = getBitString();
-        int sz = bin.length();
-        byte[] result = new byte[(sz + 7) / 8];
-
-        for (int i = 0; i < sz; i += 8) {
-            String str = bin.substring(i, Math.min(sz, i + 8));
-            result[i / 8] = (byte) (Integer.parseInt(str, 2) & 0xFF);
+        byte[] result = toByteArray();
+        int rest = array.size() % 8;
+        if (rest != 0) {
+            result[result.length - 1] = (byte) ((result[result.length - 1] & 0xff) >>> (8 - rest));
         }
-
         return result;
     }
 
     public List<BigInteger> toByteList() {
-        if (array.isEmpty()) {
-            return new ArrayList<>();
+        byte[] bytes = toSignedByteArray();
+        List<BigInteger> result = new ArrayList<>(bytes.length);
+        for (byte b : bytes) {
+            result.add(BigInteger.valueOf(b & 0xff));
         }
-
-        String bin = getBitString();
-        int sz = bin.length();
-        List<BigInteger> result = new ArrayList<>((sz + 7) / 8);
-
-        for (int i = 0; i < sz; i += 8) {
-            String str = bin.substring(i, Math.min(sz, i + 8));
-            result.add(new BigInteger(str, 2));
-        }
-
         return result;
     }
 
+    /**
+     * @return packed bits, last byte padded with zeros
+     */
     public byte[] toByteArray() {
-        if (array.isEmpty()) {
-            return new byte[0];
-        }
-
-        byte[] bin = getBitString().getBytes(StandardCharsets.UTF_8);
-        int sz = bin.length;
-        byte[] result = new byte[(sz + 7) / 8];
-
-        for (int i = 0; i < sz; i++) {
-            if (bin[i] == (byte) '1') {
-                result[(i / 8)] |= (byte) (1 << (7 - (i % 8)));
-            } else {
-                result[(i / 8)] &= (byte) ~(1 << (7 - (i % 8)));
+        byte[] result = new byte[(array.size() + 7) / 8];
+        int i = 0;
+        for (Boolean b : array) {
+            if (b) {
+                result[i >>> 3] |= (byte) (0x80 >>> (i & 7));
             }
+            i++;
         }
-
         return result;
     }
 
     public int[] toUintArray() {
-        if (array.isEmpty()) {
-            return new int[0];
-        }
-
-        byte[] bin = getBitString().getBytes(StandardCharsets.UTF_8);
-        int sz = bin.length;
-        int[] result = new int[(sz + 7) / 8];
-
-        for (int i = 0; i < sz; i++) {
-            if (bin[i] == (byte) '1') {
-                result[(i / 8)] |= 1 << (7 - (i % 8));
-            } else {
-                result[(i / 8)] &= ~(1 << (7 - (i % 8)));
-            }
-        }
-
-        return result;
+        return Utils.signedBytesToUnsigned(toByteArray());
     }
 
     public Boolean[] toBooleanArray() {
@@ -732,7 +726,7 @@ public class BitString implements Bits<Boolean> {
 
         if (array.size() % 4 == 0) {
             byte[] arr = toByteArray();
-            String s = Utils.bytesToHex(arr).toUpperCase();
+            String s = Codec.toHex(arr, 0, arr.length, true);
             if (array.size() % 8 == 0) {
                 return s;
             } else {
@@ -1,7 +1,7 @@
 package org.ton.java.bitstring;
 
 import org.ton.java.address.Address;
-import org.ton.java.utils.Utils;
+import org.ton.java.utils.Codec;
 
 import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
@@ -179,14 +179,8 @@ public class RealBitString {
             throw new Error("bitLength is too small for number, got number=" + number + ", bitLength=" + bitLength);
         }
 
-        String s = number.toString(2);
-
-        if (s.length() != bitLength) {
-            s = repeatZeros(bitLength - s.length()) + s;
-        }
-
-        for (int i = 0; i < bitLength; i++) {
-            writeBit(s.charAt(i) == '1');
+        for (int i = bitLength - 1; i >= 0; i--) {
+            writeBit(number.testBit(i));
         }
     }
 
@@ -382,17 +376,9 @@ public class RealBitString {
         if (bitLength < 1) {
             throw new Error("Incorrect bitLength");
         }
-        StringBuilder s = new StringBuilder();
-        for (int i = 0; i < bitLength; i++) {
-            boolean b = readBit();
-            if (b) {
-                s.append("1");
-            } else {
-                s.append("0");
-            }
-        }
+        BigInteger result = readUintBits(bitLength);
         readCursor = oldReadCursor;
-        return new BigInteger(s.toString(), 2);
+        return result;
     }
 
     /**
@@ -405,16 +391,18 @@ public class RealBitString {
         if (bitLength < 1) {
             throw new Error("Incorrect bitLength");
         }
-        StringBuilder s = new StringBuilder();
+        return readUintBits(bitLength);
+    }
+
+    private BigInteger readUintBits(int bitLength) {
+        byte[] bytes = new byte[(bitLength + 7) / 8];
+        int pad = bytes.length * 8 - bitLength;
         for (int i = 0; i < bitLength; i++) {
-            boolean b = readBit();
-            if (b) {
-                s.append("1");
-            } else {
-                s.append("0");
+            if (readBit()) {
+                Codec.setBit(bytes, pad + i, true);
             }
         }
-        return new BigInteger(s.toString(), 2);
+        return new BigInteger(1, bytes);
     }
 
     /**
@@ -514,12 +502,7 @@ public class RealBitString {
      * @return RealBitString from 0 to writeCursor
      */
     public String toRealBitString() {
-        StringBuilder s = new StringBuilder();
-        for (int i = 0; i < writeCursor; i++) {
-            char bit = get(i) ? '1' : '0';
-            s.append(bit);
-        }
-        return s.toString();
+        return Codec.toBinary(array, writeCursor);
     }
 
     /**
@@ -589,7 +572,7 @@ public class RealBitString {
     public String toHex() {
         if (writeCursor % 4 == 0) {
             byte[] arr = Arrays.copyOfRange(array, 0, (int) Math.ceil(writeCursor / (double) 8));
-            String s = Utils.bytesToHex(arr).toUpperCase();
+            String s = Codec.toHex(arr, 0, arr.length, true);
             if (writeCursor % 8 == 0) {
                 return s;
             } else {
@@ -3,12 +3,16 @@ package org.ton.java.cell;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.tuple.Pair;
 import org.ton.java.bitstring.BitString;
+import org.ton.java.utils.CRC32C;
+import org.ton.java.utils.Codec;
+import org.ton.java.utils.Hashing;
 import org.ton.java.utils.Utils;
 
 import java.math.BigInteger;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.security.DigestException;
+import java.security.MessageDigest;
 import java.util.*;
 
 import static java.util.Objects.isNull;
@@ -196,26 +200,21 @@ public class Cell {
                 continue;
             }
 
-            byte[] dsc = getDescriptors(levelMask.apply(li).getLevel());
-
-            byte[] hash = new byte[0];
-            hash = Utils.concatBytes(hash, dsc);
+            MessageDigest digest = Hashing.sha256Digest();
+            digest.update(getDescriptors(levelMask.apply(li).getLevel()));
 
             if (hashIndex == hashIndexOffset) {
                 if ((li != 0) && (type != CellType.PRUNED_BRANCH)) {
                     throw new Error("invalid cell");
                 }
 
-                byte[] data = getDataBytes();
-                hash = Utils.concatBytes(hash, data);
+                digest.update(getDataBytes());
             } else {
                 if ((li == 0) && (type == CellType.PRUNED_BRANCH)) {
                     throw new Error("neither pruned nor 0");
                 }
                 off = hashIndex - hashIndexOffset - 1;
-                byte[] partHash = new byte[32];
-                System.arraycopy(hashes, off * 32, partHash, 0, (off + 1) * 32);
-                hash = Utils.concatBytes(hash, partHash);
+                digest.update(hashes, off * 32, 32);
             }
 
             int depth = 0;
@@ -228,7 +227,8 @@ public class Cell {
                     childDepth = r.getDepth(li);
                 }
 
-                hash = Utils.concatBytes(hash, Utils.intToByteArray(childDepth));
+                digest.update((byte) (childDepth >>> 8));
+                digest.update((byte) childDepth);
                 if (childDepth > depth) {
                     depth = childDepth;
                 }
@@ -242,15 +242,19 @@ public class Cell {
 
             for (Cell r : refs) {
                 if ((type == CellType.MERKLE_PROOF) || (type == CellType.MERKLE_UPDATE)) {
-                    hash = Utils.concatBytes(hash, r.getHash(li + 1));
+                    digest.update(r.getHash(li + 1));
                 } else {
-                    hash = Utils.concatBytes(hash, r.getHash(li));
+                    digest.update(r.getHash(li));
                 }
             }
 
             off = hashIndex - hashIndexOffset;
             depthLevels[off] = depth;
-            System.arraycopy(Utils.sha256AsArray(hash), 0, hashes, off * 32, 32);
+            try {
+                digest.digest(hashes, off * 32, 32);
+            } catch (DigestException e) {
+                throw new Error("Cannot calculate cell hash", e);
+            }
             hashIndex++;
         }
     }
@@ -300,7 +304,7 @@ public class Cell {
     }
 
     public int getBitLength() {
-        return bits.toBitString().length();
+        return bits.getLength();
     }
 
     public Cell clone() {
@@ -395,10 +399,10 @@ public class Cell {
         long dataLen = Utils.dynInt(r.readSignedBytes(dataSizeBytes));
 
         if (bocFlags.hasCrc32c) {
-            byte[] bocWithoutCrc = Arrays.copyOfRange(data, 0, data.length - 4);
-            byte[] crcInBoc = Arrays.copyOfRange(data, data.length - 4, data.length);
-            byte[] crc32 = Utils.getCRC32ChecksumAsBytesReversed(bocWithoutCrc);
-            if (!Utils.compareBytes(crc32, crcInBoc)) {
+            int end = data.length - 4;
+            long crcInBoc = (data[end] & 0xffL) | ((data[end + 1] & 0xffL) << 8)
+                    | ((data[end + 2] & 0xffL) << 16) | ((data[end + 3] & 0xffL) << 24);
+            if (CRC32C.compute(data, 0, end) != crcInBoc) {
                 throw new Error("Crc32c hashsum mismatch");
             }
         }
@@ -968,23 +972,13 @@ public class Cell {
     }
 
     private byte[] getDataBytes() {
-        if ((bits.getLength() % 8) > 0) {
-            byte[] a = bits.toBitString().getBytes(StandardCharsets.UTF_8);
-            int sz = a.length;
-            byte[] b = new byte[sz + 1];
-
-            System.arraycopy(a, 0, b, 0, sz);
-            b[sz] = (byte) '1';
-
-            int mod = b.length % 8;
-            if (mod > 0) {
-                b = Utils.rightPadBytes(b, b.length + (8 - mod), '0');
-            }
-
-            return Utils.bitStringToByteArray(new String(b));
-        } else {
-            return bits.toByteArray();
+        int length = bits.getLength();
+        byte[] data = bits.toByteArray();
+        if ((length % 8) > 0) {
+            // completion tag
+            Codec.setBit(data, length, true);
         }
+        return data;
     }
 
     public static CellType getCellType(Cell c) {
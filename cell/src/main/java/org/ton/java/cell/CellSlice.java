@@ -1,5 +1,6 @@
 package org.ton.java.cell;
 
+import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 
 import java.math.BigInteger;
@@ -17,6 +18,8 @@ public class CellSlice {
 
   public CellType type;
 
+  Cell cell;
+
   private CellSlice() {}
 
   private CellSlice(BitString bits, List<Cell> refs) {
@@ -35,7 +38,9 @@ public class CellSlice {
   }
 
   public static CellSlice beginParse(Cell cell) {
-    return new CellSlice(cell.getBits(), cell.refs, cell.getCellType());
+    CellSlice cs = new CellSlice(cell.getBits(), cell.refs, cell.getCellType());
+    cs.cell = cell;
+    return cs;
   }
 
   public static CellSlice beginParse(Object cell) {
@@ -59,7 +64,24 @@ public class CellSlice {
   }
 
   public CellSlice clone() {
-    return new CellSlice(this.bits, this.refs);
+    CellSlice cs = new CellSlice(this.bits, this.refs);
+    cs.cell = this.cell;
+    return cs;
+  }
+
+  /**
+   * Returns the cell this slice was created from, but only while nothing has been read from the
+   * slice yet.
+   *
+   * @return Cell or null, if slice was not created from a cell or its position has moved
+   */
+  public Cell getSourceCell() {
+    if (isNull(cell)
+        || (bits.getUsedBits() != cell.bits.getUsedBits())
+        || (refs.size() != cell.refs.size())) {
+      return null;
+    }
+    return cell;
   }
 
   public Cell sliceToCell() {
@@ -97,6 +119,11 @@ public class CellSlice {
     return bits.getUsedBits() == 0;
   }
 
+  /** Check whether all bits and all refs of the slice were read */
+  public boolean isFullyRead() {
+    return (bits.getUsedBits() == 0) && refs.isEmpty();
+  }
+
   public List<Cell> loadRefs(int count) {
     List<Cell> result = new ArrayList<>();
     for (int i = 0; i < count; i++) {
@@ -294,9 +321,7 @@ public class CellSlice {
 
   public boolean preloadBitAt(int position) {
     checkBitsOverflow(position);
-    BitString cloned = clone().bits;
-    cloned.readBits(position - 1);
-    return cloned.readBit();
+    return bits.preReadBitAt(position - 1);
   }
 
   public int getFreeBits() {
@@ -491,8 +516,50 @@ public class CellSlice {
   public BigInteger loadUint(int length) {
     checkBitsOverflow(length);
     if (length == 0) return BigInteger.ZERO;
-    BitString i = loadBits(length);
-    return new BigInteger(i.toBitString(), 2);
+    return bits.readUint(length);
+  }
+
+  /**
+   * Loads unsigned number of up to 63 bits without allocating BigInteger
+   *
+   * @param length in bits
+   * @return long
+   */
+  public long loadUintLong(int length) {
+    if ((length < 0) || (length > 63)) {
+      throw new Error("Incorrect length, must be in range [0..63], found " + length);
+    }
+    checkBitsOverflow(length);
+    if (length == 0) return 0;
+    return bits.readUintLong(length);
+  }
+
+  /**
+   * Loads signed number of up to 64 bits without allocating BigInteger
+   *
+   * @param length in bits
+   * @return long
+   */
+  public long loadIntLong(int length) {
+    if ((length < 1) || (length > 64)) {
+      throw new Error("Incorrect length, must be in range [1..64], found " + length);
+    }
+    checkBitsOverflow(length);
+    long value = bits.readUintLong(length);
+    return (value << (64 - length)) >> (64 - length);
+  }
+
+  /**
+   * Reads unsigned number of up to 63 bits without moving the slice position
+   *
+   * @param length in bits
+   * @return long, 0 if slice holds fewer bits
+   */
+  public long preloadUintLong(int length) {
+    if ((length == 0) || (length > 63) || (length > bits.getUsedBits())) {
+      return 0;
+    }
+    return bits.preReadUintLong(length);
   }
 
   public BigInteger preloadInt(int bitLength) {
@@ -508,15 +575,10 @@ public class CellSlice {
   }
 
   public BigInteger preloadUint(int bitLength) {
-    BitString savedBits = bits.clone();
-    try {
-      BigInteger result = loadUint(bitLength);
-      bits = savedBits;
-      return result;
-    } catch (Throwable e) {
-      bits = savedBits;
+    if ((bitLength == 0) || (bitLength > bits.getUsedBits())) {
       return BigInteger.ZERO;
     }
+    return bits.preReadUint(bitLength);
   }
 
   public BigInteger loadUintLEQ(BigInteger n) {
@@ -46,9 +46,9 @@ public class TonHashMap {
 
   public List<Node> deserializeEdge(CellSlice edge, int keySize, final BitString key) {
     List<Node> nodes = new ArrayList<>();
-    BitString l = deserializeLabel(edge, keySize - key.toBitString().length());
+    BitString l = deserializeLabel(edge, keySize - key.getLength());
     key.writeBitString(l);
-    if (key.toBitString().length() == keySize) {
+    if (key.getLength() == keySize) {
       Cell value = CellBuilder.beginCell().storeSlice(edge).endCell();
       nodes.add(new Node(key, value));
       return nodes;
@@ -32,9 +32,9 @@ public class TonHashMapAug {
             return new ArrayList<>();
         }
         List<Node> nodes = new ArrayList<>();
-        BitString l = deserializeLabel(edge, keySize - key.toBitString().length());
+        BitString l = deserializeLabel(edge, keySize - key.getLength());
         key.writeBitString(l);
-        if (key.toBitString().length() == keySize) {
+        if (key.getLength() == keySize) {
             Cell valueAndExtra = CellBuilder.beginCell().storeSlice(edge).endCell();
             nodes.add(new Node(key, valueAndExtra)); // fork-extra does not exist in edge
             return nodes;
@@ -65,6 +65,77 @@ public class TonHashMapAug {
         }
     }
 
+    /**
+     * Finds leaf by key walking only the cells on the path to it, other entries are not parsed.
+     *
+     * @param root root edge cell of the dictionary
+     * @param key  key of keySize bits, big-endian
+     * @return CellSlice positioned at leaf's extra followed by value, or null if key is absent
+     */
+    public CellSlice lookup(Cell root, byte[] key) {
+        return lookup(root, Collections.singletonList(key)).get(0);
+    }
+
+    /**
+     * Finds leaves for several keys at once, cells on common paths are visited only once.
+     *
+     * @param root root edge cell of the dictionary
+     * @param keys keys of keySize bits, big-endian
+     * @return list of CellSlices in the same order as keys, null for every absent key
+     */
+    public List<CellSlice> lookup(Cell root, List<byte[]> keys) {
+        CellSlice[] result = new CellSlice[keys.size()];
+        List<Integer> indexes = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            indexes.add(i);
+        }
+        lookupEdge(root, 0, keys, indexes, result);
+        return Arrays.asList(result);
+    }
+
+    private void lookupEdge(Cell edgeCell, int offset, List<byte[]> keys, List<Integer> indexes, CellSlice[] result) {
+        CellSlice edge = CellSlice.beginParse(edgeCell);
+        if (edge.type != CellType.ORDINARY) {
+            return; // pruned branch, entries are not available
+        }
+        Boolean[] label = deserializeLabel(edge, keySize - offset).toBooleanArray();
+
+        List<Integer> left = new ArrayList<>();
+        List<Integer> right = new ArrayList<>();
+        for (Integer i : indexes) {
+            byte[] key = keys.get(i);
+            boolean matches = true;
+            for (int j = 0; j < label.length; j++) {
+                if (keyBit(key, offset + j) != label[j]) {
+                    matches = false;
+                    break;
+                }
+            }
+            if (!matches) {
+                continue;
+            }
+            if (offset + label.length == keySize) {
+                result[i] = edge.clone();
+            } else if (keyBit(key, offset + label.length)) {
+                right.add(i);
+            } else {
+                left.add(i);
+            }
+        }
+
+        int forkOffset = offset + label.length + 1;
+        if (!left.isEmpty()) {
+            lookupEdge(edge.refs.get(0), forkOffset, keys, left, result);
+        }
+        if (!right.isEmpty()) {
+            lookupEdge(edge.refs.get(1), forkOffset, keys, right, result);
+        }
+    }
+
+    private static boolean keyBit(byte[] key, int position) {
+        return ((key[position / 8] >> (7 - (position % 8))) & 1) == 1;
+    }
+
     /**
      * Read the keys in array and return binary tree in the form of Patrcia Tree Node
      *
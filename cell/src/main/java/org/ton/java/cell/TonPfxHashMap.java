@@ -21,7 +21,7 @@ public class TonPfxHashMap extends TonHashMap {
 
     public List<Node> deserializeEdge(CellSlice edge, int keySize, final BitString key) {
         List<Node> nodes = new ArrayList<>();
-        BitString l = deserializeLabel(edge, keySize - key.toBitString().length());
+        BitString l = deserializeLabel(edge, keySize - key.getLength());
         key.writeBitString(l);
         boolean pfx = edge.loadBit(); // pfx feature
         if (!pfx) {
@@ -17,10 +17,10 @@ public class AccStatusChange {
                 return CellBuilder.beginCell().storeUint(0b0, 1).endCell();
             }
             case "FROZEN": {
-                return CellBuilder.beginCell().storeUint(0b01, 2).endCell();
+                return CellBuilder.beginCell().storeUint(0b10, 2).endCell();
             }
             case "DELETED": {
-                return CellBuilder.beginCell().storeUint(0b10, 2).endCell();
+                return CellBuilder.beginCell().storeUint(0b11, 2).endCell();
             }
         }
         throw new Error("unknown account status change");
@@ -2,10 +2,14 @@ package org.ton.java.tlb.types;
 
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import org.ton.java.cell.Cell;
 import org.ton.java.cell.CellBuilder;
 import org.ton.java.cell.CellSlice;
 
+import static java.util.Objects.nonNull;
+
 @Builder
 @Data
 public class Account {
@@ -14,7 +18,40 @@ public class Account {
     StorageInfo storageInfo;
     AccountStorage accountStorage;
 
+    // not in scheme, original cell the account was deserialized from, dropped by setters.
+    // Nested objects are not tracked, so set them again after changing them in place.
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    Cell sourceCell;
+
+    public void setNone(boolean isNone) {
+        this.isNone = isNone;
+        this.sourceCell = null;
+    }
+
+    public void setAddress(MsgAddressInt address) {
+        this.address = address;
+        this.sourceCell = null;
+    }
+
+    public void setStorageInfo(StorageInfo storageInfo) {
+        this.storageInfo = storageInfo;
+        this.sourceCell = null;
+    }
+
+    public void setAccountStorage(AccountStorage accountStorage) {
+        this.accountStorage = accountStorage;
+        this.sourceCell = null;
+    }
+
+    public byte[] getHash() {
+        return toCell().getHash();
+    }
+
     public Cell toCell() {
+        if (nonNull(sourceCell)) {
+            return sourceCell;
+        }
         if (isNone) {
             return CellBuilder.beginCell()
                     .storeBit(false)
@@ -30,6 +67,7 @@ public class Account {
     }
 
     public static Account deserialize(CellSlice cs) {
+        Cell sourceCell = cs.getSourceCell();
         boolean isAccount = cs.loadBit();
         if (!isAccount) {
             return Account.builder().isNone(true).build();
@@ -44,6 +82,7 @@ public class Account {
                 .address(address)
                 .storageInfo(info)
                 .accountStorage(storage)
+                .sourceCell(cs.isFullyRead() ? sourceCell : null)
                 .build();
     }
 }
@@ -0,0 +1,237 @@
+package org.ton.java.tlb.types;
+
+import org.ton.java.cell.Cell;
+import org.ton.java.cell.CellSlice;
+import org.ton.java.cell.TonHashMap;
+import org.ton.java.utils.Utils;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Read-only view of blockchain configuration (_ (Hashmap 32 ^Cell) = ConfigParams.config).
+ * Only the dictionary is parsed on creation, typed ConfigParamsX objects are decoded on first
+ * access and then reused. Instances are cached by config root hash and are safe to share
+ * between threads.
+ */
+public class BlockchainConfig {
+
+    private static final int MAX_CACHED_CONFIGS = 16;
+
+    private static final Map<String, BlockchainConfig> cache =
+            Collections.synchronizedMap(
+                    new LinkedHashMap<String, BlockchainConfig>(MAX_CACHED_CONFIGS, 0.75f, true) {
+                        @Override
+                        protected boolean removeEldestEntry(Map.Entry<String, BlockchainConfig> eldest) {
+                            return size() > MAX_CACHED_CONFIGS;
+                        }
+                    });
+
+    /**
+     * Same configs by base64 BoC, so repeated fromBocBase64() calls skip BoC parsing and hashing
+     */
+    private static final Map<String, BlockchainConfig> bocCache =
+            Collections.synchronizedMap(
+                    new LinkedHashMap<String, BlockchainConfig>(MAX_CACHED_CONFIGS, 0.75f, true) {
+                        @Override
+                        protected boolean removeEldestEntry(Map.Entry<String, BlockchainConfig> eldest) {
+                            return size() > MAX_CACHED_CONFIGS;
+                        }
+                    });
+
+    private final Cell config;
+    private final Map<Long, Cell> paramCells;
+    private final Map<Long, Object> params = new ConcurrentHashMap<>();
+
+    private BlockchainConfig(Cell config) {
+        this.config = config;
+        TonHashMap dict = CellSlice.beginParse(config).loadDict(32, k -> k.readInt(32).longValue(), v -> v);
+        Map<Long, Cell> cells = new LinkedHashMap<>();
+        for (Map.Entry<Object, Object> entry : dict.elements.entrySet()) {
+            // value is ^Cell
+            cells.put((Long) entry.getKey(), ((Cell) entry.getValue()).getRefs().get(0));
+        }
+        this.paramCells = Collections.unmodifiableMap(cells);
+    }
+
+    /**
+     * @param config root cell of Hashmap 32 ^Cell, e.g. result of Tonlib.getConfigAll()
+     * @return BlockchainConfig, shared with other callers of the same config
+     */
+    public static BlockchainConfig of(Cell config) {
+        String key = Utils.bytesToHex(config.getHash());
+        BlockchainConfig result = cache.get(key);
+        if (isNull(result)) {
+            result = new BlockchainConfig(config);
+            cache.put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * @param configBoc base64 BoC with config dictionary, like bundled config-all-mainnet.txt
+     */
+    public static BlockchainConfig fromBocBase64(String configBoc) {
+        String key = configBoc.trim();
+        BlockchainConfig result = bocCache.get(key);
+        if (isNull(result)) {
+            result = of(Cell.fromBocBase64(key));
+            bocCache.put(key, result);
+        }
+        return result;
+    }
+
+    public Cell getConfig() {
+        return config;
+    }
+
+    public Set<Long> getParamIds() {
+        return paramCells.keySet();
+    }
+
+    /**
+     * @return raw cell of config parameter or null if parameter is not present
+     */
+    public Cell getParamCell(long id) {
+        return paramCells.get(id);
+    }
+
+    /**
+     * Returns typed config parameter, e.g. ConfigParams18 for id 18. Decoded on first access.
+     *
+     * @param id config parameter id
+     * @return decoded ConfigParamsX or null if parameter is not present
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getParam(long id) {
+        Cell cell = paramCells.get(id);
+        if (isNull(cell)) {
+            return null;
+        }
+        return (T) params.computeIfAbsent(id, i -> getDeserializer(i).apply(CellSlice.beginParse(cell)));
+    }
+
+    public ConfigParams18 getStoragePrices() {
+        return getParam(18);
+    }
+
+    public ConfigParams20 getMcGasPrices() {
+        return getParam(20);
+    }
+
+    public ConfigParams21 getGasPrices() {
+        return getParam(21);
+    }
+
+    public ConfigParams24 getMcFwdPrices() {
+        return getParam(24);
+    }
+
+    public ConfigParams25 getFwdPrices() {
+        return getParam(25);
+    }
+
+    private static Function<CellSlice, Object> getDeserializer(long id) {
+        switch ((int) id) {
+            case 0:
+                return ConfigParams0::deserialize;
+            case 1:
+                return ConfigParams1::deserialize;
+            case 2:
+                return ConfigParams2::deserialize;
+            case 3:
+                return ConfigParams3::deserialize;
+            case 4:
+                return ConfigParams4::deserialize;
+            case 5:
+                return ConfigParams5::deserialize;
+            case 6:
+                return ConfigParams6::deserialize;
+            case 7:
+                return ConfigParams7::deserialize;
+            case 8:
+                return ConfigParams8::deserialize;
+            case 9:
+                return ConfigParams9::deserialize;
+            case 10:
+                return ConfigParams10::deserialize;
+            case 11:
+                return ConfigParams11::deserialize;
+            case 12:
+                return ConfigParams12::deserialize;
+            case 13:
+                return ConfigParams13::deserialize;
+            case 14:
+                return ConfigParams14::deserialize;
+            case 15:
+                return ConfigParams15::deserialize;
+            case 16:
+                return ConfigParams16::deserialize;
+            case 17:
+                return ConfigParams17::deserialize;
+            case 18:
+                return ConfigParams18::deserialize;
+            case 19:
+                return ConfigParams19::deserialize;
+            case 20:
+                return ConfigParams20::deserialize;
+            case 21:
+                return ConfigParams21::deserialize;
+            case 22:
+                return ConfigParams22::deserialize;
+            case 23:
+                return ConfigParams23::deserialize;
+            case 24:
+                return ConfigParams24::deserialize;
+            case 25:
+                return ConfigParams25::deserialize;
+            case 28:
+                return ConfigParams28::deserialize;
+            case 29:
+                return ConfigParams29::deserialize;
+            case 31:
+                return ConfigParams31::deserialize;
+            case 32:
+                return ConfigParams32::deserialize;
+            case 33:
+                return ConfigParams33::deserialize;
+            case 34:
+                return ConfigParams34::deserialize;
+            case 35:
+                return ConfigParams35::deserialize;
+            case 36:
+                return ConfigParams36::deserialize;
+            case 37:
+                return ConfigParams37::deserialize;
+            case 39:
+                return ConfigParams39::deserialize;
+            case 40:
+                return ConfigParams40::deserialize;
+            case 44:
+                return ConfigParams44::deserialize;
+            case 45:
+                return ConfigParams45::deserialize;
+            case 71:
+                return ConfigParams71::deserialize;
+            case 72:
+                return ConfigParams72::deserialize;
+            case 73:
+                return ConfigParams73::deserialize;
+            case 79:
+                return ConfigParams79::deserialize;
+            case 81:
+                return ConfigParams81::deserialize;
+            case 82:
+                return ConfigParams82::deserialize;
+            default:
+                // no typed representation, return raw cell
+                return CellSlice::sliceToCell;
+        }
+    }
+}
@@ -29,7 +29,7 @@ public class ConfigParams18 {
         return ConfigParams18.builder()
                 .storagePrices(cs.loadDict(32,
                         k -> k.readUint(32),
-                        v -> StoragePrices.deserialize(cs)))
+                        v -> StoragePrices.deserialize(CellSlice.beginParse(v))))
                 .build();
     }
 }
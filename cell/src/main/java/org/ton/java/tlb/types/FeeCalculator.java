@@ -0,0 +1,202 @@
+package org.ton.java.tlb.types;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.ton.java.cell.Cell;
+import org.ton.java.cell.TonHashMap;
+
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Offline fee calculator, uses prices from config params 18 (storage), 20/21 (gas) and 24/25
+ * (forwarding). All amounts are in nanotons. Prices in config are kept in 2^-16 nanoton units,
+ * fractional results are rounded up as validators do.
+ */
+@Builder
+@Getter
+public class FeeCalculator {
+
+    private static final BigInteger FRAC_ROUND = BigInteger.valueOf(0xffff);
+
+    MsgForwardPrices fwdPrices;
+    MsgForwardPrices mcFwdPrices;
+    GasLimitsPrices gasPrices;
+    GasLimitsPrices mcGasPrices;
+    /**
+     * sorted by utimeSince
+     */
+    List<StoragePrices> storagePrices;
+
+    public static FeeCalculator of(BlockchainConfig config) {
+        List<StoragePrices> storagePrices = new ArrayList<>();
+        ConfigParams18 param18 = config.getStoragePrices();
+        if (!isNull(param18)) {
+            storagePrices.addAll(storagePricesOf(param18.getStoragePrices()));
+        }
+        return FeeCalculator.builder()
+                .fwdPrices(config.getFwdPrices().getConfigFwdPrices())
+                .mcFwdPrices(config.getMcFwdPrices().getConfigMcFwdPrices())
+                .gasPrices(config.getGasPrices().getConfigGasPrices())
+                .mcGasPrices(config.getMcGasPrices().getConfigMcGasPrices())
+                .storagePrices(storagePrices)
+                .build();
+    }
+
+    private static List<StoragePrices> storagePricesOf(TonHashMap dict) {
+        List<StoragePrices> result = new ArrayList<>();
+        for (Object value : dict.elements.values()) {
+            result.add((StoragePrices) value);
+        }
+        result.sort(Comparator.comparingLong(StoragePrices::getUtimeSince));
+        return result;
+    }
+
+    /**
+     * lump_price + ceil((bit_price * bits + cell_price * cells) / 2^16)
+     */
+    public BigInteger computeFwdFee(long cells, long bits, boolean masterchain) {
+        MsgForwardPrices prices = masterchain ? mcFwdPrices : fwdPrices;
+        return prices.getLumpPrice().add(
+                roundUp(prices.getBitPrice().multiply(BigInteger.valueOf(bits))
+                        .add(prices.getCellPrice().multiply(BigInteger.valueOf(cells)))));
+    }
+
+    /**
+     * Forward fee of a message. Root cell of the message is not counted, same cells are counted once.
+     *
+     * @param message serialized Message (e.g. result of Message.toCell())
+     */
+    public BigInteger computeFwdFee(Cell message, boolean masterchain) {
+        StorageUsed stat = computeStorageStat(message, true);
+        return computeFwdFee(stat.getCellsUsed().longValue(), stat.getBitsUsed().longValue(), masterchain);
+    }
+
+    /**
+     * Part of forward fee that goes to validators of the sender shard, the rest is remaining msg fwd_fee.
+     */
+    public BigInteger computeFirstFrac(BigInteger fwdFee, boolean masterchain) {
+        MsgForwardPrices prices = masterchain ? mcFwdPrices : fwdPrices;
+        return fwdFee.multiply(BigInteger.valueOf(prices.getFirstFrac())).shiftRight(16);
+    }
+
+    /**
+     * Fee for importing external inbound message, charged from destination account.
+     *
+     * @param message serialized external in Message
+     */
+    public BigInteger computeImportFee(Cell message, boolean masterchain) {
+        return computeFwdFee(message, masterchain);
+    }
+
+    /**
+     * flat_gas_price for first flat_gas_limit units, ceil(gas_price * rest / 2^16) for the rest.
+     */
+    public BigInteger computeGasFee(long gasUsed, boolean masterchain) {
+        GasLimitsPrices prices = masterchain ? mcGasPrices : gasPrices;
+        BigInteger flatGasLimit = BigInteger.ZERO;
+        BigInteger flatGasPrice = BigInteger.ZERO;
+        if (prices instanceof GasLimitsPricesPfx) {
+            flatGasLimit = ((GasLimitsPricesPfx) prices).getFlatGasLimit();
+            flatGasPrice = ((GasLimitsPricesPfx) prices).getFlatGasPrice();
+            prices = ((GasLimitsPricesPfx) prices).getOther();
+        }
+        BigInteger gas = BigInteger.valueOf(gasUsed);
+        if (gas.compareTo(flatGasLimit) <= 0) {
+            return flatGasPrice;
+        }
+        return flatGasPrice.add(roundUp(getGasPrice(prices).multiply(gas.subtract(flatGasLimit))));
+    }
+
+    private static BigInteger getGasPrice(GasLimitsPrices prices) {
+        if (prices instanceof GasLimitsPricesExt) {
+            return ((GasLimitsPricesExt) prices).getGasPrice();
+        } else if (prices instanceof GasLimitsPricesOrdinary) {
+            return ((GasLimitsPricesOrdinary) prices).getGasPrice();
+        } else {
+            throw new Error("Unsupported GasLimitsPrices " + prices);
+        }
+    }
+
+    /**
+     * Storage fee for keeping cells and bits between lastPaid and now, taking into account all price
+     * periods from config param 18.
+     *
+     * @param lastPaid unix time of last storage payment
+     * @param now      unix time
+     */
+    public BigInteger computeStorageFee(long cells, long bits, long lastPaid, long now, boolean masterchain) {
+        if (now <= lastPaid || storagePrices.isEmpty() || now <= storagePrices.get(0).getUtimeSince()) {
+            return BigInteger.ZERO;
+        }
+        BigInteger total = BigInteger.ZERO;
+        for (int i = 0; i < storagePrices.size(); i++) {
+            StoragePrices prices = storagePrices.get(i);
+            long from = Math.max(lastPaid, prices.getUtimeSince());
+            long upto = (i + 1 < storagePrices.size()) ? Math.min(now, storagePrices.get(i + 1).getUtimeSince()) : now;
+            if (upto <= from) {
+                continue;
+            }
+            BigInteger bitPrice = masterchain ? prices.getMcBitPricePs() : prices.getBitPricePs();
+            BigInteger cellPrice = masterchain ? prices.getMcCellPricePs() : prices.getCellPricePs();
+            total = total.add(bitPrice.multiply(BigInteger.valueOf(bits))
+                    .add(cellPrice.multiply(BigInteger.valueOf(cells)))
+                    .multiply(BigInteger.valueOf(upto - from)));
+        }
+        return roundUp(total);
+    }
+
+    /**
+     * @param state account state, e.g. StateInit.toCell(), all cells including root are counted once
+     */
+    public BigInteger computeStorageFee(Cell state, long lastPaid, long now, boolean masterchain) {
+        StorageUsed stat = computeStorageStat(state, false);
+        return computeStorageFee(stat.getCellsUsed().longValue(), stat.getBitsUsed().longValue(), lastPaid, now, masterchain);
+    }
+
+    /**
+     * Counts unique cells and bits in a tree of cells.
+     *
+     * @param skipRoot do not count root cell itself, as for messages
+     * @return StorageUsed with cells and bits set
+     */
+    public static StorageUsed computeStorageStat(Cell root, boolean skipRoot) {
+        Set<Cell> visited = new HashSet<>();
+        Deque<Cell> stack = new ArrayDeque<>();
+        long cells = 0;
+        long bits = 0;
+        if (skipRoot) {
+            stack.addAll(root.getRefs());
+        } else {
+            stack.push(root);
+        }
+        while (!stack.isEmpty()) {
+            Cell c = stack.pop();
+            if (!visited.add(c)) {
+                continue;
+            }
+            cells++;
+            bits += c.getBitLength();
+            for (Cell ref : c.getRefs()) {
+                stack.push(ref);
+            }
+        }
+        return StorageUsed.builder()
+                .cellsUsed(BigInteger.valueOf(cells))
+                .bitsUsed(BigInteger.valueOf(bits))
+                .publicCellsUsed(BigInteger.ZERO)
+                .build();
+    }
+
+    private static BigInteger roundUp(BigInteger value) {
+        return value.add(FRAC_ROUND).shiftRight(16);
+    }
+}
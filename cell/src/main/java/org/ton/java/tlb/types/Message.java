@@ -2,11 +2,14 @@ package org.ton.java.tlb.types;
 
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import org.ton.java.cell.Cell;
 import org.ton.java.cell.CellBuilder;
 import org.ton.java.cell.CellSlice;
 
 import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 
 /**
  *
@@ -26,7 +29,33 @@ public class Message {
   StateInit init;
   Cell body;
 
+  // not in scheme, original cell the message was deserialized from, dropped by setters.
+  // Nested objects are not tracked, so set them again after changing them in place.
+  @ToString.Exclude @EqualsAndHashCode.Exclude Cell sourceCell;
+
+  public void setInfo(CommonMsgInfo info) {
+    this.info = info;
+    this.sourceCell = null;
+  }
+
+  public void setInit(StateInit init) {
+    this.init = init;
+    this.sourceCell = null;
+  }
+
+  public void setBody(Cell body) {
+    this.body = body;
+    this.sourceCell = null;
+  }
+
+  public byte[] getHash() {
+    return toCell().getHash();
+  }
+
   public Cell toCell() {
+    if (nonNull(sourceCell)) {
+      return sourceCell;
+    }
     CellBuilder c = CellBuilder.beginCell();
     c.storeCell(info.toCell());
 
@@ -61,6 +90,7 @@ public class Message {
   }
 
   public static Message deserialize(CellSlice cs) {
+    Cell sourceCell = cs.getSourceCell();
     return Message.builder()
         .info(CommonMsgInfo.deserialize(cs))
         .init(
@@ -73,6 +103,7 @@ public class Message {
             cs.loadBit()
                 ? cs.loadRef()
                 : CellBuilder.beginCell().storeBitString(cs.loadBits(cs.getRestBits())).endCell())
+        .sourceCell(cs.isFullyRead() ? sourceCell : null)
         .build();
   }
 }
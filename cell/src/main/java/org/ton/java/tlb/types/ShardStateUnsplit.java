@@ -2,11 +2,17 @@ package org.ton.java.tlb.types;
 
 import lombok.Builder;
 import lombok.Data;
+import org.ton.java.address.Address;
 import org.ton.java.cell.Cell;
 import org.ton.java.cell.CellBuilder;
 import org.ton.java.cell.CellSlice;
+import org.ton.java.cell.TonHashMapAugE;
 
 import java.math.BigInteger;
+import java.util.*;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 
 /**
  * <pre>
@@ -101,4 +107,52 @@ public class ShardStateUnsplit {
         shardStateUnsplit.setCustom(cs.loadBit() ? McStateExtra.deserialize(CellSlice.beginParse(cs.loadRef())) : null);
         return shardStateUnsplit;
     }
+
+    /**
+     * Looks up single account in shardAccounts without deserializing the whole dictionary.
+     *
+     * @param address account address
+     * @return ShardAccount or null if account is not present in this state
+     */
+    public ShardAccount getAccount(Address address) {
+        return getAccounts(Collections.singletonList(address)).get(address);
+    }
+
+    /**
+     * Looks up accounts in shardAccounts by their 256-bit address keys, walking only the
+     * dictionary cells on the paths to requested accounts.
+     *
+     * @param addresses account addresses
+     * @return accounts found in this state, in order of given addresses
+     */
+    public Map<Address, ShardAccount> getAccounts(Collection<Address> addresses) {
+        Map<Address, ShardAccount> result = new LinkedHashMap<>();
+        if (isNull(shardAccounts) || addresses.isEmpty()) {
+            return result;
+        }
+        CellSlice cs = CellSlice.beginParse(shardAccounts);
+        if (cs.isExotic() || !cs.loadBit()) { // pruned or ahme_empty$0
+            return result;
+        }
+
+        List<Address> candidates = new ArrayList<>(addresses.size());
+        List<byte[]> keys = new ArrayList<>(addresses.size());
+        for (Address address : addresses) {
+            if (nonNull(shardIdent) && (address.wc != shardIdent.getWorkchain())) {
+                continue;
+            }
+            candidates.add(address);
+            keys.add(address.hashPart);
+        }
+
+        List<CellSlice> leaves = new TonHashMapAugE(256).lookup(cs.loadRef(), keys);
+        for (int i = 0; i < leaves.size(); i++) {
+            CellSlice leaf = leaves.get(i);
+            if (nonNull(leaf)) {
+                DepthBalanceInfo.deserialize(leaf); // ahmn_leaf extra:Y value:X
+                result.put(candidates.get(i), ShardAccount.deserialize(leaf));
+            }
+        }
+        return result;
+    }
 }
@@ -2,6 +2,8 @@ package org.ton.java.tlb.types;
 
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import org.ton.java.address.Address;
 import org.ton.java.cell.Cell;
 import org.ton.java.cell.CellBuilder;
@@ -31,7 +33,44 @@ public class StateInit {
     Cell data;
     Cell lib;
 
+    // not in scheme, original cell the state init was deserialized from, dropped by setters
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    Cell sourceCell;
+
+    public void setDepth(BigInteger depth) {
+        this.depth = depth;
+        this.sourceCell = null;
+    }
+
+    public void setTickTock(TickTock tickTock) {
+        this.tickTock = tickTock;
+        this.sourceCell = null;
+    }
+
+    public void setCode(Cell code) {
+        this.code = code;
+        this.sourceCell = null;
+    }
+
+    public void setData(Cell data) {
+        this.data = data;
+        this.sourceCell = null;
+    }
+
+    public void setLib(Cell lib) {
+        this.lib = lib;
+        this.sourceCell = null;
+    }
+
+    public byte[] getHash() {
+        return toCell().getHash();
+    }
+
     public Cell toCell() {
+        if (nonNull(sourceCell)) {
+            return sourceCell;
+        }
         if (nonNull(depth)) {
             return CellBuilder.beginCell()
                     .storeBit(true)
@@ -54,12 +93,14 @@ public class StateInit {
     }
 
     public static StateInit deserialize(CellSlice cs) {
+        Cell sourceCell = cs.getSourceCell();
         return StateInit.builder()
                 .depth(cs.loadBit() ? cs.loadUint(5) : BigInteger.ZERO)
                 .tickTock(cs.loadBit() ? TickTock.deserialize(cs) : null)
                 .code(cs.loadMaybeRefX())
                 .data(cs.loadMaybeRefX())
                 .lib(cs.loadMaybeRefX())
+                .sourceCell(cs.isFullyRead() ? sourceCell : null)
                 .build();
     }
 
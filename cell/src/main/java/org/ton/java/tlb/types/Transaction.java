@@ -2,6 +2,8 @@ package org.ton.java.tlb.types;
 
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.ton.java.cell.Cell;
@@ -54,6 +56,88 @@ public class Transaction {
     // not in scheme, but might be filled based on request data for flexibility
     byte[] hash;
 
+    // not in scheme, original cell the transaction was deserialized from, dropped by setters.
+    // Nested objects are not tracked, so set them again after changing them in place.
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    Cell sourceCell;
+
+    public void setMagic(int magic) {
+        this.magic = magic;
+        this.sourceCell = null;
+    }
+
+    public void setAccountAddr(BigInteger accountAddr) {
+        this.accountAddr = accountAddr;
+        this.sourceCell = null;
+    }
+
+    public void setLt(BigInteger lt) {
+        this.lt = lt;
+        this.sourceCell = null;
+    }
+
+    public void setPrevTxHash(BigInteger prevTxHash) {
+        this.prevTxHash = prevTxHash;
+        this.sourceCell = null;
+    }
+
+    public void setPrevTxLt(BigInteger prevTxLt) {
+        this.prevTxLt = prevTxLt;
+        this.sourceCell = null;
+    }
+
+    public void setNow(long now) {
+        this.now = now;
+        this.sourceCell = null;
+    }
+
+    public void setOutMsgCount(long outMsgCount) {
+        this.outMsgCount = outMsgCount;
+        this.sourceCell = null;
+    }
+
+    public void setOrigStatus(AccountStates origStatus) {
+        this.origStatus = origStatus;
+        this.sourceCell = null;
+    }
+
+    public void setEndStatus(AccountStates endStatus) {
+        this.endStatus = endStatus;
+        this.sourceCell = null;
+    }
+
+    public void setInOut(TransactionIO inOut) {
+        this.inOut = inOut;
+        this.sourceCell = null;
+    }
+
+    public void setTotalFees(CurrencyCollection totalFees) {
+        this.totalFees = totalFees;
+        this.sourceCell = null;
+    }
+
+    public void setStateUpdate(HashUpdate stateUpdate) {
+        this.stateUpdate = stateUpdate;
+        this.sourceCell = null;
+    }
+
+    public void setDescription(TransactionDescription description) {
+        this.description = description;
+        this.sourceCell = null;
+    }
+
+    /**
+     * Returns transaction hash, either set explicitly, taken from the original cell or calculated
+     * from serialized transaction.
+     */
+    public byte[] getHash() {
+        if (nonNull(hash)) {
+            return hash;
+        }
+        return toCell().getHash();
+    }
+
     private String getMagic() {
         return Long.toBinaryString(magic);
     }
@@ -78,6 +162,9 @@ public class Transaction {
     }
 
     public Cell toCell() {
+        if (nonNull(sourceCell)) {
+            return sourceCell;
+        }
         CellBuilder c = CellBuilder.beginCell();
         c.storeUint(0b0111, 4);
         c.storeUint(accountAddr, 256);
@@ -98,6 +185,7 @@ public class Transaction {
     }
 
     public static Transaction deserialize(CellSlice cs) {
+        Cell sourceCell = cs.getSourceCell();
         long magic = cs.loadUint(4).intValue();
         assert (magic == 0b0111)
                 : "Transaction: magic not equal to 0b0111, found 0b" + Long.toBinaryString(magic);
@@ -130,6 +218,9 @@ public class Transaction {
         tx.setStateUpdate(HashUpdate.deserialize(CellSlice.beginParse(cs.loadRef())));
         tx.setDescription(TransactionDescription.deserialize(CellSlice.beginParse(cs.loadRef())));
 
+        if (cs.isFullyRead()) {
+            tx.setSourceCell(sourceCell);
+        }
         return tx;
     }
 
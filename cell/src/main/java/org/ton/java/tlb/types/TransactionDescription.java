@@ -69,35 +69,33 @@ public interface TransactionDescription {
     Cell toCell();
 
     static TransactionDescription deserialize(CellSlice cs) {
-        int pfx = cs.preloadUint(3).intValue();
+        int pfx = cs.preloadUint(4).intValue();
         switch (pfx) {
-            case 0b000: {
-                boolean isStorage = cs.preloadBit();
-                if (isStorage) {
-                    return TransactionDescriptionStorage.deserialize(cs);
-                }
+            case 0b0000: {
                 return TransactionDescriptionOrdinary.deserialize(cs);
             }
-            case 0b001: {
+            case 0b0001: {
+                return TransactionDescriptionStorage.deserialize(cs);
+            }
+            case 0b0010:
+            case 0b0011: {
                 return TransactionDescriptionTickTock.deserialize(cs);
             }
-            case 0b010: {
-                boolean isInstall = cs.preloadBit();
-                if (isInstall) {
-                    return TransactionDescriptionSplitInstall.deserialize(cs);
-                }
+            case 0b0100: {
                 return TransactionDescriptionSplitPrepare.deserialize(cs);
             }
-            case 0b011: {
-                boolean isInstall = cs.preloadBit();
-                if (isInstall) {
-                    return TransactionDescriptionMergeInstall.deserialize(cs);
-                }
+            case 0b0101: {
+                return TransactionDescriptionSplitInstall.deserialize(cs);
+            }
+            case 0b0110: {
                 return TransactionDescriptionMergePrepare.deserialize(cs);
             }
+            case 0b0111: {
+                return TransactionDescriptionMergeInstall.deserialize(cs);
+            }
         }
         throw new Error(
-                "unknown transaction description type (must be in range [0..3], found 0x"
+                "unknown transaction description type (must be in range [0..7], found 0b"
                         + Integer.toBinaryString(pfx));
     }
 }
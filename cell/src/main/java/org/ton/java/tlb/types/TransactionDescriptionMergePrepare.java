@@ -29,9 +29,9 @@ public class TransactionDescriptionMergePrepare implements TransactionDescriptio
 
   public Cell toCell() {
     return CellBuilder.beginCell()
-        .storeUint(0b0100, 4)
+        .storeUint(0b0110, 4)
         .storeCell(splitInfo.toCell())
-        .storeCellMaybe(storagePhase.toCell())
+        .storeCell(storagePhase.toCell())
         .storeBit(aborted)
         .endCell();
   }
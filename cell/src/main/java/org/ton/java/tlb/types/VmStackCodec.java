@@ -0,0 +1,230 @@
+package org.ton.java.tlb.types;
+
+import org.ton.java.cell.Cell;
+import org.ton.java.cell.CellBuilder;
+import org.ton.java.cell.CellSlice;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Converts plain Java values to and from VmStack cells, without building intermediate
+ * VmStackValue objects.
+ * <pre>
+ * Java value                        VmStackValue
+ * null                              vm_stk_null
+ * Long, Integer, Short, Byte        vm_stk_tinyint
+ * Boolean                           vm_stk_tinyint, -1 or 0
+ * BigInteger                        vm_stk_tinyint or vm_stk_int
+ * Cell                              vm_stk_cell
+ * CellSlice                         vm_stk_slice
+ * CellBuilder                       vm_stk_builder
+ * List                              vm_stk_tuple
+ * VmStackValue                      as is, e.g. VmStackValueNaN or VmStackValueCont
+ * </pre>
+ * Integers are always decoded as BigInteger. Values are listed from the bottom of the stack,
+ * the last value is the top one, same as in VmStackList.
+ */
+public class VmStackCodec {
+
+    private static final BigInteger MIN_TINY_INT = BigInteger.valueOf(Long.MIN_VALUE);
+    private static final BigInteger MAX_TINY_INT = BigInteger.valueOf(Long.MAX_VALUE);
+
+    private static final String EMPTY_STACK = encode(Collections.emptyList()).toBase64();
+
+    private VmStackCodec() {
+    }
+
+    /**
+     * @param values stack values, the last one is on top of the stack
+     * @return VmStack cell
+     */
+    public static Cell encode(List<?> values) {
+        Cell list = CellBuilder.beginCell().endCell();
+        for (Object value : values) {
+            CellBuilder cb = CellBuilder.beginCell().storeRef(list);
+            storeValue(cb, value);
+            list = cb.endCell();
+        }
+        return CellBuilder.beginCell()
+                .storeUint(values.size(), 24)
+                .storeCell(list)
+                .endCell();
+    }
+
+    /**
+     * @return base64 encoded BoC of VmStack, as expected by emulator and tonlib
+     */
+    public static String encodeToBase64(List<?> values) {
+        if (values.isEmpty()) {
+            return EMPTY_STACK;
+        }
+        return encode(values).toBase64();
+    }
+
+    public static List<Object> decode(String stackBocBase64) {
+        return decode(Cell.fromBocBase64(stackBocBase64));
+    }
+
+    /**
+     * @param stack VmStack cell
+     * @return stack values, the last one is on top of the stack
+     */
+    public static List<Object> decode(Cell stack) {
+        CellSlice cs = CellSlice.beginParse(stack);
+        int depth = cs.loadUint(24).intValue();
+        Object[] values = new Object[depth];
+        for (int i = depth - 1; i >= 0; i--) {
+            Cell rest = cs.loadRef();
+            values[i] = loadValue(cs);
+            cs = CellSlice.beginParse(rest);
+        }
+        List<Object> result = new ArrayList<>(depth);
+        Collections.addAll(result, values);
+        return result;
+    }
+
+    private static Cell valueToCell(Object value) {
+        CellBuilder cb = CellBuilder.beginCell();
+        storeValue(cb, value);
+        return cb.endCell();
+    }
+
+    private static void storeValue(CellBuilder cb, Object value) {
+        if (isNull(value)) {
+            cb.storeUint(0x00, 8);
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            cb.storeUint(0x01, 8).storeInt(((Number) value).longValue(), 64);
+        } else if (value instanceof Boolean) {
+            cb.storeUint(0x01, 8).storeInt((Boolean) value ? -1 : 0, 64);
+        } else if (value instanceof BigInteger) {
+            BigInteger number = (BigInteger) value;
+            if (number.compareTo(MIN_TINY_INT) >= 0 && number.compareTo(MAX_TINY_INT) <= 0) {
+                cb.storeUint(0x01, 8).storeInt(number, 64);
+            } else {
+                cb.storeUint(0x0100, 15).storeInt(number, 257);
+            }
+        } else if (value instanceof Cell) {
+            cb.storeUint(0x03, 8).storeRef((Cell) value);
+        } else if (value instanceof CellSlice) {
+            CellSlice slice = (CellSlice) value;
+            cb.storeUint(0x04, 8)
+                    .storeRef(CellBuilder.beginCell().storeSlice(slice).endCell())
+                    .storeUint(0, 10)
+                    .storeUint(slice.getRestBits(), 10)
+                    .storeUint(0, 3)
+                    .storeUint(slice.getRefsCount(), 3);
+        } else if (value instanceof CellBuilder) {
+            cb.storeUint(0x05, 8).storeRef(((CellBuilder) value).endCell());
+        } else if (value instanceof List) {
+            List<?> tuple = (List<?>) value;
+            cb.storeUint(0x07, 8).storeUint(tuple.size(), 16);
+            storeTuple(cb, tuple, tuple.size());
+        } else if (value instanceof VmStackValue) {
+            cb.storeCell(((VmStackValue) value).toCell());
+        } else {
+            throw new Error("Unsupported VmStack value type " + value.getClass().getName());
+        }
+    }
+
+    /**
+     * vm_tuple_tcons$_ {n:#} head:(VmTupleRef n) tail:^VmStackValue = VmTuple (n + 1);
+     */
+    private static void storeTuple(CellBuilder cb, List<?> values, int len) {
+        if (len == 0) {
+            return;
+        }
+        storeTupleRef(cb, values, len - 1);
+        cb.storeRef(valueToCell(values.get(len - 1)));
+    }
+
+    /**
+     * vm_tupref_single$_ entry:^VmStackValue = VmTupleRef 1;
+     * vm_tupref_any$_ {n:#} ref:^(VmTuple (n + 2)) = VmTupleRef (n + 2);
+     */
+    private static void storeTupleRef(CellBuilder cb, List<?> values, int len) {
+        if (len == 0) {
+            return;
+        }
+        if (len == 1) {
+            cb.storeRef(valueToCell(values.get(0)));
+            return;
+        }
+        CellBuilder tuple = CellBuilder.beginCell();
+        storeTuple(tuple, values, len);
+        cb.storeRef(tuple.endCell());
+    }
+
+    private static Object loadValue(CellSlice cs) {
+        int magic = cs.preloadUint(8).intValue();
+        switch (magic) {
+            case 0x00:
+                cs.skipBits(8);
+                return null;
+            case 0x01:
+                return cs.skipBits(8).loadInt(64);
+            case 0x02:
+                if (cs.preloadUint(16).intValue() == 0x02ff) {
+                    cs.skipBits(16);
+                    return VmStackValueNaN.builder().build();
+                }
+                return cs.skipBits(15).loadInt(257);
+            case 0x03:
+                cs.skipBits(8);
+                return cs.loadRef();
+            case 0x04:
+                return loadSlice(cs.skipBits(8));
+            case 0x05:
+                cs.skipBits(8);
+                return CellBuilder.beginCell().storeCell(cs.loadRef());
+            case 0x06:
+                return VmStackValueCont.deserialize(cs);
+            case 0x07:
+                int len = cs.skipBits(8).loadUint(16).intValue();
+                List<Object> tuple = new ArrayList<>(len);
+                loadTuple(cs, len, tuple);
+                return tuple;
+            default:
+                throw new Error("Error deserializing VmStackValue, wrong magic " + magic);
+        }
+    }
+
+    private static CellSlice loadSlice(CellSlice cs) {
+        Cell cell = cs.loadRef();
+        int stBits = cs.loadUint(10).intValue();
+        int endBits = cs.loadUint(10).intValue();
+        int stRef = cs.loadUint(3).intValue();
+        int endRef = cs.loadUint(3).intValue();
+        if (stBits == 0 && endBits == cell.getBitLength() && stRef == 0 && endRef == cell.getRefs().size()) {
+            return CellSlice.beginParse(cell);
+        }
+        CellSlice full = CellSlice.beginParse(cell).skipBits(stBits);
+        return CellSlice.beginParse(CellBuilder.beginCell()
+                .storeBitString(full.loadBits(endBits - stBits))
+                .storeRefs(cell.getRefs().subList(stRef, endRef))
+                .endCell());
+    }
+
+    private static void loadTuple(CellSlice cs, int len, List<Object> result) {
+        if (len == 0) {
+            return;
+        }
+        loadTupleRef(cs, len - 1, result);
+        result.add(loadValue(CellSlice.beginParse(cs.loadRef())));
+    }
+
+    private static void loadTupleRef(CellSlice cs, int len, List<Object> result) {
+        if (len == 0) {
+            return;
+        }
+        if (len == 1) {
+            result.add(loadValue(CellSlice.beginParse(cs.loadRef())));
+            return;
+        }
+        loadTuple(CellSlice.beginParse(cs.loadRef()), len, result);
+    }
+}
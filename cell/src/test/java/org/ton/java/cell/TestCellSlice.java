@@ -769,4 +769,27 @@ public class TestCellSlice {
             j++;
         }
     }
+
+    @Test
+    public void testLoadUintLongAndIntLong() {
+        Cell c = CellBuilder.beginCell()
+                .storeUint(5, 3)
+                .storeUint(0x9023afe2L, 32)
+                .storeInt(-7, 8)
+                .storeInt(Long.MIN_VALUE, 64)
+                .storeUint(Long.MAX_VALUE, 63)
+                .endCell();
+        CellSlice cs = CellSlice.beginParse(c);
+
+        assertThat(cs.preloadUintLong(3)).isEqualTo(5);
+        assertThat(cs.preloadUintLong(35)).isEqualTo((5L << 32) | 0x9023afe2L);
+        assertThat(cs.loadUintLong(3)).isEqualTo(5);
+        assertThat(cs.loadUintLong(32)).isEqualTo(0x9023afe2L);
+        assertThat(cs.loadIntLong(8)).isEqualTo(-7);
+        assertThat(cs.loadIntLong(64)).isEqualTo(Long.MIN_VALUE);
+        assertThat(cs.preloadUintLong(64)).isEqualTo(0);
+        assertThat(cs.loadUintLong(63)).isEqualTo(Long.MAX_VALUE);
+        assertThat(cs.preloadUintLong(1)).isEqualTo(0);
+        assertThrows(Error.class, () -> cs.loadUintLong(1));
+    }
 }
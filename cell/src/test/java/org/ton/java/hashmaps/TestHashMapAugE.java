@@ -10,6 +10,9 @@ import org.ton.java.cell.CellBuilder;
 import org.ton.java.cell.CellSlice;
 import org.ton.java.cell.TonHashMapAugE;
 
+import java.util.Arrays;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 @Slf4j
@@ -120,4 +123,35 @@ public class TestHashMapAugE {
         log.info("Deserialized hashmapAugE from cell {}, count {}", loadedDict, loadedDict.elements.size());
 
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testHashMapAugeLookup() {
+        TonHashMapAugE hashmapAugE = new TonHashMapAugE(32);
+        for (long i = 1; i <= 10; i++) {
+            hashmapAugE.elements.put(i, Pair.of(i * 3, i * i * 9));
+        }
+
+        Cell cell = hashmapAugE.serialize(
+                k -> CellBuilder.beginCell().storeUint((Long) k, 32).endCell().getBits(),
+                v -> CellBuilder.beginCell().storeUint((Long) v, 32).endCell(),
+                e -> CellBuilder.beginCell().storeUint((Long) e, 32).endCell(),
+                (fv, fe) -> CellBuilder.beginCell().storeUint(0, 32)
+        );
+
+        CellSlice cs = CellSlice.beginParse(cell);
+        assertThat(cs.loadBit()).isTrue();
+        Cell root = cs.loadRef();
+
+        CellSlice leaf = hashmapAugE.lookup(root, new byte[]{0, 0, 0, 7});
+        assertThat(leaf.loadUint(32).longValue()).isEqualTo(7 * 3);
+        assertThat(leaf.loadUint(32).longValue()).isEqualTo(7 * 7 * 9);
+
+        assertThat(hashmapAugE.lookup(root, new byte[]{0, 0, 0, 11})).isNull();
+
+        List<CellSlice> leaves = hashmapAugE.lookup(root, Arrays.asList(
+                new byte[]{0, 0, 0, 10}, new byte[]{0, 0, 1, 1}, new byte[]{0, 0, 0, 1}));
+        assertThat(leaves.get(0).loadUint(32).longValue()).isEqualTo(30);
+        assertThat(leaves.get(1)).isNull();
+        assertThat(leaves.get(2).loadUint(32).longValue()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,75 @@
+package org.ton.java.tlb;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.ton.java.cell.Cell;
+import org.ton.java.cell.CellBuilder;
+import org.ton.java.tlb.types.BlockchainConfig;
+import org.ton.java.tlb.types.FeeCalculator;
+import org.ton.java.tlb.types.StorageUsed;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+@RunWith(JUnit4.class)
+public class TestFeeCalculator {
+
+    private FeeCalculator loadCalculator() throws IOException {
+        String boc = IOUtils.toString(
+                Objects.requireNonNull(getClass().getResourceAsStream("/allconfig-boc-as-hex.txt")),
+                StandardCharsets.UTF_8);
+        return FeeCalculator.of(BlockchainConfig.of(CellBuilder.beginCell().fromBoc(boc.trim()).endCell()));
+    }
+
+    @Test
+    public void testStorageStatDeduplicatesCells() {
+        Cell shared = CellBuilder.beginCell().storeUint(7, 32).endCell();
+        Cell root = CellBuilder.beginCell()
+                .storeUint(1, 8)
+                .storeRef(shared)
+                .storeRef(CellBuilder.beginCell().storeUint(7, 32).endCell())
+                .storeRef(CellBuilder.beginCell().storeUint(8, 16).storeRef(shared).endCell())
+                .endCell();
+
+        StorageUsed withRoot = FeeCalculator.computeStorageStat(root, false);
+        assertThat(withRoot.getCellsUsed().longValue()).isEqualTo(3);
+        assertThat(withRoot.getBitsUsed().longValue()).isEqualTo(8 + 32 + 16);
+
+        StorageUsed withoutRoot = FeeCalculator.computeStorageStat(root, true);
+        assertThat(withoutRoot.getCellsUsed().longValue()).isEqualTo(2);
+        assertThat(withoutRoot.getBitsUsed().longValue()).isEqualTo(32 + 16);
+    }
+
+    @Test
+    public void testFees() throws IOException {
+        FeeCalculator calculator = loadCalculator();
+
+        // lump 400000, 400 per bit, 40000 per cell
+        Cell message = CellBuilder.beginCell()
+                .storeUint(0, 64)
+                .storeRef(CellBuilder.beginCell().storeUint(0, 32).endCell())
+                .endCell();
+        assertThat(calculator.computeFwdFee(0, 0, false)).isEqualTo(BigInteger.valueOf(400000));
+        assertThat(calculator.computeFwdFee(message, false)).isEqualTo(BigInteger.valueOf(400000 + 32 * 400 + 40000));
+        assertThat(calculator.computeImportFee(message, false)).isEqualTo(calculator.computeFwdFee(message, false));
+        assertThat(calculator.computeFirstFrac(BigInteger.valueOf(65536 * 3), false)).isEqualTo(BigInteger.valueOf(21845 * 3));
+
+        // flat 40000 for first 100 gas units, then 400 per unit
+        assertThat(calculator.computeGasFee(50, false)).isEqualTo(BigInteger.valueOf(40000));
+        assertThat(calculator.computeGasFee(3308, false)).isEqualTo(BigInteger.valueOf(40000 + 3208 * 400));
+
+        // 1 nanoton per 2^16 bit-seconds, 500 per 2^16 cell-seconds
+        assertThat(calculator.computeStorageFee(1, 100, 0, 86400, false))
+                .isEqualTo(BigInteger.valueOf(792));
+        assertThat(calculator.computeStorageFee(1, 100, 86400, 86400, false)).isEqualTo(BigInteger.ZERO);
+        assertThat(calculator.computeStorageFee(1, 100, 0, 86400, true)).isGreaterThan(BigInteger.valueOf(792));
+    }
+}
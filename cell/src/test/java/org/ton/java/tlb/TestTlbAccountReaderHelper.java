@@ -96,4 +96,16 @@ public class TestTlbAccountReaderHelper {
 
         assertThat(accountStorage.getAccountStatus()).isEqualTo("UNINIT");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testAccountKeepsSourceCellUntilChanged() {
+        Cell c = CellBuilder.beginCell().fromBoc("b5ee9c724101030100d700026fc00c419e2b8a3b6cd81acd3967dbbaf4442e1870e99eaf32278b7814a6ccaac5f802068148c314b1854000006735d812370d00764ce8d340010200deff0020dd2082014c97ba218201339cbab19f71b0ed44d0d31fd31f31d70bffe304e0a4f2608308d71820d31fd31fd31ff82313bbf263ed44d0d31fd31fd3ffd15132baf2a15144baf2a204f901541055f910f2a3f8009320d74a96d307d402fb00e8d101a4c8cb1fcb1fcbffc9ed5400500000000229a9a317d78e2ef9e6572eeaa3f206ae5c3dd4d00ddd2ffa771196dc0ab985fa84daf451c340d7fa").endCell();
+        Account account = Account.deserialize(CellSlice.beginParse(c));
+        assertThat(account.toCell()).isSameAs(c);
+        assertThat(account.getHash()).isEqualTo(c.getHash());
+
+        account.setNone(true);
+        assertThat(account.toCell()).isNotSameAs(c);
+        assertThat(account.toCell().getBits().getUsedBits()).isEqualTo(1);
+    }
+}
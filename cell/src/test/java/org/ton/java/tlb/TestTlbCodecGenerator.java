@@ -0,0 +1,186 @@
+package org.ton.java.tlb;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.ton.java.cell.Cell;
+import org.ton.java.cell.CellBuilder;
+import org.ton.java.cell.CellSlice;
+import org.ton.java.tlb.codegen.TlbCodecGenerator;
+import org.ton.java.tlb.codegen.TlbConstructor;
+import org.ton.java.tlb.codegen.TlbScheme;
+import org.ton.java.tlb.generated.*;
+import org.ton.java.tlb.types.ActionPhase;
+import org.ton.java.tlb.types.ComputePhaseVM;
+import org.ton.java.tlb.types.TransactionDescriptionOrdinary;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertThrows;
+
+@Slf4j
+@RunWith(JUnit4.class)
+public class TestTlbCodecGenerator {
+
+    private static final String TX_BOC = "b5ee9c72010226010006990003b570c6e8053cae2db8db1f757877a20451406d17f8ab7e42b88aa3bf6022dd2666200002018ba3f1404177290fd7520f4c9a9cdea0d5c1d972e0f63b75e4114ca8ec24c20211342379800002018ba208f8163eb5649000347372d2680102030201e0040500827292c274ccb4edfb07eeffce3721febf61bb2666d7ee4234f9e01a59b9e8a2a97129422e88bc846f3e65e2c7a05f4ac0954cf243cb7dff41b59bd42138c835a95b02170c40491f4add40186e668611242503b148001b5ba243fca4eba58d090c2fdbcfd5468567018240568edc715af856360479fb00031ba014f2b8b6e36c7dd5e1de88114501b45fe2adf90ae22a8efd808b74999891f4add40006ff7ec000004031747e2806c7d6ac931b0607080101df150114ff00f4a413f4bcf2c80b090059000000000000000000000000bb870617fcc0c46817b359c9399b9bb71b944947102674e4b46a8a9312191735400199285e6041bb8cfb5d60ea1bd3956f9b77a026cfbe07217d221a024b8a12e7fca30bc9c605d27755caba9ae0a66f3494952fdb788f65ba15e99ea1c4148727ec020000000063eb56833a288aabc0130201200a0b0201480c0d0006f2f0010202cf0e0f020120111200231b0c4835d26040982e64cc3e0024bc0078a001e920c235c60834c7f4cffe08ea87d4c82e7c98fb513434c7f4cff4fffd013454d820103d039be84c7c98145ceebca881fe40550421fe443ca8c0bd01347e001fe3858860043d1e1be9482600b4c1f50c007ec0244cb8806cf996e0c96872100d20103d10e2b98c407232c7c4f2cff2fffd00327b5520100034208040f4966fa56c122094305303b9de2093333601926c21e2b30017bd9ce76a26869af98eb85ffc0041be5f976a268698f98e99fe9ff98fa0268a91040207a0737d098c92dbfc95dd1f140104d08014026162007bb97b0fd056eabbb2d09d36ae533b16f545d0fbfbf187685c7c6a115d6d303d000000000000000000000000000232161702b1680018dd00a795c5b71b63eeaf0ef4408a280da2ff156fc857115477ec045ba4ccc5003ddcbd87e82b755dd9684e9b57299d8b7aa2e87dfdf8c3b42e3e3508aeb6981e91f0fc64bc06a18a7c00004031747e280ac7d6ac931916170114ff00f4a413f4bcf2c80b1801d931f5ab23c00585d8b57d25ff490c78aef4d63589f930b510d6e0009ccecfc503eb3c723c362801ca8151271aafc451be2c28cdc132ddc423328db0830c9afb19e99a6d6b62d19500036b74487f949d74b1a12185fb79faa8d0ace030480ad1db8e2b5f0ac6c08f3f50ee6b280223020120191a0201481b1c0004f2300202cd1d1e0051a03859da89a1a601a63ff481f481f481f401a861a1f481f401f481f4006104208c92b0a0158002ab0102f7d00e8698180b8d8492f82707d201876a2686980698ffd207d207d207d006a18136000f968ca116ba4e10159c720191c1c29a0e382c92f847028a26382f970fa02698fc1080289c6c8895d7970fae99f98fd2018202b036465800ae58fa801e78b00e78b00e78b00fd016664f6aa701b13e380718103e98fe99f9810c1f2001f7660840ee6b280149828148c2fbcb87089343e903e803e903e800c14e4a848685421e845a814a41c20043232c15400f3c5807e80b2dab25c7ec00970800975d27080ac2385d4115c20043232c15400f3c5807e80b2dab25c7ec00408e48d0d38969c20043232c15400f3c5807e80b2dab25c7ec01c08208417f30f452220016371038476514433070f005014ac001925f0be021c0029f31104910384760102510241023f005e03ac003e3025f09840ff2f02100ca82103b9aca0018bef2e1c95346c7055152c70515b1f2e1ca702082105fcc3d14218010c8cb0528cf1621fa02cb6acb1f19cb3f27cf1627cf1618ca0027fa0217ca00c98040fb0071065044451506c8cb0015cb1f5003cf1601cf1601cf1601fa02ccc9ed540082218018c8cb052acf1621fa02cb6acb1f13cb3f23cf165003cf16ca0021fa02ca00c98306fb0071555006c8cb0015cb1f5003cf1601cf1601cf1601fa02ccc9ed5400878001b5ba243fca4eba58d090c2fdbcfd5468567018240568edc715af856360479fa100036b74487f949d74b1a12185fb79faa8d0ace030480ad1db8e2b5f0ac6c08f3f42009e43afcc3d090000000000000000007e00000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000006fc9bc93d04ca1898800000000000200000000000362a1ec2a403ce96f3234341d66f0c8f2245dfda3293444eca58168c5d17c911643d0c35c";
+
+    private static TlbScheme loadBlockScheme() throws IOException {
+        return TlbScheme.parse(IOUtils.toString(
+                Objects.requireNonNull(TestTlbCodecGenerator.class.getResourceAsStream("/tlb-schemes/block.tlb")),
+                StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Fails when generator or defaults change without regenerating, run TlbCodecGenerator.main() from the cell module
+     */
+    @Test
+    public void testGeneratedSourcesAreUpToDate() throws IOException {
+        Map<String, String> generated = TlbCodecGenerator.defaults(loadBlockScheme(), "block.tlb").generate();
+        Path dir = Paths.get("src/test/java", TlbCodecGenerator.DEFAULT_PACKAGE.replace('.', File.separatorChar));
+
+        List<String> committed = Files.list(dir)
+                .map(p -> p.getFileName().toString().replace(".java", ""))
+                .sorted()
+                .collect(Collectors.toList());
+        assertThat(committed).containsExactlyElementsOf(generated.keySet());
+
+        for (Map.Entry<String, String> source : generated.entrySet()) {
+            String onDisk = new String(Files.readAllBytes(dir.resolve(source.getKey() + ".java")), StandardCharsets.UTF_8);
+            assertThat(onDisk).as(source.getKey()).isEqualTo(source.getValue());
+        }
+    }
+
+    @Test
+    public void testParseConstructors() throws IOException {
+        TlbScheme scheme = loadBlockScheme();
+
+        List<TlbConstructor> skipReasons = scheme.getConstructors("ComputeSkipReason");
+        assertThat(skipReasons.stream().map(TlbConstructor::getTag).collect(Collectors.toList()))
+                .containsExactly("00", "01", "10", "110");
+
+        TlbConstructor smcInfo = scheme.getConstructors("SmartContractInfo").get(0);
+        assertThat(smcInfo.getTag()).isEqualTo("00000111011011101111000111101010");
+        assertThat(smcInfo.isHexTag()).isTrue();
+
+        TlbConstructor computeVm = scheme.getConstructors("TrComputePhase").get(1);
+        assertThat(computeVm.getFields()).hasSize(5);
+        assertThat(computeVm.getFields().get(4).isAnonymousCell()).isTrue();
+        assertThat(computeVm.getFields().get(4).getCellFields()).hasSize(9);
+        assertThat(computeVm.getFields().get(4).getCellFields().get(2).getType()).isEqualTo("Maybe (VarUInteger 3)");
+
+        TlbConstructor hashmap = scheme.getConstructors("HashmapE").get(1);
+        assertThat(hashmap.getParams()).containsExactly("{n:#}", "{X:Type}");
+        assertThat(hashmap.getTypeArgs()).containsExactly("n", "X");
+
+        TlbConstructor completed = TlbScheme.parse("a#4_ = A; b#8 = A;").getConstructors("A").get(0);
+        assertThat(completed.getTag()).isEqualTo("0");
+    }
+
+    @Test
+    public void testUnsupportedTypesAreRejected() throws IOException {
+        TlbScheme scheme = loadBlockScheme();
+        for (String type : Arrays.asList("ShardAccount", "ShardIdent", "HashmapE", "Unknown")) {
+            TlbCodecGenerator generator = TlbCodecGenerator.builder()
+                    .scheme(scheme)
+                    .schemeName("block.tlb")
+                    .packageName(TlbCodecGenerator.DEFAULT_PACKAGE)
+                    .types(Collections.singletonList(type))
+                    .externalTypes(Collections.emptyMap())
+                    .build();
+            assertThrows(type, Error.class, generator::generate);
+        }
+    }
+
+    @Test
+    public void testDecodeTransactionDescription() {
+        Cell tx = CellBuilder.beginCell().fromBoc(TX_BOC).endCell();
+        Cell descriptionCell = tx.getRefs().get(2);
+
+        TransactionDescr description = TransactionDescr.deserialize(CellSlice.beginParse(descriptionCell));
+        TransactionDescriptionOrdinary expected =
+                (TransactionDescriptionOrdinary) org.ton.java.tlb.types.TransactionDescription.deserialize(
+                        CellSlice.beginParse(descriptionCell));
+
+        assertThat(description).isInstanceOf(TransOrd.class);
+        TransOrd ordinary = (TransOrd) description;
+        assertThat(ordinary.isAborted()).isEqualTo(expected.isAborted());
+        assertThat(ordinary.getStoragePh().getStorageFeesCollected())
+                .isEqualTo(expected.getStoragePhase().getStorageFeesCollected());
+
+        TrPhaseComputeVm computeVm = (TrPhaseComputeVm) ordinary.getComputePh();
+        ComputePhaseVM expectedVm = (ComputePhaseVM) expected.getComputePhase();
+        assertThat(computeVm.getGasFees()).isEqualTo(expectedVm.getGasFees());
+        assertThat(computeVm.getGasUsed()).isEqualTo(expectedVm.getDetails().getGasUsed());
+        assertThat(computeVm.getExitCode()).isEqualTo(expectedVm.getDetails().getExitCode());
+        assertThat(computeVm.getVmSteps()).isEqualTo(expectedVm.getDetails().getVMSteps());
+        assertThat(computeVm.getGasLimit()).isEqualTo(expectedVm.getDetails().getGasLimit());
+
+        // action phase stays a raw cell until requested
+        assertThat(ordinary.getAction()).isSameAs(descriptionCell.getRefs().get(1));
+        TrActionPhase action = ordinary.loadAction();
+        ActionPhase expectedAction = expected.getActionPhase();
+        assertThat(action.getTotActions()).isEqualTo(expectedAction.getTotalActions());
+        assertThat(action.getMsgsCreated()).isEqualTo(expectedAction.getMessagesCreated());
+        assertThat(action.getResultCode()).isEqualTo(expectedAction.getResultCode());
+
+        assertThat(description.toCell().getHash()).isEqualTo(descriptionCell.getHash());
+    }
+
+    @Test
+    public void testRoundTripMixedTagLengths() {
+        List<ComputeSkipReason> reasons = Arrays.asList(
+                CskipNoState.builder().build(),
+                CskipBadState.builder().build(),
+                CskipNoGas.builder().build(),
+                CskipSuspended.builder().build());
+        for (ComputeSkipReason reason : reasons) {
+            CellSlice cs = CellSlice.beginParse(reason.toCell());
+            assertThat(ComputeSkipReason.deserialize(cs)).isEqualTo(reason);
+            assertThat(cs.isFullyRead()).isTrue();
+        }
+
+        List<TrBouncePhase> bounces = Arrays.asList(
+                TrPhaseBounceNegfunds.builder().build(),
+                TrPhaseBounceNofunds.builder()
+                        .msgSize(StorageUsedShort.builder().cells(BigInteger.ONE).bits(BigInteger.valueOf(700)).build())
+                        .reqFwdFees(BigInteger.valueOf(1000))
+                        .build(),
+                TrPhaseBounceOk.builder()
+                        .msgSize(StorageUsedShort.builder().cells(BigInteger.ZERO).bits(BigInteger.ZERO).build())
+                        .msgFees(BigInteger.valueOf(5))
+                        .fwdFees(BigInteger.valueOf(6))
+                        .build());
+        for (TrBouncePhase bounce : bounces) {
+            assertThat(TrBouncePhase.deserialize(CellSlice.beginParse(bounce.toCell()))).isEqualTo(bounce);
+        }
+
+        List<AccStatusChange> changes = Arrays.asList(
+                AcstUnchanged.builder().build(), AcstFrozen.builder().build(), AcstDeleted.builder().build());
+        for (AccStatusChange change : changes) {
+            assertThat(AccStatusChange.deserialize(CellSlice.beginParse(change.toCell()))).isEqualTo(change);
+        }
+    }
+
+    @Test
+    public void testWrongTagIsRejected() {
+        Cell cell = CellBuilder.beginCell().storeUint(0b111, 3).endCell();
+        assertThrows(Error.class, () -> ComputeSkipReason.deserialize(CellSlice.beginParse(cell)));
+        assertThrows(Error.class, () -> CskipNoGas.deserialize(CellSlice.beginParse(cell)));
+        assertThrows(Error.class, () -> ComputeSkipReason.deserialize(CellSlice.beginParse(CellBuilder.beginCell().endCell())));
+    }
+}
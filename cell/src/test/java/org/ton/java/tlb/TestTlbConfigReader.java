@@ -0,0 +1,67 @@
+package org.ton.java.tlb;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.ton.java.cell.Cell;
+import org.ton.java.cell.CellBuilder;
+import org.ton.java.tlb.types.BlockchainConfig;
+import org.ton.java.tlb.types.ConfigParams18;
+import org.ton.java.tlb.types.ConfigParams25;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+@RunWith(JUnit4.class)
+public class TestTlbConfigReader {
+
+    private Cell loadConfig() throws IOException {
+        String boc = IOUtils.toString(
+                Objects.requireNonNull(getClass().getResourceAsStream("/allconfig-boc-as-hex.txt")),
+                StandardCharsets.UTF_8);
+        return CellBuilder.beginCell().fromBoc(boc.trim()).endCell();
+    }
+
+    @Test
+    public void testBlockchainConfigTypedParams() throws IOException {
+        BlockchainConfig config = BlockchainConfig.of(loadConfig());
+        log.info("params {}", config.getParamIds());
+
+        assertThat(config.getParamIds()).contains(0L, 18L, 20L, 21L, 24L, 25L, -999L);
+        assertThat(config.getParamCell(3)).isNull();
+        assertThat((Object) config.getParam(3)).isNull();
+
+        ConfigParams18 storagePrices = config.getStoragePrices();
+        assertThat(storagePrices.getStoragePrices().elements).hasSize(1);
+
+        ConfigParams25 fwdPrices = config.getFwdPrices();
+        assertThat(fwdPrices.getConfigFwdPrices().getLumpPrice()).isEqualTo(BigInteger.valueOf(400000));
+        assertThat(fwdPrices.getConfigFwdPrices().getBitPrice()).isEqualTo(BigInteger.valueOf(26214400));
+
+        assertThat(config.getGasPrices()).isNotNull();
+        assertThat(config.getMcGasPrices()).isNotNull();
+        assertThat(config.getMcFwdPrices()).isNotNull();
+    }
+
+    @Test
+    public void testBlockchainConfigIsCached() throws IOException {
+        BlockchainConfig config = BlockchainConfig.of(loadConfig());
+        assertThat(BlockchainConfig.of(loadConfig())).isSameAs(config);
+        assertThat((Object) config.getFwdPrices()).isSameAs(config.getFwdPrices());
+    }
+
+    @Test
+    public void testBlockchainConfigFromBocIsCachedBeforeParsing() throws IOException {
+        String boc = loadConfig().toBase64();
+        BlockchainConfig config = BlockchainConfig.fromBocBase64(boc);
+        assertThat(BlockchainConfig.fromBocBase64(boc + "\n")).isSameAs(config);
+        assertThat(BlockchainConfig.of(loadConfig())).isSameAs(config);
+    }
+}
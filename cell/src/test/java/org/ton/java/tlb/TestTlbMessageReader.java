@@ -141,4 +141,34 @@ public class TestTlbMessageReader {
         log.info("loadedMessage {}", loadedMessage);
         assertThat(loadedMessage.getCreatedAt()).isEqualTo(5);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testMessageKeepsSourceCellUntilChanged() {
+        Cell c = CellBuilder.beginCell().fromBoc("b5ee9c724101020100860001b36800bf4c6bdca25797e55d700c1a5448e2af5d1ac16f9a9628719a4e1eb2b44d85e33fd104a366f6fb17799871f82e00e4f2eb8ae6aaf6d3e0b3fb346cd0208e23725e14094ba15d20071f12260000446ee17a9b0cc8c028d8c001004d8002b374733831aac3455708e8f1d2c7f129540b982d3a5de8325bf781083a8a3d2a04a7f943813277f3ea").endCell();
+        Message message = Message.deserialize(CellSlice.beginParse(c));
+        assertThat(message.toCell()).isSameAs(c);
+        assertThat(message.getHash()).isEqualTo(c.getHash());
+
+        message.setBody(CellBuilder.beginCell().storeUint(7, 32).endCell());
+        assertThat(message.toCell()).isNotSameAs(c);
+        assertThat(message.getHash()).isNotEqualTo(c.getHash());
+        assertThat(Message.deserialize(CellSlice.beginParse(message.toCell())).getBody().getBits().toHex())
+                .isEqualTo(CellBuilder.beginCell().storeUint(7, 32).endCell().getBits().toHex());
+    }
+
+    @Test
+    public void testStateInitKeepsSourceCellUntilChanged() {
+        Cell c = StateInit.builder()
+                .code(CellBuilder.beginCell().storeUint(1, 8).endCell())
+                .data(CellBuilder.beginCell().storeUint(2, 8).endCell())
+                .build()
+                .toCell();
+        StateInit stateInit = StateInit.deserialize(CellSlice.beginParse(c));
+        assertThat(stateInit.toCell()).isSameAs(c);
+        assertThat(stateInit.getAddress().toRaw()).isEqualTo("0:" + Utils.bytesToHex(c.getHash()));
+
+        stateInit.setData(CellBuilder.beginCell().storeUint(3, 8).endCell());
+        assertThat(stateInit.toCell()).isNotSameAs(c);
+        assertThat(stateInit.getHash()).isNotEqualTo(c.getHash());
+    }
+}
@@ -0,0 +1,76 @@
+package org.ton.java.tlb;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.ton.java.cell.Cell;
+import org.ton.java.cell.CellBuilder;
+import org.ton.java.cell.CellSlice;
+import org.ton.java.tlb.types.*;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+@RunWith(JUnit4.class)
+public class TestVmStackCodec {
+
+    @Test
+    public void testVmStackCodecSameAsVmStack() {
+        Cell cell = CellBuilder.beginCell().storeUint(5, 8).endCell();
+        BigInteger big = BigInteger.ONE.shiftLeft(200);
+
+        Cell expected = VmStack.builder()
+                .depth(4)
+                .stack(VmStackList.builder()
+                        .tos(Arrays.asList(
+                                VmStackValueTinyInt.builder().value(BigInteger.valueOf(-7)).build(),
+                                VmStackValueInt.builder().value(big).build(),
+                                VmStackValueCell.builder().cell(cell).build(),
+                                VmStackValueNull.builder().build()))
+                        .build())
+                .build()
+                .toCell();
+
+        Cell actual = VmStackCodec.encode(Arrays.asList(-7L, big, cell, null));
+        assertThat(actual.getHash()).isEqualTo(expected.getHash());
+
+        List<Object> values = VmStackCodec.decode(expected);
+        assertThat(values).containsExactly(BigInteger.valueOf(-7), big, cell, null);
+    }
+
+    @Test
+    public void testVmStackCodecRoundTrip() {
+        Cell cell = CellBuilder.beginCell().storeUint(0xabcd, 16).storeRef(CellBuilder.beginCell().endCell()).endCell();
+        List<Object> tuple = Arrays.asList(1, Arrays.asList(2L, 3L), cell, 4L);
+
+        String boc = VmStackCodec.encodeToBase64(Arrays.asList(
+                true,
+                BigInteger.valueOf(Long.MIN_VALUE).subtract(BigInteger.ONE),
+                CellSlice.beginParse(cell),
+                tuple,
+                Collections.emptyList()));
+
+        List<Object> values = VmStackCodec.decode(boc);
+        assertThat(values).hasSize(5);
+        assertThat(values.get(0)).isEqualTo(BigInteger.valueOf(-1));
+        assertThat(values.get(1)).isEqualTo(BigInteger.valueOf(Long.MIN_VALUE).subtract(BigInteger.ONE));
+        assertThat(CellBuilder.beginCell().storeSlice((CellSlice) values.get(2)).endCell().getHash()).isEqualTo(cell.getHash());
+        assertThat(values.get(3)).isEqualTo(Arrays.asList(
+                BigInteger.ONE, Arrays.asList(BigInteger.valueOf(2), BigInteger.valueOf(3)), cell, BigInteger.valueOf(4)));
+        assertThat(values.get(4)).isEqualTo(Collections.emptyList());
+
+        // same tuple layout as VmTuple
+        VmStack stack = VmStack.deserialize(CellSlice.beginParse(Cell.fromBocBase64(boc)));
+        VmTuple vmTuple = (VmTuple) stack.getStack().getTos().get(3);
+        assertThat(vmTuple.getValues()).hasSize(4);
+        assertThat(((VmStackValueCell) vmTuple.getValues().get(2)).getCell()).isEqualTo(cell);
+
+        assertThat(VmStackCodec.decode(VmStackCodec.encodeToBase64(Collections.emptyList()))).isEmpty();
+    }
+}
@@ -0,0 +1,752 @@
+package org.ton.java.tlb.codegen;
+
+import lombok.Builder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Generates Java codecs from TL-B constructors.
+ *
+ * <p>Every requested type and every scheme type it refers to becomes one class (single
+ * constructor) or one interface plus a class per constructor. Generated code dispatches on
+ * constructor tags with a switch over prefix bits, keeps numbers up to 63 bits in primitives and
+ * keeps typed references (<code>^X</code>) as raw cells that are decoded only when
+ * <code>loadX()</code> is called.
+ *
+ * <p>Supported field types: Bool, (## n), #, uintN, intN, bitsN, Grams, Coins, (VarUInteger n),
+ * ^Cell, ^X, ^[ ... ], (Maybe X) and other non-parametrized types of the scheme or of {@link
+ * #externalTypes}. Types using anything else, e.g. hashmaps or conditional fields, are rejected.
+ *
+ * <p>The codecs in org.ton.java.tlb.generated are produced with the defaults of this class, run
+ * {@link #main(String[])} from the cell module directory to regenerate them. Both are test
+ * sources and are not part of the published cell jar.
+ */
+@Builder
+public class TlbCodecGenerator {
+
+    public static final String DEFAULT_PACKAGE = "org.ton.java.tlb.generated";
+
+    public static final List<String> DEFAULT_TYPES =
+            Collections.unmodifiableList(
+                    Arrays.asList("TransactionDescr", "ExtBlkRef", "StorageUsed", "TickTock"));
+
+    public static final Map<String, String> DEFAULT_EXTERNAL_TYPES;
+
+    static {
+        Map<String, String> external = new LinkedHashMap<>();
+        external.put("CurrencyCollection", "org.ton.java.tlb.types.CurrencyCollection");
+        external.put("Transaction", "org.ton.java.tlb.types.Transaction");
+        DEFAULT_EXTERNAL_TYPES = Collections.unmodifiableMap(external);
+    }
+
+    private static final Set<String> RESERVED =
+            new HashSet<>(
+                    Arrays.asList(
+                            "abstract", "assert", "boolean", "break", "byte", "case", "catch", "char",
+                            "class", "const", "continue", "default", "do", "double", "else", "enum",
+                            "extends", "final", "finally", "float", "for", "goto", "if", "implements",
+                            "import", "instanceof", "int", "interface", "long", "native", "new",
+                            "package", "private", "protected", "public", "return", "short", "static",
+                            "strictfp", "super", "switch", "synchronized", "this", "throw", "throws",
+                            "transient", "try", "void", "volatile", "while", "true", "false", "null",
+                            "cs", "b", "builder"));
+
+    private static final Pattern SIZED = Pattern.compile("^(## |uint ?|int ?|bits ?)(\\d+)$");
+    private static final Pattern VAR_UINT = Pattern.compile("^VarUInteger (\\d+)$");
+    private static final Pattern IDENTIFIER = Pattern.compile("^[A-Za-z][A-Za-z0-9_]*$");
+
+    TlbScheme scheme;
+
+    /**
+     * scheme file name, mentioned in generated sources
+     */
+    String schemeName;
+
+    String packageName;
+
+    /**
+     * TL-B types to generate, referenced scheme types are added automatically
+     */
+    List<String> types;
+
+    /**
+     * TL-B types handled by existing classes with static deserialize(CellSlice) and toCell(),
+     * mapped to fully qualified class names
+     */
+    Map<String, String> externalTypes;
+
+    public static void main(String[] args) throws IOException {
+        Path schemeFile = Paths.get(args.length > 0 ? args[0] : "src/test/resources/tlb-schemes/block.tlb");
+        Path sourceRoot = Paths.get(args.length > 1 ? args[1] : "src/test/java");
+        defaults(TlbScheme.parse(schemeFile), schemeFile.getFileName().toString()).generate(sourceRoot);
+    }
+
+    /**
+     * @return generator configured as for the committed org.ton.java.tlb.generated package
+     */
+    public static TlbCodecGenerator defaults(TlbScheme scheme, String schemeName) {
+        return TlbCodecGenerator.builder()
+                .scheme(scheme)
+                .schemeName(schemeName)
+                .packageName(DEFAULT_PACKAGE)
+                .types(DEFAULT_TYPES)
+                .externalTypes(DEFAULT_EXTERNAL_TYPES)
+                .build();
+    }
+
+    /**
+     * Writes generated sources below sourceRoot, in the directory of {@link #packageName}
+     */
+    public void generate(Path sourceRoot) throws IOException {
+        Path dir = sourceRoot.resolve(packageName.replace('.', '/'));
+        Files.createDirectories(dir);
+        for (Map.Entry<String, String> source : generate().entrySet()) {
+            Files.write(dir.resolve(source.getKey() + ".java"), source.getValue().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * @return generated sources by class name
+     */
+    public Map<String, String> generate() {
+        Map<String, List<TlbConstructor>> selected = collectTypes();
+        Names names = new Names(selected);
+
+        Map<String, String> sources = new TreeMap<>();
+        for (Map.Entry<String, List<TlbConstructor>> type : selected.entrySet()) {
+            List<TlbConstructor> constructors = type.getValue();
+            if (constructors.size() == 1) {
+                TlbConstructor constructor = constructors.get(0);
+                sources.put(names.type(type.getKey()), new ClassWriter(names, constructor, null).write());
+            } else {
+                sources.put(names.type(type.getKey()), writeInterface(names, type.getKey(), constructors));
+                for (TlbConstructor constructor : constructors) {
+                    sources.put(
+                            names.constructor(constructor),
+                            new ClassWriter(names, constructor, names.type(type.getKey())).write());
+                }
+            }
+        }
+        return sources;
+    }
+
+    /**
+     * Requested types plus all scheme types they refer to, validated
+     */
+    private Map<String, List<TlbConstructor>> collectTypes() {
+        Map<String, List<TlbConstructor>> selected = new TreeMap<>();
+        Deque<String> queue = new ArrayDeque<>(types);
+        while (!queue.isEmpty()) {
+            String type = queue.poll();
+            if (selected.containsKey(type)) {
+                continue;
+            }
+            List<TlbConstructor> constructors = scheme.getConstructors(type);
+            if (constructors.isEmpty()) {
+                throw new Error("TL-B type " + type + " not found in " + schemeName);
+            }
+            validate(type, constructors);
+            selected.put(type, constructors);
+
+            Set<String> referenced = new TreeSet<>();
+            for (TlbConstructor constructor : constructors) {
+                for (TlbField field : constructor.getFields()) {
+                    collectReferences(constructor, field, referenced);
+                }
+            }
+            queue.addAll(referenced);
+        }
+        return selected;
+    }
+
+    private void validate(String type, List<TlbConstructor> constructors) {
+        for (TlbConstructor constructor : constructors) {
+            if (!constructor.getTypeArgs().isEmpty() || !constructor.getParams().isEmpty()) {
+                throw unsupported(constructor, "parametrized types are not supported");
+            }
+            if (!constructor.isTagDeclared()) {
+                throw unsupported(constructor, "implicit crc32 tags are not supported");
+            }
+            if ((constructors.size() > 1) && constructor.getTag().isEmpty()) {
+                throw unsupported(constructor, "constructor without tag in a type with several constructors");
+            }
+            if (constructor.getTag().length() > 32) {
+                throw unsupported(constructor, "tags longer than 32 bits are not supported");
+            }
+        }
+        for (TlbConstructor a : constructors) {
+            for (TlbConstructor b : constructors) {
+                if ((a != b) && b.getTag().startsWith(a.getTag())) {
+                    throw unsupported(b, "tag is not prefix-free in " + type);
+                }
+            }
+        }
+    }
+
+    private void collectReferences(TlbConstructor constructor, TlbField field, Set<String> referenced) {
+        if (field.isAnonymousCell()) {
+            for (TlbField cellField : field.getCellFields()) {
+                collectReferences(constructor, cellField, referenced);
+            }
+            return;
+        }
+        if (isNull(field.getName()) || field.getName().equals("_")) {
+            throw unsupported(constructor, "anonymous fields are not supported");
+        }
+        String type = field.getType();
+        boolean ref = false;
+        while (true) {
+            type = TlbScheme.unwrap(type);
+            if (type.startsWith("Maybe ")) {
+                type = type.substring("Maybe ".length());
+            } else if (type.startsWith("^")) {
+                type = type.substring(1);
+                ref = true;
+            } else {
+                break;
+            }
+        }
+        if (type.equals("Cell") && !ref) {
+            throw unsupported(constructor, "inline Cell fields are not supported");
+        }
+        if (isNull(primitive(type)) && !type.equals("Cell")) {
+            if (!IDENTIFIER.matcher(type).matches()) {
+                throw unsupported(constructor, "field type " + field.getType() + " is not supported");
+            }
+            if (!externalTypes.containsKey(type)) {
+                if (!scheme.hasType(type)) {
+                    throw unsupported(constructor, "unknown type " + type);
+                }
+                referenced.add(type);
+            }
+        }
+    }
+
+    private Error unsupported(TlbConstructor constructor, String reason) {
+        return new Error("Cannot generate codec for " + constructor.getSource() + ": " + reason);
+    }
+
+    private String writeInterface(Names names, String type, List<TlbConstructor> constructors) {
+        String name = names.type(type);
+        Source s = new Source();
+        s.line("package " + packageName + ";");
+        s.line("");
+        s.line("import org.ton.java.cell.Cell;");
+        s.line("import org.ton.java.cell.CellBuilder;");
+        s.line("import org.ton.java.cell.CellSlice;");
+        s.line("");
+        writeJavadoc(s, constructors);
+        s.line("public interface " + name + " {");
+        s.line("");
+        s.line("    Cell toCell();");
+        s.line("");
+        s.line("    void store(CellBuilder b);");
+        s.line("");
+        s.line("    static " + name + " deserialize(CellSlice cs) {");
+
+        Map<Integer, List<TlbConstructor>> byLength = new TreeMap<>();
+        for (TlbConstructor constructor : constructors) {
+            byLength.computeIfAbsent(constructor.getTag().length(), k -> new ArrayList<>()).add(constructor);
+        }
+        for (Map.Entry<Integer, List<TlbConstructor>> group : byLength.entrySet()) {
+            s.line("        if (cs.getRestBits() >= " + group.getKey() + ") {");
+            s.line("            switch ((int) cs.preloadUintLong(" + group.getKey() + ")) {");
+            for (TlbConstructor constructor : group.getValue()) {
+                s.line("                case " + tagLiteral(constructor, false) + ":");
+                s.line("                    return " + names.constructor(constructor) + ".deserialize(cs);");
+            }
+            s.line("            }");
+            s.line("        }");
+        }
+        s.line("        throw new Error(\"unknown " + type + " constructor\");");
+        s.line("    }");
+        s.line("}");
+        return s.toString();
+    }
+
+    private void writeJavadoc(Source s, List<TlbConstructor> constructors) {
+        s.line("/**");
+        s.line(" * Generated by TlbCodecGenerator from " + schemeName + ", do not edit.");
+        s.line(" *");
+        s.line(" * <pre>");
+        for (TlbConstructor constructor : constructors) {
+            s.line(" * " + escape(constructor.getSource()) + ";");
+        }
+        s.line(" * </pre>");
+        s.line(" */");
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;")
+                .replace("<", "&lt;")
+                .replace(">", "&gt;")
+                .replace("@", "&#64;")
+                .replace("*/", "*&#47;");
+    }
+
+    private static String tagLiteral(TlbConstructor constructor, boolean asLong) {
+        String tag = constructor.getTag();
+        String literal =
+                constructor.isHexTag()
+                        ? "0x" + Long.toHexString(Long.parseLong(tag, 2))
+                        : "0b" + tag;
+        return asLong ? literal + "L" : literal;
+    }
+
+    /**
+     * Codec of a field type without Maybe and references, null if type is not a primitive
+     */
+    private static Codec primitive(String type) {
+        switch (type) {
+            case "Bool":
+                return new Codec("boolean", "Boolean", "%s.loadBit()", "%s.storeBit(%s);");
+            case "Grams":
+            case "Coins":
+                return new Codec("BigInteger", "BigInteger", "%s.loadCoins()", "%s.storeCoins(%s);");
+            case "#":
+                return new Codec("long", "Long", "%s.loadUintLong(32)", "%s.storeUint(%s, 32);");
+        }
+        Matcher varUint = VAR_UINT.matcher(type);
+        if (varUint.matches()) {
+            int n = Integer.parseInt(varUint.group(1));
+            int lenBits = 32 - Integer.numberOfLeadingZeros(n - 1);
+            return new Codec(
+                    "BigInteger",
+                    "BigInteger",
+                    "%s.loadVarUInteger(BigInteger.valueOf(" + lenBits + "))",
+                    "%s.storeVarUint(%s, " + lenBits + ");");
+        }
+        Matcher sized = SIZED.matcher(type);
+        if (!sized.matches()) {
+            return null;
+        }
+        int n = Integer.parseInt(sized.group(2));
+        String kind = sized.group(1).trim();
+        switch (kind) {
+            case "##":
+            case "uint":
+                if (n < 32) {
+                    return new Codec("int", "Integer", "(int) %s.loadUintLong(" + n + ")", "%s.storeUint(%s, " + n + ");");
+                }
+                if (n < 64) {
+                    return new Codec("long", "Long", "%s.loadUintLong(" + n + ")", "%s.storeUint(%s, " + n + ");");
+                }
+                return new Codec("BigInteger", "BigInteger", "%s.loadUint(" + n + ")", "%s.storeUint(%s, " + n + ");");
+            case "int":
+                if (n <= 32) {
+                    return new Codec("int", "Integer", "(int) %s.loadIntLong(" + n + ")", "%s.storeInt(%s, " + n + ");");
+                }
+                if (n <= 64) {
+                    return new Codec("long", "Long", "%s.loadIntLong(" + n + ")", "%s.storeInt(%s, " + n + ");");
+                }
+                return new Codec("BigInteger", "BigInteger", "%s.loadInt(" + n + ")", "%s.storeInt(%s, " + n + ");");
+            default:
+                if (n % 8 == 0) {
+                    return new Codec("byte[]", "byte[]", "%s.loadBytes(" + n + ")", "%s.storeBytes(%s, " + n + ");");
+                }
+                return new Codec("BitString", "BitString", "%s.loadBits(" + n + ")", "%s.storeBitString(%s);");
+        }
+    }
+
+    /**
+     * How a field type is read and written. Templates take the slice or builder variable first and
+     * the value second.
+     */
+    private static class Codec {
+        final String javaType;
+        final String boxedType;
+        final String read;
+        final String write;
+        boolean maybe;
+        Codec inner;
+        /**
+         * class to decode a typed reference into, null for other fields
+         */
+        String lazyType;
+
+        Codec(String javaType, String boxedType, String read, String write) {
+            this.javaType = javaType;
+            this.boxedType = boxedType;
+            this.read = read;
+            this.write = write;
+        }
+
+        static Codec maybe(Codec inner) {
+            Codec codec = new Codec(inner.boxedType, inner.boxedType, null, null);
+            codec.maybe = true;
+            codec.inner = inner;
+            codec.lazyType = inner.lazyType;
+            return codec;
+        }
+
+        String read(String slice) {
+            if (maybe) {
+                return slice + ".loadBit() ? " + inner.read(slice) + " : null";
+            }
+            return String.format(read, slice);
+        }
+
+        void write(Source s, String indent, String builder, String value) {
+            if (maybe) {
+                s.line(indent + "if (nonNull(" + value + ")) {");
+                s.line(indent + "    " + builder + ".storeBit(true);");
+                inner.write(s, indent + "    ", builder, value);
+                s.line(indent + "} else {");
+                s.line(indent + "    " + builder + ".storeBit(false);");
+                s.line(indent + "}");
+                return;
+            }
+            s.line(indent + String.format(write, builder, value));
+        }
+    }
+
+    /**
+     * Java names of generated types, constructors and fields
+     */
+    private class Names {
+        private final Map<String, String> typeNames = new TreeMap<>();
+        private final Map<TlbConstructor, String> constructorNames = new LinkedHashMap<>();
+
+        Names(Map<String, List<TlbConstructor>> selected) {
+            Set<String> taken = new HashSet<>();
+            for (String external : externalTypes.values()) {
+                taken.add(external.substring(external.lastIndexOf('.') + 1));
+            }
+            for (String type : selected.keySet()) {
+                String name = camel(type, true);
+                if (!taken.add(name)) {
+                    throw new Error("Generated type " + name + " clashes with another class");
+                }
+                typeNames.put(type, name);
+            }
+            for (Map.Entry<String, List<TlbConstructor>> type : selected.entrySet()) {
+                if (type.getValue().size() == 1) {
+                    continue;
+                }
+                for (TlbConstructor constructor : type.getValue()) {
+                    String name = camel(constructor.getName(), true);
+                    if (!taken.add(name)) {
+                        name = typeNames.get(type.getKey()) + name;
+                        if (!taken.add(name)) {
+                            throw new Error("Generated constructor " + name + " clashes with another class");
+                        }
+                    }
+                    constructorNames.put(constructor, name);
+                }
+            }
+        }
+
+        String type(String tlbType) {
+            return typeNames.get(tlbType);
+        }
+
+        String constructor(TlbConstructor constructor) {
+            String name = constructorNames.get(constructor);
+            return nonNull(name) ? name : typeNames.get(constructor.getType());
+        }
+
+        String field(TlbField field) {
+            String name = camel(field.getName(), false);
+            return RESERVED.contains(name) ? name + "Value" : name;
+        }
+
+        /**
+         * Codec of a field type, including Maybe and references
+         */
+        Codec codec(String type) {
+            type = TlbScheme.unwrap(type);
+            if (type.startsWith("Maybe ")) {
+                return Codec.maybe(codec(type.substring("Maybe ".length())));
+            }
+            if (type.startsWith("^")) {
+                String target = TlbScheme.unwrap(type.substring(1));
+                Codec ref = new Codec("Cell", "Cell", "%s.loadRef()", "%s.storeRef(%s);");
+                if (!target.equals("Cell")) {
+                    ref.lazyType = externalTypes.containsKey(target) ? simpleName(externalTypes.get(target)) : type(target);
+                }
+                return ref;
+            }
+            Codec primitive = primitive(type);
+            if (nonNull(primitive)) {
+                return primitive;
+            }
+            if (externalTypes.containsKey(type)) {
+                String name = simpleName(externalTypes.get(type));
+                return new Codec(name, name, name + ".deserialize(%s)", "%s.storeCell(%s.toCell());");
+            }
+            String name = type(type);
+            return new Codec(name, name, name + ".deserialize(%s)", "%2$s.store(%1$s);");
+        }
+    }
+
+    private static String simpleName(String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+
+    /**
+     * trans_split_prepare becomes TransSplitPrepare or transSplitPrepare
+     */
+    static String camel(String name, boolean upperFirst) {
+        StringBuilder result = new StringBuilder();
+        boolean upper = upperFirst;
+        for (char ch : name.toCharArray()) {
+            if ((ch == '_') || (ch == '-')) {
+                upper = result.length() != 0 || upperFirst;
+                continue;
+            }
+            if (!Character.isLetterOrDigit(ch)) {
+                continue;
+            }
+            if (result.length() == 0) {
+                result.append(upperFirst ? Character.toUpperCase(ch) : Character.toLowerCase(ch));
+            } else {
+                result.append(upper ? Character.toUpperCase(ch) : ch);
+            }
+            upper = false;
+        }
+        return result.toString();
+    }
+
+    /**
+     * Writes one class for a constructor
+     */
+    private class ClassWriter {
+        private final Names names;
+        private final TlbConstructor constructor;
+        private final String implemented;
+        private final String name;
+
+        private final List<String> fieldNames = new ArrayList<>();
+        private final List<Codec> fieldCodecs = new ArrayList<>();
+        private final Set<String> imports = new TreeSet<>();
+        private final Set<String> staticImports = new TreeSet<>();
+
+        ClassWriter(Names names, TlbConstructor constructor, String implemented) {
+            this.names = names;
+            this.constructor = constructor;
+            this.implemented = implemented;
+            this.name = names.constructor(constructor);
+            collect(constructor.getFields());
+        }
+
+        private void collect(List<TlbField> fields) {
+            for (TlbField field : fields) {
+                if (field.isAnonymousCell()) {
+                    collect(field.getCellFields());
+                    continue;
+                }
+                String fieldName = names.field(field);
+                if (fieldNames.contains(fieldName)) {
+                    throw unsupported(constructor, "duplicate field " + fieldName);
+                }
+                Codec codec = names.codec(field.getType());
+                fieldNames.add(fieldName);
+                fieldCodecs.add(codec);
+                addImports(codec);
+            }
+        }
+
+        private void addImports(Codec codec) {
+            if (codec.maybe) {
+                staticImports.add("java.util.Objects.nonNull");
+                addImports(codec.inner);
+                if (nonNull(codec.lazyType)) {
+                    staticImports.add("java.util.Objects.isNull");
+                }
+                return;
+            }
+            if (codec.javaType.equals("BigInteger")) {
+                imports.add("java.math.BigInteger");
+            } else if (codec.javaType.equals("BitString")) {
+                imports.add("org.ton.java.bitstring.BitString");
+            }
+            if (codec.read.contains("BigInteger.valueOf")) {
+                imports.add("java.math.BigInteger");
+            }
+            for (Map.Entry<String, String> external : externalTypes.entrySet()) {
+                String simple = simpleName(external.getValue());
+                if (codec.javaType.equals(simple) || simple.equals(codec.lazyType)) {
+                    imports.add(external.getValue());
+                }
+            }
+        }
+
+        String write() {
+            Source body = new Source();
+            body.line("@Builder");
+            body.line("@Data");
+            body.line("public class " + name + (nonNull(implemented) ? " implements " + implemented : "") + " {");
+            for (int i = 0; i < fieldNames.size(); i++) {
+                body.line("    " + fieldCodecs.get(i).javaType + " " + fieldNames.get(i) + ";");
+            }
+            if (!fieldNames.isEmpty()) {
+                body.line("");
+            }
+            writeLazyLoaders(body);
+            writeToCell(body);
+            body.line("");
+            writeStore(body);
+            body.line("");
+            writeDeserialize(body);
+            body.line("}");
+
+            Source s = new Source();
+            s.line("package " + packageName + ";");
+            s.line("");
+            s.line("import lombok.Builder;");
+            s.line("import lombok.Data;");
+            Set<String> orgImports = new TreeSet<>();
+            orgImports.add("org.ton.java.cell.Cell");
+            orgImports.add("org.ton.java.cell.CellBuilder");
+            orgImports.add("org.ton.java.cell.CellSlice");
+            for (String i : imports) {
+                if (!i.startsWith("java.")) {
+                    orgImports.add(i);
+                }
+            }
+            for (String i : orgImports) {
+                s.line("import " + i + ";");
+            }
+            if (imports.contains("java.math.BigInteger")) {
+                s.line("");
+                s.line("import java.math.BigInteger;");
+            }
+            if (!staticImports.isEmpty()) {
+                s.line("");
+                for (String i : staticImports) {
+                    s.line("import static " + i + ";");
+                }
+            }
+            s.line("");
+            writeJavadoc(s, Collections.singletonList(constructor));
+            return s + body.toString();
+        }
+
+        private void writeLazyLoaders(Source s) {
+            for (int i = 0; i < fieldNames.size(); i++) {
+                Codec codec = fieldCodecs.get(i);
+                if (isNull(codec.lazyType)) {
+                    continue;
+                }
+                String field = fieldNames.get(i);
+                String decode = codec.lazyType + ".deserialize(CellSlice.beginParse(" + field + "))";
+                s.line("    /**");
+                s.line("     * Decodes referenced " + codec.lazyType + " on demand");
+                s.line("     */");
+                s.line("    public " + codec.lazyType + " load" + camel(field, true) + "() {");
+                if (codec.maybe) {
+                    s.line("        return isNull(" + field + ") ? null : " + decode + ";");
+                } else {
+                    s.line("        return " + decode + ";");
+                }
+                s.line("    }");
+                s.line("");
+            }
+        }
+
+        private void writeToCell(Source s) {
+            s.line("    public Cell toCell() {");
+            s.line("        CellBuilder b = CellBuilder.beginCell();");
+            s.line("        store(b);");
+            s.line("        return b.endCell();");
+            s.line("    }");
+        }
+
+        private void writeStore(Source s) {
+            s.line("    public void store(CellBuilder b) {");
+            if (!constructor.getTag().isEmpty()) {
+                s.line("        b.storeUint(" + tagLiteral(constructor, true) + ", " + constructor.getTag().length() + ");");
+            }
+            writeFields(s, constructor.getFields(), "b", new int[]{0}, new int[]{0}, false);
+            s.line("    }");
+        }
+
+        private void writeDeserialize(Source s) {
+            s.line("    public static " + name + " deserialize(CellSlice cs) {");
+            String tag = constructor.getTag();
+            if (!tag.isEmpty()) {
+                s.line("        if (cs.loadUintLong(" + tag.length() + ") != " + tagLiteral(constructor, true) + ") {");
+                s.line("            throw new Error(\"" + constructor.getName() + ": constructor tag "
+                        + (constructor.isHexTag() ? "#" + Long.toHexString(Long.parseLong(tag, 2)) : "$" + tag)
+                        + " not found\");");
+                s.line("        }");
+            }
+            writeFields(s, constructor.getFields(), "cs", new int[]{0}, new int[]{0}, true);
+            if (fieldNames.isEmpty()) {
+                s.line("        return " + name + ".builder().build();");
+            } else {
+                s.line("        return " + name + ".builder()");
+                for (String field : fieldNames) {
+                    s.line("                ." + field + "(" + field + ")");
+                }
+                s.line("                .build();");
+            }
+            s.line("    }");
+        }
+
+        /**
+         * Writes reading (into locals) or writing statements of fields in scheme order
+         *
+         * @param field index of the next field in fieldNames
+         * @param ref   index of the next anonymous cell variable
+         */
+        private void writeFields(Source s, List<TlbField> fields, String var, int[] field, int[] ref, boolean read) {
+            for (TlbField f : fields) {
+                if (f.isAnonymousCell()) {
+                    String refVar = "ref" + ref[0]++;
+                    if (read) {
+                        s.line("        CellSlice " + refVar + " = CellSlice.beginParse(" + var + ".loadRef());");
+                        writeFields(s, f.getCellFields(), refVar, field, ref, true);
+                    } else {
+                        s.line("        CellBuilder " + refVar + " = CellBuilder.beginCell();");
+                        writeFields(s, f.getCellFields(), refVar, field, ref, false);
+                        s.line("        " + var + ".storeRef(" + refVar + ".endCell());");
+                    }
+                    continue;
+                }
+                String fieldName = fieldNames.get(field[0]);
+                Codec codec = fieldCodecs.get(field[0]);
+                field[0]++;
+                if (read) {
+                    s.line("        " + codec.javaType + " " + fieldName + " = " + codec.read(var) + ";");
+                } else {
+                    codec.write(s, "        ", var, fieldName);
+                }
+            }
+        }
+    }
+
+    private static class Source {
+        private final StringBuilder sb = new StringBuilder();
+
+        void line(String line) {
+            sb.append(line).append('\n');
+        }
+
+        @Override
+        public String toString() {
+            return sb.toString();
+        }
+    }
+}
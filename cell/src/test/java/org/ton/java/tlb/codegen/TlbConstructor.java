@@ -0,0 +1,55 @@
+package org.ton.java.tlb.codegen;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * TL-B constructor, e.g. <code>trans_storage$0001 storage_ph:TrStoragePhase = TransactionDescr;</code>
+ */
+@Builder
+@Data
+public class TlbConstructor {
+    /**
+     * constructor name, "_" for anonymous constructors
+     */
+    String name;
+
+    /**
+     * constructor tag as a string of '0' and '1', empty if the constructor has no tag
+     */
+    String tag;
+
+    /**
+     * true if tag was given explicitly via $ or #, otherwise TL-B implies a crc32 tag
+     */
+    boolean tagDeclared;
+
+    /**
+     * true if tag was declared in hex notation
+     */
+    boolean hexTag;
+
+    /**
+     * implicit parameters and constraints in curly braces
+     */
+    List<String> params;
+
+    List<TlbField> fields;
+
+    /**
+     * name of the resulting type
+     */
+    String type;
+
+    /**
+     * arguments of the resulting type, empty if type is not parametrized
+     */
+    List<String> typeArgs;
+
+    /**
+     * declaration with normalized whitespace
+     */
+    String source;
+}
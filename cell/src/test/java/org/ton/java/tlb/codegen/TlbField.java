@@ -0,0 +1,34 @@
+package org.ton.java.tlb.codegen;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Single field of a TL-B constructor, e.g. <code>storage_ph:(Maybe TrStoragePhase)</code>.
+ */
+@Builder
+@Data
+public class TlbField {
+    /**
+     * field name, null for anonymous fields
+     */
+    String name;
+
+    /**
+     * type expression as written in the scheme, outer parentheses removed
+     */
+    String type;
+
+    /**
+     * fields of an anonymous cell <code>^[ ... ]</code>, null for other types
+     */
+    List<TlbField> cellFields;
+
+    public boolean isAnonymousCell() {
+        return nonNull(cellFields);
+    }
+}
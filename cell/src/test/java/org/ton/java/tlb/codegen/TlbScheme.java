@@ -0,0 +1,212 @@
+package org.ton.java.tlb.codegen;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parsed TL-B scheme. Only the structure needed for code generation is kept: constructor names,
+ * tags, fields with their type expressions and the resulting type. Type expressions are not
+ * interpreted here.
+ */
+public class TlbScheme {
+
+    private final Map<String, List<TlbConstructor>> types = new LinkedHashMap<>();
+
+    private TlbScheme() {
+    }
+
+    public static TlbScheme parse(Path file) throws IOException {
+        return parse(new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+    }
+
+    public static TlbScheme parse(String text) {
+        TlbScheme scheme = new TlbScheme();
+        for (String declaration : stripComments(text).split(";")) {
+            String source = declaration.trim().replaceAll("\\s+", " ");
+            if (source.isEmpty()) {
+                continue;
+            }
+            TlbConstructor constructor = parseConstructor(source);
+            List<TlbConstructor> constructors =
+                    scheme.types.computeIfAbsent(constructor.getType(), k -> new ArrayList<>());
+            // schemes may repeat a declaration, e.g. block.tlb includes parts of hashmap.tlb
+            if (constructors.stream().noneMatch(c -> c.getSource().equals(source))) {
+                constructors.add(constructor);
+            }
+        }
+        return scheme;
+    }
+
+    /**
+     * @param type name of the resulting type, e.g. TransactionDescr
+     * @return constructors in order of declaration, empty list if type is unknown
+     */
+    public List<TlbConstructor> getConstructors(String type) {
+        return types.getOrDefault(type, Collections.emptyList());
+    }
+
+    public boolean hasType(String type) {
+        return types.containsKey(type);
+    }
+
+    static String stripComments(String text) {
+        return text.replaceAll("(?s)/\\*.*?\\*/", " ").replaceAll("//[^\\n]*", " ");
+    }
+
+    static TlbConstructor parseConstructor(String source) {
+        List<String> tokens = tokenize(source);
+        int eq = tokens.indexOf("=");
+        if ((eq < 1) || (eq == tokens.size() - 1)) {
+            throw new Error("Cannot parse TL-B declaration: " + source);
+        }
+
+        TlbConstructor.TlbConstructorBuilder builder = TlbConstructor.builder().source(source);
+        parseName(tokens.get(0), builder);
+
+        List<String> params = new ArrayList<>();
+        List<TlbField> fields = new ArrayList<>();
+        for (String token : tokens.subList(1, eq)) {
+            if (token.startsWith("{")) {
+                params.add(token);
+            } else {
+                fields.add(parseField(token));
+            }
+        }
+
+        return builder
+                .params(params)
+                .fields(fields)
+                .type(tokens.get(eq + 1))
+                .typeArgs(new ArrayList<>(tokens.subList(eq + 2, tokens.size())))
+                .build();
+    }
+
+    private static void parseName(String token, TlbConstructor.TlbConstructorBuilder builder) {
+        int pos = indexOfAny(token, '$', '#');
+        if (pos < 0) {
+            builder.name(token).tag("").tagDeclared(token.equals("_"));
+            return;
+        }
+        builder.name(token.substring(0, pos)).tagDeclared(true);
+        String tag = token.substring(pos + 1);
+        if (tag.equals("_")) {
+            builder.tag("");
+        } else if (token.charAt(pos) == '$') {
+            builder.tag(tag);
+        } else {
+            builder.tag(hexToBits(tag)).hexTag(!tag.endsWith("_"));
+        }
+    }
+
+    /**
+     * Converts hex tag to bits, trailing '_' means the tag is completed, i.e. trailing zeros and the
+     * last one bit are removed.
+     */
+    static String hexToBits(String hex) {
+        boolean completed = hex.endsWith("_");
+        String digits = completed ? hex.substring(0, hex.length() - 1) : hex;
+        StringBuilder bits = new StringBuilder(new BigInteger("1" + digits, 16).toString(2).substring(1));
+        if (completed) {
+            int last = bits.lastIndexOf("1");
+            bits.setLength(Math.max(last, 0));
+        }
+        return bits.toString();
+    }
+
+    private static TlbField parseField(String token) {
+        int colon = indexOfTopLevel(token, ':');
+        String name = (colon < 0) ? null : token.substring(0, colon);
+        String type = unwrap((colon < 0) ? token : token.substring(colon + 1));
+        if (type.startsWith("^[") && type.endsWith("]")) {
+            List<TlbField> cellFields = new ArrayList<>();
+            for (String inner : tokenize(type.substring(2, type.length() - 1))) {
+                cellFields.add(parseField(inner));
+            }
+            return TlbField.builder().name(name).type(type).cellFields(cellFields).build();
+        }
+        return TlbField.builder().name(name).type(type).build();
+    }
+
+    /**
+     * Removes parentheses around the whole type expression, e.g. "((## 6))" becomes "## 6"
+     */
+    static String unwrap(String type) {
+        String result = type.trim();
+        while (result.startsWith("(") && (closingParen(result, 0) == result.length() - 1)) {
+            result = result.substring(1, result.length() - 1).trim();
+        }
+        return result;
+    }
+
+    /**
+     * Splits by whitespace outside of (), [] and {}
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        int depth = 0;
+        for (char ch : text.toCharArray()) {
+            if ((ch == '(') || (ch == '[') || (ch == '{')) {
+                depth++;
+            } else if ((ch == ')') || (ch == ']') || (ch == '}')) {
+                depth--;
+            }
+            if (Character.isWhitespace(ch) && (depth == 0)) {
+                if (current.length() != 0) {
+                    tokens.add(current.toString());
+                    current.setLength(0);
+                }
+            } else {
+                current.append(ch);
+            }
+        }
+        if (current.length() != 0) {
+            tokens.add(current.toString());
+        }
+        return tokens;
+    }
+
+    private static int closingParen(String text, int open) {
+        int depth = 0;
+        for (int i = open; i < text.length(); i++) {
+            if (text.charAt(i) == '(') {
+                depth++;
+            } else if ((text.charAt(i) == ')') && (--depth == 0)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOfTopLevel(String text, char c) {
+        int depth = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            if ((ch == '(') || (ch == '[') || (ch == '{')) {
+                depth++;
+            } else if ((ch == ')') || (ch == ']') || (ch == '}')) {
+                depth--;
+            } else if ((ch == c) && (depth == 0)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOfAny(String text, char a, char b) {
+        for (int i = 0; i < text.length(); i++) {
+            if ((text.charAt(i) == a) || (text.charAt(i) == b)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
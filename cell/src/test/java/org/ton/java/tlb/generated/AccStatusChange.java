@@ -0,0 +1,39 @@
+package org.ton.java.tlb.generated;
+
+import org.ton.java.cell.Cell;
+import org.ton.java.cell.CellBuilder;
+import org.ton.java.cell.CellSlice;
+
+/**
+ * Generated by TlbCodecGenerator from block.tlb, do not edit.
+ *
+ * <pre>
+ * acst_unchanged$0 = AccStatusChange;
+ * acst_frozen$10 = AccStatusChange;
+ * acst_deleted$11 = AccStatusChange;
+ * </pre>
+ */
+public interface AccStatusChange {
+
+    Cell toCell();
+
+    void store(CellBuilder b);
+
+    static AccStatusChange deserialize(CellSlice cs) {
+        if (cs.getRestBits() >= 1) {
+            switch ((int) cs.preloadUintLong(1)) {
+                case 0b0:
+                    return AcstUnchanged.deserialize(cs);
+            }
+        }
+        if (cs.getRestBits() >= 2) {
+            switch ((int) cs.preloadUintLong(2)) {
+                case 0b10:
+                    return AcstFrozen.deserialize(cs);
+                case 0b11:
+                    return AcstDeleted.deserialize(cs);
+            }
+        }
+        throw new Error("unknown AccStatusChange constructor");
+    }
+}
@@ -0,0 +1,35 @@
+package org.ton.java.tlb.generated;
+
+import lombok.Builder;
+import lombok.Data;
+import org.ton.java.cell.Cell;
+import org.ton.java.cell.CellBuilder;
+import org.ton.java.cell.CellSlice;
+
+/**
+ * Generated by TlbCodecGenerator from block.tlb, do not edit.
+ *
+ * <pre>
+ * acst_frozen$10 = AccStatusChange;
+ * </pre>
+ */
+@Builder
+@Data
+public class AcstFrozen implements AccStatusChange {
+    public Cell toCell() {
+        CellBuilder b = CellBuilder.beginCell();
+        store(b);
+        return b.endCell();
+    }
+
+    public void store(CellBuilder b) {
+        b.storeUint(0b10L, 2);
+    }
+
+    public static AcstFrozen deserialize(CellSlice cs) {
+        if (cs.loadUintLong(2) != 0b10L) {
+            throw new Error("acst_frozen: constructor tag $10 not found");
+        }
+        return AcstFrozen.builder().build();
+    }
+}
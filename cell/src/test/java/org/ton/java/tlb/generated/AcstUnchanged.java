@@ -0,0 +1,35 @@
+package org.ton.java.tlb.generated;
+
+import lombok.Builder;
+import lombok.Data;
+import org.ton.java.cell.Cell;
+import org.ton.java.cell.CellBuilder;
+import org.ton.java.cell.CellSlice;
+
+/**
+ * Generated by TlbCodecGenerator from block.tlb, do not edit.
+ *
+ * <pre>
+ * acst_unchanged$0 = AccStatusChange;
+ * </pre>
+ */
+@Builder
+@Data
+public class AcstUnchanged implements AccStatusChange {
+    public Cell toCell() {
+        CellBuilder b = CellBuilder.beginCell();
+        store(b);
+        return b.endCell();
+    }
+
+    public void store(CellBuilder b) {
+        b.storeUint(0b0L, 1);
+    }
+
+    public static AcstUnchanged deserialize(CellSlice cs) {
+        if (cs.loadUintLong(1) != 0b0L) {
+            throw new Error("acst_unchanged: constructor tag $0 not found");
+        }
+        return AcstUnchanged.builder().build();
+    }
+}
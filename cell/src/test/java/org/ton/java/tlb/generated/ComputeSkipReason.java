@@ -0,0 +1,42 @@
+package org.ton.java.tlb.generated;
+
+import org.ton.java.cell.Cell;
+import org.ton.java.cell.CellBuilder;
+import org.ton.java.cell.CellSlice;
+
+/**
+ * Generated by TlbCodecGenerator from block.tlb, do not edit.
+ *
+ * <pre>
+ * cskip_no_state$00 = ComputeSkipReason;
+ * cskip_bad_state$01 = ComputeSkipReason;
+ * cskip_no_gas$10 = ComputeSkipReason;
+ * cskip_suspended$110 = ComputeSkipReason;
+ * </pre>
+ */
+public interface ComputeSkipReason {
+
+    Cell toCell();
+
+    void store(CellBuilder b);
+
+    static ComputeSkipReason deserialize(CellSlice cs) {
+        if (cs.getRestBits() >= 2) {
+            switch ((int) cs.preloadUintLong(2)) {
+                case 0b00:
+                    return CskipNoState.deserialize(cs);
+                case 0b01:
+                    return CskipBadState.deserialize(cs);
+                case 0b10:
+                    return CskipNoGas.deserialize(cs);
+            }
+        }
+        if (cs.getRestBits() >= 3) {
+            switch ((int) cs.preloadUintLong(3)) {
+                case 0b110:
+                    return CskipSuspended.deserialize(cs);
+            }
+        }
+        throw new Error("unknown ComputeSkipReason constructor");
+    }
+}
@@ -0,0 +1,35 @@
+package org.ton.java.tlb.generated;
+
+import lombok.Builder;
+import lombok.Data;
+import org.ton.java.cell.Cell;
+import org.ton.java.cell.CellBuilder;
+import org.ton.java.cell.CellSlice;
+
+/**
+ * Generated by TlbCodecGenerator from block.tlb, do not edit.
+ *
+ * <pre>
+ * cskip_bad_state$01 = ComputeSkipReason;
+ * </pre>
+ */
+@Builder
+@Data
+public class CskipBadState implements ComputeSkipReason {
+    public Cell toCell() {
+        CellBuilder b = CellBuilder.beginCell();
+        store(b);
+        return b.endCell();
+    }
+
+    public void store(CellBuilder b) {
+        b.storeUint(0b01L, 2);
+    }
+
+    public static CskipBadState deserialize(CellSlice cs) {
+        if (cs.loadUintLong(2) != 0b01L) {
+            throw new Error("cskip_bad_state: constructor tag $01 not found");
+        }
+        return CskipBadState.builder().build();
+    }
+}
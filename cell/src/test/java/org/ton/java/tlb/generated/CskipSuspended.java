@@ -0,0 +1,35 @@
+package org.ton.java.tlb.generated;
+
+import lombok.Builder;
+import lombok.Data;
+import org.ton.java.cell.Cell;
+import org.ton.java.cell.CellBuilder;
+import org.ton.java.cell.CellSlice;
+
+/**
+ * Generated by TlbCodecGenerator from block.tlb, do not edit.
+ *
+ * <pre>
+ * cskip_suspended$110 = ComputeSkipReason;
+ * </pre>
+ */
+@Builder
+@Data
+public class CskipSuspended implements ComputeSkipReason {
+    public Cell toCell() {
+        CellBuilder b = CellBuilder.beginCell();
+        store(b);
+        return b.endCell();
+    }
+
+    public void store(CellBuilder b) {
+        b.storeUint(0b110L, 3);
+    }
+
+    public static CskipSuspended deserialize(CellSlice cs) {
+        if (cs.loadUintLong(3) != 0b110L) {
+            throw new Error("cskip_suspended: constructor tag $110 not found");
+        }
+        return CskipSuspended.builder().build();
+    }
+}
@@ -0,0 +1,51 @@
+package org.ton.java.tlb.generated;
+
+import lombok.Builder;
+import lombok.Data;
+import org.ton.java.cell.Cell;
+import org.ton.java.cell.CellBuilder;
+import org.ton.java.cell.CellSlice;
+
+import java.math.BigInteger;
+
+/**
+ * Generated by TlbCodecGenerator from block.tlb, do not edit.
+ *
+ * <pre>
+ * ext_blk_ref$_ end_lt:uint64 seq_no:uint32 root_hash:bits256 file_hash:bits256 = ExtBlkRef;
+ * </pre>
+ */
+@Builder
+@Data
+public class ExtBlkRef {
+    BigInteger endLt;
+    long seqNo;
+    byte[] rootHash;
+    byte[] fileHash;
+
+    public Cell toCell() {
+        CellBuilder b = CellBuilder.beginCell();
+        store(b);
+        return b.endCell();
+    }
+
+    public void store(CellBuilder b) {
+        b.storeUint(endLt, 64);
+        b.storeUint(seqNo, 32);
+        b.storeBytes(rootHash, 256);
+        b.storeBytes(fileHash, 256);
+    }
+
+    public static ExtBlkRef deserialize(CellSlice cs) {
+        BigInteger endLt = cs.loadUint(64);
+        long seqNo = cs.loadUintLong(32);
+        byte[] rootHash = cs.loadBytes(256);
+        byte[] fileHash = cs.loadBytes(256);
+        return ExtBlkRef.builder()
+                .endLt(endLt)
+                .seqNo(seqNo)
+                .rootHash(rootHash)
+                .fileHash(fileHash)
+                .build();
+    }
+}
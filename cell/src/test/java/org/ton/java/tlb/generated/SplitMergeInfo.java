@@ -0,0 +1,49 @@
+package org.ton.java.tlb.generated;
+
+import lombok.Builder;
+import lombok.Data;
+import org.ton.java.cell.Cell;
+import org.ton.java.cell.CellBuilder;
+import org.ton.java.cell.CellSlice;
+
+/**
+ * Generated by TlbCodecGenerator from block.tlb, do not edit.
+ *
+ * <pre>
+ * split_merge_info$_ cur_shard_pfx_len:(## 6) acc_split_depth:(## 6) this_addr:bits256 sibling_addr:bits256 = SplitMergeInfo;
+ * </pre>
+ */
+@Builder
+@Data
+public class SplitMergeInfo {
+    int curShardPfxLen;
+    int accSplitDepth;
+    byte[] thisAddr;
+    byte[] siblingAddr;
+
+    public Cell toCell() {
+        CellBuilder b = CellBuilder.beginCell();
+        store(b);
+        return b.endCell();
+    }
+
+    public void store(CellBuilder b) {
+        b.storeUint(curShardPfxLen, 6);
+        b.storeUint(accSplitDepth, 6);
+        b.storeBytes(thisAddr, 256);
+        b.storeBytes(siblingAddr, 256);
+    }
+
+    public static SplitMergeInfo deserialize(CellSlice cs) {
+        int curShardPfxLen = (int) cs.loadUintLong(6);
+        int accSplitDepth = (int) cs.loadUintLong(6);
+        byte[] thisAddr = cs.loadBytes(256);
+        byte[] siblingAddr = cs.loadBytes(256);
+        return SplitMergeInfo.builder()
+                .curShardPfxLen(curShardPfxLen)
+                .accSplitDepth(accSplitDepth)
+                .thisAddr(thisAddr)
+                .siblingAddr(siblingAddr)
+                .build();
+    }
+}
@@ -0,0 +1,47 @@
+package org.ton.java.tlb.generated;
+
+import lombok.Builder;
+import lombok.Data;
+import org.ton.java.cell.Cell;
+import org.ton.java.cell.CellBuilder;
+import org.ton.java.cell.CellSlice;
+
+import java.math.BigInteger;
+
+/**
+ * Generated by TlbCodecGenerator from block.tlb, do not edit.
+ *
+ * <pre>
+ * storage_used$_ cells:(VarUInteger 7) bits:(VarUInteger 7) public_cells:(VarUInteger 7) = StorageUsed;
+ * </pre>
+ */
+@Builder
+@Data
+public class StorageUsed {
+    BigInteger cells;
+    BigInteger bits;
+    BigInteger publicCells;
+
+    public Cell toCell() {
+        CellBuilder b = CellBuilder.beginCell();
+        store(b);
+        return b.endCell();
+    }
+
+    public void store(CellBuilder b) {
+        b.storeVarUint(cells, 3);
+        b.storeVarUint(bits, 3);
+        b.storeVarUint(publicCells, 3);
+    }
+
+    public static StorageUsed deserialize(CellSlice cs) {
+        BigInteger cells = cs.loadVarUInteger(BigInteger.valueOf(3));
+        BigInteger bits = cs.loadVarUInteger(BigInteger.valueOf(3));
+        BigInteger publicCells = cs.loadVarUInteger(BigInteger.valueOf(3));
+        return StorageUsed.builder()
+                .cells(cells)
+                .bits(bits)
+                .publicCells(publicCells)
+                .build();
+    }
+}
@@ -0,0 +1,43 @@
+package org.ton.java.tlb.generated;
+
+import lombok.Builder;
+import lombok.Data;
+import org.ton.java.cell.Cell;
+import org.ton.java.cell.CellBuilder;
+import org.ton.java.cell.CellSlice;
+
+import java.math.BigInteger;
+
+/**
+ * Generated by TlbCodecGenerator from block.tlb, do not edit.
+ *
+ * <pre>
+ * storage_used_short$_ cells:(VarUInteger 7) bits:(VarUInteger 7) = StorageUsedShort;
+ * </pre>
+ */
+@Builder
+@Data
+public class StorageUsedShort {
+    BigInteger cells;
+    BigInteger bits;
+
+    public Cell toCell() {
+        CellBuilder b = CellBuilder.beginCell();
+        store(b);
+        return b.endCell();
+    }
+
+    public void store(CellBuilder b) {
+        b.storeVarUint(cells, 3);
+        b.storeVarUint(bits, 3);
+    }
+
+    public static StorageUsedShort deserialize(CellSlice cs) {
+        BigInteger cells = cs.loadVarUInteger(BigInteger.valueOf(3));
+        BigInteger bits = cs.loadVarUInteger(BigInteger.valueOf(3));
+        return StorageUsedShort.builder()
+                .cells(cells)
+                .bits(bits)
+                .build();
+    }
+}
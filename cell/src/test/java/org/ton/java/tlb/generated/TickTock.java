@@ -0,0 +1,41 @@
+package org.ton.java.tlb.generated;
+
+import lombok.Builder;
+import lombok.Data;
+import org.ton.java.cell.Cell;
+import org.ton.java.cell.CellBuilder;
+import org.ton.java.cell.CellSlice;
+
+/**
+ * Generated by TlbCodecGenerator from block.tlb, do not edit.
+ *
+ * <pre>
+ * tick_tock$_ tick:Bool tock:Bool = TickTock;
+ * </pre>
+ */
+@Builder
+@Data
+public class TickTock {
+    boolean tick;
+    boolean tock;
+
+    public Cell toCell() {
+        CellBuilder b = CellBuilder.beginCell();
+        store(b);
+        return b.endCell();
+    }
+
+    public void store(CellBuilder b) {
+        b.storeBit(tick);
+        b.storeBit(tock);
+    }
+
+    public static TickTock deserialize(CellSlice cs) {
+        boolean tick = cs.loadBit();
+        boolean tock = cs.loadBit();
+        return TickTock.builder()
+                .tick(tick)
+                .tock(tock)
+                .build();
+    }
+}
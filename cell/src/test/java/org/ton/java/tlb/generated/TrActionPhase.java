@@ -0,0 +1,108 @@
+package org.ton.java.tlb.generated;
+
+import lombok.Builder;
+import lombok.Data;
+import org.ton.java.cell.Cell;
+import org.ton.java.cell.CellBuilder;
+import org.ton.java.cell.CellSlice;
+
+import java.math.BigInteger;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Generated by TlbCodecGenerator from block.tlb, do not edit.
+ *
+ * <pre>
+ * tr_phase_action$_ success:Bool valid:Bool no_funds:Bool status_change:AccStatusChange total_fwd_fees:(Maybe Grams) total_action_fees:(Maybe Grams) result_code:int32 result_arg:(Maybe int32) tot_actions:uint16 spec_actions:uint16 skipped_actions:uint16 msgs_created:uint16 action_list_hash:bits256 tot_msg_size:StorageUsedShort = TrActionPhase;
+ * </pre>
+ */
+@Builder
+@Data
+public class TrActionPhase {
+    boolean success;
+    boolean valid;
+    boolean noFunds;
+    AccStatusChange statusChange;
+    BigInteger totalFwdFees;
+    BigInteger totalActionFees;
+    int resultCode;
+    Integer resultArg;
+    int totActions;
+    int specActions;
+    int skippedActions;
+    int msgsCreated;
+    byte[] actionListHash;
+    StorageUsedShort totMsgSize;
+
+    public Cell toCell() {
+        CellBuilder b = CellBuilder.beginCell();
+        store(b);
+        return b.endCell();
+    }
+
+    public void store(CellBuilder b) {
+        b.storeBit(success);
+        b.storeBit(valid);
+        b.storeBit(noFunds);
+        statusChange.store(b);
+        if (nonNull(totalFwdFees)) {
+            b.storeBit(true);
+            b.storeCoins(totalFwdFees);
+        } else {
+            b.storeBit(false);
+        }
+        if (nonNull(totalActionFees)) {
+            b.storeBit(true);
+            b.storeCoins(totalActionFees);
+        } else {
+            b.storeBit(false);
+        }
+        b.storeInt(resultCode, 32);
+        if (nonNull(resultArg)) {
+            b.storeBit(true);
+            b.storeInt(resultArg, 32);
+        } else {
+            b.storeBit(false);
+        }
+        b.storeUint(totActions, 16);
+        b.storeUint(specActions, 16);
+        b.storeUint(skippedActions, 16);
+        b.storeUint(msgsCreated, 16);
+        b.storeBytes(actionListHash, 256);
+        totMsgSize.store(b);
+    }
+
+    public static TrActionPhase deserialize(CellSlice cs) {
+        boolean success = cs.loadBit();
+        boolean valid = cs.loadBit();
+        boolean noFunds = cs.loadBit();
+        AccStatusChange statusChange = AccStatusChange.deserialize(cs);
+        BigInteger totalFwdFees = cs.loadBit() ? cs.loadCoins() : null;
+        BigInteger totalActionFees = cs.loadBit() ? cs.loadCoins() : null;
+        int resultCode = (int) cs.loadIntLong(32);
+        Integer resultArg = cs.loadBit() ? (int) cs.loadIntLong(32) : null;
+        int totActions = (int) cs.loadUintLong(16);
+        int specActions = (int) cs.loadUintLong(16);
+        int skippedActions = (int) cs.loadUintLong(16);
+        int msgsCreated = (int) cs.loadUintLong(16);
+        byte[] actionListHash = cs.loadBytes(256);
+        StorageUsedShort totMsgSize = StorageUsedShort.deserialize(cs);
+        return TrActionPhase.builder()
+                .success(success)
+                .valid(valid)
+                .noFunds(noFunds)
+                .statusChange(statusChange)
+                .totalFwdFees(totalFwdFees)
+                .totalActionFees(totalActionFees)
+                .resultCode(resultCode)
+                .resultArg(resultArg)
+                .totActions(totActions)
+                .specActions(specActions)
+                .skippedActions(skippedActions)
+                .msgsCreated(msgsCreated)
+                .actionListHash(actionListHash)
+                .totMsgSize(totMsgSize)
+                .build();
+    }
+}
@@ -0,0 +1,39 @@
+package org.ton.java.tlb.generated;
+
+import org.ton.java.cell.Cell;
+import org.ton.java.cell.CellBuilder;
+import org.ton.java.cell.CellSlice;
+
+/**
+ * Generated by TlbCodecGenerator from block.tlb, do not edit.
+ *
+ * <pre>
+ * tr_phase_bounce_negfunds$00 = TrBouncePhase;
+ * tr_phase_bounce_nofunds$01 msg_size:StorageUsedShort req_fwd_fees:Grams = TrBouncePhase;
+ * tr_phase_bounce_ok$1 msg_size:StorageUsedShort msg_fees:Grams fwd_fees:Grams = TrBouncePhase;
+ * </pre>
+ */
+public interface TrBouncePhase {
+
+    Cell toCell();
+
+    void store(CellBuilder b);
+
+    static TrBouncePhase deserialize(CellSlice cs) {
+        if (cs.getRestBits() >= 1) {
+            switch ((int) cs.preloadUintLong(1)) {
+                case 0b1:
+                    return TrPhaseBounceOk.deserialize(cs);
+            }
+        }
+        if (cs.getRestBits() >= 2) {
+            switch ((int) cs.preloadUintLong(2)) {
+                case 0b00:
+                    return TrPhaseBounceNegfunds.deserialize(cs);
+                case 0b01:
+                    return TrPhaseBounceNofunds.deserialize(cs);
+            }
+        }
+        throw new Error("unknown TrBouncePhase constructor");
+    }
+}
@@ -0,0 +1,32 @@
+package org.ton.java.tlb.generated;
+
+import org.ton.java.cell.Cell;
+import org.ton.java.cell.CellBuilder;
+import org.ton.java.cell.CellSlice;
+
+/**
+ * Generated by TlbCodecGenerator from block.tlb, do not edit.
+ *
+ * <pre>
+ * tr_phase_compute_skipped$0 reason:ComputeSkipReason = TrComputePhase;
+ * tr_phase_compute_vm$1 success:Bool msg_state_used:Bool account_activated:Bool gas_fees:Grams ^[ gas_used:(VarUInteger 7) gas_limit:(VarUInteger 7) gas_credit:(Maybe (VarUInteger 3)) mode:int8 exit_code:int32 exit_arg:(Maybe int32) vm_steps:uint32 vm_init_state_hash:bits256 vm_final_state_hash:bits256 ] = TrComputePhase;
+ * </pre>
+ */
+public interface TrComputePhase {
+
+    Cell toCell();
+
+    void store(CellBuilder b);
+
+    static TrComputePhase deserialize(CellSlice cs) {
+        if (cs.getRestBits() >= 1) {
+            switch ((int) cs.preloadUintLong(1)) {
+                case 0b0:
+                    return TrPhaseComputeSkipped.deserialize(cs);
+                case 0b1:
+                    return TrPhaseComputeVm.deserialize(cs);
+            }
+        }
+        throw new Error("unknown TrComputePhase constructor");
+    }
+}
@@ -0,0 +1,51 @@
+package org.ton.java.tlb.generated;
+
+import lombok.Builder;
+import lombok.Data;
+import org.ton.java.cell.Cell;
+import org.ton.java.cell.CellBuilder;
+import org.ton.java.cell.CellSlice;
+import org.ton.java.tlb.types.CurrencyCollection;
+
+import java.math.BigInteger;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Generated by TlbCodecGenerator from block.tlb, do not edit.
+ *
+ * <pre>
+ * tr_phase_credit$_ due_fees_collected:(Maybe Grams) credit:CurrencyCollection = TrCreditPhase;
+ * </pre>
+ */
+@Builder
+@Data
+public class TrCreditPhase {
+    BigInteger dueFeesCollected;
+    CurrencyCollection credit;
+
+    public Cell toCell() {
+        CellBuilder b = CellBuilder.beginCell();
+        store(b);
+        return b.endCell();
+    }
+
+    public void store(CellBuilder b) {
+        if (nonNull(dueFeesCollected)) {
+            b.storeBit(true);
+            b.storeCoins(dueFeesCollected);
+        } else {
+            b.storeBit(false);
+        }
+        b.storeCell(credit.toCell());
+    }
+
+    public static TrCreditPhase deserialize(CellSlice cs) {
+        BigInteger dueFeesCollected = cs.loadBit() ? cs.loadCoins() : null;
+        CurrencyCollection credit = CurrencyCollection.deserialize(cs);
+        return TrCreditPhase.builder()
+                .dueFeesCollected(dueFeesCollected)
+                .credit(credit)
+                .build();
+    }
+}
@@ -0,0 +1,35 @@
+package org.ton.java.tlb.generated;
+
+import lombok.Builder;
+import lombok.Data;
+import org.ton.java.cell.Cell;
+import org.ton.java.cell.CellBuilder;
+import org.ton.java.cell.CellSlice;
+
+/**
+ * Generated by TlbCodecGenerator from block.tlb, do not edit.
+ *
+ * <pre>
+ * tr_phase_bounce_negfunds$00 = TrBouncePhase;
+ * </pre>
+ */
+@Builder
+@Data
+public class TrPhaseBounceNegfunds implements TrBouncePhase {
+    public Cell toCell() {
+        CellBuilder b = CellBuilder.beginCell();
+        store(b);
+        return b.endCell();
+    }
+
+    public void store(CellBuilder b) {
+        b.storeUint(0b00L, 2);
+    }
+
+    public static TrPhaseBounceNegfunds deserialize(CellSlice cs) {
+        if (cs.loadUintLong(2) != 0b00L) {
+            throw new Error("tr_phase_bounce_negfunds: constructor tag $00 not found");
+        }
+        return TrPhaseBounceNegfunds.builder().build();
+    }
+}
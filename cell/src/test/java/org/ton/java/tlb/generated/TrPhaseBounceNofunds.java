@@ -0,0 +1,47 @@
+package org.ton.java.tlb.generated;
+
+import lombok.Builder;
+import lombok.Data;
+import org.ton.java.cell.Cell;
+import org.ton.java.cell.CellBuilder;
+import org.ton.java.cell.CellSlice;
+
+import java.math.BigInteger;
+
+/**
+ * Generated by TlbCodecGenerator from block.tlb, do not edit.
+ *
+ * <pre>
+ * tr_phase_bounce_nofunds$01 msg_size:StorageUsedShort req_fwd_fees:Grams = TrBouncePhase;
+ * </pre>
+ */
+@Builder
+@Data
+public class TrPhaseBounceNofunds implements TrBouncePhase {
+    StorageUsedShort msgSize;
+    BigInteger reqFwdFees;
+
+    public Cell toCell() {
+        CellBuilder b = CellBuilder.beginCell();
+        store(b);
+        return b.endCell();
+    }
+
+    public void store(CellBuilder b) {
+        b.storeUint(0b01L, 2);
+        msgSize.store(b);
+        b.storeCoins(reqFwdFees);
+    }
+
+    public static TrPhaseBounceNofunds deserialize(CellSlice cs) {
+        if (cs.loadUintLong(2) != 0b01L) {
+            throw new Error("tr_phase_bounce_nofunds: constructor tag $01 not found");
+        }
+        StorageUsedShort msgSize = StorageUsedShort.deserialize(cs);
+        BigInteger reqFwdFees = cs.loadCoins();
+        return TrPhaseBounceNofunds.builder()
+                .msgSize(msgSize)
+                .reqFwdFees(reqFwdFees)
+                .build();
+    }
+}
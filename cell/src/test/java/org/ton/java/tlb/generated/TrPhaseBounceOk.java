@@ -0,0 +1,51 @@
+package org.ton.java.tlb.generated;
+
+import lombok.Builder;
+import lombok.Data;
+import org.ton.java.cell.Cell;
+import org.ton.java.cell.CellBuilder;
+import org.ton.java.cell.CellSlice;
+
+import java.math.BigInteger;
+
+/**
+ * Generated by TlbCodecGenerator from block.tlb, do not edit.
+ *
+ * <pre>
+ * tr_phase_bounce_ok$1 msg_size:StorageUsedShort msg_fees:Grams fwd_fees:Grams = TrBouncePhase;
+ * </pre>
+ */
+@Builder
+@Data
+public class TrPhaseBounceOk implements TrBouncePhase {
+    StorageUsedShort msgSize;
+    BigInteger msgFees;
+    BigInteger fwdFees;
+
+    public Cell toCell() {
+        CellBuilder b = CellBuilder.beginCell();
+        store(b);
+        return b.endCell();
+    }
+
+    public void store(CellBuilder b) {
+        b.storeUint(0b1L, 1);
+        msgSize.store(b);
+        b.storeCoins(msgFees);
+        b.storeCoins(fwdFees);
+    }
+
+    public static TrPhaseBounceOk deserialize(CellSlice cs) {
+        if (cs.loadUintLong(1) != 0b1L) {
+            throw new Error("tr_phase_bounce_ok: constructor tag $1 not found");
+        }
+        StorageUsedShort msgSize = StorageUsedShort.deserialize(cs);
+        BigInteger msgFees = cs.loadCoins();
+        BigInteger fwdFees = cs.loadCoins();
+        return TrPhaseBounceOk.builder()
+                .msgSize(msgSize)
+                .msgFees(msgFees)
+                .fwdFees(fwdFees)
+                .build();
+    }
+}
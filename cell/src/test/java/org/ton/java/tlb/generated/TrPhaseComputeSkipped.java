@@ -0,0 +1,41 @@
+package org.ton.java.tlb.generated;
+
+import lombok.Builder;
+import lombok.Data;
+import org.ton.java.cell.Cell;
+import org.ton.java.cell.CellBuilder;
+import org.ton.java.cell.CellSlice;
+
+/**
+ * Generated by TlbCodecGenerator from block.tlb, do not edit.
+ *
+ * <pre>
+ * tr_phase_compute_skipped$0 reason:ComputeSkipReason = TrComputePhase;
+ * </pre>
+ */
+@Builder
+@Data
+public class TrPhaseComputeSkipped implements TrComputePhase {
+    ComputeSkipReason reason;
+
+    public Cell toCell() {
+        CellBuilder b = CellBuilder.beginCell();
+        store(b);
+        return b.endCell();
+    }
+
+    public void store(CellBuilder b) {
+        b.storeUint(0b0L, 1);
+        reason.store(b);
+    }
+
+    public static TrPhaseComputeSkipped deserialize(CellSlice cs) {
+        if (cs.loadUintLong(1) != 0b0L) {
+            throw new Error("tr_phase_compute_skipped: constructor tag $0 not found");
+        }
+        ComputeSkipReason reason = ComputeSkipReason.deserialize(cs);
+        return TrPhaseComputeSkipped.builder()
+                .reason(reason)
+                .build();
+    }
+}
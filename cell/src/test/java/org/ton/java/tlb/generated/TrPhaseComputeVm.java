@@ -0,0 +1,106 @@
+package org.ton.java.tlb.generated;
+
+import lombok.Builder;
+import lombok.Data;
+import org.ton.java.cell.Cell;
+import org.ton.java.cell.CellBuilder;
+import org.ton.java.cell.CellSlice;
+
+import java.math.BigInteger;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Generated by TlbCodecGenerator from block.tlb, do not edit.
+ *
+ * <pre>
+ * tr_phase_compute_vm$1 success:Bool msg_state_used:Bool account_activated:Bool gas_fees:Grams ^[ gas_used:(VarUInteger 7) gas_limit:(VarUInteger 7) gas_credit:(Maybe (VarUInteger 3)) mode:int8 exit_code:int32 exit_arg:(Maybe int32) vm_steps:uint32 vm_init_state_hash:bits256 vm_final_state_hash:bits256 ] = TrComputePhase;
+ * </pre>
+ */
+@Builder
+@Data
+public class TrPhaseComputeVm implements TrComputePhase {
+    boolean success;
+    boolean msgStateUsed;
+    boolean accountActivated;
+    BigInteger gasFees;
+    BigInteger gasUsed;
+    BigInteger gasLimit;
+    BigInteger gasCredit;
+    int mode;
+    int exitCode;
+    Integer exitArg;
+    long vmSteps;
+    byte[] vmInitStateHash;
+    byte[] vmFinalStateHash;
+
+    public Cell toCell() {
+        CellBuilder b = CellBuilder.beginCell();
+        store(b);
+        return b.endCell();
+    }
+
+    public void store(CellBuilder b) {
+        b.storeUint(0b1L, 1);
+        b.storeBit(success);
+        b.storeBit(msgStateUsed);
+        b.storeBit(accountActivated);
+        b.storeCoins(gasFees);
+        CellBuilder ref0 = CellBuilder.beginCell();
+        ref0.storeVarUint(gasUsed, 3);
+        ref0.storeVarUint(gasLimit, 3);
+        if (nonNull(gasCredit)) {
+            ref0.storeBit(true);
+            ref0.storeVarUint(gasCredit, 2);
+        } else {
+            ref0.storeBit(false);
+        }
+        ref0.storeInt(mode, 8);
+        ref0.storeInt(exitCode, 32);
+        if (nonNull(exitArg)) {
+            ref0.storeBit(true);
+            ref0.storeInt(exitArg, 32);
+        } else {
+            ref0.storeBit(false);
+        }
+        ref0.storeUint(vmSteps, 32);
+        ref0.storeBytes(vmInitStateHash, 256);
+        ref0.storeBytes(vmFinalStateHash, 256);
+        b.storeRef(ref0.endCell());
+    }
+
+    public static TrPhaseComputeVm deserialize(CellSlice cs) {
+        if (cs.loadUintLong(1) != 0b1L) {
+            throw new Error("tr_phase_compute_vm: constructor tag $1 not found");
+        }
+        boolean success = cs.loadBit();
+        boolean msgStateUsed = cs.loadBit();
+        boolean accountActivated = cs.loadBit();
+        BigInteger gasFees = cs.loadCoins();
+        CellSlice ref0 = CellSlice.beginParse(cs.loadRef());
+        BigInteger gasUsed = ref0.loadVarUInteger(BigInteger.valueOf(3));
+        BigInteger gasLimit = ref0.loadVarUInteger(BigInteger.valueOf(3));
+        BigInteger gasCredit = ref0.loadBit() ? ref0.loadVarUInteger(BigInteger.valueOf(2)) : null;
+        int mode = (int) ref0.loadIntLong(8);
+        int exitCode = (int) ref0.loadIntLong(32);
+        Integer exitArg = ref0.loadBit() ? (int) ref0.loadIntLong(32) : null;
+        long vmSteps = ref0.loadUintLong(32);
+        byte[] vmInitStateHash = ref0.loadBytes(256);
+        byte[] vmFinalStateHash = ref0.loadBytes(256);
+        return TrPhaseComputeVm.builder()
+                .success(success)
+                .msgStateUsed(msgStateUsed)
+                .accountActivated(accountActivated)
+                .gasFees(gasFees)
+                .gasUsed(gasUsed)
+                .gasLimit(gasLimit)
+                .gasCredit(gasCredit)
+                .mode(mode)
+                .exitCode(exitCode)
+                .exitArg(exitArg)
+                .vmSteps(vmSteps)
+                .vmInitStateHash(vmInitStateHash)
+                .vmFinalStateHash(vmFinalStateHash)
+                .build();
+    }
+}
@@ -0,0 +1,54 @@
+package org.ton.java.tlb.generated;
+
+import lombok.Builder;
+import lombok.Data;
+import org.ton.java.cell.Cell;
+import org.ton.java.cell.CellBuilder;
+import org.ton.java.cell.CellSlice;
+
+import java.math.BigInteger;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Generated by TlbCodecGenerator from block.tlb, do not edit.
+ *
+ * <pre>
+ * tr_phase_storage$_ storage_fees_collected:Grams storage_fees_due:(Maybe Grams) status_change:AccStatusChange = TrStoragePhase;
+ * </pre>
+ */
+@Builder
+@Data
+public class TrStoragePhase {
+    BigInteger storageFeesCollected;
+    BigInteger storageFeesDue;
+    AccStatusChange statusChange;
+
+    public Cell toCell() {
+        CellBuilder b = CellBuilder.beginCell();
+        store(b);
+        return b.endCell();
+    }
+
+    public void store(CellBuilder b) {
+        b.storeCoins(storageFeesCollected);
+        if (nonNull(storageFeesDue)) {
+            b.storeBit(true);
+            b.storeCoins(storageFeesDue);
+        } else {
+            b.storeBit(false);
+        }
+        statusChange.store(b);
+    }
+
+    public static TrStoragePhase deserialize(CellSlice cs) {
+        BigInteger storageFeesCollected = cs.loadCoins();
+        BigInteger storageFeesDue = cs.loadBit() ? cs.loadCoins() : null;
+        AccStatusChange statusChange = AccStatusChange.deserialize(cs);
+        return TrStoragePhase.builder()
+                .storageFeesCollected(storageFeesCollected)
+                .storageFeesDue(storageFeesDue)
+                .statusChange(statusChange)
+                .build();
+    }
+}
@@ -0,0 +1,102 @@
+package org.ton.java.tlb.generated;
+
+import lombok.Builder;
+import lombok.Data;
+import org.ton.java.cell.Cell;
+import org.ton.java.cell.CellBuilder;
+import org.ton.java.cell.CellSlice;
+import org.ton.java.tlb.types.Transaction;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Generated by TlbCodecGenerator from block.tlb, do not edit.
+ *
+ * <pre>
+ * trans_merge_install$0111 split_info:SplitMergeInfo prepare_transaction:^Transaction storage_ph:(Maybe TrStoragePhase) credit_ph:(Maybe TrCreditPhase) compute_ph:TrComputePhase action:(Maybe ^TrActionPhase) aborted:Bool destroyed:Bool = TransactionDescr;
+ * </pre>
+ */
+@Builder
+@Data
+public class TransMergeInstall implements TransactionDescr {
+    SplitMergeInfo splitInfo;
+    Cell prepareTransaction;
+    TrStoragePhase storagePh;
+    TrCreditPhase creditPh;
+    TrComputePhase computePh;
+    Cell action;
+    boolean aborted;
+    boolean destroyed;
+
+    /**
+     * Decodes referenced Transaction on demand
+     */
+    public Transaction loadPrepareTransaction() {
+        return Transaction.deserialize(CellSlice.beginParse(prepareTransaction));
+    }
+
+    /**
+     * Decodes referenced TrActionPhase on demand
+     */
+    public TrActionPhase loadAction() {
+        return isNull(action) ? null : TrActionPhase.deserialize(CellSlice.beginParse(action));
+    }
+
+    public Cell toCell() {
+        CellBuilder b = CellBuilder.beginCell();
+        store(b);
+        return b.endCell();
+    }
+
+    public void store(CellBuilder b) {
+        b.storeUint(0b0111L, 4);
+        splitInfo.store(b);
+        b.storeRef(prepareTransaction);
+        if (nonNull(storagePh)) {
+            b.storeBit(true);
+            storagePh.store(b);
+        } else {
+            b.storeBit(false);
+        }
+        if (nonNull(creditPh)) {
+            b.storeBit(true);
+            creditPh.store(b);
+        } else {
+            b.storeBit(false);
+        }
+        computePh.store(b);
+        if (nonNull(action)) {
+            b.storeBit(true);
+            b.storeRef(action);
+        } else {
+            b.storeBit(false);
+        }
+        b.storeBit(aborted);
+        b.storeBit(destroyed);
+    }
+
+    public static TransMergeInstall deserialize(CellSlice cs) {
+        if (cs.loadUintLong(4) != 0b0111L) {
+            throw new Error("trans_merge_install: constructor tag $0111 not found");
+        }
+        SplitMergeInfo splitInfo = SplitMergeInfo.deserialize(cs);
+        Cell prepareTransaction = cs.loadRef();
+        TrStoragePhase storagePh = cs.loadBit() ? TrStoragePhase.deserialize(cs) : null;
+        TrCreditPhase creditPh = cs.loadBit() ? TrCreditPhase.deserialize(cs) : null;
+        TrComputePhase computePh = TrComputePhase.deserialize(cs);
+        Cell action = cs.loadBit() ? cs.loadRef() : null;
+        boolean aborted = cs.loadBit();
+        boolean destroyed = cs.loadBit();
+        return TransMergeInstall.builder()
+                .splitInfo(splitInfo)
+                .prepareTransaction(prepareTransaction)
+                .storagePh(storagePh)
+                .creditPh(creditPh)
+                .computePh(computePh)
+                .action(action)
+                .aborted(aborted)
+                .destroyed(destroyed)
+                .build();
+    }
+}
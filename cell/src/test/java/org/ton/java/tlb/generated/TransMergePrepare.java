@@ -0,0 +1,49 @@
+package org.ton.java.tlb.generated;
+
+import lombok.Builder;
+import lombok.Data;
+import org.ton.java.cell.Cell;
+import org.ton.java.cell.CellBuilder;
+import org.ton.java.cell.CellSlice;
+
+/**
+ * Generated by TlbCodecGenerator from block.tlb, do not edit.
+ *
+ * <pre>
+ * trans_merge_prepare$0110 split_info:SplitMergeInfo storage_ph:TrStoragePhase aborted:Bool = TransactionDescr;
+ * </pre>
+ */
+@Builder
+@Data
+public class TransMergePrepare implements TransactionDescr {
+    SplitMergeInfo splitInfo;
+    TrStoragePhase storagePh;
+    boolean aborted;
+
+    public Cell toCell() {
+        CellBuilder b = CellBuilder.beginCell();
+        store(b);
+        return b.endCell();
+    }
+
+    public void store(CellBuilder b) {
+        b.storeUint(0b0110L, 4);
+        splitInfo.store(b);
+        storagePh.store(b);
+        b.storeBit(aborted);
+    }
+
+    public static TransMergePrepare deserialize(CellSlice cs) {
+        if (cs.loadUintLong(4) != 0b0110L) {
+            throw new Error("trans_merge_prepare: constructor tag $0110 not found");
+        }
+        SplitMergeInfo splitInfo = SplitMergeInfo.deserialize(cs);
+        TrStoragePhase storagePh = TrStoragePhase.deserialize(cs);
+        boolean aborted = cs.loadBit();
+        return TransMergePrepare.builder()
+                .splitInfo(splitInfo)
+                .storagePh(storagePh)
+                .aborted(aborted)
+                .build();
+    }
+}
@@ -0,0 +1,99 @@
+package org.ton.java.tlb.generated;
+
+import lombok.Builder;
+import lombok.Data;
+import org.ton.java.cell.Cell;
+import org.ton.java.cell.CellBuilder;
+import org.ton.java.cell.CellSlice;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Generated by TlbCodecGenerator from block.tlb, do not edit.
+ *
+ * <pre>
+ * trans_ord$0000 credit_first:Bool storage_ph:(Maybe TrStoragePhase) credit_ph:(Maybe TrCreditPhase) compute_ph:TrComputePhase action:(Maybe ^TrActionPhase) aborted:Bool bounce:(Maybe TrBouncePhase) destroyed:Bool = TransactionDescr;
+ * </pre>
+ */
+@Builder
+@Data
+public class TransOrd implements TransactionDescr {
+    boolean creditFirst;
+    TrStoragePhase storagePh;
+    TrCreditPhase creditPh;
+    TrComputePhase computePh;
+    Cell action;
+    boolean aborted;
+    TrBouncePhase bounce;
+    boolean destroyed;
+
+    /**
+     * Decodes referenced TrActionPhase on demand
+     */
+    public TrActionPhase loadAction() {
+        return isNull(action) ? null : TrActionPhase.deserialize(CellSlice.beginParse(action));
+    }
+
+    public Cell toCell() {
+        CellBuilder b = CellBuilder.beginCell();
+        store(b);
+        return b.endCell();
+    }
+
+    public void store(CellBuilder b) {
+        b.storeUint(0b0000L, 4);
+        b.storeBit(creditFirst);
+        if (nonNull(storagePh)) {
+            b.storeBit(true);
+            storagePh.store(b);
+        } else {
+            b.storeBit(false);
+        }
+        if (nonNull(creditPh)) {
+            b.storeBit(true);
+            creditPh.store(b);
+        } else {
+            b.storeBit(false);
+        }
+        computePh.store(b);
+        if (nonNull(action)) {
+            b.storeBit(true);
+            b.storeRef(action);
+        } else {
+            b.storeBit(false);
+        }
+        b.storeBit(aborted);
+        if (nonNull(bounce)) {
+            b.storeBit(true);
+            bounce.store(b);
+        } else {
+            b.storeBit(false);
+        }
+        b.storeBit(destroyed);
+    }
+
+    public static TransOrd deserialize(CellSlice cs) {
+        if (cs.loadUintLong(4) != 0b0000L) {
+            throw new Error("trans_ord: constructor tag $0000 not found");
+        }
+        boolean creditFirst = cs.loadBit();
+        TrStoragePhase storagePh = cs.loadBit() ? TrStoragePhase.deserialize(cs) : null;
+        TrCreditPhase creditPh = cs.loadBit() ? TrCreditPhase.deserialize(cs) : null;
+        TrComputePhase computePh = TrComputePhase.deserialize(cs);
+        Cell action = cs.loadBit() ? cs.loadRef() : null;
+        boolean aborted = cs.loadBit();
+        TrBouncePhase bounce = cs.loadBit() ? TrBouncePhase.deserialize(cs) : null;
+        boolean destroyed = cs.loadBit();
+        return TransOrd.builder()
+                .creditFirst(creditFirst)
+                .storagePh(storagePh)
+                .creditPh(creditPh)
+                .computePh(computePh)
+                .action(action)
+                .aborted(aborted)
+                .bounce(bounce)
+                .destroyed(destroyed)
+                .build();
+    }
+}
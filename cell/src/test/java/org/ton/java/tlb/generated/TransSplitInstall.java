@@ -0,0 +1,57 @@
+package org.ton.java.tlb.generated;
+
+import lombok.Builder;
+import lombok.Data;
+import org.ton.java.cell.Cell;
+import org.ton.java.cell.CellBuilder;
+import org.ton.java.cell.CellSlice;
+import org.ton.java.tlb.types.Transaction;
+
+/**
+ * Generated by TlbCodecGenerator from block.tlb, do not edit.
+ *
+ * <pre>
+ * trans_split_install$0101 split_info:SplitMergeInfo prepare_transaction:^Transaction installed:Bool = TransactionDescr;
+ * </pre>
+ */
+@Builder
+@Data
+public class TransSplitInstall implements TransactionDescr {
+    SplitMergeInfo splitInfo;
+    Cell prepareTransaction;
+    boolean installed;
+
+    /**
+     * Decodes referenced Transaction on demand
+     */
+    public Transaction loadPrepareTransaction() {
+        return Transaction.deserialize(CellSlice.beginParse(prepareTransaction));
+    }
+
+    public Cell toCell() {
+        CellBuilder b = CellBuilder.beginCell();
+        store(b);
+        return b.endCell();
+    }
+
+    public void store(CellBuilder b) {
+        b.storeUint(0b0101L, 4);
+        splitInfo.store(b);
+        b.storeRef(prepareTransaction);
+        b.storeBit(installed);
+    }
+
+    public static TransSplitInstall deserialize(CellSlice cs) {
+        if (cs.loadUintLong(4) != 0b0101L) {
+            throw new Error("trans_split_install: constructor tag $0101 not found");
+        }
+        SplitMergeInfo splitInfo = SplitMergeInfo.deserialize(cs);
+        Cell prepareTransaction = cs.loadRef();
+        boolean installed = cs.loadBit();
+        return TransSplitInstall.builder()
+                .splitInfo(splitInfo)
+                .prepareTransaction(prepareTransaction)
+                .installed(installed)
+                .build();
+    }
+}
@@ -0,0 +1,81 @@
+package org.ton.java.tlb.generated;
+
+import lombok.Builder;
+import lombok.Data;
+import org.ton.java.cell.Cell;
+import org.ton.java.cell.CellBuilder;
+import org.ton.java.cell.CellSlice;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Generated by TlbCodecGenerator from block.tlb, do not edit.
+ *
+ * <pre>
+ * trans_split_prepare$0100 split_info:SplitMergeInfo storage_ph:(Maybe TrStoragePhase) compute_ph:TrComputePhase action:(Maybe ^TrActionPhase) aborted:Bool destroyed:Bool = TransactionDescr;
+ * </pre>
+ */
+@Builder
+@Data
+public class TransSplitPrepare implements TransactionDescr {
+    SplitMergeInfo splitInfo;
+    TrStoragePhase storagePh;
+    TrComputePhase computePh;
+    Cell action;
+    boolean aborted;
+    boolean destroyed;
+
+    /**
+     * Decodes referenced TrActionPhase on demand
+     */
+    public TrActionPhase loadAction() {
+        return isNull(action) ? null : TrActionPhase.deserialize(CellSlice.beginParse(action));
+    }
+
+    public Cell toCell() {
+        CellBuilder b = CellBuilder.beginCell();
+        store(b);
+        return b.endCell();
+    }
+
+    public void store(CellBuilder b) {
+        b.storeUint(0b0100L, 4);
+        splitInfo.store(b);
+        if (nonNull(storagePh)) {
+            b.storeBit(true);
+            storagePh.store(b);
+        } else {
+            b.storeBit(false);
+        }
+        computePh.store(b);
+        if (nonNull(action)) {
+            b.storeBit(true);
+            b.storeRef(action);
+        } else {
+            b.storeBit(false);
+        }
+        b.storeBit(aborted);
+        b.storeBit(destroyed);
+    }
+
+    public static TransSplitPrepare deserialize(CellSlice cs) {
+        if (cs.loadUintLong(4) != 0b0100L) {
+            throw new Error("trans_split_prepare: constructor tag $0100 not found");
+        }
+        SplitMergeInfo splitInfo = SplitMergeInfo.deserialize(cs);
+        TrStoragePhase storagePh = cs.loadBit() ? TrStoragePhase.deserialize(cs) : null;
+        TrComputePhase computePh = TrComputePhase.deserialize(cs);
+        Cell action = cs.loadBit() ? cs.loadRef() : null;
+        boolean aborted = cs.loadBit();
+        boolean destroyed = cs.loadBit();
+        return TransSplitPrepare.builder()
+                .splitInfo(splitInfo)
+                .storagePh(storagePh)
+                .computePh(computePh)
+                .action(action)
+                .aborted(aborted)
+                .destroyed(destroyed)
+                .build();
+    }
+}
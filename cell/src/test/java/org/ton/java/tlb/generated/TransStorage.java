@@ -0,0 +1,41 @@
+package org.ton.java.tlb.generated;
+
+import lombok.Builder;
+import lombok.Data;
+import org.ton.java.cell.Cell;
+import org.ton.java.cell.CellBuilder;
+import org.ton.java.cell.CellSlice;
+
+/**
+ * Generated by TlbCodecGenerator from block.tlb, do not edit.
+ *
+ * <pre>
+ * trans_storage$0001 storage_ph:TrStoragePhase = TransactionDescr;
+ * </pre>
+ */
+@Builder
+@Data
+public class TransStorage implements TransactionDescr {
+    TrStoragePhase storagePh;
+
+    public Cell toCell() {
+        CellBuilder b = CellBuilder.beginCell();
+        store(b);
+        return b.endCell();
+    }
+
+    public void store(CellBuilder b) {
+        b.storeUint(0b0001L, 4);
+        storagePh.store(b);
+    }
+
+    public static TransStorage deserialize(CellSlice cs) {
+        if (cs.loadUintLong(4) != 0b0001L) {
+            throw new Error("trans_storage: constructor tag $0001 not found");
+        }
+        TrStoragePhase storagePh = TrStoragePhase.deserialize(cs);
+        return TransStorage.builder()
+                .storagePh(storagePh)
+                .build();
+    }
+}
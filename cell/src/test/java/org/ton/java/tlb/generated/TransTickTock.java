@@ -0,0 +1,76 @@
+package org.ton.java.tlb.generated;
+
+import lombok.Builder;
+import lombok.Data;
+import org.ton.java.cell.Cell;
+import org.ton.java.cell.CellBuilder;
+import org.ton.java.cell.CellSlice;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Generated by TlbCodecGenerator from block.tlb, do not edit.
+ *
+ * <pre>
+ * trans_tick_tock$001 is_tock:Bool storage_ph:TrStoragePhase compute_ph:TrComputePhase action:(Maybe ^TrActionPhase) aborted:Bool destroyed:Bool = TransactionDescr;
+ * </pre>
+ */
+@Builder
+@Data
+public class TransTickTock implements TransactionDescr {
+    boolean isTock;
+    TrStoragePhase storagePh;
+    TrComputePhase computePh;
+    Cell action;
+    boolean aborted;
+    boolean destroyed;
+
+    /**
+     * Decodes referenced TrActionPhase on demand
+     */
+    public TrActionPhase loadAction() {
+        return isNull(action) ? null : TrActionPhase.deserialize(CellSlice.beginParse(action));
+    }
+
+    public Cell toCell() {
+        CellBuilder b = CellBuilder.beginCell();
+        store(b);
+        return b.endCell();
+    }
+
+    public void store(CellBuilder b) {
+        b.storeUint(0b001L, 3);
+        b.storeBit(isTock);
+        storagePh.store(b);
+        computePh.store(b);
+        if (nonNull(action)) {
+            b.storeBit(true);
+            b.storeRef(action);
+        } else {
+            b.storeBit(false);
+        }
+        b.storeBit(aborted);
+        b.storeBit(destroyed);
+    }
+
+    public static TransTickTock deserialize(CellSlice cs) {
+        if (cs.loadUintLong(3) != 0b001L) {
+            throw new Error("trans_tick_tock: constructor tag $001 not found");
+        }
+        boolean isTock = cs.loadBit();
+        TrStoragePhase storagePh = TrStoragePhase.deserialize(cs);
+        TrComputePhase computePh = TrComputePhase.deserialize(cs);
+        Cell action = cs.loadBit() ? cs.loadRef() : null;
+        boolean aborted = cs.loadBit();
+        boolean destroyed = cs.loadBit();
+        return TransTickTock.builder()
+                .isTock(isTock)
+                .storagePh(storagePh)
+                .computePh(computePh)
+                .action(action)
+                .aborted(aborted)
+                .destroyed(destroyed)
+                .build();
+    }
+}
@@ -0,0 +1,51 @@
+package org.ton.java.tlb.generated;
+
+import org.ton.java.cell.Cell;
+import org.ton.java.cell.CellBuilder;
+import org.ton.java.cell.CellSlice;
+
+/**
+ * Generated by TlbCodecGenerator from block.tlb, do not edit.
+ *
+ * <pre>
+ * trans_ord$0000 credit_first:Bool storage_ph:(Maybe TrStoragePhase) credit_ph:(Maybe TrCreditPhase) compute_ph:TrComputePhase action:(Maybe ^TrActionPhase) aborted:Bool bounce:(Maybe TrBouncePhase) destroyed:Bool = TransactionDescr;
+ * trans_storage$0001 storage_ph:TrStoragePhase = TransactionDescr;
+ * trans_tick_tock$001 is_tock:Bool storage_ph:TrStoragePhase compute_ph:TrComputePhase action:(Maybe ^TrActionPhase) aborted:Bool destroyed:Bool = TransactionDescr;
+ * trans_split_prepare$0100 split_info:SplitMergeInfo storage_ph:(Maybe TrStoragePhase) compute_ph:TrComputePhase action:(Maybe ^TrActionPhase) aborted:Bool destroyed:Bool = TransactionDescr;
+ * trans_split_install$0101 split_info:SplitMergeInfo prepare_transaction:^Transaction installed:Bool = TransactionDescr;
+ * trans_merge_prepare$0110 split_info:SplitMergeInfo storage_ph:TrStoragePhase aborted:Bool = TransactionDescr;
+ * trans_merge_install$0111 split_info:SplitMergeInfo prepare_transaction:^Transaction storage_ph:(Maybe TrStoragePhase) credit_ph:(Maybe TrCreditPhase) compute_ph:TrComputePhase action:(Maybe ^TrActionPhase) aborted:Bool destroyed:Bool = TransactionDescr;
+ * </pre>
+ */
+public interface TransactionDescr {
+
+    Cell toCell();
+
+    void store(CellBuilder b);
+
+    static TransactionDescr deserialize(CellSlice cs) {
+        if (cs.getRestBits() >= 3) {
+            switch ((int) cs.preloadUintLong(3)) {
+                case 0b001:
+                    return TransTickTock.deserialize(cs);
+            }
+        }
+        if (cs.getRestBits() >= 4) {
+            switch ((int) cs.preloadUintLong(4)) {
+                case 0b0000:
+                    return TransOrd.deserialize(cs);
+                case 0b0001:
+                    return TransStorage.deserialize(cs);
+                case 0b0100:
+                    return TransSplitPrepare.deserialize(cs);
+                case 0b0101:
+                    return TransSplitInstall.deserialize(cs);
+                case 0b0110:
+                    return TransMergePrepare.deserialize(cs);
+                case 0b0111:
+                    return TransMergeInstall.deserialize(cs);
+            }
+        }
+        throw new Error("unknown TransactionDescr constructor");
+    }
+}
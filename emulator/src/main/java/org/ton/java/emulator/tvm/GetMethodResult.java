@@ -1,6 +1,8 @@
 package org.ton.java.emulator.tvm;
 
 import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
@@ -9,6 +11,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.ton.java.cell.Cell;
 import org.ton.java.cell.CellSlice;
 import org.ton.java.tlb.types.VmStack;
+import org.ton.java.tlb.types.VmStackCodec;
 
 @Builder
 @Setter
@@ -29,4 +32,14 @@ public class GetMethodResult implements Serializable {
     }
     return VmStack.builder().build();
   }
+
+  /**
+   * @return stack values as plain Java objects, see VmStackCodec
+   */
+  public List<Object> getStackValues() {
+    if (StringUtils.isNotEmpty(stack)) {
+      return VmStackCodec.decode(stack);
+    }
+    return Collections.emptyList();
+  }
 }
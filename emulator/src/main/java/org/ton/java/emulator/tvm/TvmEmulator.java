@@ -9,14 +9,11 @@ import com.sun.jna.Native;
 
 import java.math.BigInteger;
 import java.util.Collections;
+import java.util.List;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
-import org.ton.java.cell.CellSlice;
-import org.ton.java.tlb.types.VmStack;
-import org.ton.java.tlb.types.VmStackList;
-import org.ton.java.tlb.types.VmStackValueInt;
-import org.ton.java.tlb.types.VmStackValueTinyInt;
+import org.ton.java.tlb.types.VmStackCodec;
 import org.ton.java.utils.Utils;
 
 import java.io.*;
@@ -221,12 +218,7 @@ public class TvmEmulator {
         tvmEmulatorI.tvm_emulator_run_get_method(
             tvmEmulator,
             methodId,
-            VmStack.builder()
-                .depth(0)
-                .stack(VmStackList.builder().tos(Collections.emptyList()).build())
-                .build()
-                .toCell()
-                .toBase64());
+            VmStackCodec.encodeToBase64(Collections.emptyList()));
     Utils.enableNativeOutput();
     Gson gson = new GsonBuilder().setObjectToNumberStrategy(ToNumberPolicy.BIG_DECIMAL).create();
     return gson.fromJson(result, GetMethodResult.class);
@@ -238,12 +230,7 @@ public class TvmEmulator {
         tvmEmulatorI.tvm_emulator_run_get_method(
             tvmEmulator,
             Utils.calculateMethodId(methodName),
-            VmStack.builder()
-                .depth(0)
-                .stack(VmStackList.builder().tos(Collections.emptyList()).build())
-                .build()
-                .toCell()
-                .toBase64());
+            VmStackCodec.encodeToBase64(Collections.emptyList()));
     Utils.enableNativeOutput();
     Gson gson = new GsonBuilder().setObjectToNumberStrategy(ToNumberPolicy.BIG_DECIMAL).create();
     return gson.fromJson(result, GetMethodResult.class);
@@ -269,6 +256,17 @@ public class TvmEmulator {
     return gson.fromJson(result, GetMethodResult.class);
   }
 
+  /**
+   * Run get method
+   *
+   * @param methodName String method id
+   * @param stack input stack values, see VmStackCodec; the last one is on top of the stack
+   * @return GetMethodResult, use getStackValues() to read the result stack
+   */
+  public GetMethodResult runGetMethod(String methodName, List<Object> stack) {
+    return runGetMethod(Utils.calculateMethodId(methodName), VmStackCodec.encodeToBase64(stack));
+  }
+
   public String runGetMethodStr(String methodName, String stackBoc) {
     Utils.disableNativeOutput();
     String result =
@@ -283,11 +281,7 @@ public class TvmEmulator {
     if (methodResult.getVm_exit_code() != 0) {
       throw new Error("Cannot execute run method (seqno), Error:\n" + methodResult.getVm_log());
     }
-    VmStack stack = methodResult.getStack();
-    VmStackList vmStackList = stack.getStack();
-    return VmStackValueTinyInt.deserialize(
-            CellSlice.beginParse(vmStackList.getTos().get(0).toCell()))
-        .getValue();
+    return (BigInteger) methodResult.getStackValues().get(0);
   }
 
   public BigInteger runGetSubWalletId() {
@@ -296,11 +290,7 @@ public class TvmEmulator {
       throw new Error(
           "Cannot execute run method (get_subwallet_id), Error:\n" + methodResult.getVm_log());
     }
-    VmStack stack = methodResult.getStack();
-    VmStackList vmStackList = stack.getStack();
-    return VmStackValueTinyInt.deserialize(
-            CellSlice.beginParse(vmStackList.getTos().get(0).toCell()))
-        .getValue();
+    return (BigInteger) methodResult.getStackValues().get(0);
   }
 
   public String runGetPublicKey() {
@@ -309,12 +299,7 @@ public class TvmEmulator {
       throw new Error(
           "Cannot execute run method (get_public_key), Error:\n" + methodResult.getVm_log());
     }
-    VmStack stack = methodResult.getStack();
-    int depth = stack.getDepth();
-    VmStackList vmStackList = stack.getStack();
-    BigInteger pubKey =
-        VmStackValueInt.deserialize(CellSlice.beginParse(vmStackList.getTos().get(0).toCell()))
-            .getValue();
+    BigInteger pubKey = (BigInteger) methodResult.getStackValues().get(0);
     return pubKey.toString(16);
   }
 
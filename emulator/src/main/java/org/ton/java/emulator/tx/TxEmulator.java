@@ -9,7 +9,9 @@ import com.sun.jna.Native;
 
 import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
@@ -36,6 +38,10 @@ public class TxEmulator {
   private TxVerbosityLevel verbosityLevel;
   private Boolean printEmulatorInfo;
 
+  /** Bundled configs, read and decoded once per config type. */
+  private static final Map<TxEmulatorConfig, BlockchainConfig> bundledConfigs =
+      new ConcurrentHashMap<>();
+
   public static class TxEmulatorBuilder {}
 
   public static TxEmulatorBuilder builder() {
@@ -133,7 +139,31 @@ public class TxEmulator {
     }
   }
 
+  /**
+   * Returns blockchain config the emulator was created with. Decoded once per config and shared,
+   * e.g. for offline fee calculation.
+   */
+  public BlockchainConfig getBlockchainConfig() {
+    if (configType == TxEmulatorConfig.CUSTOM) {
+      return BlockchainConfig.fromBocBase64(customConfig);
+    }
+    return bundledConfigs.computeIfAbsent(configType, TxEmulator::loadBundledConfig);
+  }
 
+  private static BlockchainConfig loadBundledConfig(TxEmulatorConfig configType) {
+    String resource =
+        (configType == TxEmulatorConfig.TESTNET)
+            ? "/config-all-testnet.txt"
+            : "/config-all-mainnet.txt";
+    try {
+      return BlockchainConfig.fromBocBase64(
+          IOUtils.toString(
+              Objects.requireNonNull(TxEmulator.class.getResourceAsStream(resource)),
+              StandardCharsets.UTF_8));
+    } catch (Exception e) {
+      throw new Error("Error loading blockchain config: " + e.getMessage());
+    }
+  }
 
   public void destroy() {
     txEmulatorI.transaction_emulator_destroy(txEmulator);
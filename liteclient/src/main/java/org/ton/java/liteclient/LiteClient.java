@@ -11,6 +11,7 @@ import org.ton.java.liteclient.api.ResultLastBlock;
 import org.ton.java.liteclient.api.ResultListBlockTransactions;
 import org.ton.java.liteclient.api.block.Block;
 import org.ton.java.liteclient.api.block.Transaction;
+import org.ton.java.utils.ClientMetrics;
 import org.ton.java.utils.Utils;
 
 import java.io.File;
@@ -36,6 +37,8 @@ public class LiteClient {
     private static final String LITE_CLIENT_EXE = "lite-client.exe";
     private static final String LITE_CLIENT = "lite-client";
 
+    private static final String CLIENT = "lite-client";
+
     private static LiteClient singleInstance = null;
 
     private String pathToLiteClientBinary;
@@ -60,6 +63,11 @@ public class LiteClient {
 
     private Boolean printInfo;
 
+    /**
+     * Optional metrics of executed commands, e.g. SimpleClientMetrics. Default - no metrics.
+     */
+    private ClientMetrics metrics;
+
     public static class LiteClientBuilder {
     }
 
@@ -77,6 +85,10 @@ public class LiteClient {
                     super.printInfo = true;
                 }
 
+                if (isNull(super.metrics)) {
+                    super.metrics = ClientMetrics.NOOP;
+                }
+
                 if (StringUtils.isEmpty(super.pathToLiteClientBinary)) {
                     if (super.printInfo) {
                         log.info("checking if lite-client is installed...");
@@ -623,6 +635,10 @@ public class LiteClient {
         // node.getNodeForkedGlobalConfigLocation() : node.getNodeGlobalConfigLocation(), "-c"};
         withBinaryCommand = ArrayUtils.addAll(withBinaryCommand, command);
 
+        String queryType = command.length == 0 ? "" : StringUtils.substringBefore(command[0], " ");
+        long start = System.nanoTime();
+        metrics.querySent(CLIENT, queryType);
+
         try {
             log.info("execute: " + String.join(" ", withBinaryCommand));
 
@@ -636,10 +652,11 @@ public class LiteClient {
             Future<String> future =
                     executorService.submit(
                             () -> {
+                                String resultInput = null;
                                 try {
                                     Thread.currentThread().setName("lite-client-" + nodeName);
 
-                                    String resultInput =
+                                    resultInput =
                                             IOUtils.toString(p.getInputStream(), Charset.defaultCharset());
 
                                     p.getInputStream().close();
@@ -651,6 +668,15 @@ public class LiteClient {
                                 } catch (IOException e) {
                                     log.info(e.getMessage());
                                     return null;
+                                } finally {
+                                    metrics.queryCompleted(
+                                            CLIENT,
+                                            queryType,
+                                            nodeName,
+                                            System.nanoTime() - start,
+                                            0,
+                                            isNull(resultInput) ? 0 : resultInput.length(),
+                                            nonNull(resultInput));
                                 }
                             });
 
@@ -659,6 +685,7 @@ public class LiteClient {
             return Pair.of(p, future);
 
         } catch (final IOException | InterruptedException e) {
+            metrics.queryCompleted(CLIENT, queryType, nodeName, System.nanoTime() - start, 0, 0, false);
             log.info(e.getMessage());
             return null;
         }
@@ -1,17 +1,14 @@
 package org.ton.java.mnemonic;
 
 import org.bouncycastle.crypto.digests.SHA512Digest;
-import org.bouncycastle.crypto.generators.PKCS5S2ParametersGenerator;
+import org.bouncycastle.crypto.macs.HMac;
 import org.bouncycastle.crypto.params.KeyParameter;
 
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
-import java.security.SecureRandom;
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashSet;
 import java.util.List;
 
 public class Mnemonic {
@@ -33,6 +30,9 @@ public class Mnemonic {
     // Default salt used to check, if mnemonic phrase requires a password
     private static final String DEFAULT_PASSWORD_SALT = "TON fast seed version";
 
+    // HMAC-SHA512 context reused by entropy and PBKDF2 calculations of the thread
+    private static final ThreadLocal<HMac> HMAC = ThreadLocal.withInitial(() -> new HMac(new SHA512Digest()));
+
     public static byte[] hmacSha512(byte[] key, byte[] input) throws NoSuchAlgorithmException, InvalidKeyException {
         String algorithm = "HmacSHA512";
 
@@ -42,15 +42,28 @@ public class Mnemonic {
         return ctx.doFinal();
     }
 
+    // PBKDF2-HMAC-SHA512 with 64 bytes output, i.e. a single block
     private static byte[] pbkdf2Sha512(byte[] key, byte[] salt, int iterations) {
-        PKCS5S2ParametersGenerator gen = new PKCS5S2ParametersGenerator(new SHA512Digest());
+        HMac mac = HMAC.get();
+        byte[] u = new byte[mac.getMacSize()];
+        mac.init(new KeyParameter(key));
+        mac.update(salt, 0, salt.length);
+        mac.update(new byte[]{0, 0, 0, 1}, 0, 4);
+        mac.doFinal(u, 0);
 
-        gen.init(key, salt, iterations);
-        return ((KeyParameter) gen.generateDerivedParameters(512)).getKey();
+        byte[] result = u.clone();
+        for (int i = 1; i < iterations; i++) {
+            mac.update(u, 0, u.length);
+            mac.doFinal(u, 0);
+            for (int j = 0; j < result.length; j++) {
+                result[j] ^= u[j];
+            }
+        }
+        return result;
     }
 
     public static boolean isValid(List<String> mnemonic, String password) throws NoSuchAlgorithmException, InvalidKeyException {
-        if (!new HashSet<>(Arrays.asList(DEFAULT_WORDLIST)).containsAll(mnemonic)) {
+        if (!MnemonicEngine.containsAll(mnemonic)) {
             return false;
         }
         if (!password.isEmpty() && !isPasswordNeeded(mnemonic)) {
@@ -79,8 +92,18 @@ public class Mnemonic {
     }
 
     public static byte[] toEntropy(List<String> mnemonic, String password) throws NoSuchAlgorithmException, InvalidKeyException {
-        String mnemonicPhrase = String.join(" ", mnemonic);
-        return hmacSha512(mnemonicPhrase.getBytes(), password.getBytes());
+        return entropy(mnemonic, password);
+    }
+
+    static byte[] entropy(List<String> mnemonic, String password) {
+        byte[] key = String.join(" ", mnemonic).getBytes();
+        byte[] input = password.getBytes();
+        HMac mac = HMAC.get();
+        byte[] result = new byte[mac.getMacSize()];
+        mac.init(new KeyParameter(key));
+        mac.update(input, 0, input.length);
+        mac.doFinal(result, 0);
+        return result;
     }
 
     public static byte[] toSeed(List<String> mnemonic) throws NoSuchAlgorithmException, InvalidKeyException {
@@ -113,25 +136,16 @@ public class Mnemonic {
         return generate(wordCount, "");
     }
 
+    /**
+     * Uses non-blocking random generator, see {@link MnemonicEngine} to generate many mnemonics.
+     */
     public static List<String> generate(int wordCount, String password) throws NoSuchAlgorithmException, InvalidKeyException {
-        List<String> mnemonic;
-        SecureRandom rnd = SecureRandom.getInstanceStrong();
-        while (true) {
-            mnemonic = new ArrayList<>();
-            for (int i = 0; i < wordCount; i++) {
-                mnemonic.add(DEFAULT_WORDLIST[rnd.nextInt(DEFAULT_WORDLIST.length)]);
-            }
-
-            if (!password.isEmpty() && !isPasswordNeeded(mnemonic)) {
-                continue;
-            }
-
-            if (!isBasicSeed(toEntropy(mnemonic, password))) {
-                continue;
-            }
-
-            return mnemonic;
-        }
+        return MnemonicEngine.builder()
+                .wordCount(wordCount)
+                .password(password)
+                .threads(1)
+                .build()
+                .generate();
     }
 
     static String[] DEFAULT_WORDLIST = {
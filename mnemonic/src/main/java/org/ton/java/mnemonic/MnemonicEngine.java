@@ -0,0 +1,202 @@
+package org.ton.java.mnemonic;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Bulk generation and validation of mnemonic phrases, same rules as in {@link Mnemonic}.
+ * <p>
+ * Random words come from a per-thread non-blocking generator (DRBG if available), HMAC-SHA512
+ * contexts used for entropy and PBKDF2 are reused per thread and candidate search runs on
+ * several threads. On average 256 candidates are checked per mnemonic, about 65536 if password
+ * is used.
+ */
+@Builder
+@Getter
+public class MnemonicEngine {
+
+    private static final Map<String, Integer> WORD_INDEX = new HashMap<>();
+
+    private static final ThreadLocal<SecureRandom> RANDOM = ThreadLocal.withInitial(MnemonicEngine::createRandom);
+
+    static {
+        for (int i = 0; i < Mnemonic.DEFAULT_WORDLIST.length; i++) {
+            WORD_INDEX.put(Mnemonic.DEFAULT_WORDLIST[i], i);
+        }
+    }
+
+    /**
+     * number of words, default 24
+     */
+    int wordCount;
+
+    /**
+     * default empty, no password
+     */
+    String password;
+
+    /**
+     * number of worker threads, by default number of available processors
+     */
+    int threads;
+
+    public static class MnemonicEngineBuilder {
+    }
+
+    public static MnemonicEngineBuilder builder() {
+        return new CustomMnemonicEngineBuilder();
+    }
+
+    private static class CustomMnemonicEngineBuilder extends MnemonicEngineBuilder {
+        @Override
+        public MnemonicEngine build() {
+            if (super.wordCount == 0) {
+                super.wordCount = 24;
+            }
+            if (super.wordCount < 0) {
+                throw new IllegalArgumentException("Word count should be positive");
+            }
+            if (isNull(super.password)) {
+                super.password = "";
+            }
+            if (super.threads <= 0) {
+                super.threads = Runtime.getRuntime().availableProcessors();
+            }
+            return super.build();
+        }
+    }
+
+    /**
+     * @return index of the word in the word list or -1
+     */
+    public static int indexOf(String word) {
+        Integer index = WORD_INDEX.get(word);
+        return isNull(index) ? -1 : index;
+    }
+
+    public static boolean containsAll(List<String> words) {
+        for (String word : words) {
+            if (!WORD_INDEX.containsKey(word)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public List<String> generate() {
+        return generate(1).get(0);
+    }
+
+    /**
+     * Generates count mnemonics, candidates are searched by all threads.
+     */
+    public List<List<String>> generate(int count) {
+        List<String>[] result = newResult(count);
+        AtomicInteger found = new AtomicInteger();
+        if (threads == 1 || count == 0) {
+            search(result, found);
+            return Arrays.asList(result);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> search(result, found)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (Exception e) {
+            throw new Error("Cannot generate mnemonics: " + e.getMessage());
+        } finally {
+            executor.shutdownNow();
+        }
+        return Arrays.asList(result);
+    }
+
+    /**
+     * Checks words and checksum of the mnemonic with the password of this engine.
+     */
+    public boolean isValid(List<String> mnemonic) {
+        return containsAll(mnemonic) && isSuitable(mnemonic);
+    }
+
+    /**
+     * Derives key pairs of the mnemonics with the password of this engine, in parallel.
+     */
+    public List<Pair> toKeyPairs(List<List<String>> mnemonics) {
+        List<Pair> result = new ArrayList<>(mnemonics.size());
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Pair>> futures = new ArrayList<>(mnemonics.size());
+            for (List<String> mnemonic : mnemonics) {
+                futures.add(executor.submit(() -> Mnemonic.toKeyPair(mnemonic, password)));
+            }
+            for (Future<Pair> future : futures) {
+                result.add(future.get());
+            }
+        } catch (Exception e) {
+            throw new Error("Cannot derive key pairs: " + e.getMessage());
+        } finally {
+            executor.shutdownNow();
+        }
+        return result;
+    }
+
+    private void search(List<String>[] result, AtomicInteger found) {
+        SecureRandom rnd = RANDOM.get();
+        while (found.get() < result.length) {
+            List<String> mnemonic = new ArrayList<>(wordCount);
+            for (int i = 0; i < wordCount; i++) {
+                mnemonic.add(Mnemonic.DEFAULT_WORDLIST[rnd.nextInt(Mnemonic.DEFAULT_WORDLIST.length)]);
+            }
+            if (!isSuitable(mnemonic)) {
+                continue;
+            }
+            int index = found.getAndIncrement();
+            if (index < result.length) {
+                result[index] = mnemonic;
+            }
+        }
+    }
+
+    private boolean isSuitable(List<String> mnemonic) {
+        if (!password.isEmpty()) {
+            // cheap password seed check first, 1 iteration
+            byte[] entropy = Mnemonic.entropy(mnemonic, "");
+            if (!Mnemonic.isPasswordSeed(entropy) || Mnemonic.isBasicSeed(entropy)) {
+                return false;
+            }
+        }
+        return Mnemonic.isBasicSeed(Mnemonic.entropy(mnemonic, password));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String>[] newResult(int count) {
+        return new List[count];
+    }
+
+    private static SecureRandom createRandom() {
+        try {
+            return SecureRandom.getInstance("DRBG");
+        } catch (NoSuchAlgorithmException e) {
+            // Java 8, NativePRNG on Linux reads /dev/urandom and does not block
+            return new SecureRandom();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package org.ton.java.mnemonic;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+@RunWith(JUnit4.class)
+public class TestMnemonicEngine {
+
+    @Test
+    public void testGenerateBatch() throws NoSuchAlgorithmException, InvalidKeyException {
+        MnemonicEngine engine = MnemonicEngine.builder().threads(4).build();
+        List<List<String>> mnemonics = engine.generate(16);
+
+        assertThat(mnemonics).hasSize(16).doesNotContainNull().doesNotHaveDuplicates();
+        for (List<String> mnemonic : mnemonics) {
+            assertThat(mnemonic).hasSize(24);
+            assertThat(engine.isValid(mnemonic)).isTrue();
+            assertThat(Mnemonic.isValid(mnemonic, "")).isTrue();
+        }
+    }
+
+    @Test
+    public void testGenerateWithPassword() throws NoSuchAlgorithmException, InvalidKeyException {
+        MnemonicEngine engine = MnemonicEngine.builder().wordCount(12).password("password").build();
+        List<String> mnemonic = engine.generate();
+
+        assertThat(mnemonic).hasSize(12);
+        assertThat(Mnemonic.isValid(mnemonic, "password")).isTrue();
+        assertThat(Mnemonic.isValid(mnemonic, "")).isFalse();
+        assertThat(Mnemonic.isPasswordNeeded(mnemonic)).isTrue();
+    }
+
+    @Test
+    public void testValidation() {
+        MnemonicEngine engine = MnemonicEngine.builder().build();
+        assertThat(engine.isValid(Arrays.asList("kangaroo", "hen", "toddler", "resist"))).isTrue();
+        assertThat(engine.isValid(Arrays.asList("kangaroo", "hen", "toddler", "tonwallet"))).isFalse();
+        assertThat(MnemonicEngine.builder().password("password").build()
+                .isValid(Arrays.asList("deal", "wrap", "runway", "possible"))).isTrue();
+
+        assertThat(MnemonicEngine.indexOf("abandon")).isEqualTo(0);
+        assertThat(MnemonicEngine.indexOf("zoo")).isEqualTo(2047);
+        assertThat(MnemonicEngine.indexOf("tonwallet")).isEqualTo(-1);
+    }
+
+    @Test
+    public void testToKeyPairs() throws NoSuchAlgorithmException, InvalidKeyException {
+        List<String> first = Arrays.asList("kangaroo", "hen", "toddler", "resist");
+        List<String> second = Arrays.asList("disease", "adult", "device", "grit");
+        List<Pair> pairs = MnemonicEngine.builder().threads(2).build().toKeyPairs(Arrays.asList(first, second));
+
+        assertThat(pairs.get(0).getSecretKey()).isEqualTo(Mnemonic.toKeyPair(first).getSecretKey());
+        assertThat(pairs.get(1).getPublicKey()).isEqualTo(Mnemonic.toKeyPair(second).getPublicKey());
+    }
+}
@@ -7,6 +7,7 @@ import lombok.Builder;
 import lombok.Data;
 import org.ton.java.cell.Cell;
 import org.ton.java.cell.CellBuilder;
+import org.ton.java.smartcontract.utils.Signer;
 import org.ton.java.smartcontract.wallet.Contract;
 import org.ton.java.tlb.types.ExternalMessageInInfo;
 import org.ton.java.tlb.types.Message;
@@ -115,8 +116,7 @@ public class GenericSmartContract implements Contract {
         .body(
             CellBuilder.beginCell()
                 .storeBytes(
-                    Utils.signData(
-                        keyPair.getPublicKey(), keyPair.getSecretKey(), deployMessageBody.hash()))
+                    Signer.of(keyPair).signCellHash(deployMessageBody))
                 .storeCell(deployMessageBody)
                 .endCell())
         .build();
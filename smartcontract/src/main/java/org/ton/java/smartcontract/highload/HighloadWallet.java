@@ -15,6 +15,7 @@ import org.ton.java.smartcontract.types.Destination;
 import org.ton.java.smartcontract.types.HighloadConfig;
 import org.ton.java.smartcontract.types.WalletCodes;
 import org.ton.java.smartcontract.utils.MsgUtils;
+import org.ton.java.smartcontract.utils.Signer;
 import org.ton.java.smartcontract.wallet.Contract;
 import org.ton.java.tlb.types.ExternalMessageInInfo;
 import org.ton.java.tlb.types.Message;
@@ -158,7 +159,7 @@ public class HighloadWallet implements Contract {
             .body(
                 CellBuilder.beginCell()
                     .storeBytes(
-                        Utils.signData(keyPair.getPublicKey(), keyPair.getSecretKey(), body.hash()))
+                        Signer.of(keyPair).signCellHash(body))
                     .storeCell(body)
                     .endCell())
             .build();
@@ -267,7 +268,7 @@ public class HighloadWallet implements Contract {
             .body(
                 CellBuilder.beginCell()
                     .storeBytes(
-                        Utils.signData(keyPair.getPublicKey(), keyPair.getSecretKey(), body.hash()))
+                        Signer.of(keyPair).signCellHash(body))
                     .storeCell(body)
                     .endCell())
             .build();
@@ -17,6 +17,7 @@ import org.ton.java.smartcontract.types.Destination;
 import org.ton.java.smartcontract.types.HighloadV3Config;
 import org.ton.java.smartcontract.types.HighloadV3InternalMessageBody;
 import org.ton.java.smartcontract.types.WalletCodes;
+import org.ton.java.smartcontract.utils.Signer;
 import org.ton.java.smartcontract.wallet.Contract;
 import org.ton.java.tlb.types.*;
 import org.ton.java.tonlib.Tonlib;
@@ -174,7 +175,7 @@ public class HighloadWalletV3 implements Contract {
             .body(
                 CellBuilder.beginCell()
                     .storeBytes(
-                        Utils.signData(keyPair.getPublicKey(), keyPair.getSecretKey(), body.hash()))
+                        Signer.of(keyPair).signCellHash(body))
                     .storeRef(body)
                     .endCell())
             .build();
@@ -221,8 +222,7 @@ public class HighloadWalletV3 implements Contract {
             .body(
                 CellBuilder.beginCell()
                     .storeBytes(
-                        Utils.signData(
-                            keyPair.getPublicKey(), keyPair.getSecretKey(), innerMsg.hash()))
+                        Signer.of(keyPair).signCellHash(innerMsg))
                     .storeRef(innerMsg)
                     .endCell())
             .build();
@@ -249,7 +249,7 @@ public class HighloadWalletV3 implements Contract {
         .body(
             CellBuilder.beginCell()
                 .storeBytes(
-                    Utils.signData(keyPair.getPublicKey(), keyPair.getSecretKey(), body.hash()))
+                    Signer.of(keyPair).signCellHash(body))
                 .storeRef(body)
                 .endCell())
         .build()
@@ -19,6 +19,7 @@ import org.ton.java.cell.TonPfxHashMapE;
 import org.ton.java.smartcontract.types.LockupConfig;
 import org.ton.java.smartcontract.types.LockupWalletV1Config;
 import org.ton.java.smartcontract.types.WalletCodes;
+import org.ton.java.smartcontract.utils.Signer;
 import org.ton.java.smartcontract.wallet.Contract;
 import org.ton.java.tlb.types.*;
 import org.ton.java.tonlib.Tonlib;
@@ -281,7 +282,7 @@ public class LockupWalletV1 implements Contract {
             .body(
                 CellBuilder.beginCell()
                     .storeBytes(
-                        Utils.signData(keyPair.getPublicKey(), keyPair.getSecretKey(), body.hash()))
+                        Signer.of(keyPair).signCellHash(body))
                     .storeCell(body)
                     .endCell())
             .build();
@@ -298,7 +299,7 @@ public class LockupWalletV1 implements Contract {
             .body(
                 CellBuilder.beginCell()
                     .storeBytes(
-                        Utils.signData(keyPair.getPublicKey(), keyPair.getSecretKey(), body.hash()))
+                        Signer.of(keyPair).signCellHash(body))
                     .storeCell(body)
                     .endCell())
             .build();
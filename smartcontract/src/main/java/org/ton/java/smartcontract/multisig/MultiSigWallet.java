@@ -13,6 +13,7 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.ton.java.address.Address;
 import org.ton.java.cell.*;
 import org.ton.java.smartcontract.types.*;
+import org.ton.java.smartcontract.utils.Signer;
 import org.ton.java.smartcontract.wallet.Contract;
 import org.ton.java.tlb.types.*;
 import org.ton.java.tonlib.Tonlib;
@@ -199,10 +200,7 @@ public class MultiSigWallet implements Contract {
             .body(
                 CellBuilder.beginCell()
                     .storeBytes(
-                        Utils.signData(
-                            keyPair.getPublicKey(),
-                            keyPair.getSecretKey(),
-                            signingMessageBody.hash()))
+                        Signer.of(keyPair).signCellHash(signingMessageBody))
                     .storeCell(signingMessageBody)
                     .endCell())
             .build();
@@ -224,8 +222,7 @@ public class MultiSigWallet implements Contract {
             .body(
                 CellBuilder.beginCell()
                     .storeBytes(
-                        Utils.signData(
-                            keyPair.getPublicKey(), secretKey, signingMessageBody.hash()))
+                        Signer.of(keyPair.getPublicKey(), secretKey).signCellHash(signingMessageBody))
                     .storeCell(signingMessageBody)
                     .endCell())
             .build();
@@ -520,8 +517,7 @@ public class MultiSigWallet implements Contract {
   }
 
   public static byte[] signCell(TweetNaclFast.Signature.KeyPair keyPair, Cell cell) {
-    return new TweetNaclFast.Signature(keyPair.getPublicKey(), keyPair.getSecretKey())
-        .detached(cell.hash());
+    return Signer.of(keyPair).signCellHash(cell);
   }
 
   public static byte[] signOrder(TweetNaclFast.Signature.KeyPair keyPair, Cell order) {
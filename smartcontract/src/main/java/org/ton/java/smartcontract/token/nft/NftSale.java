@@ -7,6 +7,7 @@ import org.ton.java.address.Address;
 import org.ton.java.cell.Cell;
 import org.ton.java.cell.CellBuilder;
 import org.ton.java.smartcontract.types.NftSaleData;
+import org.ton.java.smartcontract.utils.Signer;
 import org.ton.java.smartcontract.wallet.Contract;
 import org.ton.java.tonlib.Tonlib;
 import org.ton.java.tonlib.types.RunResult;
@@ -183,6 +184,6 @@ public class NftSale implements Contract {
   private byte[] buildSignature(
       TweetNaclFast.Signature.KeyPair keyPair, Cell stateInit, Cell msgBody) {
     Cell c = CellBuilder.beginCell().storeRef(stateInit).storeRef(msgBody).endCell();
-    return Utils.signData(keyPair.getPublicKey(), keyPair.getSecretKey(), c.hash());
+    return Signer.of(keyPair).signCellHash(c);
   }
 }
@@ -0,0 +1,232 @@
+package org.ton.java.smartcontract.utils;
+
+import static java.util.Objects.isNull;
+
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import org.ton.java.address.ImmutableAddress;
+import org.ton.java.cell.Cell;
+import org.ton.java.cell.CellBuilder;
+import org.ton.java.smartcontract.types.WalletCodes;
+import org.ton.java.utils.Hashing;
+
+/**
+ * Derives wallet addresses without building StateInit and data cells.
+ *
+ * <p>For wallets StateInit is always <code>00110 code:^Cell data:^Cell</code> and the code is
+ * constant, so its representation prefix (descriptors, code depth and code hash) is computed once.
+ * Each derivation then hashes only the data cell (no refs) and the StateInit root.
+ *
+ * <p>Supported wallets: V3R1, V3R2, V4R2, V5R1 (without extensions), highload (V2) and highloadV3.
+ * Result is the same as Contract.getAddress() of the corresponding wallet with the same
+ * parameters.
+ */
+@Builder
+@Getter
+public class AddressDeriver {
+
+  /** d1 - two refs, d2 - 5 bits, data - 00110 with completion tag */
+  private static final byte[] STATE_INIT_HEADER = {0x02, 0x01, 0x34};
+
+  WalletCodes wallet;
+  long wc;
+  long initialSeqno;
+
+  /** WalletV5 only */
+  boolean isSigAuthAllowed;
+
+  /** HighloadWalletV3 only, default 5 minutes */
+  long timeout;
+
+  /** optional, e.g. library cell for V5 deployed as library, by default code of the wallet */
+  Cell code;
+
+  @Getter(AccessLevel.NONE)
+  private byte[] stateInitPrefix;
+
+  public static class AddressDeriverBuilder {}
+
+  public static AddressDeriverBuilder builder() {
+    return new CustomAddressDeriverBuilder();
+  }
+
+  private static class CustomAddressDeriverBuilder extends AddressDeriverBuilder {
+    @Override
+    public AddressDeriver build() {
+      if (isNull(super.wallet)) {
+        throw new IllegalArgumentException("Wallet is not specified");
+      }
+      switch (super.wallet) {
+        case V3R1:
+        case V3R2:
+        case V4R2:
+        case V5R1:
+        case highload:
+        case highloadV3:
+          break;
+        default:
+          throw new IllegalArgumentException("Unsupported wallet " + super.wallet);
+      }
+      if (super.timeout == 0) {
+        super.timeout = 5 * 60;
+      }
+      if (isNull(super.code)) {
+        super.code = CellBuilder.beginCell().fromBoc(super.wallet.getValue()).endCell();
+      }
+
+      // d1 d2 data depth(code) depth(data) hash(code), hash(data) appended per address
+      byte[] prefix = new byte[3 + 2 + 2 + 32];
+      System.arraycopy(STATE_INIT_HEADER, 0, prefix, 0, 3);
+      int codeDepth = super.code.getDepthLevels()[0];
+      prefix[3] = (byte) (codeDepth >> 8);
+      prefix[4] = (byte) codeDepth;
+      // data cell has no refs, depth 0
+      System.arraycopy(super.code.getHash(), 0, prefix, 7, 32);
+      super.stateInitPrefix = prefix;
+      return super.build();
+    }
+  }
+
+  /**
+   * @param publicKey 32 bytes
+   * @param walletId subwallet id
+   * @return hash part of the address, StateInit hash
+   */
+  public byte[] deriveHash(byte[] publicKey, long walletId) {
+    MessageDigest digest = Hashing.sha256Digest();
+    byte[] data = createData(publicKey, walletId);
+    int bits = dataBitLength();
+
+    digest.update((byte) 0); // d1, no refs
+    digest.update((byte) ((bits / 8) + ((bits + 7) / 8))); // d2
+    digest.update(data);
+    byte[] dataHash = digest.digest();
+
+    digest.update(stateInitPrefix);
+    digest.update(dataHash);
+    return digest.digest();
+  }
+
+  public ImmutableAddress derive(byte[] publicKey, long walletId) {
+    return ImmutableAddress.of((int) wc, deriveHash(publicKey, walletId));
+  }
+
+  /** Derives addresses for several public keys with the same wallet id, in parallel. */
+  public List<ImmutableAddress> deriveAll(List<byte[]> publicKeys, long walletId) {
+    return publicKeys.parallelStream()
+        .map(publicKey -> derive(publicKey, walletId))
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Derives addresses for wallet ids fromWalletId..fromWalletId+count-1 of one public key, in
+   * parallel.
+   */
+  public List<ImmutableAddress> deriveAll(byte[] publicKey, long fromWalletId, int count) {
+    return IntStream.range(0, count)
+        .parallel()
+        .mapToObj(i -> derive(publicKey, fromWalletId + i))
+        .collect(Collectors.toList());
+  }
+
+  int dataBitLength() {
+    switch (wallet) {
+      case V4R2:
+        return 32 + 32 + 256 + 1;
+      case V5R1:
+        return 1 + 32 + 32 + 256 + 1;
+      case highload:
+        return 32 + 64 + 256 + 1;
+      case highloadV3:
+        return 256 + 32 + 1 + 1 + 64 + 22;
+      default:
+        return 32 + 32 + 256;
+    }
+  }
+
+  /**
+   * Same layout as createDataCell() of the wallet, padded with completion tag if not byte aligned.
+   */
+  byte[] createData(byte[] publicKey, long walletId) {
+    if (publicKey.length != 32) {
+      throw new IllegalArgumentException("Public key should contain 32 bytes");
+    }
+    int bits = dataBitLength();
+    BitWriter writer = new BitWriter((bits + 7) / 8);
+    switch (wallet) {
+      case V3R1:
+      case V3R2:
+        writer.writeUint(initialSeqno, 32);
+        writer.writeUint(walletId, 32);
+        writer.writeBytes(publicKey);
+        break;
+      case V4R2:
+        writer.writeUint(initialSeqno, 32);
+        writer.writeUint(walletId, 32);
+        writer.writeBytes(publicKey);
+        writer.writeUint(0, 1); // plugins dict empty
+        break;
+      case V5R1:
+        writer.writeUint(isSigAuthAllowed ? 1 : 0, 1);
+        writer.writeUint(initialSeqno, 32);
+        writer.writeUint(walletId, 32);
+        writer.writeBytes(publicKey);
+        writer.writeUint(0, 1); // empty extensions dict
+        break;
+      case highload:
+        writer.writeUint(walletId, 32);
+        writer.writeUint(0, 64); // last_cleaned
+        writer.writeBytes(publicKey);
+        writer.writeUint(0, 1); // old_queries dict empty
+        break;
+      case highloadV3:
+        writer.writeBytes(publicKey);
+        writer.writeUint(walletId, 32);
+        writer.writeUint(0, 1); // old queries
+        writer.writeUint(0, 1); // queries
+        writer.writeUint(0, 64); // last clean time
+        writer.writeUint(timeout, 22);
+        break;
+      default:
+        throw new IllegalArgumentException("Unsupported wallet " + wallet);
+    }
+    if (bits % 8 != 0) {
+      writer.writeUint(1, 1); // completion tag
+    }
+    return writer.bytes;
+  }
+
+  private static class BitWriter {
+    private final byte[] bytes;
+    private int position;
+
+    BitWriter(int size) {
+      bytes = new byte[size];
+    }
+
+    void writeUint(long value, int bits) {
+      for (int i = bits - 1; i >= 0; i--) {
+        if (((value >>> i) & 1) != 0) {
+          bytes[position >> 3] |= (byte) (0x80 >>> (position & 7));
+        }
+        position++;
+      }
+    }
+
+    void writeBytes(byte[] value) {
+      if ((position & 7) == 0) {
+        System.arraycopy(value, 0, bytes, position >> 3, value.length);
+        position += value.length * 8;
+      } else {
+        for (byte b : value) {
+          writeUint(b & 0xff, 8);
+        }
+      }
+    }
+  }
+}
@@ -9,7 +9,6 @@ import org.ton.java.address.Address;
 import org.ton.java.cell.Cell;
 import org.ton.java.cell.CellBuilder;
 import org.ton.java.tlb.types.*;
-import org.ton.java.utils.Utils;
 
 public class MsgUtils {
 
@@ -52,7 +51,7 @@ public class MsgUtils {
     }
     externalMessage.setBody(
         CellBuilder.beginCell()
-            .storeBytes(Utils.signData(keyPair.getPublicKey(), keyPair.getSecretKey(), body.hash()))
+            .storeBytes(Signer.of(keyPair).signCellHash(body))
             .storeCell(body)
             .endCell());
 
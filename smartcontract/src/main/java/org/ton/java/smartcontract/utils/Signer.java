@@ -0,0 +1,110 @@
+package org.ton.java.smartcontract.utils;
+
+import static java.util.Objects.isNull;
+
+import com.iwebpp.crypto.TweetNaclFast;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import org.ton.java.cell.Cell;
+
+/**
+ * Ed25519 signer bound to one key.
+ *
+ * <p>SHA-512 of the seed, i.e. the clamped scalar and the nonce prefix, is computed once, unlike
+ * Utils.signData() which expands the seed and hashes it again on every call. Signer is immutable
+ * and can be used from several threads.
+ */
+public class Signer {
+
+  /** signers of key pairs used by wallets, released together with the key pair */
+  private static final Map<TweetNaclFast.Signature.KeyPair, Signer> signers =
+      Collections.synchronizedMap(new WeakHashMap<>());
+
+  private final byte[] publicKey;
+  /** public key stored in the 64 bytes secret key, signed together with the message */
+  private final byte[] signingPublicKey;
+  private final byte[] expandedSecretKey;
+
+  private Signer(byte[] publicKey, byte[] secretKey) {
+    this.publicKey = publicKey;
+    this.signingPublicKey = Arrays.copyOfRange(secretKey, 32, 64);
+    this.expandedSecretKey = TweetNaclFast.crypto_sign_expand(secretKey);
+  }
+
+  /**
+   * @param publicKey 32 bytes
+   * @param secretKey 32 bytes seed or 64 bytes secret key
+   */
+  public static Signer of(byte[] publicKey, byte[] secretKey) {
+    if (isNull(secretKey)) {
+      throw new IllegalArgumentException("Secret key is not specified");
+    }
+    if (secretKey.length == TweetNaclFast.Signature.seedLength) {
+      TweetNaclFast.Signature.KeyPair keyPair =
+          TweetNaclFast.Signature.keyPair_fromSeed(secretKey);
+      return new Signer(keyPair.getPublicKey(), keyPair.getSecretKey());
+    }
+    if (secretKey.length != TweetNaclFast.Signature.secretKeyLength) {
+      throw new IllegalArgumentException("Secret key should contain 32 or 64 bytes");
+    }
+    return new Signer(publicKey, secretKey);
+  }
+
+  /** Returns signer cached for this key pair instance. */
+  public static Signer of(TweetNaclFast.Signature.KeyPair keyPair) {
+    if (isNull(keyPair)) {
+      throw new IllegalArgumentException("Key pair is not specified");
+    }
+    Signer signer = signers.get(keyPair);
+    if (isNull(signer)) {
+      signer = of(keyPair.getPublicKey(), keyPair.getSecretKey());
+      signers.put(keyPair, signer);
+    }
+    return signer;
+  }
+
+  public byte[] getPublicKey() {
+    return publicKey;
+  }
+
+  /**
+   * @return 64 bytes detached signature
+   */
+  public byte[] sign(byte[] data) {
+    return TweetNaclFast.Signature.detached_expanded(data, expandedSecretKey, signingPublicKey);
+  }
+
+  /** Signs representation hash of the cell, as wallets expect. */
+  public byte[] signCellHash(Cell cell) {
+    return sign(cell.getHash());
+  }
+
+  /** Signs all messages in parallel, in the common fork-join pool. */
+  public List<byte[]> signAll(List<byte[]> data) {
+    return data.parallelStream().map(this::sign).collect(Collectors.toList());
+  }
+
+  /** Signs all messages using the executor, result is in the same order as data. */
+  public List<byte[]> signAll(List<byte[]> data, ExecutorService executor) {
+    List<Future<byte[]>> futures = new ArrayList<>(data.size());
+    for (byte[] message : data) {
+      futures.add(executor.submit(() -> sign(message)));
+    }
+    List<byte[]> result = new ArrayList<>(data.size());
+    try {
+      for (Future<byte[]> future : futures) {
+        result.add(future.get());
+      }
+    } catch (Exception e) {
+      throw new Error("Cannot sign messages: " + e.getMessage());
+    }
+    return result;
+  }
+}
@@ -0,0 +1,298 @@
+package org.ton.java.smartcontract.utils;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import org.apache.commons.lang3.StringUtils;
+import org.ton.java.address.ImmutableAddress;
+import org.ton.java.utils.CRC16;
+
+/**
+ * Multi-threaded search of a wallet id (subwallet id) that gives user-friendly address with
+ * required prefix and/or suffix.
+ *
+ * <p>Each candidate costs two SHA-256 calls, see {@link AddressDeriver}, plus CRC16 if suffix is
+ * specified. Candidates are matched against 6-bit groups of the address bytes, base64 strings are
+ * not built.
+ *
+ * <p>The first two characters of user-friendly address are defined by flags and workchain, so
+ * prefix is matched starting from the third character, e.g. prefix "Dev" matches
+ * "EQDev...". The third character also has 4 bits of workchain, so for basechain it is one of A,
+ * B, C or D, for masterchain one of 8, 9, - or _. Each additional character makes search 64 times
+ * longer (32 with ignoreCase).
+ */
+@Builder
+@Getter
+public class VanitySearch {
+
+  private static final String URL_SAFE_ALPHABET =
+      "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+  private static final String ALPHABET =
+      "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+  private static final int PREFIX_OFFSET = 2;
+  private static final long MAX_WALLET_ID = 0xFFFFFFFFL;
+
+  AddressDeriver deriver;
+  byte[] publicKey;
+  String prefix;
+  String suffix;
+  boolean ignoreCase;
+
+  /** flags of user-friendly form to match, by default bounceable, url safe, not test only */
+  Boolean bounceable;
+
+  boolean testOnly;
+  Boolean urlSafe;
+
+  /** number of worker threads, by default number of available processors */
+  int threads;
+
+  long startWalletId;
+
+  /** called with total number of checked candidates, every progressStep candidates */
+  Consumer<Long> progressCallback;
+
+  long progressStep;
+
+  /** cancellation flag of the latest run, each search gets its own */
+  @Getter(AccessLevel.NONE)
+  private final AtomicReference<AtomicBoolean> cancelled =
+      new AtomicReference<>(new AtomicBoolean());
+
+  @Getter(AccessLevel.NONE)
+  private final AtomicLong attempts = new AtomicLong();
+
+  public static class VanitySearchBuilder {}
+
+  public static VanitySearchBuilder builder() {
+    return new CustomVanitySearchBuilder();
+  }
+
+  private static class CustomVanitySearchBuilder extends VanitySearchBuilder {
+    @Override
+    public VanitySearch build() {
+      if (isNull(super.deriver) || isNull(super.publicKey)) {
+        throw new IllegalArgumentException("Deriver and publicKey are mandatory");
+      }
+      if (StringUtils.isEmpty(super.prefix) && StringUtils.isEmpty(super.suffix)) {
+        throw new IllegalArgumentException("Prefix or suffix should be specified");
+      }
+      if (isNull(super.bounceable)) {
+        super.bounceable = true;
+      }
+      if (isNull(super.urlSafe)) {
+        super.urlSafe = true;
+      }
+      if (super.threads <= 0) {
+        super.threads = Runtime.getRuntime().availableProcessors();
+      }
+      if (super.progressStep <= 0) {
+        super.progressStep = 1_000_000;
+      }
+      String alphabet = super.urlSafe ? URL_SAFE_ALPHABET : ALPHABET;
+      int length = (isNull(super.prefix) ? 0 : super.prefix.length() + PREFIX_OFFSET)
+          + (isNull(super.suffix) ? 0 : super.suffix.length());
+      if (length > 48) {
+        throw new IllegalArgumentException("Prefix and suffix are too long");
+      }
+      for (char c : (StringUtils.defaultString(super.prefix) + StringUtils.defaultString(super.suffix)).toCharArray()) {
+        if (alphabet.indexOf(c) == -1) {
+          throw new IllegalArgumentException("Character '" + c + "' can not be present in address");
+        }
+      }
+      if (StringUtils.isNotEmpty(super.prefix)
+          && !isPossibleFirstChar(super.prefix.charAt(0), super.deriver.getWc(), alphabet, super.ignoreCase)) {
+        throw new IllegalArgumentException(
+            "Address in workchain " + super.deriver.getWc() + " can not start with prefix '" + super.prefix + "'");
+      }
+      return super.build();
+    }
+  }
+
+  @Builder
+  @Getter
+  public static class VanityResult {
+    long walletId;
+    ImmutableAddress address;
+    long attempts;
+  }
+
+  /** Stops running search, search() returns null. */
+  public void cancel() {
+    cancelled.get().set(true);
+  }
+
+  public boolean isCancelled() {
+    return cancelled.get().get();
+  }
+
+  /** @return number of checked candidates so far */
+  public long getAttempts() {
+    return attempts.get();
+  }
+
+  /** Runs search() in a new thread, so that common pool is not blocked by the search. */
+  public CompletableFuture<VanityResult> searchAsync() {
+    return searchAsync(
+        runnable -> {
+          Thread thread = new Thread(runnable, "vanity-search");
+          thread.setDaemon(true);
+          thread.start();
+        });
+  }
+
+  /**
+   * @param executor runs search(), its thread is blocked until search ends
+   */
+  public CompletableFuture<VanityResult> searchAsync(Executor executor) {
+    // the run starts now, so that cancel() after this method returns stops it
+    AtomicBoolean run = newRun();
+    return CompletableFuture.supplyAsync(() -> search(run), executor);
+  }
+
+  /**
+   * Blocks until matching wallet id is found, search is cancelled or all wallet ids are checked.
+   * Each call starts a new search with zero attempts, cancel() stops only the running one.
+   *
+   * @return found wallet id with its address or null
+   */
+  public VanityResult search() {
+    return search(newRun());
+  }
+
+  private AtomicBoolean newRun() {
+    AtomicBoolean run = new AtomicBoolean();
+    cancelled.set(run);
+    attempts.set(0);
+    return run;
+  }
+
+  private VanityResult search(AtomicBoolean run) {
+    AtomicReference<VanityResult> result = new AtomicReference<>();
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < threads; i++) {
+        long first = startWalletId + i;
+        futures.add(executor.submit(() -> searchRange(first, threads, run, result)));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } catch (Exception e) {
+      throw new Error("Vanity search failed: " + e.getMessage());
+    } finally {
+      executor.shutdownNow();
+    }
+    return result.get();
+  }
+
+  private void searchRange(
+      long first, int step, AtomicBoolean run, AtomicReference<VanityResult> result) {
+    String alphabet = urlSafe ? URL_SAFE_ALPHABET : ALPHABET;
+    int tag = bounceable ? 0x11 : 0x51;
+    if (testOnly) {
+      tag |= 0x80;
+    }
+    byte[] data = new byte[36];
+    data[0] = (byte) tag;
+    data[1] = (byte) deriver.getWc();
+    boolean checkSuffix = StringUtils.isNotEmpty(suffix);
+
+    long counter = 0;
+    for (long walletId = first; walletId <= MAX_WALLET_ID; walletId += step) {
+      if (run.get() || nonNull(result.get())) {
+        return;
+      }
+      byte[] hash = deriver.deriveHash(publicKey, walletId);
+      System.arraycopy(hash, 0, data, 2, 32);
+
+      if (++counter == 1024) {
+        reportProgress(counter);
+        counter = 0;
+      }
+
+      if (!matches(data, prefix, PREFIX_OFFSET, alphabet)) {
+        continue;
+      }
+      if (checkSuffix) {
+        int crc = CRC16.compute(data, 0, 34);
+        data[34] = (byte) (crc >> 8);
+        data[35] = (byte) crc;
+        if (!matches(data, suffix, 48 - suffix.length(), alphabet)) {
+          continue;
+        }
+      }
+      result.compareAndSet(
+          null,
+          VanityResult.builder()
+              .walletId(walletId)
+              .address(ImmutableAddress.of((int) deriver.getWc(), hash))
+              .attempts(attempts.get() + counter)
+              .build());
+      return;
+    }
+    reportProgress(counter);
+  }
+
+  private void reportProgress(long checked) {
+    long before = attempts.getAndAdd(checked);
+    long after = before + checked;
+    if (nonNull(progressCallback) && (before / progressStep) != (after / progressStep)) {
+      progressCallback.accept(after);
+    }
+  }
+
+  private boolean matches(byte[] data, String pattern, int offset, String alphabet) {
+    if (isNull(pattern)) {
+      return true;
+    }
+    for (int i = 0; i < pattern.length(); i++) {
+      char actual = alphabet.charAt(sixBits(data, offset + i));
+      char expected = pattern.charAt(i);
+      if (actual != expected
+          && !(ignoreCase && Character.toLowerCase(actual) == Character.toLowerCase(expected))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * The third character of user-friendly address consists of lower 4 bits of workchain and 2 bits
+   * of the hash.
+   */
+  private static boolean isPossibleFirstChar(char c, long wc, String alphabet, boolean ignoreCase) {
+    int fixed = ((int) wc & 0x0f) << 2;
+    for (int i = 0; i < 4; i++) {
+      char possible = alphabet.charAt(fixed | i);
+      if (possible == c
+          || (ignoreCase && Character.toLowerCase(possible) == Character.toLowerCase(c))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** value of base64 character at position index */
+  private static int sixBits(byte[] data, int index) {
+    int bit = index * 6;
+    int b = bit >> 3;
+    int word = ((data[b] & 0xff) << 8) | (b + 1 < data.length ? data[b + 1] & 0xff : 0);
+    return (word >> (10 - (bit & 7))) & 0x3f;
+  }
+}
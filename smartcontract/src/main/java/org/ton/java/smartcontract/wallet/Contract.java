@@ -10,7 +10,6 @@ import org.ton.java.tlb.types.MsgAddressIntStd;
 import org.ton.java.tlb.types.StateInit;
 import org.ton.java.tonlib.Tonlib;
 import org.ton.java.tonlib.types.RawTransaction;
-import org.ton.java.utils.Utils;
 
 import java.math.BigInteger;
 import java.util.List;
@@ -104,35 +103,15 @@ public interface Contract {
     }
 
     default void waitForDeployment(int timeoutSeconds) {
-        System.out.println("waiting for deployment (up to " + timeoutSeconds + "s)");
-        int i = 0;
-        do {
-            if (++i * 2 >= timeoutSeconds) {
-                throw new Error("Can't deploy contract within specified timeout.");
-            }
-            Utils.sleep(2);
-        } while (!isDeployed());
+        getTonlib().waitForDeployment(getAddress(), timeoutSeconds);
     }
 
+    /**
+     * Waits for getBalance() to change, so that contracts overriding it, e.g. jetton wallets, wait
+     * for their own balance.
+     */
     default void waitForBalanceChange(int timeoutSeconds) {
-        System.out.println(
-                "waiting for balance change (up to "
-                        + timeoutSeconds
-                        + "s) - "
-                        + (getTonlib().isTestnet()
-                        ? getAddress().toBounceableTestnet()
-                        : getAddress().toBounceable())
-                        + " ("
-                        + getAddress().toRaw()
-                        + ")");
-        BigInteger initialBalance = getBalance();
-        int i = 0;
-        do {
-            if (++i * 2 >= timeoutSeconds) {
-                throw new Error("Balance was not changed within specified timeout.");
-            }
-            Utils.sleep(2);
-        } while (initialBalance.equals(getBalance()));
+        getTonlib().waitForBalanceChange(getAddress(), this::getBalance, timeoutSeconds);
     }
 
     default BigInteger getBalance() {
@@ -22,27 +22,12 @@ public class ContractUtils {
 
   @Deprecated
   public static void waitForDeployment(Tonlib tonlib, Address address, int timeoutSeconds) {
-    log.info("Waiting for deployment (up to {}s) - {}", timeoutSeconds, address.toRaw());
-    int i = 0;
-    do {
-      if (++i * 2 >= timeoutSeconds) {
-        throw new Error("Can't deploy contract within specified timeout.");
-      }
-      Utils.sleep(2);
-    } while (!isDeployed(tonlib, address));
+    tonlib.waitForDeployment(address, timeoutSeconds);
   }
 
   @Deprecated
   public static void waitForBalanceChange(Tonlib tonlib, Address address, int timeoutSeconds) {
-    log.info("Waiting for balance change (up to {}s) - {}", timeoutSeconds, address.toRaw());
-    BigInteger initialBalance = tonlib.getAccountBalance(address);
-    int i = 0;
-    do {
-      if (++i * 2 >= timeoutSeconds) {
-        throw new Error("Balance was not changed within specified timeout.");
-      }
-      Utils.sleep(2);
-    } while (initialBalance.equals(tonlib.getAccountBalance(address)));
+    tonlib.waitForBalanceChange(address, timeoutSeconds);
   }
 
   public static void waitForJettonBalanceChange(
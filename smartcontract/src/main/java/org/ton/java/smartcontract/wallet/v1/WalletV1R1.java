@@ -12,6 +12,7 @@ import org.ton.java.cell.CellBuilder;
 import org.ton.java.smartcontract.types.WalletCodes;
 import org.ton.java.smartcontract.types.WalletV1R1Config;
 import org.ton.java.smartcontract.utils.MsgUtils;
+import org.ton.java.smartcontract.utils.Signer;
 import org.ton.java.smartcontract.wallet.Contract;
 import org.ton.java.tlb.types.*;
 import org.ton.java.tonlib.Tonlib;
@@ -139,7 +140,7 @@ public class WalletV1R1 implements Contract {
         .body(
             CellBuilder.beginCell()
                 .storeBytes(
-                    Utils.signData(keyPair.getPublicKey(), keyPair.getSecretKey(), body.hash()))
+                    Signer.of(keyPair).signCellHash(body))
                 .storeCell(body)
                 .endCell())
         .build();
@@ -147,7 +148,7 @@ public class WalletV1R1 implements Contract {
 
   public Cell createInternalSignedBody(WalletV1R1Config config) {
     Cell body = createTransferBody(config);
-    byte[] signature = Utils.signData(keyPair.getPublicKey(), keyPair.getSecretKey(), body.hash());
+    byte[] signature = Signer.of(keyPair).signCellHash(body);
 
     return CellBuilder.beginCell().storeCell(body).storeBytes(signature).endCell();
   }
@@ -13,6 +13,7 @@ import org.ton.java.cell.CellBuilder;
 import org.ton.java.smartcontract.types.WalletCodes;
 import org.ton.java.smartcontract.types.WalletV1R3Config;
 import org.ton.java.smartcontract.utils.MsgUtils;
+import org.ton.java.smartcontract.utils.Signer;
 import org.ton.java.smartcontract.wallet.Contract;
 import org.ton.java.tlb.types.*;
 import org.ton.java.tonlib.Tonlib;
@@ -154,7 +155,7 @@ public class WalletV1R3 implements Contract {
         .body(
             CellBuilder.beginCell()
                 .storeBytes(
-                    Utils.signData(keyPair.getPublicKey(), keyPair.getSecretKey(), body.hash()))
+                    Signer.of(keyPair).signCellHash(body))
                 .storeCell(body)
                 .endCell())
         .build();
@@ -162,7 +163,7 @@ public class WalletV1R3 implements Contract {
 
   public Cell createInternalSignedBody(WalletV1R3Config config) {
     Cell body = createTransferBody(config);
-    byte[] signature = Utils.signData(keyPair.getPublicKey(), keyPair.getSecretKey(), body.hash());
+    byte[] signature = Signer.of(keyPair).signCellHash(body);
 
     return CellBuilder.beginCell().storeCell(body).storeBytes(signature).endCell();
   }
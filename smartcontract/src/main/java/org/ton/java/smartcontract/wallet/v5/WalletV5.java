@@ -16,6 +16,7 @@ import org.ton.java.smartcontract.types.Destination;
 import org.ton.java.smartcontract.types.WalletCodes;
 import org.ton.java.smartcontract.types.WalletV5Config;
 import org.ton.java.smartcontract.types.WalletV5InnerRequest;
+import org.ton.java.smartcontract.utils.Signer;
 import org.ton.java.smartcontract.wallet.Contract;
 import org.ton.java.tlb.types.*;
 import org.ton.java.tonlib.Tonlib;
@@ -155,7 +156,7 @@ public class WalletV5 implements Contract {
 
   public Message prepareDeployMsg() {
     Cell body = createDeployMsg();
-    byte[] signature = Utils.signData(keyPair.getPublicKey(), keyPair.getSecretKey(), body.hash());
+    byte[] signature = Signer.of(keyPair).signCellHash(body);
 
     return Message.builder()
         .info(ExternalMessageInInfo.builder().dstAddr(getAddressIntStd()).build())
@@ -166,7 +167,7 @@ public class WalletV5 implements Contract {
 
   public Message prepareExternalMsg(WalletV5Config config) {
     Cell body = createExternalTransferBody(config);
-    byte[] signature = Utils.signData(keyPair.getPublicKey(), keyPair.getSecretKey(), body.hash());
+    byte[] signature = Signer.of(keyPair).signCellHash(body);
 
     return Message.builder()
         .info(ExternalMessageInInfo.builder().dstAddr(getAddressIntStd()).build())
@@ -259,7 +260,7 @@ public class WalletV5 implements Contract {
 
   public Cell createInternalSignedBody(WalletV5Config config) {
     Cell body = createInternalTransferBody(config);
-    byte[] signature = Utils.signData(keyPair.getPublicKey(), keyPair.getSecretKey(), body.hash());
+    byte[] signature = Signer.of(keyPair).signCellHash(body);
 
     return CellBuilder.beginCell().storeCell(body).storeBytes(signature).endCell();
   }
@@ -274,7 +275,7 @@ public class WalletV5 implements Contract {
 
   public Cell createInternalExtensionSignedBody(BigInteger queryId, Cell body) {
     Cell body1 = createInternalExtensionTransferBody(queryId, body);
-    byte[] signature = Utils.signData(keyPair.getPublicKey(), keyPair.getSecretKey(), body1.hash());
+    byte[] signature = Signer.of(keyPair).signCellHash(body1);
 
     return CellBuilder.beginCell().storeCell(body).storeBytes(signature).endCell();
   }
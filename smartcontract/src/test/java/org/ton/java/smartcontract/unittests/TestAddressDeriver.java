@@ -0,0 +1,121 @@
+package org.ton.java.smartcontract.unittests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.iwebpp.crypto.TweetNaclFast;
+import java.util.Arrays;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.ton.java.address.ImmutableAddress;
+import org.ton.java.smartcontract.highload.HighloadWallet;
+import org.ton.java.smartcontract.highload.HighloadWalletV3;
+import org.ton.java.smartcontract.types.WalletCodes;
+import org.ton.java.smartcontract.utils.AddressDeriver;
+import org.ton.java.smartcontract.wallet.v3.WalletV3R1;
+import org.ton.java.smartcontract.wallet.v3.WalletV3R2;
+import org.ton.java.smartcontract.wallet.v4.WalletV4R2;
+import org.ton.java.smartcontract.wallet.v5.WalletV5;
+import org.ton.java.utils.Utils;
+
+@Slf4j
+@RunWith(JUnit4.class)
+public class TestAddressDeriver {
+
+  TweetNaclFast.Signature.KeyPair keyPair =
+      TweetNaclFast.Signature.keyPair_fromSeed(
+          Utils.hexToSignedBytes(
+              "F182111193F30D79D517F2339A1BA7C25FDF6C52142F0F2C1D960A1F1D65E1E4"));
+
+  @Test
+  public void testAddressDeriverSameAsContract() {
+    byte[] publicKey = keyPair.getPublicKey();
+
+    assertThat(
+            AddressDeriver.builder().wallet(WalletCodes.V3R1).build().derive(publicKey, 42).toRaw())
+        .isEqualTo(
+            WalletV3R1.builder().wc(0).keyPair(keyPair).walletId(42).build().getAddress().toRaw());
+
+    assertThat(
+            AddressDeriver.builder()
+                .wallet(WalletCodes.V3R2)
+                .wc(-1)
+                .build()
+                .derive(publicKey, 698983191)
+                .toRaw())
+        .isEqualTo(
+            WalletV3R2.builder()
+                .wc(-1)
+                .keyPair(keyPair)
+                .walletId(698983191)
+                .build()
+                .getAddress()
+                .toRaw());
+
+    assertThat(
+            AddressDeriver.builder().wallet(WalletCodes.V4R2).build().derive(publicKey, 7).toRaw())
+        .isEqualTo(
+            WalletV4R2.builder().wc(0).keyPair(keyPair).walletId(7).build().getAddress().toRaw());
+
+    assertThat(
+            AddressDeriver.builder()
+                .wallet(WalletCodes.V5R1)
+                .isSigAuthAllowed(true)
+                .build()
+                .derive(publicKey, 2147483409L)
+                .toRaw())
+        .isEqualTo(
+            WalletV5.builder()
+                .wc(0)
+                .keyPair(keyPair)
+                .walletId(2147483409L)
+                .isSigAuthAllowed(true)
+                .build()
+                .getAddress()
+                .toRaw());
+
+    assertThat(
+            AddressDeriver.builder()
+                .wallet(WalletCodes.highload)
+                .build()
+                .derive(publicKey, 42)
+                .toRaw())
+        .isEqualTo(
+            HighloadWallet.builder().wc(0).keyPair(keyPair).walletId(42).build().getAddress().toRaw());
+
+    assertThat(
+            AddressDeriver.builder()
+                .wallet(WalletCodes.highloadV3)
+                .timeout(1000)
+                .build()
+                .derive(publicKey, 42)
+                .toRaw())
+        .isEqualTo(
+            HighloadWalletV3.builder()
+                .wc(0)
+                .keyPair(keyPair)
+                .walletId(42)
+                .timeout(1000)
+                .build()
+                .getAddress()
+                .toRaw());
+  }
+
+  @Test
+  public void testAddressDeriverBulk() {
+    AddressDeriver deriver = AddressDeriver.builder().wallet(WalletCodes.V3R2).build();
+
+    List<ImmutableAddress> addresses = deriver.deriveAll(keyPair.getPublicKey(), 100, 1000);
+    assertThat(addresses).hasSize(1000);
+    assertThat(addresses.get(0)).isEqualTo(deriver.derive(keyPair.getPublicKey(), 100));
+    assertThat(addresses.get(999)).isEqualTo(deriver.derive(keyPair.getPublicKey(), 1099));
+    assertThat(addresses).doesNotHaveDuplicates();
+
+    byte[] otherKey = Utils.generateSignatureKeyPair().getPublicKey();
+    List<ImmutableAddress> byKeys =
+        deriver.deriveAll(Arrays.asList(keyPair.getPublicKey(), otherKey), 100);
+    assertThat(byKeys).containsExactly(addresses.get(0), deriver.derive(otherKey, 100));
+  }
+}
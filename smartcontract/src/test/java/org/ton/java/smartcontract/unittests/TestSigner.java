@@ -0,0 +1,61 @@
+package org.ton.java.smartcontract.unittests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.iwebpp.crypto.TweetNaclFast;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.ton.java.cell.Cell;
+import org.ton.java.cell.CellBuilder;
+import org.ton.java.smartcontract.utils.Signer;
+import org.ton.java.utils.Utils;
+
+@Slf4j
+@RunWith(JUnit4.class)
+public class TestSigner {
+
+  byte[] seed =
+      Utils.hexToSignedBytes("F182111193F30D79D517F2339A1BA7C25FDF6C52142F0F2C1D960A1F1D65E1E4");
+  TweetNaclFast.Signature.KeyPair keyPair = TweetNaclFast.Signature.keyPair_fromSeed(seed);
+
+  @Test
+  public void testSignerSameAsSignData() {
+    Cell body = CellBuilder.beginCell().storeUint(42, 32).endCell();
+    byte[] expected = Utils.signData(keyPair.getPublicKey(), keyPair.getSecretKey(), body.hash());
+
+    assertThat(Signer.of(keyPair).signCellHash(body)).isEqualTo(expected);
+    assertThat(Signer.of(keyPair.getPublicKey(), seed).sign(body.hash())).isEqualTo(expected);
+    assertThat(Signer.of(keyPair.getPublicKey(), seed).getPublicKey())
+        .isEqualTo(keyPair.getPublicKey());
+    assertThat(Signer.of(keyPair)).isSameAs(Signer.of(keyPair));
+
+    TweetNaclFast.Signature verifier = new TweetNaclFast.Signature(keyPair.getPublicKey(), null);
+    assertThat(verifier.detached_verify(body.hash(), expected)).isTrue();
+  }
+
+  @Test
+  public void testSignAll() {
+    Signer signer = Signer.of(keyPair);
+    List<byte[]> messages = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      messages.add(CellBuilder.beginCell().storeUint(i, 32).endCell().hash());
+    }
+
+    List<byte[]> signatures = signer.signAll(messages);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    List<byte[]> signaturesWithExecutor = signer.signAll(messages, executor);
+    executor.shutdown();
+
+    for (int i = 0; i < messages.size(); i++) {
+      byte[] expected = signer.sign(messages.get(i));
+      assertThat(signatures.get(i)).isEqualTo(expected);
+      assertThat(signaturesWithExecutor.get(i)).isEqualTo(expected);
+    }
+  }
+}
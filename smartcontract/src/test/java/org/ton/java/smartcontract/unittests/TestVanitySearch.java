@@ -0,0 +1,210 @@
+package org.ton.java.smartcontract.unittests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.iwebpp.crypto.TweetNaclFast;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.ton.java.smartcontract.types.WalletCodes;
+import org.ton.java.smartcontract.utils.AddressDeriver;
+import org.ton.java.smartcontract.utils.VanitySearch;
+import org.ton.java.smartcontract.wallet.v3.WalletV3R2;
+import org.ton.java.utils.Utils;
+
+@Slf4j
+@RunWith(JUnit4.class)
+public class TestVanitySearch {
+
+  TweetNaclFast.Signature.KeyPair keyPair =
+      TweetNaclFast.Signature.keyPair_fromSeed(
+          Utils.hexToSignedBytes(
+              "F182111193F30D79D517F2339A1BA7C25FDF6C52142F0F2C1D960A1F1D65E1E4"));
+
+  @Test
+  public void testVanitySearchPrefixAndSuffix() {
+    VanitySearch search =
+        VanitySearch.builder()
+            .deriver(AddressDeriver.builder().wallet(WalletCodes.V3R2).build())
+            .publicKey(keyPair.getPublicKey())
+            .prefix("Ba")
+            .suffix("x")
+            .threads(4)
+            .build();
+
+    VanitySearch.VanityResult result = search.search();
+    log.info(
+        "found {} walletId {} attempts {}",
+        result.getAddress().toBounceable(),
+        result.getWalletId(),
+        result.getAttempts());
+
+    assertThat(result.getAddress().toBounceable()).startsWith("EQBa").endsWith("x");
+
+    String expected =
+        WalletV3R2.builder()
+            .wc(0)
+            .keyPair(keyPair)
+            .walletId(result.getWalletId())
+            .build()
+            .getAddress()
+            .toBounceable();
+    assertThat(result.getAddress().toBounceable()).isEqualTo(expected);
+  }
+
+  @Test
+  public void testVanitySearchIgnoreCaseNonBounceable() {
+    VanitySearch.VanityResult result =
+        VanitySearch.builder()
+            .deriver(AddressDeriver.builder().wallet(WalletCodes.V4R2).build())
+            .publicKey(keyPair.getPublicKey())
+            .prefix("cq")
+            .ignoreCase(true)
+            .bounceable(false)
+            .build()
+            .search();
+
+    assertThat(result.getAddress().toNonBounceable().toLowerCase()).startsWith("uqcq");
+  }
+
+  @Test
+  public void testVanitySearchCancel() {
+    AtomicReference<VanitySearch> search = new AtomicReference<>();
+    AtomicLong progress = new AtomicLong();
+    // practically never found
+    search.set(
+        VanitySearch.builder()
+            .deriver(AddressDeriver.builder().wallet(WalletCodes.V3R2).build())
+            .publicKey(keyPair.getPublicKey())
+            .prefix("DZZZZZZZZZ")
+            .progressStep(10_000)
+            .progressCallback(
+                attempts -> {
+                  progress.set(attempts);
+                  search.get().cancel();
+                })
+            .build());
+
+    assertThat(search.get().search()).isNull();
+    assertThat(search.get().isCancelled()).isTrue();
+    assertThat(progress.get()).isGreaterThanOrEqualTo(10_000);
+  }
+
+  @Test
+  public void testVanitySearchRestartsAfterCancel() throws Exception {
+    AtomicReference<VanitySearch> search = new AtomicReference<>();
+    List<Long> progress = new CopyOnWriteArrayList<>();
+    search.set(
+        VanitySearch.builder()
+            .deriver(AddressDeriver.builder().wallet(WalletCodes.V3R2).build())
+            .publicKey(keyPair.getPublicKey())
+            .prefix("DZZZZZZZZZ")
+            .threads(2)
+            .progressStep(10_000)
+            .progressCallback(
+                attempts -> {
+                  progress.add(attempts);
+                  search.get().cancel();
+                })
+            .build());
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      assertThat(search.get().search()).isNull();
+      assertThat(search.get().searchAsync(executor).get(60, TimeUnit.SECONDS)).isNull();
+    } finally {
+      executor.shutdownNow();
+    }
+
+    // second search is not cancelled right away and counts attempts from zero
+    assertThat(progress).hasSize(2);
+    assertThat(progress.get(1)).isBetween(10_000L, 20_000L - 1);
+  }
+
+  @Test
+  public void testVanitySearchCancelledBeforeAsyncRunStarts() throws Exception {
+    VanitySearch search =
+        VanitySearch.builder()
+            .deriver(AddressDeriver.builder().wallet(WalletCodes.V3R2).build())
+            .publicKey(keyPair.getPublicKey())
+            .prefix("DZZZZZZZZZ")
+            .build();
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    CountDownLatch busy = new CountDownLatch(1);
+    try {
+      // search waits in the executor queue while cancel() is called
+      executor.execute(
+          () -> {
+            try {
+              busy.await();
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+          });
+      CompletableFuture<VanitySearch.VanityResult> result = search.searchAsync(executor);
+      search.cancel();
+      busy.countDown();
+
+      assertThat(result.get(60, TimeUnit.SECONDS)).isNull();
+      assertThat(search.getAttempts()).isZero();
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testVanitySearchRejectsImpossiblePrefix() {
+    // third character of basechain address is always one of A, B, C or D
+    assertThatThrownBy(
+            () ->
+                VanitySearch.builder()
+                    .deriver(AddressDeriver.builder().wallet(WalletCodes.V3R2).build())
+                    .publicKey(keyPair.getPublicKey())
+                    .prefix("Z")
+                    .build())
+        .isInstanceOf(IllegalArgumentException.class);
+
+    // and one of 8, 9, - or _ in masterchain
+    assertThatThrownBy(
+            () ->
+                VanitySearch.builder()
+                    .deriver(AddressDeriver.builder().wallet(WalletCodes.V3R2).wc(-1).build())
+                    .publicKey(keyPair.getPublicKey())
+                    .prefix("A")
+                    .build())
+        .isInstanceOf(IllegalArgumentException.class);
+
+    assertThat(
+            VanitySearch.builder()
+                .deriver(AddressDeriver.builder().wallet(WalletCodes.V3R2).wc(-1).build())
+                .publicKey(keyPair.getPublicKey())
+                .prefix("_x")
+                .build()
+                .search()
+                .getAddress()
+                .toBounceable())
+        .startsWith("Ef_x");
+
+    // c is possible with ignoreCase only
+    assertThatThrownBy(
+            () ->
+                VanitySearch.builder()
+                    .deriver(AddressDeriver.builder().wallet(WalletCodes.V3R2).build())
+                    .publicKey(keyPair.getPublicKey())
+                    .prefix("c")
+                    .build())
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,29 @@
+package org.ton.java.tonlib;
+
+import org.ton.java.address.Address;
+import org.ton.java.tonlib.types.RawAccountState;
+
+/**
+ * Receives changes of accounts tracked by {@link AccountWatcher}. Methods are called from the
+ * watcher thread and should return quickly.
+ */
+public interface AccountListener {
+
+    /**
+     * Called when last transaction lt of the account has changed.
+     */
+    default void onTransaction(Address address, RawAccountState previous, RawAccountState current) {
+    }
+
+    /**
+     * Called when the account got code.
+     */
+    default void onDeployed(Address address, RawAccountState current) {
+    }
+
+    /**
+     * Called when balance of the account has changed.
+     */
+    default void onBalanceChange(Address address, RawAccountState previous, RawAccountState current) {
+    }
+}
@@ -0,0 +1,388 @@
+package org.ton.java.tonlib;
+
+import com.google.gson.Gson;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.ton.java.address.Address;
+import org.ton.java.tonlib.queries.GetRawAccountStateQueryOnly;
+import org.ton.java.tonlib.queries.RawGetAccountStateOnlyWithBlockQuery;
+import org.ton.java.tonlib.types.AccountAddressOnly;
+import org.ton.java.tonlib.types.BlockIdExt;
+import org.ton.java.tonlib.types.RawAccountState;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Tracks many accounts with one thread instead of a polling loop per account.
+ * <p>
+ * Once per new masterchain block the state of all watched accounts at that block is requested
+ * over the async tonlib transport, at most parallelism queries at a time. Pending futures are
+ * completed and listeners are notified on deployment, balance change or new transaction. An
+ * account is not queried anymore once it has no pending futures and no listeners.
+ */
+@Slf4j
+@Builder
+@Getter
+public class AccountWatcher implements AutoCloseable {
+
+    private static final Gson gson = new Gson();
+
+    private Tonlib tonlib;
+
+    /**
+     * In milliseconds, how often to check for new masterchain block, default 1000
+     */
+    private long pollIntervalMs;
+
+    /**
+     * Max number of account state queries in flight, default 256
+     */
+    private int parallelism;
+
+    /**
+     * In milliseconds, how long to wait for account state, default 10000
+     */
+    private long queryTimeoutMs;
+
+    @Getter(AccessLevel.NONE)
+    private final Map<String, Watch> watches = new ConcurrentHashMap<>();
+
+    @Getter(AccessLevel.NONE)
+    private ScheduledExecutorService scheduler;
+
+    private volatile long lastSeqno;
+
+    private volatile boolean closed;
+
+    public static class AccountWatcherBuilder {
+    }
+
+    public static AccountWatcherBuilder builder() {
+        return new CustomAccountWatcherBuilder();
+    }
+
+    private static class CustomAccountWatcherBuilder extends AccountWatcherBuilder {
+        @Override
+        public AccountWatcher build() {
+            if (isNull(super.tonlib)) {
+                throw new IllegalArgumentException("Tonlib instance is required");
+            }
+            if (super.pollIntervalMs <= 0) {
+                super.pollIntervalMs = 1000;
+            }
+            if (super.parallelism <= 0) {
+                super.parallelism = 256;
+            }
+            if (super.queryTimeoutMs <= 0) {
+                super.queryTimeoutMs = 10000;
+            }
+            AccountWatcher watcher = super.build();
+            watcher.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "tonlib-account-watcher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            watcher.scheduler.scheduleWithFixedDelay(
+                    watcher::poll, watcher.pollIntervalMs, watcher.pollIntervalMs, TimeUnit.MILLISECONDS);
+            return watcher;
+        }
+    }
+
+    private static class Pending {
+        final Predicate<RawAccountState> condition;
+        final CompletableFuture<RawAccountState> future = new CompletableFuture<>();
+
+        Pending(Predicate<RawAccountState> condition) {
+            this.condition = condition;
+        }
+    }
+
+    private static class Watch {
+        final Address address;
+        final List<Pending> pending = new CopyOnWriteArrayList<>();
+        final List<AccountListener> listeners = new CopyOnWriteArrayList<>();
+        volatile RawAccountState state;
+        /**
+         * masterchain seqno of the last state query
+         */
+        volatile long queriedSeqno;
+
+        Watch(Address address) {
+            this.address = address;
+        }
+
+        boolean isIdle() {
+            return pending.isEmpty() && listeners.isEmpty();
+        }
+    }
+
+    /**
+     * @return future completed with the account state once the account has code
+     */
+    public CompletableFuture<RawAccountState> waitForDeployment(Address address) {
+        return await(address, AccountWatcher::isDeployed);
+    }
+
+    /**
+     * @return future completed with the account state once its balance differs from the current one
+     */
+    public CompletableFuture<RawAccountState> waitForBalanceChange(Address address) {
+        return waitForBalanceChange(address, balanceOf(currentState(address)));
+    }
+
+    /**
+     * @return future completed with the account state once its balance differs from fromBalance
+     */
+    public CompletableFuture<RawAccountState> waitForBalanceChange(Address address, BigInteger fromBalance) {
+        return await(address, state -> !fromBalance.equals(balanceOf(state)));
+    }
+
+    /**
+     * @return future completed with the account state once it has a transaction newer than the
+     * current last transaction
+     */
+    public CompletableFuture<RawAccountState> waitForTransaction(Address address) {
+        return waitForTransaction(address, lastLt(currentState(address)));
+    }
+
+    /**
+     * @param afterLt e.g. lt of the last processed transaction
+     * @return future completed with the account state once its last transaction lt is greater
+     * than afterLt
+     */
+    public CompletableFuture<RawAccountState> waitForTransaction(Address address, BigInteger afterLt) {
+        return await(address, state -> lastLt(state).compareTo(afterLt) > 0);
+    }
+
+    /**
+     * Waits for a value which is not in the account state, e.g. jetton balance of a jetton wallet
+     * read by its get method. The value is read again from the watcher thread only when the account
+     * has a new transaction.
+     *
+     * @return future completed with the account state once value differs from its current value
+     */
+    public <T> CompletableFuture<RawAccountState> waitForValueChange(Address address, Supplier<T> value) {
+        AtomicReference<BigInteger> checkedLt = new AtomicReference<>(lastLt(currentState(address)));
+        T initial = value.get();
+        return await(address, state -> {
+            BigInteger lt = lastLt(state);
+            if (lt.compareTo(checkedLt.get()) <= 0) {
+                return false;
+            }
+            try {
+                boolean changed = !Objects.equals(initial, value.get());
+                checkedLt.set(lt);
+                return changed;
+            } catch (Throwable e) {
+                log.info("Cannot read value of {}: {}", key(address), e.getMessage());
+                return false;
+            }
+        });
+    }
+
+    public void addListener(Address address, AccountListener listener) {
+        watches.compute(key(address), (k, watch) -> {
+            watch = isNull(watch) ? new Watch(address) : watch;
+            watch.listeners.add(listener);
+            return watch;
+        });
+    }
+
+    public void removeListener(Address address, AccountListener listener) {
+        watches.computeIfPresent(key(address), (k, watch) -> {
+            watch.listeners.remove(listener);
+            return watch.isIdle() ? null : watch;
+        });
+    }
+
+    /**
+     * @return number of accounts being queried on every masterchain block
+     */
+    public int getWatchedCount() {
+        return watches.size();
+    }
+
+    /**
+     * Stops the watcher thread, pending futures are failed.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        scheduler.shutdownNow();
+        for (Watch watch : watches.values()) {
+            for (Pending pending : watch.pending) {
+                pending.future.completeExceptionally(new IllegalStateException("Account watcher is closed"));
+            }
+        }
+        watches.clear();
+    }
+
+    private CompletableFuture<RawAccountState> await(Address address, Predicate<RawAccountState> condition) {
+        Pending pending = new Pending(condition);
+        if (closed) {
+            pending.future.completeExceptionally(new IllegalStateException("Account watcher is closed"));
+            return pending.future;
+        }
+        watches.compute(key(address), (k, watch) -> {
+            watch = isNull(watch) ? new Watch(address) : watch;
+            watch.pending.add(pending);
+            return watch;
+        });
+        return pending.future;
+    }
+
+    private RawAccountState currentState(Address address) {
+        Watch watch = watches.get(key(address));
+        if (nonNull(watch) && nonNull(watch.state)) {
+            return watch.state;
+        }
+        return tonlib.getRawAccountState(address);
+    }
+
+    private void poll() {
+        if (watches.isEmpty()) {
+            return;
+        }
+        try {
+            BlockIdExt last = tonlib.getLast().getLast();
+            if (last.getSeqno() <= lastSeqno) {
+                return;
+            }
+            lastSeqno = last.getSeqno();
+            check(last);
+        } catch (Throwable e) {
+            log.info("Cannot check watched accounts: {}", e.getMessage());
+        }
+    }
+
+    private void check(BlockIdExt block) throws InterruptedException {
+        List<Watch> batch = new ArrayList<>(watches.values());
+        // accounts not queried for longest go first, in case not all of them are queried in time
+        batch.sort(Comparator.comparingLong(watch -> watch.queriedSeqno));
+        List<CompletableFuture<String>> futures = new ArrayList<>(batch.size());
+        Semaphore inFlight = new Semaphore(parallelism);
+        // queries fail after queryTimeoutMs, so permits are released in time and the whole check
+        // takes at most twice queryTimeoutMs
+        long sendDeadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(queryTimeoutMs);
+
+        for (Watch watch : batch) {
+            if (!inFlight.tryAcquire(Math.max(0, sendDeadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                log.info("{} of {} accounts are not checked at block {}, no account state received within {} ms",
+                        batch.size() - futures.size(), batch.size(), block.getSeqno(), queryTimeoutMs);
+                break;
+            }
+            RawGetAccountStateOnlyWithBlockQuery query = RawGetAccountStateOnlyWithBlockQuery.builder()
+                    .id(block)
+                    .function(GetRawAccountStateQueryOnly.builder()
+                            .account_address(AccountAddressOnly.builder().account_address(key(watch.address)).build())
+                            .build())
+                    .build();
+            watch.queriedSeqno = block.getSeqno();
+            CompletableFuture<String> future = tonlib.executeAsync(query, queryTimeoutMs);
+            future.whenComplete((result, e) -> inFlight.release());
+            futures.add(future);
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(queryTimeoutMs);
+        for (int i = 0; i < futures.size(); i++) {
+            Watch watch = batch.get(i);
+            String result;
+            try {
+                result = futures.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (ExecutionException | TimeoutException e) {
+                log.debug("Cannot get state of {}: {}", key(watch.address), e.getMessage());
+                continue;
+            }
+            if (TonlibResponse.isError(result)) {
+                log.debug("Cannot get state of {}: {}", key(watch.address), result);
+                continue;
+            }
+            update(watch, gson.fromJson(result, RawAccountState.class));
+        }
+    }
+
+    private void update(Watch watch, RawAccountState current) {
+        RawAccountState previous = watch.state;
+        watch.state = current;
+
+        for (Pending pending : watch.pending) {
+            if (pending.future.isDone()) {
+                watch.pending.remove(pending);
+            } else if (pending.condition.test(current)) {
+                watch.pending.remove(pending);
+                pending.future.complete(current);
+            }
+        }
+
+        if (nonNull(previous)) {
+            boolean transaction = lastLt(current).compareTo(lastLt(previous)) > 0;
+            boolean deployed = isDeployed(current) && !isDeployed(previous);
+            boolean balanceChanged = !balanceOf(current).equals(balanceOf(previous));
+            for (AccountListener listener : watch.listeners) {
+                try {
+                    if (transaction) {
+                        listener.onTransaction(watch.address, previous, current);
+                    }
+                    if (deployed) {
+                        listener.onDeployed(watch.address, current);
+                    }
+                    if (balanceChanged) {
+                        listener.onBalanceChange(watch.address, previous, current);
+                    }
+                } catch (Throwable e) {
+                    log.info("Account listener failed: {}", e.getMessage());
+                }
+            }
+        }
+
+        watches.computeIfPresent(key(watch.address), (k, w) -> w.isIdle() ? null : w);
+    }
+
+    private static String key(Address address) {
+        return address.toString(false);
+    }
+
+    private static boolean isDeployed(RawAccountState state) {
+        return StringUtils.isNotEmpty(state.getCode());
+    }
+
+    /**
+     * Balance of not existing account is -1, same as Tonlib.getAccountBalance() returns zero.
+     */
+    private static BigInteger balanceOf(RawAccountState state) {
+        if (isNull(state.getBalance()) || "-1".equals(state.getBalance())) {
+            return BigInteger.ZERO;
+        }
+        return new BigInteger(state.getBalance());
+    }
+
+    private static BigInteger lastLt(RawAccountState state) {
+        if (isNull(state.getLast_transaction_id()) || isNull(state.getLast_transaction_id().getLt())) {
+            return BigInteger.ZERO;
+        }
+        return state.getLast_transaction_id().getLt();
+    }
+}
@@ -0,0 +1,38 @@
+package org.ton.java.tonlib;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+import org.ton.java.tonlib.types.BlockHeader;
+import org.ton.java.tonlib.types.BlockIdExt;
+import org.ton.java.tonlib.types.ShortTxId;
+
+import java.util.List;
+
+/**
+ * New block emitted by {@link BlockPublisher}. Shard blocks of a masterchain block are emitted
+ * before it, so seqno of a masterchain event can be stored as checkpoint.
+ */
+@Builder
+@Getter
+@ToString
+public class BlockEvent {
+
+    /**
+     * Seqno of the masterchain block which references this block
+     */
+    long masterchainSeqno;
+
+    BlockIdExt block;
+
+    BlockHeader header;
+
+    /**
+     * Short ids of all transactions in the block, null if transactions are not requested
+     */
+    List<ShortTxId> transactions;
+
+    public boolean isMasterchain() {
+        return block.getWorkchain() == -1;
+    }
+}
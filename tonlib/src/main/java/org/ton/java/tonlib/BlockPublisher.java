@@ -0,0 +1,316 @@
+package org.ton.java.tonlib;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.ton.java.tonlib.types.AccountTransactionId;
+import org.ton.java.tonlib.types.BlockHeader;
+import org.ton.java.tonlib.types.BlockId;
+import org.ton.java.tonlib.types.BlockIdExt;
+import org.ton.java.tonlib.types.BlockTransactions;
+import org.ton.java.tonlib.types.ShortTxId;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Follows the chain and publishes new masterchain and shard blocks with their transactions.
+ * <p>
+ * For every masterchain block, shard blocks created since the previous masterchain block are
+ * found by walking prev_blocks of block headers from the current shard tops back to the previous
+ * ones, which also covers shard splits and merges. Shard blocks are emitted ordered by
+ * workchain, shard and seqno, followed by the masterchain block itself.
+ * <p>
+ * Each subscription has its own thread, up to parallelism masterchain blocks are fetched ahead
+ * in parallel and kept until the subscriber requests them. To resume after restart, store
+ * masterchainSeqno of the last processed masterchain event and use it plus one as fromSeqno.
+ */
+@Slf4j
+@Builder
+@Getter
+public class BlockPublisher {
+
+    private static final long MASTERCHAIN_SHARD = -9223372036854775808L;
+
+    private static final int TRANSACTIONS_PAGE = 256;
+
+    private Tonlib tonlib;
+
+    /**
+     * Masterchain seqno to start from, by default the latest block
+     */
+    private long fromSeqno;
+
+    /**
+     * Last masterchain seqno to publish, after it subscriber is completed. By default 0 - follow
+     * the chain without end.
+     */
+    private long toSeqno;
+
+    /**
+     * Number of masterchain blocks fetched in parallel, default 4
+     */
+    private int parallelism;
+
+    /**
+     * In milliseconds, how often to check for new masterchain block, default 1000
+     */
+    private long pollIntervalMs;
+
+    /**
+     * Fetch short transaction ids of every block, default true
+     */
+    private Boolean withTransactions;
+
+    public static class BlockPublisherBuilder {
+    }
+
+    public static BlockPublisherBuilder builder() {
+        return new CustomBlockPublisherBuilder();
+    }
+
+    private static class CustomBlockPublisherBuilder extends BlockPublisherBuilder {
+        @Override
+        public BlockPublisher build() {
+            if (isNull(super.tonlib)) {
+                throw new IllegalArgumentException("Tonlib instance is required");
+            }
+            if (super.parallelism <= 0) {
+                super.parallelism = 4;
+            }
+            if (super.pollIntervalMs <= 0) {
+                super.pollIntervalMs = 1000;
+            }
+            if (isNull(super.withTransactions)) {
+                super.withTransactions = true;
+            }
+            return super.build();
+        }
+    }
+
+    /**
+     * Starts a new subscription, events are delivered from its own thread.
+     */
+    public void subscribe(BlockSubscriber subscriber) {
+        Subscription subscription = new Subscription(subscriber);
+        subscriber.onSubscribe(subscription);
+        subscription.start();
+    }
+
+    /**
+     * Fetches events of one masterchain block, shard blocks first.
+     */
+    List<BlockEvent> fetch(long seqno) {
+        BlockIdExt masterchainBlock = tonlib.lookupBlock(seqno, -1, MASTERCHAIN_SHARD, 0);
+        Set<String> previousTops = new HashSet<>();
+        for (BlockIdExt top : tonlib.getShards(seqno - 1, 0, 0).getShards()) {
+            previousTops.add(key(top.getWorkchain(), top.getShard(), top.getSeqno()));
+        }
+
+        List<BlockEvent> events = new ArrayList<>();
+        Set<String> visited = new HashSet<>();
+        Deque<BlockIdExt> queue = new ArrayDeque<>(tonlib.getShards(masterchainBlock).getShards());
+        while (!queue.isEmpty()) {
+            BlockIdExt block = queue.poll();
+            String key = key(block.getWorkchain(), block.getShard(), block.getSeqno());
+            if (previousTops.contains(key) || !visited.add(key)) {
+                continue;
+            }
+            BlockHeader header = tonlib.getBlockHeader(block);
+            events.add(event(seqno, block, header));
+            for (BlockId prev : header.getPrev_blocks()) {
+                if (!previousTops.contains(key(prev.getWorkchain(), prev.getShard(), prev.getSeqno()))) {
+                    queue.add(tonlib.lookupBlock(prev.getSeqno(), prev.getWorkchain(), prev.getShard(), 0));
+                }
+            }
+        }
+        events.sort(Comparator.comparingLong((BlockEvent e) -> e.getBlock().getWorkchain())
+                .thenComparing(e -> e.getBlock().getShard(), Long::compareUnsigned)
+                .thenComparingLong(e -> e.getBlock().getSeqno()));
+        events.add(event(seqno, masterchainBlock, tonlib.getBlockHeader(masterchainBlock)));
+        return events;
+    }
+
+    private BlockEvent event(long masterchainSeqno, BlockIdExt block, BlockHeader header) {
+        return BlockEvent.builder()
+                .masterchainSeqno(masterchainSeqno)
+                .block(block)
+                .header(header)
+                .transactions(withTransactions ? getTransactions(block) : null)
+                .build();
+    }
+
+    private List<ShortTxId> getTransactions(BlockIdExt block) {
+        List<ShortTxId> transactions = new ArrayList<>();
+        BlockTransactions page = tonlib.getBlockTransactions(block, TRANSACTIONS_PAGE);
+        while (true) {
+            if (isNull(page.getTransactions())) {
+                throw new Error("Cannot get transactions of block " + block.getShortBlockSeqno());
+            }
+            transactions.addAll(page.getTransactions());
+            if (!page.isIncomplete() || page.getTransactions().isEmpty()) {
+                return transactions;
+            }
+            ShortTxId last = page.getTransactions().get(page.getTransactions().size() - 1);
+            page = tonlib.getBlockTransactions(block, TRANSACTIONS_PAGE,
+                    AccountTransactionId.builder().account(last.getAccount()).lt(last.getLt()).build());
+        }
+    }
+
+    private static String key(long workchain, long shard, long seqno) {
+        return workchain + ":" + shard + ":" + seqno;
+    }
+
+    private class Subscription implements BlockSubscription, Runnable {
+        private final BlockSubscriber subscriber;
+        private final Thread thread;
+        private final ExecutorService executor;
+        private final Object lock = new Object();
+
+        private long demand;
+        private volatile boolean cancelled;
+        /**
+         * Failure to deliver with onError() from the subscription thread, guarded by lock
+         */
+        private Throwable error;
+
+        Subscription(BlockSubscriber subscriber) {
+            this.subscriber = subscriber;
+            this.thread = new Thread(this, "tonlib-block-publisher");
+            this.thread.setDaemon(true);
+            this.executor = Executors.newFixedThreadPool(parallelism, r -> {
+                Thread t = new Thread(r, "tonlib-block-fetch");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+
+        void start() {
+            thread.start();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                // onError() is signalled by the subscription thread, not to overlap with onNext()
+                fail(new IllegalArgumentException("Requested number of events should be positive"));
+                executor.shutdownNow();
+                if (Thread.currentThread() != thread) {
+                    thread.interrupt();
+                }
+                return;
+            }
+            synchronized (lock) {
+                demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+                lock.notifyAll();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            executor.shutdownNow();
+            if (Thread.currentThread() != thread) {
+                thread.interrupt();
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                long lastSeqno = tonlib.getLast().getLast().getSeqno();
+                long next = fromSeqno > 0 ? fromSeqno : lastSeqno;
+                Deque<Future<List<BlockEvent>>> window = new ArrayDeque<>();
+                long scheduled = next;
+                while (!cancelled && isNull(failure())) {
+                    while (window.size() < parallelism && scheduled <= lastSeqno
+                            && (toSeqno <= 0 || scheduled <= toSeqno)) {
+                        long seqno = scheduled++;
+                        window.add(executor.submit(() -> fetch(seqno)));
+                    }
+                    if (window.isEmpty()) {
+                        if (toSeqno > 0 && next > toSeqno) {
+                            cancelled = true;
+                            subscriber.onComplete();
+                            return;
+                        }
+                        Thread.sleep(pollIntervalMs);
+                        lastSeqno = tonlib.getLast().getLast().getSeqno();
+                        continue;
+                    }
+                    for (BlockEvent event : get(window.poll())) {
+                        awaitDemand();
+                        subscriber.onNext(event);
+                    }
+                    next++;
+                }
+            } catch (InterruptedException e) {
+                // cancelled or failed by request()
+            } catch (Throwable e) {
+                fail(e);
+            } finally {
+                executor.shutdownNow();
+            }
+            Throwable failure = failure();
+            if (nonNull(failure) && !cancelled) {
+                cancelled = true;
+                subscriber.onError(failure);
+            }
+        }
+
+        /**
+         * Keeps the first failure, the subscription thread stops and delivers it.
+         */
+        private void fail(Throwable e) {
+            synchronized (lock) {
+                if (isNull(error)) {
+                    error = e;
+                }
+                lock.notifyAll();
+            }
+        }
+
+        private Throwable failure() {
+            synchronized (lock) {
+                return error;
+            }
+        }
+
+        private void awaitDemand() throws InterruptedException {
+            synchronized (lock) {
+                while (demand == 0 && !cancelled && isNull(error)) {
+                    lock.wait();
+                }
+                if (cancelled || nonNull(error)) {
+                    throw new InterruptedException();
+                }
+                if (demand != Long.MAX_VALUE) {
+                    demand--;
+                }
+            }
+        }
+
+        private List<BlockEvent> get(Future<List<BlockEvent>> future) throws InterruptedException {
+            try {
+                return future.get();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw new Error("Cannot fetch block: " + e.getCause().getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package org.ton.java.tonlib;
+
+/**
+ * Receiver of {@link BlockPublisher} events, same contract as java.util.concurrent.Flow.Subscriber.
+ * No events are delivered until demand is signalled with {@link BlockSubscription#request(long)}.
+ */
+public interface BlockSubscriber {
+
+    void onSubscribe(BlockSubscription subscription);
+
+    void onNext(BlockEvent event);
+
+    /**
+     * Called once when the subscription fails, no events are delivered afterwards.
+     */
+    void onError(Throwable throwable);
+
+    /**
+     * Called once when toSeqno of the publisher is reached.
+     */
+    void onComplete();
+}
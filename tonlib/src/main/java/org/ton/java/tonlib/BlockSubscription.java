@@ -0,0 +1,18 @@
+package org.ton.java.tonlib;
+
+/**
+ * Link between {@link BlockPublisher} and {@link BlockSubscriber}, same contract as
+ * java.util.concurrent.Flow.Subscription.
+ */
+public interface BlockSubscription {
+
+    /**
+     * Adds n events to the demand, n must be positive.
+     */
+    void request(long n);
+
+    /**
+     * Stops delivering events and fetching blocks.
+     */
+    void cancel();
+}
@@ -0,0 +1,35 @@
+package org.ton.java.tonlib;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+import org.ton.java.address.Address;
+import org.ton.java.tonlib.types.BlockIdExt;
+
+import java.util.Deque;
+
+/**
+ * Get method call for {@link Tonlib#runMethods(java.util.List)}.
+ */
+@Builder
+@Getter
+@ToString
+public class GetMethodCall {
+    Address address;
+
+    /**
+     * Method name, if not specified methodId is used
+     */
+    String methodName;
+    long methodId;
+
+    /**
+     * Optional method arguments, see ParseRunResult.renderTvmStack()
+     */
+    Deque<String> stackData;
+
+    /**
+     * Optional block, latest state if not specified
+     */
+    BlockIdExt blockId;
+}
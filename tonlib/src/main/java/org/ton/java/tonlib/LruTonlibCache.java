@@ -0,0 +1,225 @@
+package org.ton.java.tonlib;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.ton.java.utils.Utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * In-memory LRU cache of tonlib responses bounded by approximate size, with optional on-disk
+ * tier.
+ * <p>
+ * Entries without ttl are also written to diskDirectory, one file per entry named by SHA-256 of
+ * the key, and are read from there after eviction from memory or restart. Disk tier is not
+ * bounded, remove the directory to clean it.
+ */
+@Slf4j
+@Builder
+@Getter
+public class LruTonlibCache implements TonlibCache {
+
+    /**
+     * Approximate limit of memory used by keys and responses, default 64 MB
+     */
+    long maxMemoryBytes;
+
+    /**
+     * Optional directory of on-disk tier
+     */
+    Path diskDirectory;
+
+    @Getter(AccessLevel.NONE)
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong memoryBytes = new AtomicLong();
+
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong hits = new AtomicLong();
+
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong misses = new AtomicLong();
+
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong diskHits = new AtomicLong();
+
+    public static class LruTonlibCacheBuilder {
+    }
+
+    public static LruTonlibCacheBuilder builder() {
+        return new CustomLruTonlibCacheBuilder();
+    }
+
+    private static class CustomLruTonlibCacheBuilder extends LruTonlibCacheBuilder {
+        @Override
+        public LruTonlibCache build() {
+            if (super.maxMemoryBytes <= 0) {
+                super.maxMemoryBytes = 64L * 1024 * 1024;
+            }
+            if (nonNull(super.diskDirectory)) {
+                try {
+                    Files.createDirectories(super.diskDirectory);
+                } catch (IOException e) {
+                    throw new Error("Cannot create cache directory " + super.diskDirectory + ": " + e.getMessage());
+                }
+            }
+            return super.build();
+        }
+    }
+
+    private static class Entry {
+        final String response;
+        final long expireAt;
+
+        Entry(String response, long expireAt) {
+            this.response = response;
+            this.expireAt = expireAt;
+        }
+    }
+
+    @Override
+    public String get(String key) {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (nonNull(entry)) {
+                if (entry.expireAt == 0 || entry.expireAt > System.currentTimeMillis()) {
+                    hits.incrementAndGet();
+                    return entry.response;
+                }
+                remove(key);
+            }
+        }
+        String response = readFromDisk(key);
+        if (nonNull(response)) {
+            hits.incrementAndGet();
+            diskHits.incrementAndGet();
+            putInMemory(key, response, 0);
+            return response;
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    @Override
+    public void put(String key, String response, long ttlMs) {
+        putInMemory(key, response, ttlMs);
+        if (ttlMs == 0) {
+            writeToDisk(key, response);
+        }
+    }
+
+    @Override
+    public long getHits() {
+        return hits.get();
+    }
+
+    @Override
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return number of hits served from disk tier, included in getHits()
+     */
+    public long getDiskHits() {
+        return diskHits.get();
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getMemoryBytes() {
+        synchronized (entries) {
+            return memoryBytes.get();
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            memoryBytes.set(0);
+        }
+    }
+
+    private void putInMemory(String key, String response, long ttlMs) {
+        long size = sizeOf(key, response);
+        if (size > maxMemoryBytes) {
+            return;
+        }
+        synchronized (entries) {
+            remove(key);
+            entries.put(key, new Entry(response, ttlMs == 0 ? 0 : System.currentTimeMillis() + ttlMs));
+            memoryBytes.addAndGet(size);
+            Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+            while (memoryBytes.get() > maxMemoryBytes && eldest.hasNext()) {
+                Map.Entry<String, Entry> e = eldest.next();
+                memoryBytes.addAndGet(-sizeOf(e.getKey(), e.getValue().response));
+                eldest.remove();
+            }
+        }
+    }
+
+    // guarded by entries
+    private void remove(String key) {
+        Entry entry = entries.remove(key);
+        if (nonNull(entry)) {
+            memoryBytes.addAndGet(-sizeOf(key, entry.response));
+        }
+    }
+
+    private static long sizeOf(String key, String response) {
+        // chars plus entry overhead
+        return 2L * (key.length() + response.length()) + 64;
+    }
+
+    private Path pathOf(String key) {
+        return diskDirectory.resolve(Utils.sha256(key.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private String readFromDisk(String key) {
+        if (isNull(diskDirectory)) {
+            return null;
+        }
+        Path path = pathOf(key);
+        if (!Files.exists(path)) {
+            return null;
+        }
+        try {
+            return new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            log.debug("Cannot read cached response {}: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeToDisk(String key, String response) {
+        if (isNull(diskDirectory)) {
+            return;
+        }
+        Path path = pathOf(key);
+        try {
+            Path tmp = Files.createTempFile(diskDirectory, "tmp", null);
+            Files.write(tmp, response.getBytes(StandardCharsets.UTF_8));
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.debug("Cannot write cached response {}: {}", path, e.getMessage());
+        }
+    }
+}
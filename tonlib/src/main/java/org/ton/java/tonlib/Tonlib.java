@@ -11,9 +11,11 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.ton.java.address.Address;
 import org.ton.java.cell.Cell;
 import org.ton.java.cell.CellBuilder;
+import org.ton.java.tlb.types.BlockchainConfig;
 import org.ton.java.tonlib.queries.*;
 import org.ton.java.tonlib.types.*;
 import org.ton.java.tonlib.types.globalconfig.*;
+import org.ton.java.utils.ClientMetrics;
 import org.ton.java.utils.Utils;
 
 import java.io.InputStream;
@@ -21,7 +23,16 @@ import java.math.BigInteger;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
 
 import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
@@ -102,11 +113,59 @@ public class Tonlib {
 
     private Boolean printInfo;
 
+    /**
+     * Optional cache of responses, e.g. LruTonlibCache. Responses that never change for the given
+     * block or lt are cached without expiration.
+     */
+    private TonlibCache cache;
+
+    /**
+     * In milliseconds. If positive and cache is set, responses of queries against the latest state,
+     * like getLast() or account state without block, are cached with this ttl. Default 0 - not
+     * cached.
+     */
+    private long volatileTtlMs;
+
+    /**
+     * In milliseconds. Config returned by getBlockchainConfig() is reused for this period, since it
+     * changes only in key blocks. Default 60000, negative - always query.
+     */
+    private long configTtlMs;
+
+    /**
+     * Optional metrics of queries, e.g. SimpleClientMetrics. Default - no metrics.
+     */
+    private ClientMetrics metrics;
+
     private static final Gson gson =
             new GsonBuilder().setObjectToNumberStrategy(ToNumberPolicy.BIG_DECIMAL).create();
 
+    private static final String CLIENT = "tonlib";
+
+    private static final Pattern EXTRA_PATTERN = Pattern.compile(",?\"@extra\":\"[^\"]*\"");
+
     private long tonlib;
 
+    /**
+     * Do not use! Reserved for internal usage.
+     */
+    private volatile TonlibDispatcher dispatcher;
+
+    /**
+     * Do not use! Reserved for internal usage, see getAccountWatcher().
+     */
+    private volatile AccountWatcher accountWatcher;
+
+    /**
+     * Do not use! Reserved for internal usage. Index and ip of the lite-server in use.
+     */
+    private volatile String liteServer;
+
+    /**
+     * Do not use! Reserved for internal usage, see getBlockchainConfig().
+     */
+    private final Map<Integer, CachedConfig> blockchainConfigs = new ConcurrentHashMap<>();
+
     RunResultParser runResultParser;
 
     LibraryResultParser libraryResultParser;
@@ -144,6 +203,10 @@ public class Tonlib {
                     super.keystorePath = ".";
                 }
 
+                if (isNull(super.metrics)) {
+                    super.metrics = ClientMetrics.NOOP;
+                }
+
                 if (isNull(super.liteServerIndex)) {
                     super.liteServerIndex = -1;
                 }
@@ -158,6 +221,10 @@ public class Tonlib {
                     super.receiveTimeout = 10.0;
                 }
 
+                if (super.configTtlMs == 0) {
+                    super.configTtlMs = 60000;
+                }
+
                 if (isNull(super.ignoreCache)) {
                     super.ignoreCache = true;
                 }
@@ -221,6 +288,7 @@ public class Tonlib {
                 LiteServers[] newLiteServers = new LiteServers[1];
                 newLiteServers[0] = liteServers[super.liteServerIndex];
                 globalConfigCurrent.setLiteservers(newLiteServers);
+                super.liteServer = liteServerName(super.liteServerIndex, newLiteServers[0]);
 
                 super.tonlibJson = Native.load(super.pathToTonlibSharedLib, TonlibJsonI.class);
 
@@ -297,6 +365,9 @@ public class Tonlib {
                     }
                 }
 
+                super.dispatcher =
+                        new TonlibDispatcher(super.tonlibJson, super.tonlib, updateHandler(super.metrics));
+
             } catch (Exception e) {
                 throw new RuntimeException("Error creating tonlib instance: " + e.getMessage());
             }
@@ -338,9 +409,9 @@ public class Tonlib {
 
     private void reinitTonlibConfig(TonGlobalConfig tonGlobalConfig) {
 
-        // recreate tonlib instance
-        // tonlibJson.tonlib_client_json_destroy(tonlib);
-        destroy();
+        // recreate tonlib instance, queries in flight fail and are repeated by syncAndRead(),
+        // account watcher keeps its waits and continues with the new client
+        destroyClient();
 
         tonlibJson = Native.load(pathToTonlibSharedLib, TonlibJsonI.class);
         Utils.disableNativeOutput();
@@ -380,146 +451,241 @@ public class Tonlib {
         tonlibJson.tonlib_client_json_receive(tonlib, receiveTimeout);
 
         Utils.enableNativeOutput();
+
+        dispatcher = new TonlibDispatcher(tonlibJson, tonlib, updateHandler(metrics));
     }
 
     public void destroy() {
+        AccountWatcher watcher;
+        synchronized (this) {
+            watcher = accountWatcher;
+            accountWatcher = null;
+        }
+        if (nonNull(watcher)) {
+            watcher.close();
+        }
+        destroyClient();
+    }
+
+    /**
+     * Closes the dispatcher and the native tonlib client, shared objects like account watcher are kept.
+     */
+    private void destroyClient() {
+        if (nonNull(dispatcher)) {
+            dispatcher.close();
+        }
         Utils.disableNativeOutput();
         tonlibJson.tonlib_client_json_destroy(tonlib);
         Utils.enableNativeOutput();
     }
 
-    private String receive() {
-        String result = null;
-        int retry = 0;
-        while (isNull(result)) {
-            //      if (retry > 0) {
-            //        log.info("retry " + retry);
-            //      }
-            if (++retry > receiveRetryTimes) {
-                throw new Error(
-                        "Error in tonlib.receive(), "
-                                + receiveRetryTimes
-                                + " times was not able retrieve result from lite-server.");
+    /**
+     * Sends the query without waiting for the response, queries from many threads are in flight
+     * together over the same tonlib client.
+     *
+     * @return future completed with raw json response, which can be tonlib error. Unlike blocking
+     * methods it is not retried on errors. Fails with TimeoutException if there is no response
+     * within receiveTimeout * receiveRetryTimes seconds.
+     */
+    public CompletableFuture<String> executeAsync(ExtraQuery query) {
+        return executeAsync(query, (long) (receiveTimeout * receiveRetryTimes * 1000));
+    }
+
+    /**
+     * Same as executeAsync(query) with own timeout.
+     *
+     * @param timeoutMs future fails with TimeoutException if there is no response in time
+     */
+    public CompletableFuture<String> executeAsync(ExtraQuery query, long timeoutMs) {
+        return dispatcher.send(gson.toJson(query), timeoutMs);
+    }
+
+    private static void logSyncState(String update) {
+        if (!"updateSyncState".equals(TonlibResponse.typeOf(update))) {
+            return;
+        }
+        UpdateSyncState sync = gson.fromJson(update, UpdateSyncState.class);
+        if (nonNull(sync)
+                && nonNull(sync.getSync_state())
+                && !update.contains("syncStateDone")) {
+            double pct = 0.0;
+            if (sync.getSync_state().getTo_seqno() != 0) {
+                pct =
+                        (sync.getSync_state().getCurrent_seqno() * 100)
+                                / (double) sync.getSync_state().getTo_seqno();
+            }
+            if (pct < 99.5) {
+                log.info("Synchronized: " + String.format("%.2f%%", pct));
             }
-            result = tonlibJson.tonlib_client_json_receive(tonlib, receiveTimeout);
         }
-        return result;
+    }
+
+    /**
+     * Logs sync progress and reports time from the first syncStateInProgress to syncStateDone.
+     */
+    private static Consumer<String> updateHandler(ClientMetrics metrics) {
+        AtomicLong syncStart = new AtomicLong();
+        return update -> {
+            logSyncState(update);
+            if (!"updateSyncState".equals(TonlibResponse.typeOf(update))) {
+                return;
+            }
+            if (update.contains("syncStateDone")) {
+                long start = syncStart.getAndSet(0);
+                if (start != 0) {
+                    metrics.syncWait(CLIENT, System.nanoTime() - start);
+                }
+            } else {
+                syncStart.compareAndSet(0, System.nanoTime());
+            }
+        };
+    }
+
+    private static String liteServerName(int index, LiteServers liteServer) {
+        return index + " (" + Utils.int2ip(liteServer.getIp()) + ")";
+    }
+
+    /**
+     * Waits for the response, up to receiveTimeout * receiveRetryTimes seconds.
+     */
+    private String receive(TonlibDispatcher client, String extra, String queryType, CompletableFuture<String> future) {
+        String server = liteServer;
+        long start = System.nanoTime();
+        try {
+            String response = future.get((long) (receiveTimeout * receiveRetryTimes * 1000), TimeUnit.MILLISECONDS);
+            metrics.attemptCompleted(CLIENT, queryType, server, System.nanoTime() - start, false);
+            return response;
+        } catch (TimeoutException e) {
+            client.cancel(extra);
+            metrics.attemptCompleted(CLIENT, queryType, server, System.nanoTime() - start, true);
+            throw new Error(
+                    "Error in tonlib.receive(), "
+                            + receiveRetryTimes
+                            + " times was not able retrieve result from lite-server.");
+        } catch (InterruptedException e) {
+            client.cancel(extra);
+            Thread.currentThread().interrupt();
+            throw new Error("Interrupted while waiting for tonlib response");
+        } catch (ExecutionException e) {
+            // client was closed, e.g. reinitialized with another lite-server
+            return null;
+        }
     }
 
     private String syncAndRead(String query) {
+        String extra = TonlibDispatcher.extraOf(query);
+        String queryType = TonlibResponse.queryTypeOf(query);
+        long start = System.nanoTime();
+        metrics.querySent(CLIENT, queryType);
         String response = null;
+        int retry = 0;
         try {
-            Utils.disableNativeOutput();
-            tonlibJson.tonlib_client_json_send(tonlib, query);
-            TimeUnit.MILLISECONDS.sleep(200);
-            response = receive();
-            Utils.enableNativeOutput();
-            int retry = 0;
-            outterloop:
-            do {
-                do {
-
-                    if (response.contains("error")) {
-                        log.info(response);
-
-                        if (++retry > receiveRetryTimes) {
-                            throw new Error(
-                                    "Error in tonlib.receive(), "
-                                            + receiveRetryTimes
-                                            + " times was not able retrieve result from lite-server.");
-                        }
+            while (true) {
+                TonlibDispatcher client = dispatcher;
+                response = receive(client, extra, queryType, client.send(query));
 
-                        if (response.contains("Failed to unpack account state")) {
-                            log.info(
-                                    "You are trying to deploy a contract on address that does not have toncoins.");
-                            break outterloop;
+                if (nonNull(response) && !TonlibResponse.isError(response)) {
+                    return response;
+                }
+                if (isNull(response)) {
+                    // wait for lite-server switch in progress
+                    synchronized (originalGlobalConfigInternal) {
+                        if (client == dispatcher) {
+                            throw new Error("Tonlib client is closed");
                         }
+                    }
+                }
 
-                        if (usingAllLiteServers) {
-                            // try next lite-server from the list
-                            TonGlobalConfig globalConfigCurrent =
-                                    gson.fromJson(originalGlobalConfigStr, TonGlobalConfig.class);
-                            LiteServers[] liteServers = originalGlobalConfigInternal.getLiteservers();
-                            LiteServers[] newLiteServers = new LiteServers[1];
-                            newLiteServers[0] =
-                                    liteServers[retry % originalGlobalConfigInternal.getLiteservers().length];
-                            globalConfigCurrent.setLiteservers(newLiteServers);
-
-                            log.info(
-                                    "Trying next lite-server at index: "
-                                            + (retry % originalGlobalConfigInternal.getLiteservers().length)
-                                            + " ("
-                                            + Utils.int2ip(globalConfigCurrent.getLiteservers()[0].getIp())
-                                            + ")");
+                if (nonNull(response)) {
+                    log.info(response);
 
-                            reinitTonlibConfig(globalConfigCurrent);
-                            // repeat request
-                            Utils.disableNativeOutput();
-                            tonlibJson.tonlib_client_json_send(tonlib, query);
-                            Utils.enableNativeOutput();
-                        }
-                    } else if (response.contains("\"@type\":\"ok\"")) {
-                        String queryExtraId = StringUtils.substringBetween(query, "@extra\":\"", "\"}");
-                        String responseExtraId = StringUtils.substringBetween(response, "@extra\":\"", "\"}");
-                        if (queryExtraId.equals(responseExtraId)) {
-                            break outterloop;
-                        }
-                    } else if (response.contains("\"@extra\"")) {
-                        break outterloop;
+                    if (response.contains("Failed to unpack account state")) {
+                        log.info("You are trying to deploy a contract on address that does not have toncoins.");
+                        return response;
                     }
-
                     if (response.contains(" : duplicate message\"")) {
-                        break outterloop;
-                    }
-                    Utils.disableNativeOutput();
-                    TimeUnit.MILLISECONDS.sleep(200);
-                    response = receive();
-                    Utils.enableNativeOutput();
-                    UpdateSyncState sync = gson.fromJson(response, UpdateSyncState.class);
-                    if (nonNull(sync)
-                            && nonNull(sync.getSync_state())
-                            && sync.getType().equals("updateSyncState")
-                            && !response.contains("syncStateDone")) {
-                        double pct = 0.0;
-                        if (sync.getSync_state().getTo_seqno() != 0) {
-                            pct =
-                                    (sync.getSync_state().getCurrent_seqno() * 100)
-                                            / (double) sync.getSync_state().getTo_seqno();
-                        }
-                        if (pct < 99.5) {
-                            log.info("Synchronized: " + String.format("%.2f%%", pct));
-                        }
-                    }
-                    if (isNull(response)) {
-                        throw new RuntimeException("Error in waitForSyncDone(), response is null.");
+                        return response;
                     }
-
-                } while (response.contains("error") || response.contains("syncStateInProgress"));
-
-                if (response.contains("syncStateDone")) {
-                    response = receive();
                 }
-                if (response.contains("error")) {
-                    log.info(response);
 
-                    if (++retry > receiveRetryTimes) {
-                        throw new Error(
-                                "Error in tonlib.receive(), "
-                                        + receiveRetryTimes
-                                        + " times was not able retrieve result from lite-server.");
-                    }
+                if (++retry > receiveRetryTimes) {
+                    throw new Error(
+                            "Error in tonlib.receive(), "
+                                    + receiveRetryTimes
+                                    + " times was not able retrieve result from lite-server.");
+                }
 
-                    Utils.disableNativeOutput();
-                    tonlibJson.tonlib_client_json_send(tonlib, query);
-                    Utils.enableNativeOutput();
+                if (nonNull(response) && usingAllLiteServers) {
+                    switchLiteServer(client, retry);
                 }
-            } while (response.contains("error") || response.contains("syncStateInProgress"));
+            }
+        } finally {
+            metrics.queryCompleted(
+                    CLIENT,
+                    queryType,
+                    liteServer,
+                    System.nanoTime() - start,
+                    retry,
+                    isNull(response) ? 0 : response.length(),
+                    nonNull(response) && !TonlibResponse.isError(response));
+        }
+    }
 
+    /**
+     * Reads the response from cache if it is set, otherwise sends the query and caches successful
+     * response.
+     *
+     * @param immutable true if response never changes, e.g. query by block id or lt
+     */
+    private String syncAndRead(String query, boolean immutable) {
+        if (isNull(cache) || (!immutable && volatileTtlMs <= 0)) {
+            return syncAndRead(query);
+        }
+        String key = cacheKey(query);
+        String response = cache.get(key);
+        if (nonNull(response)) {
             return response;
+        }
+        response = syncAndRead(query);
+        if (nonNull(response) && !TonlibResponse.isError(response)) {
+            cache.put(key, response, immutable ? 0 : volatileTtlMs);
+        }
+        return response;
+    }
 
-        } catch (Exception e) {
-            log.info(e.getMessage());
-            return response;
+    /**
+     * @return query json without @extra
+     */
+    static String cacheKey(String query) {
+        return EXTRA_PATTERN.matcher(query).replaceAll("");
+    }
+
+    /**
+     * Reinitializes tonlib with the next lite-server, unless it was already done by another
+     * query that failed on the same client.
+     */
+    private void switchLiteServer(TonlibDispatcher failedClient, int retry) {
+        synchronized (originalGlobalConfigInternal) {
+            if (failedClient != dispatcher) {
+                return;
+            }
+            // try next lite-server from the list
+            TonGlobalConfig globalConfigCurrent =
+                    gson.fromJson(originalGlobalConfigStr, TonGlobalConfig.class);
+            LiteServers[] liteServers = originalGlobalConfigInternal.getLiteservers();
+            LiteServers[] newLiteServers = new LiteServers[1];
+            newLiteServers[0] = liteServers[retry % liteServers.length];
+            globalConfigCurrent.setLiteservers(newLiteServers);
+            liteServer = liteServerName(retry % liteServers.length, newLiteServers[0]);
+
+            log.info(
+                    "Trying next lite-server at index: "
+                            + (retry % liteServers.length)
+                            + " ("
+                            + Utils.int2ip(globalConfigCurrent.getLiteservers()[0].getIp())
+                            + ")");
+
+            reinitTonlibConfig(globalConfigCurrent);
         }
     }
 
@@ -534,28 +700,26 @@ public class Tonlib {
      * @return BlockIdExt
      */
     public BlockIdExt lookupBlock(long seqno, long workchain, long shard, long lt, long utime) {
-        synchronized (gson) {
-            int mode = 0;
-            if (seqno != 0) {
-                mode += 1;
-            }
-            if (lt != 0) {
-                mode += 2;
-            }
-            if (utime != 0) {
-                mode += 4;
-            }
-            LookupBlockQuery lookupBlockQuery =
-                    LookupBlockQuery.builder()
-                            .mode(mode)
-                            .id(BlockId.builder().seqno(seqno).workchain(workchain).shard(shard).build())
-                            .lt(lt)
-                            .utime(utime)
-                            .build();
-
-            String result = syncAndRead(gson.toJson(lookupBlockQuery));
-            return gson.fromJson(result, BlockIdExt.class);
+        int mode = 0;
+        if (seqno != 0) {
+            mode += 1;
         }
+        if (lt != 0) {
+            mode += 2;
+        }
+        if (utime != 0) {
+            mode += 4;
+        }
+        LookupBlockQuery lookupBlockQuery =
+                LookupBlockQuery.builder()
+                        .mode(mode)
+                        .id(BlockId.builder().seqno(seqno).workchain(workchain).shard(shard).build())
+                        .lt(lt)
+                        .utime(utime)
+                        .build();
+
+        String result = syncAndRead(gson.toJson(lookupBlockQuery), true);
+        return gson.fromJson(result, BlockIdExt.class);
     }
 
     public BlockIdExt lookupBlock(long seqno, long workchain, long shard, long lt) {
@@ -563,12 +727,10 @@ public class Tonlib {
     }
 
     public MasterChainInfo getLast() {
-        synchronized (gson) {
-            GetLastQuery getLastQuery = GetLastQuery.builder().build();
+        GetLastQuery getLastQuery = GetLastQuery.builder().build();
 
-            String result = syncAndRead(gson.toJson(getLastQuery));
-            return gson.fromJson(result, MasterChainInfo.class);
-        }
+        String result = syncAndRead(gson.toJson(getLastQuery), false);
+        return gson.fromJson(result, MasterChainInfo.class);
     }
 
     public MasterChainInfo getMasterChainInfo() {
@@ -576,12 +738,10 @@ public class Tonlib {
     }
 
     public Shards getShards(BlockIdExt id) {
-        synchronized (gson) {
-            GetShardsQuery getShardsQuery = GetShardsQuery.builder().id(id).build();
+        GetShardsQuery getShardsQuery = GetShardsQuery.builder().id(id).build();
 
-            String result = syncAndRead(gson.toJson(getShardsQuery));
-            return gson.fromJson(result, Shards.class);
-        }
+        String result = syncAndRead(gson.toJson(getShardsQuery), true);
+        return gson.fromJson(result, Shards.class);
     }
 
     public Shards getShards(long seqno, long lt, long unixtime) {
@@ -594,50 +754,40 @@ public class Tonlib {
 
         BlockIdExt fullblock = lookupBlock(seqno, wc, shard, lt, unixtime);
 
-        synchronized (gson) {
-            GetShardsQuery getShardsQuery = GetShardsQuery.builder().id(fullblock).build();
+        GetShardsQuery getShardsQuery = GetShardsQuery.builder().id(fullblock).build();
 
-            String result = syncAndRead(gson.toJson(getShardsQuery));
-            return gson.fromJson(result, Shards.class);
-        }
+        String result = syncAndRead(gson.toJson(getShardsQuery), true);
+        return gson.fromJson(result, Shards.class);
     }
 
     public Key createNewKey() {
-        synchronized (gson) {
-            NewKeyQuery newKeyQuery = NewKeyQuery.builder().build();
+        NewKeyQuery newKeyQuery = NewKeyQuery.builder().build();
 
-            String result = syncAndRead(gson.toJson(newKeyQuery));
-            return gson.fromJson(result, Key.class);
-        }
+        String result = syncAndRead(gson.toJson(newKeyQuery));
+        return gson.fromJson(result, Key.class);
     }
 
     public Data encrypt(String data, String secret) {
-        synchronized (gson) {
-            EncryptQuery encryptQuery =
-                    EncryptQuery.builder().decrypted_data(data).secret(secret).build();
+        EncryptQuery encryptQuery =
+                EncryptQuery.builder().decrypted_data(data).secret(secret).build();
 
-            String result = syncAndRead(gson.toJson(encryptQuery));
-            return gson.fromJson(result, Data.class);
-        }
+        String result = syncAndRead(gson.toJson(encryptQuery));
+        return gson.fromJson(result, Data.class);
     }
 
     public Data decrypt(String data, String secret) {
-        synchronized (gson) {
-            DecryptQuery decryptQuery =
-                    DecryptQuery.builder().encrypted_data(data).secret(secret).build();
+        DecryptQuery decryptQuery =
+                DecryptQuery.builder().encrypted_data(data).secret(secret).build();
 
-            String result = syncAndRead(gson.toJson(decryptQuery));
-            return gson.fromJson(result, Data.class);
-        }
+        String result = syncAndRead(gson.toJson(decryptQuery));
+        return gson.fromJson(result, Data.class);
     }
 
     public BlockHeader getBlockHeader(BlockIdExt fullblock) {
-        synchronized (gson) {
-            BlockHeaderQuery blockHeaderQuery = BlockHeaderQuery.builder().id(fullblock).build();
+        BlockHeaderQuery blockHeaderQuery = BlockHeaderQuery.builder().id(fullblock).build();
 
-            String result = syncAndRead(gson.toJson(blockHeaderQuery));
-            return gson.fromJson(result, BlockHeader.class);
-        }
+        String result = syncAndRead(gson.toJson(blockHeaderQuery), true);
+        return gson.fromJson(result, BlockHeader.class);
     }
 
     // @formatter:off
@@ -658,17 +808,15 @@ public class Tonlib {
       fromTxHash = fullAccountState.getLast_transaction_id().getHash();
     }
 
-    synchronized (gson) {
-      GetRawTransactionsQuery getRawTransactionsQuery =
-          GetRawTransactionsQuery.builder()
-              .account_address(AccountAddressOnly.builder().account_address(address).build())
-              .from_transaction_id(
-                  LastTransactionId.builder().lt(fromTxLt).hash(fromTxHash).build())
-              .build();
+    GetRawTransactionsQuery getRawTransactionsQuery =
+        GetRawTransactionsQuery.builder()
+            .account_address(AccountAddressOnly.builder().account_address(address).build())
+            .from_transaction_id(
+                LastTransactionId.builder().lt(fromTxLt).hash(fromTxHash).build())
+            .build();
 
-      String result = syncAndRead(gson.toJson(getRawTransactionsQuery));
-      return gson.fromJson(result, RawTransactions.class);
-    }
+    String result = syncAndRead(gson.toJson(getRawTransactionsQuery), true);
+    return gson.fromJson(result, RawTransactions.class);
   }
 
   /**
@@ -689,31 +837,29 @@ public class Tonlib {
       fromTxLt = fullAccountState.getLast_transaction_id().getLt();
       fromTxHash = fullAccountState.getLast_transaction_id().getHash();
     }
-    synchronized (gson) {
-      GetRawTransactionsQuery getRawTransactionsQuery =
-          GetRawTransactionsQuery.builder()
-              .account_address(AccountAddressOnly.builder().account_address(address).build())
-              .from_transaction_id(
-                  LastTransactionId.builder().lt(fromTxLt).hash(fromTxHash).build())
-              .build();
-
-      String result = syncAndRead(gson.toJson(getRawTransactionsQuery));
+    GetRawTransactionsQuery getRawTransactionsQuery =
+        GetRawTransactionsQuery.builder()
+            .account_address(AccountAddressOnly.builder().account_address(address).build())
+            .from_transaction_id(
+                LastTransactionId.builder().lt(fromTxLt).hash(fromTxHash).build())
+            .build();
 
-      RawTransactions rawTransactions = gson.fromJson(result, RawTransactions.class);
+    String result = syncAndRead(gson.toJson(getRawTransactionsQuery), true);
 
-      if (isNull(rawTransactions.getTransactions())) {
-        throw new Error("lite-server cannot return any transactions");
-      }
+    RawTransactions rawTransactions = gson.fromJson(result, RawTransactions.class);
 
-      if (limit > rawTransactions.getTransactions().size()) {
-        limit = rawTransactions.getTransactions().size();
-      }
+    if (isNull(rawTransactions.getTransactions())) {
+      throw new Error("lite-server cannot return any transactions");
+    }
 
-      return RawTransactions.builder()
-          .previous_transaction_id(rawTransactions.getPrevious_transaction_id())
-          .transactions(rawTransactions.getTransactions().subList(0, limit))
-          .build();
+    if (limit > rawTransactions.getTransactions().size()) {
+      limit = rawTransactions.getTransactions().size();
     }
+
+    return RawTransactions.builder()
+        .previous_transaction_id(rawTransactions.getPrevious_transaction_id())
+        .transactions(rawTransactions.getTransactions().subList(0, limit))
+        .build();
   }
 
   /**
@@ -757,6 +903,38 @@ public class Tonlib {
     }
   }
 
+  /**
+   * Transactions of the account from the newest to the oldest. Pages are fetched on demand and
+   * the next page is prefetched while the current one is processed.
+   *
+   * @param address Address
+   * @return TransactionIterator, also available as stream()
+   */
+  public TransactionIterator transactions(Address address) {
+    return transactions(address, null, 0);
+  }
+
+  /**
+   * @param address Address
+   * @param afterLt BigInteger, stop at transaction with lt less or equal to afterLt, can be null
+   * @param sinceUtime long, stop at transaction older than sinceUtime, 0 - no limit
+   * @return TransactionIterator, also available as stream()
+   */
+  public TransactionIterator transactions(Address address, BigInteger afterLt, long sinceUtime) {
+    return new TransactionIterator(from -> getTransactionsPage(address, from), afterLt, sinceUtime);
+  }
+
+  private RawTransactions getTransactionsPage(Address address, LastTransactionId from) {
+    if (isNull(from)) {
+      from = getRawAccountState(address).getLast_transaction_id();
+      if (isNull(from) || isNull(from.getLt()) || from.getLt().signum() == 0) {
+        // account without transactions
+        return RawTransactions.builder().build();
+      }
+    }
+    return getRawTransactions(address.toString(false), from.getLt(), from.getHash());
+  }
+
   public BlockTransactions getBlockTransactions(
       BlockIdExt fullblock, long count, long afterLt, String afterHash) {
     AccountTransactionId afterTx =
@@ -771,32 +949,30 @@ public class Tonlib {
 
   public BlockTransactions getBlockTransactions(
       BlockIdExt fullblock, long count, AccountTransactionId afterTx) {
-    synchronized (gson) {
-      int mode = 7;
-      if (nonNull(afterTx)) {
-        mode = 7 + 128;
-      }
-
-      if (isNull(afterTx)) {
-        afterTx =
-            AccountTransactionId.builder()
-                .account("AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA=")
-                .lt(0)
-                .build();
-      }
+    int mode = 7;
+    if (nonNull(afterTx)) {
+      mode = 7 + 128;
+    }
 
-      GetBlockTransactionsQuery getBlockTransactionsQuery =
-          GetBlockTransactionsQuery.builder()
-              .id(fullblock)
-              .mode(mode)
-              .count(count)
-              .after(afterTx)
+    if (isNull(afterTx)) {
+      afterTx =
+          AccountTransactionId.builder()
+              .account("AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA=")
+              .lt(0)
               .build();
+    }
 
-      String result = syncAndRead(gson.toJson(getBlockTransactionsQuery));
+    GetBlockTransactionsQuery getBlockTransactionsQuery =
+        GetBlockTransactionsQuery.builder()
+            .id(fullblock)
+            .mode(mode)
+            .count(count)
+            .after(afterTx)
+            .build();
 
-      return gson.fromJson(result, BlockTransactions.class);
-    }
+    String result = syncAndRead(gson.toJson(getBlockTransactionsQuery), true);
+
+    return gson.fromJson(result, BlockTransactions.class);
   }
 
   /**
@@ -826,13 +1002,11 @@ public class Tonlib {
    * @return RawAccountState
    */
   public RawAccountState getRawAccountState(AccountAddressOnly address) {
-    synchronized (gson) {
-      GetRawAccountStateQueryOnly getAccountStateQuery =
-          GetRawAccountStateQueryOnly.builder().account_address(address).build();
+    GetRawAccountStateQueryOnly getAccountStateQuery =
+        GetRawAccountStateQueryOnly.builder().account_address(address).build();
 
-      String result = syncAndRead(gson.toJson(getAccountStateQuery));
-      return gson.fromJson(result, RawAccountState.class);
-    }
+    String result = syncAndRead(gson.toJson(getAccountStateQuery), false);
+    return gson.fromJson(result, RawAccountState.class);
   }
 
   /**
@@ -842,49 +1016,45 @@ public class Tonlib {
    * @return account state RawAccountState
    */
   public RawAccountState getRawAccountState(Address address) {
-    synchronized (gson) {
-      AccountAddressOnly accountAddressOnly =
-          AccountAddressOnly.builder().account_address(address.toString(false)).build();
+    AccountAddressOnly accountAddressOnly =
+        AccountAddressOnly.builder().account_address(address.toString(false)).build();
 
-      GetRawAccountStateQueryOnly getAccountStateQuery =
-          GetRawAccountStateQueryOnly.builder().account_address(accountAddressOnly).build();
+    GetRawAccountStateQueryOnly getAccountStateQuery =
+        GetRawAccountStateQueryOnly.builder().account_address(accountAddressOnly).build();
 
-      String result = syncAndRead(gson.toJson(getAccountStateQuery));
-      return gson.fromJson(result, RawAccountState.class);
-    }
+    String result = syncAndRead(gson.toJson(getAccountStateQuery), false);
+    return gson.fromJson(result, RawAccountState.class);
   }
 
   public RawAccountState getRawAccountState(Address address, BlockIdExt blockId) {
-    synchronized (gson) {
-      if (StringUtils.isEmpty(blockId.getRoot_hash())) { // retrieve hashes
-        blockId = lookupBlock(blockId.getSeqno(), blockId.getWorkchain(), blockId.getShard(), 0);
-        if (StringUtils.isEmpty(blockId.getRoot_hash())) {
-          throw new Error(
-              "Cannot lookup block for hashes by seqno. Probably block not in db. Try to specify block's root and file hashes manually in base64 format.");
-        }
-        log.info("got hashes " + blockId);
+    if (StringUtils.isEmpty(blockId.getRoot_hash())) { // retrieve hashes
+      blockId = lookupBlock(blockId.getSeqno(), blockId.getWorkchain(), blockId.getShard(), 0);
+      if (StringUtils.isEmpty(blockId.getRoot_hash())) {
+        throw new Error(
+            "Cannot lookup block for hashes by seqno. Probably block not in db. Try to specify block's root and file hashes manually in base64 format.");
       }
+      log.info("got hashes " + blockId);
+    }
 
-      AccountAddressOnly accountAddressOnly =
-          AccountAddressOnly.builder().account_address(address.toString(false)).build();
+    AccountAddressOnly accountAddressOnly =
+        AccountAddressOnly.builder().account_address(address.toString(false)).build();
 
-      GetRawAccountStateQueryOnly getAccountStateQuery =
-          GetRawAccountStateQueryOnly.builder().account_address(accountAddressOnly).build();
+    GetRawAccountStateQueryOnly getAccountStateQuery =
+        GetRawAccountStateQueryOnly.builder().account_address(accountAddressOnly).build();
 
-      RawGetAccountStateOnlyWithBlockQuery rawGetAccountStateOnlyWithBlockQuery =
-          RawGetAccountStateOnlyWithBlockQuery.builder()
-              .id(blockId)
-              .function(getAccountStateQuery)
-              .build();
-
-      String result = syncAndRead(gson.toJson(rawGetAccountStateOnlyWithBlockQuery));
+    RawGetAccountStateOnlyWithBlockQuery rawGetAccountStateOnlyWithBlockQuery =
+        RawGetAccountStateOnlyWithBlockQuery.builder()
+            .id(blockId)
+            .function(getAccountStateQuery)
+            .build();
 
-      if ((isNull(result)) || (result.contains("@type") && result.contains("error"))) {
-        throw new Error("Cannot getRawAccountState, error" + result);
-      }
+    String result = syncAndRead(gson.toJson(rawGetAccountStateOnlyWithBlockQuery), true);
 
-      return gson.fromJson(result, RawAccountState.class);
+    if (isNull(result) || TonlibResponse.isError(result)) {
+      throw new Error("Cannot getRawAccountState, error" + result);
     }
+
+    return gson.fromJson(result, RawAccountState.class);
   }
 
   /**
@@ -894,26 +1064,24 @@ public class Tonlib {
    * @return String, uninitialized, frozen or active
    */
   public String getRawAccountStatus(Address address) {
-    synchronized (gson) {
-      AccountAddressOnly accountAddressOnly =
-          AccountAddressOnly.builder().account_address(address.toString(false)).build();
+    AccountAddressOnly accountAddressOnly =
+        AccountAddressOnly.builder().account_address(address.toString(false)).build();
 
-      GetRawAccountStateQueryOnly getAccountStateQuery =
-          GetRawAccountStateQueryOnly.builder().account_address(accountAddressOnly).build();
+    GetRawAccountStateQueryOnly getAccountStateQuery =
+        GetRawAccountStateQueryOnly.builder().account_address(accountAddressOnly).build();
 
-      String result = syncAndRead(gson.toJson(getAccountStateQuery));
+    String result = syncAndRead(gson.toJson(getAccountStateQuery), false);
 
-      RawAccountState state = gson.fromJson(result, RawAccountState.class);
+    RawAccountState state = gson.fromJson(result, RawAccountState.class);
 
-      if (StringUtils.isEmpty(state.getCode())) {
-        if (StringUtils.isEmpty(state.getFrozen_hash())) {
-          return "uninitialized";
-        } else {
-          return "frozen";
-        }
+    if (StringUtils.isEmpty(state.getCode())) {
+      if (StringUtils.isEmpty(state.getFrozen_hash())) {
+        return "uninitialized";
       } else {
-        return "active";
+        return "frozen";
       }
+    } else {
+      return "active";
     }
   }
 
@@ -925,13 +1093,11 @@ public class Tonlib {
    * @return FullAccountState
    */
   public FullAccountState getAccountState(AccountAddressOnly address) {
-    synchronized (gson) {
-      GetAccountStateQueryOnly getAccountStateQuery =
-          GetAccountStateQueryOnly.builder().account_address(address).build();
+    GetAccountStateQueryOnly getAccountStateQuery =
+        GetAccountStateQueryOnly.builder().account_address(address).build();
 
-      String result = syncAndRead(gson.toJson(getAccountStateQuery));
-      return gson.fromJson(result, FullAccountState.class);
-    }
+    String result = syncAndRead(gson.toJson(getAccountStateQuery), false);
+    return gson.fromJson(result, FullAccountState.class);
   }
 
   /**
@@ -942,51 +1108,45 @@ public class Tonlib {
    * @return FullAccountState
    */
   public FullAccountState getAccountState(Address address) {
-    synchronized (gson) {
-      AccountAddressOnly accountAddressOnly =
-          AccountAddressOnly.builder().account_address(address.toString(false)).build();
+    AccountAddressOnly accountAddressOnly =
+        AccountAddressOnly.builder().account_address(address.toString(false)).build();
 
-      GetAccountStateQueryOnly getAccountStateQuery =
-          GetAccountStateQueryOnly.builder().account_address(accountAddressOnly).build();
+    GetAccountStateQueryOnly getAccountStateQuery =
+        GetAccountStateQueryOnly.builder().account_address(accountAddressOnly).build();
 
-      String result = syncAndRead(gson.toJson(getAccountStateQuery));
-      return gson.fromJson(result, FullAccountState.class);
-    }
+    String result = syncAndRead(gson.toJson(getAccountStateQuery), false);
+    return gson.fromJson(result, FullAccountState.class);
   }
 
   public FullAccountState getAccountState(Address address, BlockIdExt blockId) {
-    synchronized (gson) {
-      synchronized (gson) {
-        if (StringUtils.isEmpty(blockId.getRoot_hash())) { // retrieve hashes
-          blockId = lookupBlock(blockId.getSeqno(), blockId.getWorkchain(), blockId.getShard(), 0);
-          if (StringUtils.isEmpty(blockId.getRoot_hash())) {
-            throw new Error(
-                "Cannot lookup block for hashes by seqno. Probably block not in db. Try to specify block's root and file hashes manually in base64 format.");
-          }
-          log.info("got hashes " + blockId);
-        }
-
-        AccountAddressOnly accountAddressOnly =
-            AccountAddressOnly.builder().account_address(address.toString(false)).build();
+    if (StringUtils.isEmpty(blockId.getRoot_hash())) { // retrieve hashes
+      blockId = lookupBlock(blockId.getSeqno(), blockId.getWorkchain(), blockId.getShard(), 0);
+      if (StringUtils.isEmpty(blockId.getRoot_hash())) {
+        throw new Error(
+            "Cannot lookup block for hashes by seqno. Probably block not in db. Try to specify block's root and file hashes manually in base64 format.");
+      }
+      log.info("got hashes " + blockId);
+    }
 
-        GetAccountStateQueryOnly getAccountStateQuery =
-            GetAccountStateQueryOnly.builder().account_address(accountAddressOnly).build();
+    AccountAddressOnly accountAddressOnly =
+        AccountAddressOnly.builder().account_address(address.toString(false)).build();
 
-        GetAccountStateOnlyWithBlockQuery getAccountStateOnlyWithBlockQuery =
-            GetAccountStateOnlyWithBlockQuery.builder()
-                .id(blockId)
-                .function(getAccountStateQuery)
-                .build();
+    GetAccountStateQueryOnly getAccountStateQuery =
+        GetAccountStateQueryOnly.builder().account_address(accountAddressOnly).build();
 
-        String result = syncAndRead(gson.toJson(getAccountStateOnlyWithBlockQuery));
+    GetAccountStateOnlyWithBlockQuery getAccountStateOnlyWithBlockQuery =
+        GetAccountStateOnlyWithBlockQuery.builder()
+            .id(blockId)
+            .function(getAccountStateQuery)
+            .build();
 
-        if ((isNull(result)) || (result.contains("@type") && result.contains("error"))) {
-          throw new Error("Cannot getAccountState, error" + result);
-        }
+    String result = syncAndRead(gson.toJson(getAccountStateOnlyWithBlockQuery), true);
 
-        return gson.fromJson(result, FullAccountState.class);
-      }
+    if (isNull(result) || TonlibResponse.isError(result)) {
+      throw new Error("Cannot getAccountState, error" + result);
     }
+
+    return gson.fromJson(result, FullAccountState.class);
   }
 
   /**
@@ -1046,61 +1206,81 @@ public class Tonlib {
   }
 
   public Cell getConfigAll(int mode) {
-    synchronized (gson) {
-      GetConfigAllQuery configParamQuery = GetConfigAllQuery.builder().mode(mode).build();
+    GetConfigAllQuery configParamQuery = GetConfigAllQuery.builder().mode(mode).build();
 
-      String result = syncAndRead(gson.toJson(configParamQuery));
-      ConfigInfo ci = gson.fromJson(result, ConfigInfo.class);
-      return CellBuilder.beginCell()
-          .fromBoc(Utils.base64ToBytes(ci.getConfig().getBytes()))
-          .endCell();
+    String result = syncAndRead(gson.toJson(configParamQuery), false);
+    ConfigInfo ci = gson.fromJson(result, ConfigInfo.class);
+    return CellBuilder.beginCell()
+        .fromBoc(Utils.base64ToBytes(ci.getConfig().getBytes()))
+        .endCell();
+  }
+
+  /**
+   * Returns blockchain config with lazily decoded typed parameters. The config is queried again
+   * only after configTtlMs, repeated calls for unchanged config return the same cached
+   * BlockchainConfig instance.
+   *
+   * @param mode 128 - all config params
+   */
+  public BlockchainConfig getBlockchainConfig(int mode) {
+    CachedConfig cached = blockchainConfigs.get(mode);
+    long now = System.currentTimeMillis();
+    if (nonNull(cached) && (now - cached.time < configTtlMs)) {
+      return cached.config;
     }
+    BlockchainConfig config = BlockchainConfig.of(getConfigAll(mode));
+    blockchainConfigs.put(mode, new CachedConfig(config, now));
+    return config;
   }
 
-  public Cell getConfigParam(BlockIdExt id, long param) {
-    synchronized (gson) {
-      GetConfigParamQuery configParamQuery =
-          GetConfigParamQuery.builder().id(id).param(param).build();
+  private static class CachedConfig {
+    final BlockchainConfig config;
+    final long time;
 
-      String result = syncAndRead(gson.toJson(configParamQuery));
-      ConfigInfo ci = gson.fromJson(result, ConfigInfo.class);
-      return CellBuilder.beginCell()
-          .fromBoc(Utils.base64ToBytes(ci.getConfig().getBytes()))
-          .endCell();
+    CachedConfig(BlockchainConfig config, long time) {
+      this.config = config;
+      this.time = time;
     }
   }
 
+  public Cell getConfigParam(BlockIdExt id, long param) {
+    GetConfigParamQuery configParamQuery =
+        GetConfigParamQuery.builder().id(id).param(param).build();
+
+    String result = syncAndRead(gson.toJson(configParamQuery), true);
+    ConfigInfo ci = gson.fromJson(result, ConfigInfo.class);
+    return CellBuilder.beginCell()
+        .fromBoc(Utils.base64ToBytes(ci.getConfig().getBytes()))
+        .endCell();
+  }
+
   public long loadContract(AccountAddressOnly address) {
-    synchronized (gson) {
-      LoadContractQuery loadContractQuery =
-          LoadContractQuery.builder().account_address(address).build();
+    LoadContractQuery loadContractQuery =
+        LoadContractQuery.builder().account_address(address).build();
 
-      String result = syncAndRead(gson.toJson(loadContractQuery));
+    String result = syncAndRead(gson.toJson(loadContractQuery));
 
-      return gson.fromJson(result, LoadContract.class).getId();
-    }
+    return gson.fromJson(result, LoadContract.class).getId();
   }
 
   /** loads contract by seqno within master chain and shard -9223372036854775808 */
   public long loadContract(AccountAddressOnly address, long seqno) {
-    synchronized (gson) {
-      BlockIdExt fullBlock;
-      if (seqno != 0) {
-        fullBlock = lookupBlock(seqno, -1, -9223372036854775808L, 0);
-      } else {
-        fullBlock = getMasterChainInfo().getLast();
-      }
+    BlockIdExt fullBlock;
+    if (seqno != 0) {
+      fullBlock = lookupBlock(seqno, -1, -9223372036854775808L, 0);
+    } else {
+      fullBlock = getMasterChainInfo().getLast();
+    }
 
-      LoadContractQuery loadContractQuery =
-          LoadContractQuery.builder().account_address(address).build();
+    LoadContractQuery loadContractQuery =
+        LoadContractQuery.builder().account_address(address).build();
 
-      LoadContractWithBlockQuery loadContractWithBlockQuery =
-          LoadContractWithBlockQuery.builder().id(fullBlock).function(loadContractQuery).build();
+    LoadContractWithBlockQuery loadContractWithBlockQuery =
+        LoadContractWithBlockQuery.builder().id(fullBlock).function(loadContractQuery).build();
 
-      String result = syncAndRead(gson.toJson(loadContractWithBlockQuery));
+    String result = syncAndRead(gson.toJson(loadContractWithBlockQuery));
 
-      return gson.fromJson(result, LoadContract.class).getId();
-    }
+    return gson.fromJson(result, LoadContract.class).getId();
   }
 
   /**
@@ -1111,21 +1291,19 @@ public class Tonlib {
    * @return contract's id
    */
   public long loadContract(AccountAddressOnly address, BlockIdExt blockId) {
-    synchronized (gson) {
-      if (StringUtils.isEmpty(blockId.getRoot_hash())) {
-        blockId = lookupBlock(blockId.getSeqno(), blockId.getWorkchain(), blockId.getShard(), 0);
-      }
+    if (StringUtils.isEmpty(blockId.getRoot_hash())) {
+      blockId = lookupBlock(blockId.getSeqno(), blockId.getWorkchain(), blockId.getShard(), 0);
+    }
 
-      LoadContractQuery loadContractQuery =
-          LoadContractQuery.builder().account_address(address).build();
+    LoadContractQuery loadContractQuery =
+        LoadContractQuery.builder().account_address(address).build();
 
-      LoadContractWithBlockQuery loadContractWithBlockQuery =
-          LoadContractWithBlockQuery.builder().id(blockId).function(loadContractQuery).build();
+    LoadContractWithBlockQuery loadContractWithBlockQuery =
+        LoadContractWithBlockQuery.builder().id(blockId).function(loadContractQuery).build();
 
-      String result = syncAndRead(gson.toJson(loadContractWithBlockQuery));
+    String result = syncAndRead(gson.toJson(loadContractWithBlockQuery));
 
-      return gson.fromJson(result, LoadContract.class).getId();
-    }
+    return gson.fromJson(result, LoadContract.class).getId();
   }
 
   public RunResult runMethod(Address contractAddress, String methodName) {
@@ -1175,20 +1353,18 @@ public class Tonlib {
   }
 
   public RunResult runMethod(Address contractAddress, String methodName, Deque<String> stackData) {
-    synchronized (gson) {
-      long contractId =
-          loadContract(
-              AccountAddressOnly.builder()
-                  .account_address(contractAddress.toString(false))
-                  .build());
-      if (contractId == -1) {
-        System.err.println(
-            "cannot load contract "
-                + AccountAddressOnly.builder().account_address(contractAddress.toString(false)));
-        return null;
-      } else {
-        return runMethod(contractId, methodName, stackData);
-      }
+    long contractId =
+        loadContract(
+            AccountAddressOnly.builder()
+                .account_address(contractAddress.toString(false))
+                .build());
+    if (contractId == -1) {
+      System.err.println(
+          "cannot load contract "
+              + AccountAddressOnly.builder().account_address(contractAddress.toString(false)));
+      return null;
+    } else {
+      return runMethod(contractId, methodName, stackData);
     }
   }
 
@@ -1207,61 +1383,210 @@ public class Tonlib {
   }
 
   public RunResult runMethod(Address contractAddress, long methodId, Deque<String> stackData) {
-    synchronized (gson) {
-      long contractId =
-          loadContract(
-              AccountAddressOnly.builder()
-                  .account_address(contractAddress.toString(false))
-                  .build());
-      if (contractId == -1) {
-        System.err.println(
-            "cannot load contract "
-                + AccountAddressOnly.builder().account_address(contractAddress.toString(false)));
-        return null;
-      } else {
-        return runMethod(contractId, methodId, stackData);
-      }
+    long contractId =
+        loadContract(
+            AccountAddressOnly.builder()
+                .account_address(contractAddress.toString(false))
+                .build());
+    if (contractId == -1) {
+      System.err.println(
+          "cannot load contract "
+              + AccountAddressOnly.builder().account_address(contractAddress.toString(false)));
+      return null;
+    } else {
+      return runMethod(contractId, methodId, stackData);
     }
   }
 
   public RunResult runMethod(long contractId, String methodName, Deque<String> stackData) {
-    synchronized (gson) {
-      Deque<TvmStackEntry> stack = null;
-      if (nonNull(stackData)) {
-        stack = ParseRunResult.renderTvmStack(stackData);
-      }
+    Deque<TvmStackEntry> stack = null;
+    if (nonNull(stackData)) {
+      stack = ParseRunResult.renderTvmStack(stackData);
+    }
 
-      RunMethodStrQuery runMethodQuery =
-          RunMethodStrQuery.builder()
-              .id(contractId)
-              .method(MethodString.builder().name(methodName).build())
-              .stack(stack)
-              .build();
+    RunMethodStrQuery runMethodQuery =
+        RunMethodStrQuery.builder()
+            .id(contractId)
+            .method(MethodString.builder().name(methodName).build())
+            .stack(stack)
+            .build();
 
-      String result = syncAndRead(gson.toJson(runMethodQuery));
+    String result = syncAndRead(gson.toJson(runMethodQuery));
 
-      return runResultParser.parse(result);
-    }
+    return runResultParser.parse(result);
   }
 
   public RunResult runMethod(long contractId, long methodId, Deque<String> stackData) {
-    synchronized (gson) {
-      Deque<TvmStackEntry> stack = null;
-      if (nonNull(stackData)) {
-        stack = ParseRunResult.renderTvmStack(stackData);
+    Deque<TvmStackEntry> stack = null;
+    if (nonNull(stackData)) {
+      stack = ParseRunResult.renderTvmStack(stackData);
+    }
+
+    RunMethodIntQuery runMethodQuery =
+        RunMethodIntQuery.builder()
+            .id(contractId)
+            .method(MethodNumber.builder().number(methodId).build())
+            .stack(stack)
+            .build();
+
+    String result = syncAndRead(gson.toJson(runMethodQuery));
+
+    return runResultParser.parse(result);
+  }
+
+  /**
+   * Runs get methods of many contracts concurrently over the async tonlib transport, at most 256
+   * calls at a time.
+   *
+   * @param calls list of GetMethodCall
+   * @return results in the same order, see runMethods(List, int)
+   */
+  public List<RunResult> runMethods(List<GetMethodCall> calls) {
+    return runMethods(calls, 256);
+  }
+
+  /**
+   * Runs get methods of many contracts concurrently over the async tonlib transport. smc.load is
+   * sent once per address and block, calls to the same contract reuse its id. Every query fails
+   * after receiveTimeout * receiveRetryTimes seconds, calls failed on lite-server or without
+   * response are sent once more.
+   *
+   * @param calls list of GetMethodCall
+   * @param parallelism max number of calls in flight
+   * @return results in the same order, null if contract cannot be loaded or the call failed
+   */
+  public List<RunResult> runMethods(List<GetMethodCall> calls, int parallelism) {
+    long timeoutMs = (long) (receiveTimeout * receiveRetryTimes * 1000);
+    Map<String, BlockIdExt> blocks = new HashMap<>();
+    RunResult[] results = new RunResult[calls.size()];
+    List<Integer> indexes = new ArrayList<>(calls.size());
+    for (int i = 0; i < calls.size(); i++) {
+      indexes.add(i);
+    }
+    List<Integer> failed = runMethods(calls, indexes, parallelism, timeoutMs, blocks, results);
+    if (!failed.isEmpty()) {
+      log.info("runMethods: {} of {} calls failed, sending them once more", failed.size(), calls.size());
+      failed = runMethods(calls, failed, parallelism, timeoutMs, blocks, results);
+      for (int i : failed) {
+        log.info("Cannot run get method {}", calls.get(i));
       }
+    }
+    return Arrays.asList(results);
+  }
 
-      RunMethodIntQuery runMethodQuery =
-          RunMethodIntQuery.builder()
-              .id(contractId)
-              .method(MethodNumber.builder().number(methodId).build())
-              .stack(stack)
-              .build();
+  /**
+   * Sends the calls at the given indexes and stores their results.
+   *
+   * @return indexes of failed calls
+   */
+  private List<Integer> runMethods(
+      List<GetMethodCall> calls,
+      List<Integer> indexes,
+      int parallelism,
+      long timeoutMs,
+      Map<String, BlockIdExt> blocks,
+      RunResult[] results) {
+    Map<String, CompletableFuture<Long>> contractIds = new HashMap<>();
+    Semaphore inFlight = new Semaphore(parallelism);
+    List<CompletableFuture<RunResult>> futures = new ArrayList<>(indexes.size());
+
+    for (int index : indexes) {
+      GetMethodCall call = calls.get(index);
+      BlockIdExt blockId = call.getBlockId();
+      String key = call.getAddress().toString(false);
+      if (nonNull(blockId)) {
+        String blockKey = blockId.getWorkchain() + ":" + blockId.getShard() + ":" + blockId.getSeqno();
+        if (StringUtils.isEmpty(blockId.getRoot_hash())) {
+          BlockIdExt shortId = blockId;
+          blockId = blocks.computeIfAbsent(
+              blockKey,
+              k -> lookupBlock(shortId.getSeqno(), shortId.getWorkchain(), shortId.getShard(), 0));
+        }
+        key = key + "@" + blockKey;
+      }
+      // permits are always released, as every query fails after timeoutMs
+      try {
+        inFlight.acquire();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new Error("Interrupted while running get methods");
+      }
+      BlockIdExt block = blockId;
+      CompletableFuture<RunResult> future =
+          contractIds
+              .computeIfAbsent(key, k -> loadContractAsync(call.getAddress(), block))
+              .thenCompose(contractId -> runMethodAsync(contractId, call));
+      future.whenComplete((result, e) -> inFlight.release());
+      futures.add(future);
+    }
+
+    // a call is smc.load and the get method at most, both are sent by now or fail in time
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(2 * timeoutMs);
+    List<Integer> failed = new ArrayList<>();
+    for (int i = 0; i < indexes.size(); i++) {
+      try {
+        results[indexes.get(i)] =
+            futures.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new Error("Interrupted while running get methods");
+      } catch (ExecutionException | TimeoutException e) {
+        failed.add(indexes.get(i));
+      }
+    }
+    return failed;
+  }
 
-      String result = syncAndRead(gson.toJson(runMethodQuery));
+  private CompletableFuture<Long> loadContractAsync(Address address, BlockIdExt blockId) {
+    LoadContractQuery loadContractQuery =
+        LoadContractQuery.builder()
+            .account_address(
+                AccountAddressOnly.builder().account_address(address.toString(false)).build())
+            .build();
+    ExtraQuery query =
+        isNull(blockId)
+            ? loadContractQuery
+            : LoadContractWithBlockQuery.builder().id(blockId).function(loadContractQuery).build();
+
+    return executeAsync(query)
+        .thenApply(
+            result -> {
+              if (TonlibResponse.isError(result)) {
+                throw new Error("Cannot load contract " + address.toString(false) + ", " + result);
+              }
+              return gson.fromJson(result, LoadContract.class).getId();
+            });
+  }
 
-      return runResultParser.parse(result);
+  private CompletableFuture<RunResult> runMethodAsync(long contractId, GetMethodCall call) {
+    if (contractId == -1) {
+      return CompletableFuture.completedFuture(null);
     }
+    Deque<TvmStackEntry> stack = null;
+    if (nonNull(call.getStackData())) {
+      stack = ParseRunResult.renderTvmStack(call.getStackData());
+    }
+    ExtraQuery query =
+        nonNull(call.getMethodName())
+            ? RunMethodStrQuery.builder()
+                .id(contractId)
+                .method(MethodString.builder().name(call.getMethodName()).build())
+                .stack(stack)
+                .build()
+            : RunMethodIntQuery.builder()
+                .id(contractId)
+                .method(MethodNumber.builder().number(call.getMethodId()).build())
+                .stack(stack)
+                .build();
+
+    return executeAsync(query)
+        .thenApply(
+            result -> {
+              if (TonlibResponse.isError(result)) {
+                throw new Error("Cannot run get method, " + result);
+              }
+              return runResultParser.parse(result);
+            });
   }
 
   /**
@@ -1320,20 +1645,18 @@ public class Tonlib {
    * @return ExtMessageInfo In case of error might contain error code and message inside
    */
   public ExtMessageInfo sendRawMessage(String serializedBoc) {
-    synchronized (gson) {
-      SendRawMessageQuery sendMessageQuery =
-          SendRawMessageQuery.builder().body(serializedBoc).build();
+    SendRawMessageQuery sendMessageQuery =
+        SendRawMessageQuery.builder().body(serializedBoc).build();
 
-      String result = syncAndRead(gson.toJson(sendMessageQuery));
+    String result = syncAndRead(gson.toJson(sendMessageQuery));
 
-      if ((isNull(result)) || (result.contains("@type") && result.contains("error"))) {
-        TonlibError error = gson.fromJson(result, TonlibError.class);
-        return ExtMessageInfo.builder().error(error).build();
-      } else {
-        ExtMessageInfo extMessageInfo = gson.fromJson(result, ExtMessageInfo.class);
-        extMessageInfo.setError(TonlibError.builder().code(0).build());
-        return extMessageInfo;
-      }
+    if (isNull(result) || TonlibResponse.isError(result)) {
+      TonlibError error = gson.fromJson(result, TonlibError.class);
+      return ExtMessageInfo.builder().error(error).build();
+    } else {
+      ExtMessageInfo extMessageInfo = gson.fromJson(result, ExtMessageInfo.class);
+      extMessageInfo.setError(TonlibError.builder().code(0).build());
+      return extMessageInfo;
     }
   }
 
@@ -1345,17 +1668,15 @@ public class Tonlib {
       boolean ignoreChksig) {
     QueryInfo queryInfo = createQuery(destinationAddress, body, initCode, initData);
 
-    synchronized (gson) {
-      EstimateFeesQuery estimateFeesQuery =
-          EstimateFeesQuery.builder()
-              .queryId(queryInfo.getId())
-              .ignore_chksig(ignoreChksig)
-              .build();
+    EstimateFeesQuery estimateFeesQuery =
+        EstimateFeesQuery.builder()
+            .queryId(queryInfo.getId())
+            .ignore_chksig(ignoreChksig)
+            .build();
 
-      String result = syncAndRead(gson.toJson(estimateFeesQuery));
+    String result = syncAndRead(gson.toJson(estimateFeesQuery));
 
-      return gson.fromJson(result, QueryFees.class);
-    }
+    return gson.fromJson(result, QueryFees.class);
   }
 
   public QueryFees estimateFees(String destinationAddress, String body) {
@@ -1373,22 +1694,20 @@ public class Tonlib {
    */
   public QueryInfo createQuery(
       String destinationAddress, String body, String initCode, String initData) {
-    synchronized (gson) {
-      CreateQuery createQuery =
-          CreateQuery.builder()
-              .init_code(initCode)
-              .init_data(initData)
-              .body(body)
-              .destination(Destination.builder().account_address(destinationAddress).build())
-              .build();
+    CreateQuery createQuery =
+        CreateQuery.builder()
+            .init_code(initCode)
+            .init_data(initData)
+            .body(body)
+            .destination(Destination.builder().account_address(destinationAddress).build())
+            .build();
 
-      String result = syncAndRead(gson.toJson(createQuery));
+    String result = syncAndRead(gson.toJson(createQuery));
 
-      if (result.contains("@type") && result.contains("error")) {
-        return QueryInfo.builder().id(-1).build();
-      } else {
-        return gson.fromJson(result, QueryInfo.class);
-      }
+    if (TonlibResponse.isError(result)) {
+      return QueryInfo.builder().id(-1).build();
+    } else {
+      return gson.fromJson(result, QueryInfo.class);
     }
   }
 
@@ -1399,25 +1718,23 @@ public class Tonlib {
    * @return true if query was sent without errors
    */
   public boolean sendQuery(QueryInfo queryInfo) {
-    synchronized (gson) {
-      SendQuery createQuery = SendQuery.builder().id(queryInfo.getId()).build();
+    SendQuery createQuery = SendQuery.builder().id(queryInfo.getId()).build();
 
-      String result = syncAndRead(gson.toJson(createQuery));
+    String result = syncAndRead(gson.toJson(createQuery));
 
-      if (isNull(result)) {
-        return false;
-      }
+    if (isNull(result)) {
+      return false;
+    }
 
-      if (result.contains("@type") && result.contains("error")) {
+    if (TonlibResponse.isError(result)) {
+      return false;
+    } else {
+      try {
+        Ok ok = gson.fromJson(result, Ok.class);
+        log.info(ok.toString());
+        return true;
+      } catch (Exception e) {
         return false;
-      } else {
-        try {
-          Ok ok = gson.fromJson(result, Ok.class);
-          log.info(ok.toString());
-          return true;
-        } catch (Exception e) {
-          return false;
-        }
       }
     }
   }
@@ -1438,29 +1755,27 @@ public class Tonlib {
    */
   public boolean createAndSendMessage(
       String destinationAddress, String body, String initialAccountState) {
-    synchronized (gson) {
-      CreateAndSendRawMessageQuery createAndSendRawMessageQuery =
-          CreateAndSendRawMessageQuery.builder()
-              .destination(AccountAddressOnly.builder().account_address(destinationAddress).build())
-              .initial_account_state(initialAccountState)
-              .data(body)
-              .build();
+    CreateAndSendRawMessageQuery createAndSendRawMessageQuery =
+        CreateAndSendRawMessageQuery.builder()
+            .destination(AccountAddressOnly.builder().account_address(destinationAddress).build())
+            .initial_account_state(initialAccountState)
+            .data(body)
+            .build();
 
-      String result = syncAndRead(gson.toJson(createAndSendRawMessageQuery));
+    String result = syncAndRead(gson.toJson(createAndSendRawMessageQuery));
 
-      if (isNull(result)) {
-        return false;
-      }
-      if (result.contains("@type") && result.contains("error")) {
+    if (isNull(result)) {
+      return false;
+    }
+    if (TonlibResponse.isError(result)) {
+      return false;
+    } else {
+      try {
+        Ok ok = gson.fromJson(result, Ok.class);
+        log.info(ok.toString());
+        return true;
+      } catch (Exception e) {
         return false;
-      } else {
-        try {
-          Ok ok = gson.fromJson(result, Ok.class);
-          log.info(ok.toString());
-          return true;
-        } catch (Exception e) {
-          return false;
-        }
       }
     }
   }
@@ -1545,9 +1860,7 @@ public class Tonlib {
             .try_decode_message(false)
             .build();
 
-    Utils.disableNativeOutput();
-    String result = syncAndRead(gson.toJson(getRawTransactionsQuery));
-    Utils.enableNativeOutput();
+    String result = syncAndRead(gson.toJson(getRawTransactionsQuery), true);
     RawTransactions res = gson.fromJson(result, RawTransactions.class);
     List<RawTransaction> t = res.getTransactions();
     if (t.size() >= 1) {
@@ -1630,52 +1943,112 @@ public class Tonlib {
    * @return RunResult
    */
   public SmcLibraryResult getLibraries(List<String> librariesHashes) {
-    synchronized (gson) {
-      GetLibrariesQuery getLibrariesQuery =
-          GetLibrariesQuery.builder().library_list(librariesHashes).build();
+    GetLibrariesQuery getLibrariesQuery =
+        GetLibrariesQuery.builder().library_list(librariesHashes).build();
 
-      String result = syncAndRead(gson.toJson(getLibrariesQuery));
-      return libraryResultParser.parse(result);
-    }
+    String result = syncAndRead(gson.toJson(getLibrariesQuery), true);
+    return libraryResultParser.parse(result);
   }
 
   public boolean isDeployed(Address address) {
     return StringUtils.isNotEmpty(this.getRawAccountState(address).getCode());
   }
 
+  /**
+   * Blocks until the account gets code, see AccountWatcher
+   *
+   * @param address Address
+   * @param timeoutSeconds int
+   */
   public void waitForDeployment(Address address, int timeoutSeconds) {
     log.info(
         "Waiting for deployment (up to {}s) - {} ({})",
         timeoutSeconds,
         testnet ? address.toBounceableTestnet() : address.toBounceable(),
         address.toRaw());
-    int i = 0;
-    do {
-      if (++i * 2 >= timeoutSeconds) {
-        throw new Error("Can't deploy contract within specified timeout.");
-      }
-      Utils.sleep(2);
-    } while (!isDeployed(address));
+    await(
+        getAccountWatcher().waitForDeployment(address),
+        timeoutSeconds,
+        "Can't deploy contract within specified timeout.");
   }
 
+  /**
+   * Blocks until balance of the account changes, see AccountWatcher
+   *
+   * @param address Address
+   * @param timeoutSeconds int
+   */
   public void waitForBalanceChange(Address address, int timeoutSeconds) {
     log.info(
         "Waiting for balance change (up to {}s) - {} ({})",
         timeoutSeconds,
         testnet ? address.toBounceableTestnet() : address.toBounceable(),
         address.toRaw());
-    BigInteger initialBalance = getAccountBalance(address);
-    int i = 0;
-    do {
-      if (++i * 2 >= timeoutSeconds) {
-        throw new Error(
-            "Balance of " + address.toRaw() + "was not changed within specified timeout.");
+    await(
+        getAccountWatcher().waitForBalanceChange(address, getAccountBalance(address)),
+        timeoutSeconds,
+        "Balance of " + address.toRaw() + " was not changed within specified timeout.");
+  }
+
+  /**
+   * Blocks until the balance read by balance supplier changes, e.g. jetton balance of a jetton
+   * wallet. The supplier is called again only when the account has a new transaction.
+   *
+   * @param address Address
+   * @param balance reads current balance
+   * @param timeoutSeconds int
+   */
+  public void waitForBalanceChange(Address address, Supplier<BigInteger> balance, int timeoutSeconds) {
+    log.info(
+        "Waiting for balance change (up to {}s) - {} ({})",
+        timeoutSeconds,
+        testnet ? address.toBounceableTestnet() : address.toBounceable(),
+        address.toRaw());
+    await(
+        getAccountWatcher().waitForValueChange(address, balance),
+        timeoutSeconds,
+        "Balance of " + address.toRaw() + " was not changed within specified timeout.");
+  }
+
+  /**
+   * Shared watcher of accounts, created on first use and closed by destroy(). It is kept when
+   * tonlib switches to another lite-server.
+   *
+   * @return AccountWatcher
+   */
+  public AccountWatcher getAccountWatcher() {
+    if (isNull(accountWatcher)) {
+      synchronized (this) {
+        if (isNull(accountWatcher)) {
+          accountWatcher = AccountWatcher.builder().tonlib(this).build();
+        }
       }
-      Utils.sleep(2);
-    } while (initialBalance.equals(getAccountBalance(address)));
+    }
+    return accountWatcher;
+  }
+
+  private static void await(CompletableFuture<?> future, int timeoutSeconds, String timeoutMessage) {
+    try {
+      future.get(timeoutSeconds, TimeUnit.SECONDS);
+    } catch (TimeoutException e) {
+      future.cancel(false);
+      throw new Error(timeoutMessage);
+    } catch (InterruptedException e) {
+      future.cancel(false);
+      Thread.currentThread().interrupt();
+      throw new Error("Interrupted while waiting");
+    } catch (ExecutionException e) {
+      throw new Error(e.getCause().getMessage());
+    }
   }
 
+
   public boolean isTestnet() {
     return testnet;
   }
+
+  /** lite-servers of the original global config */
+  LiteServers[] getLiteServers() {
+    return originalGlobalConfigInternal.getLiteservers();
+  }
 }
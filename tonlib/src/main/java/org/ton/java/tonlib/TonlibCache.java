@@ -0,0 +1,32 @@
+package org.ton.java.tonlib;
+
+/**
+ * Cache of raw tonlib responses, keyed by the query json without @extra.
+ * <p>
+ * Tonlib puts there responses that never change for the given block or lt with ttl 0, e.g.
+ * lookupBlock(), getBlockHeader(), getBlockTransactions(), getRawTransactions() and account
+ * states at a block. Responses of queries against the latest state (getLast(), account state
+ * without block) are put only if Tonlib.volatileTtlMs is positive, with that ttl.
+ * Implementations must be thread-safe.
+ */
+public interface TonlibCache {
+
+    /**
+     * @return cached response or null
+     */
+    String get(String key);
+
+    /**
+     * @param ttlMs time to live in milliseconds, 0 - does not expire
+     */
+    void put(String key, String response, long ttlMs);
+
+    long getHits();
+
+    long getMisses();
+
+    default double getHitRate() {
+        long total = getHits() + getMisses();
+        return total == 0 ? 0 : (double) getHits() / total;
+    }
+}
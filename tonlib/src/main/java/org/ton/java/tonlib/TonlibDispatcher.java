@@ -0,0 +1,220 @@
+package org.ton.java.tonlib;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Multiplexes queries over one tonlib json client.
+ * <p>
+ * Queries are sent right away from the calling thread, a single receiver thread drains
+ * tonlib_client_json_receive() and completes the future of the query with the same @extra.
+ * Responses without @extra (updates, e.g. updateSyncState) are passed to the update handler.
+ */
+@Slf4j
+public class TonlibDispatcher implements AutoCloseable {
+
+    /**
+     * In seconds, receiver checks if dispatcher is closed at least that often
+     */
+    private static final double RECEIVE_TIMEOUT = 1.0;
+
+    /**
+     * In milliseconds, pauses of receiver after errors grow up to this value
+     */
+    private static final long MAX_ERROR_PAUSE = 1000;
+
+    /**
+     * Fails queries sent with a timeout, shared by all dispatchers
+     */
+    private static final ScheduledThreadPoolExecutor timeouts = new ScheduledThreadPoolExecutor(1, r -> {
+        Thread thread = new Thread(r, "tonlib-query-timeout");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        timeouts.setRemoveOnCancelPolicy(true);
+    }
+
+    private final TonlibJsonI tonlibJson;
+    private final long tonlib;
+    private final Consumer<String> updateHandler;
+    private final Map<String, CompletableFuture<String>> pending = new ConcurrentHashMap<>();
+    private final Thread receiver;
+
+    /**
+     * Held for reading while a query is passed to tonlib, so that close() returns only when tonlib
+     * client is not used anymore and can be destroyed.
+     */
+    private final ReadWriteLock sendLock = new ReentrantReadWriteLock();
+
+    private volatile boolean closed;
+
+    /**
+     * @param tonlibJson    loaded tonlibjson library
+     * @param tonlib        client created by tonlib_client_json_create()
+     * @param updateHandler receives responses without @extra, can be null
+     */
+    public TonlibDispatcher(TonlibJsonI tonlibJson, long tonlib, Consumer<String> updateHandler) {
+        this.tonlibJson = tonlibJson;
+        this.tonlib = tonlib;
+        this.updateHandler = updateHandler;
+        this.receiver = new Thread(this::receiveLoop, "tonlib-receiver-" + tonlib);
+        this.receiver.setDaemon(true);
+        this.receiver.start();
+    }
+
+    /**
+     * Sends the query, returned future is completed with the response having the same @extra,
+     * including tonlib errors.
+     *
+     * @param query json with unique @extra, see ExtraQuery
+     */
+    public CompletableFuture<String> send(String query) {
+        String extra = extraOf(query);
+        if (isNull(extra)) {
+            throw new IllegalArgumentException("Query does not contain @extra");
+        }
+        CompletableFuture<String> future = new CompletableFuture<>();
+        sendLock.readLock().lock();
+        try {
+            if (closed) {
+                future.completeExceptionally(new IllegalStateException("Tonlib client is closed"));
+                return future;
+            }
+            if (nonNull(pending.putIfAbsent(extra, future))) {
+                throw new IllegalArgumentException("Query with @extra " + extra + " is already in progress");
+            }
+            tonlibJson.tonlib_client_json_send(tonlib, query);
+        } finally {
+            sendLock.readLock().unlock();
+        }
+        return future;
+    }
+
+    /**
+     * Same as send(query), but the future fails with TimeoutException and the query is not waited
+     * for anymore if there is no response within timeoutMs.
+     *
+     * @param timeoutMs zero or negative - wait without limit
+     */
+    public CompletableFuture<String> send(String query, long timeoutMs) {
+        CompletableFuture<String> future = send(query);
+        if (timeoutMs > 0 && !future.isDone()) {
+            String extra = extraOf(query);
+            ScheduledFuture<?> timeout = timeouts.schedule(() -> {
+                if (pending.remove(extra, future)) {
+                    future.completeExceptionally(
+                            new TimeoutException("No response to query " + extra + " within " + timeoutMs + " ms"));
+                }
+            }, timeoutMs, TimeUnit.MILLISECONDS);
+            future.whenComplete((response, e) -> timeout.cancel(false));
+        }
+        return future;
+    }
+
+    /**
+     * Stops waiting for the response of the query, e.g. after timeout. Its future fails with
+     * CancellationException.
+     */
+    public void cancel(String extra) {
+        CompletableFuture<String> future = pending.remove(extra);
+        if (nonNull(future)) {
+            future.completeExceptionally(new CancellationException("Query " + extra + " is cancelled"));
+        }
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Stops receiver thread and fails pending queries. Tonlib client itself is not destroyed, but it
+     * is not used by the dispatcher anymore once close() returns.
+     */
+    @Override
+    public void close() {
+        sendLock.writeLock().lock();
+        try {
+            closed = true;
+        } finally {
+            sendLock.writeLock().unlock();
+        }
+        if (Thread.currentThread() != receiver) {
+            try {
+                receiver.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        for (String extra : pending.keySet()) {
+            CompletableFuture<String> future = pending.remove(extra);
+            if (nonNull(future)) {
+                future.completeExceptionally(new IllegalStateException("Tonlib client is closed"));
+            }
+        }
+    }
+
+    static String extraOf(String json) {
+        return TonlibResponse.extraOf(json);
+    }
+
+    private void receiveLoop() {
+        long errorPause = 0;
+        while (!closed) {
+            String response;
+            try {
+                response = tonlibJson.tonlib_client_json_receive(tonlib, RECEIVE_TIMEOUT);
+                errorPause = 0;
+            } catch (Throwable e) {
+                log.error("Error in tonlib receive loop: {}", e.getMessage());
+                // do not spin if tonlib keeps failing
+                errorPause = Math.min(MAX_ERROR_PAUSE, Math.max(10, errorPause * 2));
+                try {
+                    Thread.sleep(errorPause);
+                } catch (InterruptedException ie) {
+                    return;
+                }
+                continue;
+            }
+            if (isNull(response)) {
+                continue;
+            }
+            dispatch(response);
+        }
+    }
+
+    void dispatch(String response) {
+        String extra = extraOf(response);
+        if (isNull(extra)) {
+            if (nonNull(updateHandler)) {
+                updateHandler.accept(response);
+            }
+            return;
+        }
+        CompletableFuture<String> future = pending.remove(extra);
+        if (isNull(future)) {
+            log.debug("Response to unknown or cancelled query {}", extra);
+            return;
+        }
+        future.complete(response);
+    }
+}
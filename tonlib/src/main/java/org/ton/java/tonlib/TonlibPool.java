@@ -0,0 +1,495 @@
+package org.ton.java.tonlib;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.ton.java.tonlib.types.VerbosityLevel;
+import org.ton.java.tonlib.types.globalconfig.LiteServers;
+import org.ton.java.utils.ClientMetrics;
+import org.ton.java.utils.Utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Several Tonlib instances, each pinned to its own lite-server.
+ * <p>
+ * Every call goes to the member with the lowest score, where score grows with EWMA latency,
+ * number of calls in flight and EWMA error rate. After failureThreshold consecutive failures
+ * the member is ejected for openDurationMs, then the next call is a probe that decides if it is
+ * re-admitted, other calls skip the member while the probe is running.
+ * Failed calls are repeated on other members. Calls made by read() are also hedged: if there
+ * is no result after hedgeDelayMs, the same call is started on the next best member and the
+ * first result wins, so use read() only for idempotent queries.
+ * <p>
+ * Example:
+ * <pre>
+ * TonlibPool pool = TonlibPool.builder().testnet(true).size(4).build();
+ * MasterChainInfo last = pool.read(Tonlib::getLast);
+ * ExtMessageInfo info = pool.execute(tonlib -&gt; tonlib.sendRawMessage(boc));
+ * </pre>
+ */
+@Slf4j
+@Builder
+@Getter
+public class TonlibPool implements AutoCloseable {
+
+    private static final double EWMA_ALPHA = 0.2;
+
+    /**
+     * Same as in Tonlib, passed to every member
+     */
+    String pathToTonlibSharedLib;
+
+    String pathToGlobalConfig;
+    String globalConfigAsString;
+    boolean testnet;
+    VerbosityLevel verbosityLevel;
+    Boolean ignoreCache;
+    int receiveRetryTimes;
+    double receiveTimeout;
+
+    /**
+     * Optional response cache shared by all members, see Tonlib.cache
+     */
+    TonlibCache cache;
+    long volatileTtlMs;
+
+    /**
+     * Optional metrics shared by all members, lite-servers are reported separately
+     */
+    ClientMetrics metrics;
+
+    /**
+     * Indexes of lite-servers in global config to connect to, by default first size lite-servers
+     */
+    List<Integer> liteServerIndexes;
+
+    /**
+     * Number of members when liteServerIndexes is not specified, by default all lite-servers
+     */
+    int size;
+
+    /**
+     * Consecutive failures that eject member, default 3
+     */
+    int failureThreshold;
+
+    /**
+     * How long ejected member does not get calls, default 30 seconds
+     */
+    long openDurationMs;
+
+    /**
+     * Delay before hedged call in read(). By default 0 - three EWMA latencies of the first member,
+     * at least 50 ms. Negative value disables hedging.
+     */
+    long hedgeDelayMs;
+
+    @Getter(AccessLevel.NONE)
+    private List<Member> members;
+
+    @Getter(AccessLevel.NONE)
+    private ExecutorService executor;
+
+    /**
+     * Starts hedged calls, does not run the calls itself
+     */
+    @Getter(AccessLevel.NONE)
+    private ScheduledExecutorService scheduler;
+
+    public static class TonlibPoolBuilder {
+        /**
+         * Sets the given members instead of connecting to lite-servers, e.g. in tests, and creates
+         * executors of the pool.
+         */
+        TonlibPoolBuilder withMembers(List<Member> members) {
+            if (failureThreshold <= 0) {
+                failureThreshold = 3;
+            }
+            if (openDurationMs <= 0) {
+                openDurationMs = 30_000;
+            }
+            List<Integer> indexes = new ArrayList<>();
+            for (Member member : members) {
+                indexes.add(member.liteServerIndex);
+            }
+            this.members = Collections.unmodifiableList(new ArrayList<>(members));
+            this.liteServerIndexes = Collections.unmodifiableList(indexes);
+            this.size = members.size();
+            this.executor =
+                    Executors.newCachedThreadPool(
+                            r -> {
+                                Thread thread = new Thread(r, "tonlib-pool");
+                                thread.setDaemon(true);
+                                return thread;
+                            });
+            ScheduledThreadPoolExecutor scheduler =
+                    new ScheduledThreadPoolExecutor(
+                            1,
+                            r -> {
+                                Thread thread = new Thread(r, "tonlib-pool-hedge");
+                                thread.setDaemon(true);
+                                return thread;
+                            });
+            // hedges of completed calls are cancelled, do not keep them until the delay
+            scheduler.setRemoveOnCancelPolicy(true);
+            this.scheduler = scheduler;
+            return this;
+        }
+    }
+
+    public static TonlibPoolBuilder builder() {
+        return new CustomTonlibPoolBuilder();
+    }
+
+    private static class CustomTonlibPoolBuilder extends TonlibPoolBuilder {
+        @Override
+        public TonlibPool build() {
+            List<Integer> indexes = super.liteServerIndexes;
+            Tonlib first = createTonlib(isNull(indexes) || indexes.isEmpty() ? 0 : indexes.get(0));
+            List<Tonlib> created = new ArrayList<>();
+            created.add(first);
+            try {
+                LiteServers[] liteServers = first.getLiteServers();
+                if (isNull(indexes) || indexes.isEmpty()) {
+                    int size = super.size <= 0 ? liteServers.length : Math.min(super.size, liteServers.length);
+                    indexes = new ArrayList<>();
+                    for (int i = 0; i < size; i++) {
+                        indexes.add(i);
+                    }
+                }
+
+                List<Member> members = new ArrayList<>();
+                for (int i = 0; i < indexes.size(); i++) {
+                    int index = indexes.get(i);
+                    if (index < 0 || index >= liteServers.length) {
+                        throw new IllegalArgumentException("Lite-server index " + index + " is out of range");
+                    }
+                    Tonlib tonlib = first;
+                    if (i > 0) {
+                        tonlib = createTonlib(index);
+                        created.add(tonlib);
+                    }
+                    members.add(new Member(tonlib, index, Utils.int2ip(liteServers[index].getIp())));
+                }
+                withMembers(members);
+                return super.build();
+            } catch (RuntimeException | Error e) {
+                // do not leak native clients and receiver threads of the members created so far
+                for (Tonlib tonlib : created) {
+                    try {
+                        tonlib.destroy();
+                    } catch (Throwable destroyError) {
+                        e.addSuppressed(destroyError);
+                    }
+                }
+                throw e;
+            }
+        }
+
+        private Tonlib createTonlib(int liteServerIndex) {
+            return Tonlib.builder()
+                    .pathToTonlibSharedLib(super.pathToTonlibSharedLib)
+                    .pathToGlobalConfig(super.pathToGlobalConfig)
+                    .globalConfigAsString(super.globalConfigAsString)
+                    .testnet(super.testnet)
+                    .verbosityLevel(super.verbosityLevel)
+                    .ignoreCache(super.ignoreCache)
+                    .receiveRetryTimes(super.receiveRetryTimes)
+                    .receiveTimeout(super.receiveTimeout)
+                    .cache(super.cache)
+                    .volatileTtlMs(super.volatileTtlMs)
+                    .metrics(super.metrics)
+                    .keystoreInMemory(true)
+                    .liteServerIndex(liteServerIndex)
+                    .printInfo(false)
+                    .build();
+        }
+    }
+
+    enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    static class Member {
+        final Tonlib tonlib;
+        final int liteServerIndex;
+        final String ip;
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicBoolean probing = new AtomicBoolean();
+
+        // guarded by this
+        double latencyMs = 100;
+        double errorRate;
+        int consecutiveFailures;
+        long openUntil;
+        long calls;
+        long failures;
+
+        Member(Tonlib tonlib, int liteServerIndex, String ip) {
+            this.tonlib = tonlib;
+            this.liteServerIndex = liteServerIndex;
+            this.ip = ip;
+        }
+
+        synchronized State state(long now) {
+            if (openUntil == 0) {
+                return State.CLOSED;
+            }
+            return now < openUntil ? State.OPEN : State.HALF_OPEN;
+        }
+
+        synchronized double latency() {
+            return latencyMs;
+        }
+
+        synchronized double score() {
+            return (latencyMs + 1) * (inFlight.get() + 1) * (1 + 10 * errorRate);
+        }
+
+        synchronized void success(double elapsedMs) {
+            calls++;
+            latencyMs += EWMA_ALPHA * (elapsedMs - latencyMs);
+            errorRate -= EWMA_ALPHA * errorRate;
+            consecutiveFailures = 0;
+            openUntil = 0;
+        }
+
+        /**
+         * @return true if member was ejected
+         */
+        synchronized boolean failure(int threshold, long openDurationMs) {
+            calls++;
+            failures++;
+            errorRate += EWMA_ALPHA * (1 - errorRate);
+            if (++consecutiveFailures >= threshold || openUntil != 0) {
+                openUntil = System.currentTimeMillis() + openDurationMs;
+                return true;
+            }
+            return false;
+        }
+    }
+
+    @Builder
+    @Getter
+    public static class MemberStats {
+        int liteServerIndex;
+        String ip;
+        String state;
+        double latencyMs;
+        double errorRate;
+        int inFlight;
+        long calls;
+        long failures;
+    }
+
+    /**
+     * Runs the call on the best member, on failure repeats it on other members.
+     */
+    public <T> T execute(Function<Tonlib, T> call) {
+        return await(submit(call, -1));
+    }
+
+    /**
+     * Same as execute(), but also starts the call on the next best member if the first one is slow.
+     * The call should be idempotent.
+     */
+    public <T> T read(Function<Tonlib, T> call) {
+        return await(submit(call, hedgeDelayMs));
+    }
+
+    public <T> CompletableFuture<T> executeAsync(Function<Tonlib, T> call) {
+        return submit(call, -1);
+    }
+
+    public <T> CompletableFuture<T> readAsync(Function<Tonlib, T> call) {
+        return submit(call, hedgeDelayMs);
+    }
+
+    /**
+     * @return Tonlib of the member with the lowest score, e.g. for a series of dependent calls
+     */
+    public Tonlib getTonlib() {
+        return select(Collections.emptySet(), false).tonlib;
+    }
+
+    public List<MemberStats> getStats() {
+        long now = System.currentTimeMillis();
+        List<MemberStats> stats = new ArrayList<>();
+        for (Member member : members) {
+            synchronized (member) {
+                stats.add(
+                        MemberStats.builder()
+                                .liteServerIndex(member.liteServerIndex)
+                                .ip(member.ip)
+                                .state(member.state(now).name())
+                                .latencyMs(member.latencyMs)
+                                .errorRate(member.errorRate)
+                                .inFlight(member.inFlight.get())
+                                .calls(member.calls)
+                                .failures(member.failures)
+                                .build());
+            }
+        }
+        return stats;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        executor.shutdownNow();
+        for (Member member : members) {
+            member.tonlib.destroy();
+        }
+    }
+
+    private <T> CompletableFuture<T> submit(Function<Tonlib, T> call, long hedgeDelay) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Set<Member> tried = ConcurrentHashMap.newKeySet();
+        AtomicInteger running = new AtomicInteger();
+        Member first = select(tried, true);
+        attempt(first, call, result, tried, running);
+
+        if (hedgeDelay >= 0 && members.size() > 1 && !result.isDone()) {
+            long delay = hedgeDelay > 0 ? hedgeDelay : Math.max(50, (long) (3 * first.latency()));
+            ScheduledFuture<?> hedge =
+                    scheduler.schedule(
+                            () -> {
+                                if (result.isDone()) {
+                                    return;
+                                }
+                                Member next = select(tried, true);
+                                if (!tried.contains(next)) {
+                                    log.debug("Hedging slow call on lite-server {}", next.ip);
+                                    attempt(next, call, result, tried, running);
+                                }
+                            },
+                            delay,
+                            TimeUnit.MILLISECONDS);
+            result.whenComplete((value, error) -> hedge.cancel(false));
+        }
+        return result;
+    }
+
+    private <T> void attempt(
+            Member member,
+            Function<Tonlib, T> call,
+            CompletableFuture<T> result,
+            Set<Member> tried,
+            AtomicInteger running) {
+        tried.add(member);
+        running.incrementAndGet();
+        // only the attempt that took the probe of half-open member releases it
+        boolean probe =
+                member.state(System.currentTimeMillis()) == State.HALF_OPEN
+                        && member.probing.compareAndSet(false, true);
+        executor.execute(
+                () -> {
+                    member.inFlight.incrementAndGet();
+                    long start = System.nanoTime();
+                    Throwable error = null;
+                    try {
+                        T value = call.apply(member.tonlib);
+                        member.success((System.nanoTime() - start) / 1e6);
+                        releaseProbe(member, probe);
+                        result.complete(value);
+                    } catch (Throwable e) {
+                        error = e;
+                        if (member.failure(failureThreshold, openDurationMs)) {
+                            log.info("Lite-server {} ({}) is ejected: {}", member.liteServerIndex, member.ip, e.getMessage());
+                        }
+                        releaseProbe(member, probe);
+                        Member next = result.isDone() ? null : select(tried, true);
+                        if (nonNull(next) && !tried.contains(next)) {
+                            attempt(next, call, result, tried, running);
+                        }
+                    } finally {
+                        member.inFlight.decrementAndGet();
+                        // the last running attempt reports the error
+                        if (running.decrementAndGet() == 0 && nonNull(error)) {
+                            result.completeExceptionally(error);
+                        }
+                    }
+                });
+    }
+
+    /**
+     * Lets the next call probe the member, once the result of this probe has updated its state.
+     */
+    private static void releaseProbe(Member member, boolean probe) {
+        if (probe) {
+            member.probing.set(false);
+        }
+    }
+
+    /**
+     * Member with the lowest score that is not ejected and not tried yet, if there is no such
+     * member - the best of the rest. Half-open member without running probe is preferred, so that
+     * it gets the probe call.
+     *
+     * @param probe false to skip half-open members, e.g. for getTonlib() that does not report
+     *              results back
+     */
+    private Member select(Set<Member> tried, boolean probe) {
+        long now = System.currentTimeMillis();
+        Member best = null;
+        double bestScore = Double.MAX_VALUE;
+        Member fallback = null;
+        double fallbackScore = Double.MAX_VALUE;
+        for (Member member : members) {
+            State state = member.state(now);
+            double score = member.score();
+            if (!tried.contains(member) && probe && state == State.HALF_OPEN && !member.probing.get()) {
+                return member;
+            }
+            if (!tried.contains(member) && state == State.CLOSED && score < bestScore) {
+                best = member;
+                bestScore = score;
+            }
+            if (score < fallbackScore) {
+                fallback = member;
+                fallbackScore = score;
+            }
+        }
+        return nonNull(best) ? best : fallback;
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new Error("Interrupted while waiting for tonlib pool");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new Error(cause);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package org.ton.java.tonlib;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Reads the envelope of tonlib json responses without parsing the whole response.
+ * <p>
+ * Tonlib writes @type first and @extra last, so for typical responses both are found after
+ * reading a few dozen chars, regardless of the size of the payload, e.g. raw.transactions with
+ * base64 BoCs. Payload is then parsed once into the target type, BoC fields are kept as base64
+ * strings and decoded only when accessed.
+ */
+public final class TonlibResponse {
+
+    private static final String TYPE = "@type";
+
+    private static final String EXTRA = "\"@extra\":\"";
+
+    private TonlibResponse() {
+    }
+
+    /**
+     * @return value of top level @type or null if json is not an object or has no @type
+     */
+    public static String typeOf(String json) {
+        if (isNull(json)) {
+            return null;
+        }
+        try (JsonReader reader = new JsonReader(new StringReader(json))) {
+            reader.setLenient(true);
+            return readType(reader);
+        } catch (IOException | IllegalStateException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return @type of the query, for withBlock queries @type of the wrapped function
+     */
+    public static String queryTypeOf(String json) {
+        String type = typeOf(json);
+        if (!"withBlock".equals(type)) {
+            return type;
+        }
+        try (JsonReader reader = new JsonReader(new StringReader(json))) {
+            reader.setLenient(true);
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if ("function".equals(reader.nextName())) {
+                    String function = readType(reader);
+                    return isNull(function) ? type : function;
+                }
+                reader.skipValue();
+            }
+        } catch (IOException | IllegalStateException e) {
+            // fall through
+        }
+        return type;
+    }
+
+    /**
+     * Reads the object at current position up to its @type.
+     */
+    private static String readType(JsonReader reader) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            return null;
+        }
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (TYPE.equals(reader.nextName()) && reader.peek() == JsonToken.STRING) {
+                return reader.nextString();
+            }
+            reader.skipValue();
+        }
+        return null;
+    }
+
+    /**
+     * @return true if the response is tonlib error, i.e. {"@type":"error",...}
+     */
+    public static boolean isError(String json) {
+        return "error".equals(typeOf(json));
+    }
+
+    /**
+     * Value of top level @extra, tonlib puts it at the end of the object.
+     *
+     * @return @extra or null if absent
+     */
+    public static String extraOf(String json) {
+        int start = json.lastIndexOf(EXTRA);
+        if (start == -1) {
+            return null;
+        }
+        start += EXTRA.length();
+        int end = json.indexOf('"', start);
+        return end == -1 ? null : json.substring(start, end);
+    }
+}
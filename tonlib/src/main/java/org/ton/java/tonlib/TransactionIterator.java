@@ -0,0 +1,159 @@
+package org.ton.java.tonlib;
+
+import org.ton.java.tonlib.types.LastTransactionId;
+import org.ton.java.tonlib.types.RawTransaction;
+import org.ton.java.tonlib.types.RawTransactions;
+
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Iterates over account transactions from the newest to the oldest, fetching pages on demand.
+ * <p>
+ * When a page is received, the next one is requested in background while the caller processes
+ * the current page, so at most two pages are held in memory. Iteration stops at the end of
+ * history or at the first transaction beyond afterLt or sinceUtime, the page after it is not
+ * requested.
+ */
+public class TransactionIterator implements Iterator<RawTransaction>, AutoCloseable {
+
+    private static final ExecutorService PREFETCH = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "tonlib-tx-prefetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Function<LastTransactionId, RawTransactions> pageLoader;
+    private final BigInteger afterLt;
+    private final long sinceUtime;
+
+    private Iterator<RawTransaction> page = Collections.emptyIterator();
+    private CompletableFuture<RawTransactions> nextPage;
+    private RawTransaction nextTx;
+    private boolean started;
+    private boolean done;
+
+    /**
+     * @param pageLoader returns page of transactions starting from given transaction id, from the
+     *                   last transaction of the account if id is null
+     * @param afterLt    transactions with lt less or equal to afterLt are not returned, e.g. last
+     *                   processed transaction, null - no limit
+     * @param sinceUtime transactions with utime less than sinceUtime are not returned, 0 - no limit
+     */
+    public TransactionIterator(Function<LastTransactionId, RawTransactions> pageLoader,
+                               BigInteger afterLt, long sinceUtime) {
+        this.pageLoader = pageLoader;
+        this.afterLt = afterLt;
+        this.sinceUtime = sinceUtime;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nonNull(nextTx)) {
+            return true;
+        }
+        if (done) {
+            return false;
+        }
+        if (!started) {
+            started = true;
+            nextPage = fetch(null);
+        }
+        while (!page.hasNext()) {
+            if (isNull(nextPage)) {
+                done = true;
+                return false;
+            }
+            RawTransactions rawTransactions = join(nextPage);
+            nextPage = null;
+            List<RawTransaction> transactions = rawTransactions.getTransactions();
+            if (isNull(transactions) || transactions.isEmpty()) {
+                done = true;
+                return false;
+            }
+            LastTransactionId previous = rawTransactions.getPrevious_transaction_id();
+            if (nonNull(previous) && nonNull(previous.getLt()) && previous.getLt().signum() != 0
+                    && !isBeyondLimit(transactions.get(transactions.size() - 1))) {
+                nextPage = fetch(previous);
+            }
+            page = transactions.iterator();
+        }
+        RawTransaction tx = page.next();
+        if (isBeyondLimit(tx)) {
+            close();
+            return false;
+        }
+        nextTx = tx;
+        return true;
+    }
+
+    @Override
+    public RawTransaction next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        RawTransaction tx = nextTx;
+        nextTx = null;
+        return tx;
+    }
+
+    /**
+     * Sequential stream of remaining transactions, closing the stream stops prefetching.
+     */
+    public Stream<RawTransaction> stream() {
+        return StreamSupport.stream(
+                        Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(this::close);
+    }
+
+    /**
+     * Stops iteration, the page being prefetched is discarded.
+     */
+    @Override
+    public void close() {
+        done = true;
+        nextTx = null;
+        page = Collections.emptyIterator();
+        if (nonNull(nextPage)) {
+            nextPage.cancel(false);
+            nextPage = null;
+        }
+    }
+
+    private boolean isBeyondLimit(RawTransaction tx) {
+        if (nonNull(afterLt) && tx.getTransaction_id().getLt().compareTo(afterLt) <= 0) {
+            return true;
+        }
+        return sinceUtime > 0 && tx.getUtime() < sinceUtime;
+    }
+
+    private CompletableFuture<RawTransactions> fetch(LastTransactionId from) {
+        return CompletableFuture.supplyAsync(() -> pageLoader.apply(from), PREFETCH);
+    }
+
+    private static RawTransactions join(CompletableFuture<RawTransactions> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new Error("Cannot get transactions: " + e.getCause().getMessage());
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package org.ton.java.tonlib;
+
+import org.ton.java.tonlib.types.globalconfig.TonGlobalConfig;
+import org.ton.java.utils.ClientMetrics;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Tonlib transport answering queries with the given function instead of lite-servers. Function
+ * returns response json without @extra, or null to leave the query unanswered.
+ */
+class FakeTonlibJson implements TonlibJsonI {
+    private final BlockingQueue<String> responses = new LinkedBlockingQueue<>();
+    private final Function<String, String> responder;
+    final List<String> sent = new CopyOnWriteArrayList<>();
+
+    FakeTonlibJson(Function<String, String> responder) {
+        this.responder = responder;
+    }
+
+    Tonlib tonlib() {
+        return builder().build();
+    }
+
+    /**
+     * @return builder of Tonlib using this transport, without loading native tonlib
+     */
+    Tonlib.TonlibBuilder builder() {
+        return builder(new TonlibDispatcher(this, 1, null));
+    }
+
+    /**
+     * @param dispatcher the only dispatcher receiving from this transport
+     */
+    Tonlib.TonlibBuilder builder(TonlibDispatcher dispatcher) {
+        return new Tonlib.TonlibBuilder()
+                .tonlibJson(this)
+                .tonlib(1)
+                .dispatcher(dispatcher)
+                .originalGlobalConfigInternal(TonGlobalConfig.builder().build())
+                .usingAllLiteServers(false)
+                .receiveTimeout(0.2)
+                .receiveRetryTimes(1)
+                .configTtlMs(60000)
+                .metrics(ClientMetrics.NOOP)
+                .runResultParser(new RunResultParser())
+                .libraryResultParser(new LibraryResultParser());
+    }
+
+    /**
+     * Answers query later, e.g. after the test released a waiting response
+     */
+    void answer(String query, String response) {
+        responses.add(withExtra(response, TonlibDispatcher.extraOf(query)));
+    }
+
+    int count(String type) {
+        return (int) sent.stream().filter(q -> q.contains("\"@type\":\"" + type + "\"")).count();
+    }
+
+    @Override
+    public long tonlib_client_json_create() {
+        return 1;
+    }
+
+    @Override
+    public void tonlib_client_json_destroy(long tonlib) {
+    }
+
+    @Override
+    public String tonlib_client_json_execute(long tonlib, String query) {
+        return null;
+    }
+
+    @Override
+    public String tonlib_client_json_receive(long tonlib, Double timeout) {
+        try {
+            // short poll, so that closing the dispatcher does not wait for the whole timeout
+            return responses.poll(Math.min((long) (timeout * 1000), 50), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    @Override
+    public void tonlib_client_json_send(long tonlib, String query) {
+        sent.add(query);
+        String response = responder.apply(query);
+        if (nonNull(response)) {
+            answer(query, response);
+        }
+    }
+
+    private static String withExtra(String response, String extra) {
+        return response.substring(0, response.lastIndexOf('}')) + ",\"@extra\":\"" + extra + "\"}";
+    }
+}
@@ -0,0 +1,246 @@
+package org.ton.java.tonlib;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.ton.java.address.Address;
+import org.ton.java.tonlib.types.RawAccountState;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static java.util.Objects.isNull;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Slf4j
+@RunWith(JUnit4.class)
+public class TestAccountWatcher {
+
+    private static final Address SILENT = Address.of(String.format("0:%064x", 0));
+
+    private static Address address(int i) {
+        return Address.of(String.format("0:%064x", i));
+    }
+
+    /**
+     * Every getLast() returns a new masterchain block, accounts are in the states set by the test.
+     * Accounts in silent, e.g. at SILENT address, are never answered.
+     */
+    private static class Blockchain implements Function<String, String> {
+        final AtomicLong seqno = new AtomicLong();
+        final Map<String, String> accounts = new ConcurrentHashMap<>();
+        final Map<String, AtomicLong> queries = new ConcurrentHashMap<>();
+        final Set<String> silent = ConcurrentHashMap.newKeySet();
+
+        Blockchain() {
+            silent.add(SILENT.toString(false));
+        }
+
+        void set(Address address, long balance, String code, long lt) {
+            accounts.put(address.toString(false), "{\"@type\":\"raw.fullAccountState\",\"balance\":\"" + balance
+                    + "\",\"code\":\"" + code + "\",\"last_transaction_id\":{\"@type\":\"internal.transactionId\",\"lt\":\""
+                    + lt + "\",\"hash\":\"\"}}");
+        }
+
+        long queries(Address address) {
+            return queries.computeIfAbsent(address.toString(false), k -> new AtomicLong()).get();
+        }
+
+        @Override
+        public String apply(String query) {
+            if (query.contains("\"blocks.getMasterchainInfo\"")) {
+                return "{\"@type\":\"blocks.masterchainInfo\",\"last\":{\"@type\":\"ton.blockIdExt\",\"workchain\":-1,"
+                        + "\"shard\":-9223372036854775808,\"seqno\":" + seqno.incrementAndGet()
+                        + ",\"root_hash\":\"\",\"file_hash\":\"\"}}";
+            }
+            if (query.contains("\"raw.getAccountState\"")) {
+                String raw = query.replaceAll(".*\"account_address\":\"([^\"]+)\".*", "$1");
+                queries.computeIfAbsent(raw, k -> new AtomicLong()).incrementAndGet();
+                if (silent.contains(raw)) {
+                    return null;
+                }
+                String state = accounts.get(raw);
+                return isNull(state) ? "{\"@type\":\"raw.fullAccountState\",\"balance\":\"-1\",\"code\":\"\"}" : state;
+            }
+            return null;
+        }
+    }
+
+    @Test
+    public void testWaitForDeployment() throws Exception {
+        Blockchain blockchain = new Blockchain();
+        FakeTonlibJson tonlibJson = new FakeTonlibJson(blockchain);
+        Tonlib tonlib = tonlibJson.tonlib();
+        AccountWatcher watcher = AccountWatcher.builder().tonlib(tonlib).pollIntervalMs(20).build();
+
+        CompletableFuture<RawAccountState> deployed = watcher.waitForDeployment(address(1));
+        Thread.sleep(100);
+        assertThat(deployed).isNotDone();
+        assertThat(blockchain.queries(address(1))).isPositive();
+
+        blockchain.set(address(1), 5, "te6cc", 1);
+        assertThat(deployed.get(5, TimeUnit.SECONDS).getCode()).isEqualTo("te6cc");
+
+        // account without waits and listeners is not queried anymore
+        Thread.sleep(50);
+        assertThat(watcher.getWatchedCount()).isZero();
+        long queries = blockchain.queries(address(1));
+        Thread.sleep(100);
+        assertThat(blockchain.queries(address(1))).isEqualTo(queries);
+
+        watcher.close();
+        tonlib.destroy();
+    }
+
+    @Test
+    public void testListenerIsNotifiedOnChanges() throws Exception {
+        Blockchain blockchain = new Blockchain();
+        blockchain.set(address(1), 5, "te6cc", 1);
+        FakeTonlibJson tonlibJson = new FakeTonlibJson(blockchain);
+        Tonlib tonlib = tonlibJson.tonlib();
+        AccountWatcher watcher = AccountWatcher.builder().tonlib(tonlib).pollIntervalMs(20).build();
+
+        List<String> events = new CopyOnWriteArrayList<>();
+        watcher.addListener(address(1), new AccountListener() {
+            @Override
+            public void onTransaction(Address address, RawAccountState previous, RawAccountState current) {
+                events.add("transaction " + current.getLast_transaction_id().getLt());
+            }
+
+            @Override
+            public void onBalanceChange(Address address, RawAccountState previous, RawAccountState current) {
+                events.add("balance " + current.getBalance());
+            }
+        });
+        CompletableFuture<RawAccountState> changed = watcher.waitForBalanceChange(address(1), BigInteger.valueOf(5));
+        Thread.sleep(100);
+        assertThat(events).isEmpty();
+
+        blockchain.set(address(1), 7, "te6cc", 2);
+        assertThat(changed.get(5, TimeUnit.SECONDS).getBalance()).isEqualTo("7");
+        Thread.sleep(100);
+        assertThat(events).containsExactly("transaction 2", "balance 7");
+        // still watched for the listener
+        assertThat(watcher.getWatchedCount()).isEqualTo(1);
+
+        watcher.close();
+        tonlib.destroy();
+    }
+
+    @Test
+    public void testUnansweredAccountDoesNotBlockOthers() throws Exception {
+        Blockchain blockchain = new Blockchain();
+        FakeTonlibJson tonlibJson = new FakeTonlibJson(blockchain);
+        Tonlib tonlib = tonlibJson.tonlib();
+        AccountWatcher watcher = AccountWatcher.builder()
+                .tonlib(tonlib)
+                .pollIntervalMs(20)
+                .parallelism(1)
+                .queryTimeoutMs(100)
+                .build();
+
+        CompletableFuture<RawAccountState> silent = watcher.waitForDeployment(SILENT);
+        CompletableFuture<RawAccountState> deployed = watcher.waitForDeployment(address(1));
+        blockchain.set(address(1), 5, "te6cc", 1);
+
+        assertThat(deployed.get(5, TimeUnit.SECONDS).getCode()).isEqualTo("te6cc");
+        assertThat(silent).isNotDone();
+        assertThat(blockchain.queries(SILENT)).isPositive();
+
+        watcher.close();
+        tonlib.destroy();
+    }
+
+    @Test
+    public void testDestroyClosesSharedWatcher() {
+        FakeTonlibJson tonlibJson = new FakeTonlibJson(new Blockchain());
+        Tonlib tonlib = tonlibJson.tonlib();
+        AccountWatcher watcher = tonlib.getAccountWatcher();
+        assertThat(tonlib.getAccountWatcher()).isSameAs(watcher);
+
+        CompletableFuture<RawAccountState> deployed = watcher.waitForDeployment(address(1));
+        tonlib.destroy();
+
+        assertThatThrownBy(deployed::get).isInstanceOf(ExecutionException.class)
+                .hasMessageContaining("closed");
+        assertThat(watcher.isClosed()).isTrue();
+        // closed watcher is not returned anymore
+        assertThat(tonlib.getAccountWatcher()).isNotSameAs(watcher);
+        tonlib.getAccountWatcher().close();
+    }
+
+    @Test
+    public void testManyUnansweredAccountsDoNotDelayCheck() throws Exception {
+        Blockchain blockchain = new Blockchain();
+        FakeTonlibJson tonlibJson = new FakeTonlibJson(blockchain);
+        Tonlib tonlib = tonlibJson.tonlib();
+        AccountWatcher watcher = AccountWatcher.builder()
+                .tonlib(tonlib)
+                .pollIntervalMs(20)
+                .parallelism(10)
+                .queryTimeoutMs(100)
+                .build();
+
+        List<CompletableFuture<RawAccountState>> silent = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            blockchain.silent.add(address(1000 + i).toString(false));
+            silent.add(watcher.waitForDeployment(address(1000 + i)));
+        }
+        blockchain.set(address(1), 5, "te6cc", 1);
+        long start = System.nanoTime();
+        CompletableFuture<RawAccountState> deployed = watcher.waitForDeployment(address(1));
+
+        assertThat(deployed.get(5, TimeUnit.SECONDS).getCode()).isEqualTo("te6cc");
+        // every check takes at most 2 x 100 ms, though each silent account takes 100 ms
+        assertThat((System.nanoTime() - start) / 1_000_000).isLessThan(2000);
+        assertThat(silent).noneMatch(CompletableFuture::isDone);
+
+        watcher.close();
+        tonlib.destroy();
+    }
+
+    @Test
+    public void testWaitForValueChange() throws Exception {
+        Blockchain blockchain = new Blockchain();
+        blockchain.set(address(1), 5, "te6cc", 1);
+        FakeTonlibJson tonlibJson = new FakeTonlibJson(blockchain);
+        Tonlib tonlib = tonlibJson.tonlib();
+        AccountWatcher watcher = AccountWatcher.builder().tonlib(tonlib).pollIntervalMs(20).build();
+
+        // e.g. jetton balance, not in the account state
+        AtomicLong jettons = new AtomicLong(100);
+        AtomicLong reads = new AtomicLong();
+        CompletableFuture<RawAccountState> changed = watcher.waitForValueChange(address(1), () -> {
+            reads.incrementAndGet();
+            return jettons.get();
+        });
+        Thread.sleep(100);
+        // read again only after a new transaction
+        assertThat(reads.get()).isEqualTo(1);
+
+        blockchain.set(address(1), 4, "te6cc", 2);
+        Thread.sleep(100);
+        assertThat(changed).isNotDone();
+        assertThat(reads.get()).isEqualTo(2);
+
+        jettons.set(150);
+        blockchain.set(address(1), 3, "te6cc", 3);
+        assertThat(changed.get(5, TimeUnit.SECONDS).getLast_transaction_id().getLt()).isEqualTo(3);
+        assertThat(reads.get()).isEqualTo(3);
+
+        watcher.close();
+        tonlib.destroy();
+    }
+}
@@ -0,0 +1,188 @@
+package org.ton.java.tonlib;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+@RunWith(JUnit4.class)
+public class TestBlockPublisher {
+
+    private static final long WHOLE = 0x8000000000000000L;
+    private static final long LEFT = 0x4000000000000000L;
+    private static final long RIGHT = 0xc000000000000000L;
+
+    /**
+     * Basechain of one shard which splits in masterchain block 12, in block 13 the left shard has
+     * two new blocks and the right one none.
+     */
+    private static class SplittingChain implements Function<String, String> {
+        private static final Gson gson = new Gson();
+
+        final Map<Long, List<long[]>> shardTops = new HashMap<>();
+        final Map<String, List<long[]>> prevBlocks = new HashMap<>();
+
+        SplittingChain() {
+            shardTops.put(11L, list(block(WHOLE, 101)));
+            shardTops.put(12L, list(block(LEFT, 102), block(RIGHT, 102)));
+            shardTops.put(13L, list(block(LEFT, 104), block(RIGHT, 102)));
+            prevBlocks.put(key(0, WHOLE, 101), list(block(WHOLE, 100)));
+            prevBlocks.put(key(0, LEFT, 102), list(block(WHOLE, 101)));
+            prevBlocks.put(key(0, RIGHT, 102), list(block(WHOLE, 101)));
+            prevBlocks.put(key(0, LEFT, 103), list(block(LEFT, 102)));
+            prevBlocks.put(key(0, LEFT, 104), list(block(LEFT, 103)));
+            for (long seqno = 11; seqno <= 13; seqno++) {
+                prevBlocks.put(key(-1, WHOLE, seqno), list(new long[]{-1, WHOLE, seqno - 1}));
+            }
+        }
+
+        private static long[] block(long shard, long seqno) {
+            return new long[]{0, shard, seqno};
+        }
+
+        private static List<long[]> list(long[]... blocks) {
+            return Arrays.asList(blocks);
+        }
+
+        private static String key(long workchain, long shard, long seqno) {
+            return workchain + ":" + shard + ":" + seqno;
+        }
+
+        private static String blockId(String type, long[] block) {
+            return "{\"@type\":\"" + type + "\",\"workchain\":" + block[0] + ",\"shard\":" + block[1]
+                    + ",\"seqno\":" + block[2] + ",\"root_hash\":\"\",\"file_hash\":\"\"}";
+        }
+
+        @Override
+        public String apply(String query) {
+            JsonObject json = gson.fromJson(query, JsonObject.class);
+            String type = json.get("@type").getAsString();
+            if (type.equals("blocks.getMasterchainInfo")) {
+                return "{\"@type\":\"blocks.masterchainInfo\",\"last\":" + blockId("ton.blockIdExt", new long[]{-1, WHOLE, 13}) + "}";
+            }
+            JsonObject id = json.getAsJsonObject("id");
+            long[] block = {id.get("workchain").getAsLong(), id.get("shard").getAsLong(), id.get("seqno").getAsLong()};
+            switch (type) {
+                case "blocks.lookupBlock":
+                    return blockId("ton.blockIdExt", block);
+                case "blocks.getShards":
+                    List<String> shards = new ArrayList<>();
+                    for (long[] top : shardTops.get(block[2])) {
+                        shards.add(blockId("ton.blockIdExt", top));
+                    }
+                    return "{\"@type\":\"blocks.shards\",\"shards\":[" + String.join(",", shards) + "]}";
+                case "blocks.getBlockHeader":
+                    List<String> prev = new ArrayList<>();
+                    for (long[] p : prevBlocks.get(key(block[0], block[1], block[2]))) {
+                        prev.add(blockId("ton.blockId", p));
+                    }
+                    return "{\"@type\":\"blocks.header\",\"id\":" + blockId("ton.blockId", block)
+                            + ",\"prev_blocks\":[" + String.join(",", prev) + "]}";
+                default:
+                    return null;
+            }
+        }
+    }
+
+    private static class Collector implements BlockSubscriber {
+        final List<String> events = new CopyOnWriteArrayList<>();
+        final CountDownLatch done = new CountDownLatch(1);
+        volatile BlockSubscription subscription;
+        volatile Throwable error;
+        volatile String errorThread;
+        final long initialDemand;
+
+        Collector(long initialDemand) {
+            this.initialDemand = initialDemand;
+        }
+
+        @Override
+        public void onSubscribe(BlockSubscription subscription) {
+            this.subscription = subscription;
+            if (initialDemand > 0) {
+                subscription.request(initialDemand);
+            }
+        }
+
+        @Override
+        public void onNext(BlockEvent event) {
+            events.add(event.getMasterchainSeqno() + " " + event.getBlock().getShortBlockSeqno());
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            errorThread = Thread.currentThread().getName();
+            done.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            done.countDown();
+        }
+    }
+
+    @Test
+    public void testShardSplitBlocksArePublished() throws Exception {
+        Tonlib tonlib = new FakeTonlibJson(new SplittingChain()).tonlib();
+        Collector collector = new Collector(Long.MAX_VALUE);
+        BlockPublisher.builder()
+                .tonlib(tonlib)
+                .fromSeqno(12)
+                .toSeqno(13)
+                .withTransactions(false)
+                .build()
+                .subscribe(collector);
+
+        assertThat(collector.done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(collector.error).isNull();
+        assertThat(collector.events).containsExactly(
+                "12 (0,4000000000000000,102)",
+                "12 (0,c000000000000000,102)",
+                "12 (-1,8000000000000000,12)",
+                "13 (0,4000000000000000,103)",
+                "13 (0,4000000000000000,104)",
+                "13 (-1,8000000000000000,13)");
+        tonlib.destroy();
+    }
+
+    @Test
+    public void testInvalidRequestIsSignalledBySubscriptionThread() throws Exception {
+        Tonlib tonlib = new FakeTonlibJson(new SplittingChain()).tonlib();
+        Collector collector = new Collector(0);
+        BlockPublisher.builder()
+                .tonlib(tonlib)
+                .fromSeqno(12)
+                .toSeqno(13)
+                .withTransactions(false)
+                .build()
+                .subscribe(collector);
+
+        collector.subscription.request(1);
+        Thread.sleep(200);
+        assertThat(collector.events).hasSize(1);
+
+        // publisher thread is waiting for demand
+        collector.subscription.request(0);
+        assertThat(collector.done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(collector.error).isInstanceOf(IllegalArgumentException.class);
+        assertThat(collector.errorThread).isEqualTo("tonlib-block-publisher");
+        assertThat(collector.events).hasSize(1);
+        tonlib.destroy();
+    }
+}
@@ -0,0 +1,65 @@
+package org.ton.java.tonlib;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+@RunWith(JUnit4.class)
+public class TestLruTonlibCache {
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() {
+        LruTonlibCache cache = LruTonlibCache.builder().maxMemoryBytes(3 * (2 * 2 + 64)).build();
+        cache.put("a", "1", 0);
+        cache.put("b", "2", 0);
+        cache.put("c", "3", 0);
+        assertThat(cache.get("a")).isEqualTo("1");
+        cache.put("d", "4", 0);
+
+        assertThat(cache.size()).isEqualTo(3);
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("a")).isEqualTo("1");
+        assertThat(cache.get("d")).isEqualTo("4");
+        assertThat(cache.getHits()).isEqualTo(3);
+        assertThat(cache.getMisses()).isEqualTo(1);
+        assertThat(cache.getHitRate()).isEqualTo(0.75);
+    }
+
+    @Test
+    public void testTtl() throws InterruptedException {
+        LruTonlibCache cache = LruTonlibCache.builder().build();
+        cache.put("last", "{}", 50);
+        assertThat(cache.get("last")).isEqualTo("{}");
+        Thread.sleep(100);
+        assertThat(cache.get("last")).isNull();
+        assertThat(cache.size()).isZero();
+        assertThat(cache.getMemoryBytes()).isZero();
+    }
+
+    @Test
+    public void testDiskTier() throws Exception {
+        Path dir = Files.createTempDirectory("tonlib-cache");
+        LruTonlibCache cache = LruTonlibCache.builder().diskDirectory(dir).build();
+        cache.put("block", "{\"@type\":\"blocks.header\"}", 0);
+        cache.put("last", "{\"@type\":\"blocks.masterchainInfo\"}", 60000);
+
+        LruTonlibCache restarted = LruTonlibCache.builder().diskDirectory(dir).build();
+        assertThat(restarted.get("block")).isEqualTo("{\"@type\":\"blocks.header\"}");
+        assertThat(restarted.get("last")).isNull();
+        assertThat(restarted.getDiskHits()).isEqualTo(1);
+        assertThat(restarted.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void testCacheKeyIgnoresExtra() {
+        String query = "{\"@type\":\"blocks.getBlockHeader\",\"id\":{\"seqno\":1},\"@extra\":\"5d6a\"}";
+        assertThat(Tonlib.cacheKey(query)).isEqualTo("{\"@type\":\"blocks.getBlockHeader\",\"id\":{\"seqno\":1}}");
+    }
+}
@@ -0,0 +1,54 @@
+package org.ton.java.tonlib;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.ton.java.cell.Cell;
+import org.ton.java.cell.CellBuilder;
+import org.ton.java.cell.TonHashMap;
+import org.ton.java.tlb.types.BlockchainConfig;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+@RunWith(JUnit4.class)
+public class TestTonlibBlockchainConfig {
+
+    private static String configInfo(long paramValue) {
+        TonHashMap dict = new TonHashMap(32);
+        dict.elements.put(7L, CellBuilder.beginCell().storeUint(paramValue, 32).endCell());
+        Cell config = dict.serialize(
+                k -> CellBuilder.beginCell().storeInt((Long) k, 32).endCell().getBits(),
+                v -> CellBuilder.beginCell().storeRef((Cell) v).endCell());
+        return "{\"@type\":\"configInfo\",\"config\":{\"@type\":\"tvm.cell\",\"bytes\":\"" + config.toBase64() + "\"}}";
+    }
+
+    @Test
+    public void testBlockchainConfigIsNotQueriedAgainWithinTtl() {
+        FakeTonlibJson tonlibJson = new FakeTonlibJson(q -> configInfo(1));
+        Tonlib tonlib = tonlibJson.tonlib();
+
+        BlockchainConfig config = tonlib.getBlockchainConfig(128);
+        assertThat(config.getParamIds()).containsExactly(7L);
+        assertThat(tonlib.getBlockchainConfig(128)).isSameAs(config);
+        assertThat(tonlibJson.count("getConfigAll")).isEqualTo(1);
+
+        // other mode is another query
+        tonlib.getBlockchainConfig(0);
+        assertThat(tonlibJson.count("getConfigAll")).isEqualTo(2);
+        tonlib.destroy();
+    }
+
+    @Test
+    public void testBlockchainConfigIsQueriedAfterTtl() {
+        FakeTonlibJson tonlibJson = new FakeTonlibJson(q -> configInfo(2));
+        Tonlib tonlib = tonlibJson.builder().configTtlMs(-1).build();
+
+        BlockchainConfig config = tonlib.getBlockchainConfig(128);
+        // same config is still shared
+        assertThat(tonlib.getBlockchainConfig(128)).isSameAs(config);
+        assertThat(tonlibJson.count("getConfigAll")).isEqualTo(2);
+        tonlib.destroy();
+    }
+}
@@ -0,0 +1,197 @@
+package org.ton.java.tonlib;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Slf4j
+@RunWith(JUnit4.class)
+public class TestTonlibDispatcher {
+
+    /**
+     * Answers queries in reverse order of sending, once there are expected number of queries.
+     */
+    private static class ReversingTonlibJson implements TonlibJsonI {
+        private final BlockingQueue<String> responses = new LinkedBlockingQueue<>();
+        private final List<String> sent = new ArrayList<>();
+        private final int batch;
+
+        ReversingTonlibJson(int batch) {
+            this.batch = batch;
+        }
+
+        @Override
+        public long tonlib_client_json_create() {
+            return 1;
+        }
+
+        @Override
+        public void tonlib_client_json_destroy(long tonlib) {
+        }
+
+        @Override
+        public String tonlib_client_json_execute(long tonlib, String query) {
+            return null;
+        }
+
+        @Override
+        public String tonlib_client_json_receive(long tonlib, Double timeout) {
+            try {
+                return responses.poll((long) (timeout * 1000), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public synchronized void tonlib_client_json_send(long tonlib, String query) {
+            sent.add(query);
+            if (sent.size() == batch) {
+                responses.add("{\"@type\":\"updateSyncState\",\"sync_state\":{\"@type\":\"syncStateInProgress\"}}");
+                for (int i = sent.size() - 1; i >= 0; i--) {
+                    String extra = TonlibDispatcher.extraOf(sent.get(i));
+                    responses.add("{\"@type\":\"ok\",\"n\":" + i + ",\"@extra\":\"" + extra + "\"}");
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testDispatchByExtra() throws Exception {
+        ReversingTonlibJson tonlibJson = new ReversingTonlibJson(10);
+        List<String> updates = new CopyOnWriteArrayList<>();
+        TonlibDispatcher dispatcher = new TonlibDispatcher(tonlibJson, 1, updates::add);
+
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            String query = "{\"@type\":\"withBlock\",\"function\":{\"@extra\":\"inner-" + i + "\"},\"@extra\":\"q-" + i + "\"}";
+            futures.add(dispatcher.send(query));
+        }
+        for (int i = 0; i < 10; i++) {
+            String response = futures.get(i).get(5, TimeUnit.SECONDS);
+            assertThat(response).contains("\"n\":" + i + ",").endsWith("\"@extra\":\"q-" + i + "\"}");
+        }
+        assertThat(updates).hasSize(1);
+        assertThat(dispatcher.getPendingCount()).isZero();
+        dispatcher.close();
+    }
+
+    @Test
+    public void testCloseFailsPendingQueries() {
+        TonlibDispatcher dispatcher = new TonlibDispatcher(new ReversingTonlibJson(2), 1, null);
+        CompletableFuture<String> future = dispatcher.send("{\"@type\":\"getMasterchainInfo\",\"@extra\":\"a\"}");
+        dispatcher.close();
+
+        assertThatThrownBy(future::get).isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(dispatcher.send("{\"@extra\":\"b\"}")).isCompletedExceptionally();
+    }
+
+    @Test
+    public void testCancelFailsQuery() {
+        TonlibDispatcher dispatcher = new TonlibDispatcher(new ReversingTonlibJson(2), 1, null);
+        CompletableFuture<String> future = dispatcher.send("{\"@type\":\"getMasterchainInfo\",\"@extra\":\"a\"}");
+        CompletableFuture<String> chained = future.thenApply(String::trim);
+        dispatcher.cancel("a");
+
+        assertThatThrownBy(chained::join).hasCauseInstanceOf(CancellationException.class);
+        assertThat(dispatcher.getPendingCount()).isZero();
+        dispatcher.close();
+    }
+
+    @Test
+    public void testUnansweredQueryTimesOut() throws Exception {
+        TonlibDispatcher dispatcher = new TonlibDispatcher(new ReversingTonlibJson(2), 1, null);
+        CompletableFuture<String> future = dispatcher.send("{\"@type\":\"getMasterchainInfo\",\"@extra\":\"a\"}", 100);
+
+        assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(TimeoutException.class);
+        assertThat(dispatcher.getPendingCount()).isZero();
+        dispatcher.close();
+
+        // answered queries are not failed later
+        dispatcher = new TonlibDispatcher(new ReversingTonlibJson(2), 1, null);
+        CompletableFuture<String> first = dispatcher.send("{\"@type\":\"getMasterchainInfo\",\"@extra\":\"b\"}", 100);
+        CompletableFuture<String> second = dispatcher.send("{\"@type\":\"getMasterchainInfo\",\"@extra\":\"c\"}", 100);
+        assertThat(first.get(5, TimeUnit.SECONDS)).contains("\"n\":0");
+        assertThat(second.get(5, TimeUnit.SECONDS)).contains("\"n\":1");
+        Thread.sleep(200);
+        assertThat(first).isCompletedWithValueMatching(response -> response.contains("\"n\":0"));
+        dispatcher.close();
+    }
+
+    @Test
+    public void testCloseWaitsForSendInProgress() throws Exception {
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean sendFinished = new AtomicBoolean();
+        ReversingTonlibJson tonlibJson = new ReversingTonlibJson(2) {
+            @Override
+            public synchronized void tonlib_client_json_send(long tonlib, String query) {
+                sending.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                sendFinished.set(true);
+            }
+        };
+        TonlibDispatcher dispatcher = new TonlibDispatcher(tonlibJson, 1, null);
+        CompletableFuture<CompletableFuture<String>> sent =
+                CompletableFuture.supplyAsync(() -> dispatcher.send("{\"@extra\":\"a\"}"));
+        assertThat(sending.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Void> closed = CompletableFuture.runAsync(dispatcher::close);
+        Thread.sleep(200);
+        assertThat(closed).isNotDone();
+
+        release.countDown();
+        closed.get(5, TimeUnit.SECONDS);
+        assertThat(sendFinished).isTrue();
+        assertThat(sent.get(5, TimeUnit.SECONDS)).isCompletedExceptionally();
+    }
+
+    @Test
+    public void testReceiveErrorsArePaused() throws Exception {
+        AtomicInteger receives = new AtomicInteger();
+        ReversingTonlibJson tonlibJson = new ReversingTonlibJson(2) {
+            @Override
+            public String tonlib_client_json_receive(long tonlib, Double timeout) {
+                receives.incrementAndGet();
+                throw new IllegalStateException("broken client");
+            }
+        };
+        TonlibDispatcher dispatcher = new TonlibDispatcher(tonlibJson, 1, null);
+        Thread.sleep(500);
+        dispatcher.close();
+
+        // 10, 20, 40, 80, 160 ms pauses
+        assertThat(receives.get()).isBetween(2, 8);
+    }
+
+    @Test
+    public void testExtraOf() {
+        assertThat(TonlibDispatcher.extraOf("{\"@type\":\"ok\",\"@extra\":\"5d6a\"}")).isEqualTo("5d6a");
+        assertThat(TonlibDispatcher.extraOf("{\"a\":{\"@extra\":\"x\"},\"@extra\":\"y\"}")).isEqualTo("y");
+        assertThat(TonlibDispatcher.extraOf("{\"@type\":\"updateSyncState\"}")).isNull();
+    }
+}
@@ -13,9 +13,14 @@ import java.math.BigInteger;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Deque;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -677,6 +682,65 @@ public class TestTonlibJson {
     assertThat(result.getExit_code()).isZero();
   }
 
+  @Test
+  public void testTonlibRunMethods() {
+    Address foundation = Address.of(TON_FOUNDATION);
+    Address jetton = Address.of("EQBYzFXx0QTPW5Lo63ArbNasI_GWRj7NwcAcJR2IWo7_3nTp");
+    List<RunResult> results =
+        tonlib.runMethods(
+            Arrays.asList(
+                GetMethodCall.builder().address(foundation).methodName("seqno").build(),
+                GetMethodCall.builder().address(jetton).methodName("get_jetton_data").build(),
+                GetMethodCall.builder().address(foundation).methodName("get_public_key").build()));
+    log.info("results: {}", results);
+    assertThat(results.size()).isEqualTo(3);
+    assertThat(results.get(0).getExit_code()).isZero();
+    assertThat(results.get(1).getExit_code()).isZero();
+    assertThat(results.get(2).getExit_code()).isZero();
+  }
+
+  @Test
+  public void testTonlibBlockPublisher() throws InterruptedException {
+    long last = tonlib.getLast().getLast().getSeqno();
+    List<BlockEvent> events = new CopyOnWriteArrayList<>();
+    CountDownLatch completed = new CountDownLatch(1);
+    BlockPublisher.builder()
+        .tonlib(tonlib)
+        .fromSeqno(last - 2)
+        .toSeqno(last)
+        .build()
+        .subscribe(
+            new BlockSubscriber() {
+              @Override
+              public void onSubscribe(BlockSubscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+              }
+
+              @Override
+              public void onNext(BlockEvent event) {
+                log.info(
+                    "mc {}, block {}, txs {}",
+                    event.getMasterchainSeqno(),
+                    event.getBlock().getShortBlockSeqno(),
+                    event.getTransactions().size());
+                events.add(event);
+              }
+
+              @Override
+              public void onError(Throwable throwable) {
+                log.error("error {}", throwable.getMessage());
+              }
+
+              @Override
+              public void onComplete() {
+                completed.countDown();
+              }
+            });
+    assertThat(completed.await(60, TimeUnit.SECONDS)).isTrue();
+    assertThat(events.stream().filter(BlockEvent::isMasterchain).count()).isEqualTo(3);
+    assertThat(events.get(events.size() - 1).getMasterchainSeqno()).isEqualTo(last);
+  }
+
   @Test
   public void testTonlibRunMethodGetJetton() {
     Address address = Address.of("EQBYzFXx0QTPW5Lo63ArbNasI_GWRj7NwcAcJR2IWo7_3nTp");
@@ -0,0 +1,227 @@
+package org.ton.java.tonlib;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Slf4j
+@RunWith(JUnit4.class)
+public class TestTonlibPool {
+
+    private final List<TonlibPool.Member> members = new ArrayList<>();
+    private final Map<Tonlib, AtomicInteger> calls = new ConcurrentHashMap<>();
+    private TonlibPool pool;
+
+    /**
+     * Members with fake transports, calls identify the member by its Tonlib
+     */
+    private TonlibPool pool(int size, long openDurationMs, long hedgeDelayMs) {
+        for (int i = 0; i < size; i++) {
+            Tonlib tonlib = new FakeTonlibJson(q -> null).tonlib();
+            calls.put(tonlib, new AtomicInteger());
+            members.add(new TonlibPool.Member(tonlib, i, "10.0.0." + i));
+        }
+        pool = new TonlibPool.TonlibPoolBuilder()
+                .failureThreshold(2)
+                .openDurationMs(openDurationMs)
+                .hedgeDelayMs(hedgeDelayMs)
+                .withMembers(members)
+                .build();
+        return pool;
+    }
+
+    private int index(Tonlib tonlib) {
+        for (TonlibPool.Member member : members) {
+            if (member.tonlib == tonlib) {
+                calls.get(tonlib).incrementAndGet();
+                return member.liteServerIndex;
+            }
+        }
+        throw new IllegalStateException("unknown tonlib");
+    }
+
+    private int calls(int index) {
+        return calls.get(members.get(index).tonlib).get();
+    }
+
+    private String state(int index) {
+        return pool.getStats().get(index).getState();
+    }
+
+    /**
+     * Fails on members marked in the map, returns index of the member otherwise
+     */
+    private Function<Tonlib, Integer> failingOn(Map<Integer, Boolean> failing) {
+        return tonlib -> {
+            int index = index(tonlib);
+            if (failing.getOrDefault(index, false)) {
+                throw new Error("lite-server " + index + " is down");
+            }
+            return index;
+        };
+    }
+
+    /**
+     * Two failures in a row eject member 0, member 1 fails only once
+     */
+    private void ejectFirstMember(Map<Integer, Boolean> failing) {
+        failing.put(0, true);
+        failing.put(1, true);
+        assertThatThrownBy(() -> pool.execute(failingOn(failing))).isInstanceOf(Error.class);
+        assertThat(state(0)).isEqualTo("CLOSED");
+
+        failing.remove(1);
+        assertThat(pool.execute(failingOn(failing))).isEqualTo(1);
+        assertThat(state(0)).isEqualTo("OPEN");
+        assertThat(state(1)).isEqualTo("CLOSED");
+    }
+
+    @After
+    public void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    @Test
+    public void testFailedCallIsRepeatedOnNextMember() {
+        pool(2, 60_000, -1);
+        Map<Integer, Boolean> failing = new ConcurrentHashMap<>();
+        failing.put(0, true);
+
+        assertThat(pool.execute(failingOn(failing))).isEqualTo(1);
+        assertThat(calls(0)).isEqualTo(1);
+        assertThat(calls(1)).isEqualTo(1);
+        assertThat(pool.getStats().get(0).getFailures()).isEqualTo(1);
+    }
+
+    @Test
+    public void testAllMembersFail() {
+        pool(2, 60_000, -1);
+        Map<Integer, Boolean> failing = new ConcurrentHashMap<>();
+        failing.put(0, true);
+        failing.put(1, true);
+
+        assertThatThrownBy(() -> pool.execute(failingOn(failing))).isInstanceOf(Error.class)
+                .hasMessageContaining("is down");
+        assertThat(calls(0) + calls(1)).isEqualTo(2);
+    }
+
+    @Test
+    public void testFailingMemberIsEjected() {
+        pool(2, 60_000, -1);
+        Map<Integer, Boolean> failing = new ConcurrentHashMap<>();
+        ejectFirstMember(failing);
+        assertThat(calls(0)).isEqualTo(2);
+
+        failing.clear();
+        for (int i = 0; i < 10; i++) {
+            assertThat(pool.execute(failingOn(failing))).isEqualTo(1);
+        }
+        assertThat(calls(0)).isEqualTo(2);
+        // ejected member is not returned while others are available
+        assertThat(pool.getTonlib()).isSameAs(members.get(1).tonlib);
+    }
+
+    @Test
+    public void testHalfOpenMemberGetsSingleProbe() throws Exception {
+        pool(2, 100, -1);
+        Map<Integer, Boolean> failing = new ConcurrentHashMap<>();
+        ejectFirstMember(failing);
+        int failedCalls = calls(0);
+        Thread.sleep(150);
+        assertThat(state(0)).isEqualTo("HALF_OPEN");
+
+        // getTonlib() does not take the probe
+        assertThat(pool.getTonlib()).isSameAs(members.get(1).tonlib);
+
+        CountDownLatch probeStarted = new CountDownLatch(1);
+        CountDownLatch releaseProbe = new CountDownLatch(1);
+        CompletableFuture<Integer> probe = pool.executeAsync(tonlib -> {
+            int index = index(tonlib);
+            if (index == 0) {
+                probeStarted.countDown();
+                try {
+                    releaseProbe.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return index;
+        });
+        assertThat(probeStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // other calls skip the member while its probe is running
+        failing.clear();
+        for (int i = 0; i < 5; i++) {
+            assertThat(pool.execute(failingOn(failing))).isEqualTo(1);
+        }
+        assertThat(calls(0)).isEqualTo(failedCalls + 1);
+
+        releaseProbe.countDown();
+        assertThat(probe.get(5, TimeUnit.SECONDS)).isEqualTo(0);
+        assertThat(state(0)).isEqualTo("CLOSED");
+        assertThat(members.get(0).probing.get()).isFalse();
+    }
+
+    @Test
+    public void testFailedProbeEjectsAgain() throws Exception {
+        pool(2, 100, -1);
+        Map<Integer, Boolean> failing = new ConcurrentHashMap<>();
+        ejectFirstMember(failing);
+        Thread.sleep(150);
+
+        int failedCalls = calls(0);
+        assertThat(pool.execute(failingOn(failing))).isEqualTo(1);
+        assertThat(calls(0)).isEqualTo(failedCalls + 1);
+        assertThat(state(0)).isEqualTo("OPEN");
+        assertThat(members.get(0).probing.get()).isFalse();
+    }
+
+    @Test
+    public void testSlowReadIsHedged() throws Exception {
+        pool(2, 60_000, 50);
+        CountDownLatch release = new CountDownLatch(1);
+        Function<Tonlib, Integer> slowOnFirst = tonlib -> {
+            int index = index(tonlib);
+            if (index == 0) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return index;
+        };
+
+        // member 0 is tried first and does not answer until released
+        assertThat(pool.readAsync(slowOnFirst).get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(calls(0)).isEqualTo(1);
+        release.countDown();
+    }
+
+    @Test
+    public void testFastReadIsNotHedged() {
+        pool(2, 60_000, 200);
+        Map<Integer, Boolean> failing = new ConcurrentHashMap<>();
+        for (int i = 0; i < 5; i++) {
+            assertThat(pool.read(failingOn(failing))).isEqualTo(0);
+        }
+        assertThat(calls(1)).isZero();
+    }
+}
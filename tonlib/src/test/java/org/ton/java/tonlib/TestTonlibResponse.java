@@ -0,0 +1,42 @@
+package org.ton.java.tonlib;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+@RunWith(JUnit4.class)
+public class TestTonlibResponse {
+
+    @Test
+    public void testTypeOf() {
+        assertThat(TonlibResponse.typeOf("{\"@type\":\"raw.transactions\",\"transactions\":[],\"@extra\":\"a\"}"))
+                .isEqualTo("raw.transactions");
+        assertThat(TonlibResponse.typeOf("{\"id\":{\"@type\":\"ton.blockIdExt\"},\"@type\":\"blocks.header\"}"))
+                .isEqualTo("blocks.header");
+        assertThat(TonlibResponse.typeOf("{\"id\":1}")).isNull();
+        assertThat(TonlibResponse.typeOf("[]")).isNull();
+        assertThat(TonlibResponse.typeOf("{\"@type\":")).isNull();
+        assertThat(TonlibResponse.typeOf(null)).isNull();
+    }
+
+    @Test
+    public void testIsError() {
+        assertThat(TonlibResponse.isError("{\"@type\":\"error\",\"code\":500,\"message\":\"LITE_SERVER_NOTREADY\"}")).isTrue();
+        // error in payload is not an error response
+        assertThat(TonlibResponse.isError("{\"@type\":\"raw.message\",\"msg_data\":{\"text\":\"error\"}}")).isFalse();
+    }
+
+    @Test
+    public void testQueryTypeOf() {
+        assertThat(TonlibResponse.queryTypeOf("{\"@type\":\"blocks.getShards\",\"id\":{\"@type\":\"ton.blockIdExt\"}}"))
+                .isEqualTo("blocks.getShards");
+        assertThat(TonlibResponse.queryTypeOf("{\"@type\":\"withBlock\",\"id\":{\"@type\":\"ton.blockIdExt\"},"
+                + "\"function\":{\"@type\":\"smc.load\",\"account_address\":{}},\"@extra\":\"a\"}"))
+                .isEqualTo("smc.load");
+        assertThat(TonlibResponse.queryTypeOf("{\"@type\":\"withBlock\"}")).isEqualTo("withBlock");
+    }
+}
@@ -0,0 +1,140 @@
+package org.ton.java.tonlib;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.ton.java.address.Address;
+import org.ton.java.tonlib.types.RunResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+@RunWith(JUnit4.class)
+public class TestTonlibRunMethods {
+
+    private static final String SILENT = "0:0000000000000000000000000000000000000000000000000000000000000000";
+
+    private static final int SILENT_FROM = 1000;
+
+    private static Address address(int i) {
+        return Address.of(String.format("0:%064x", i));
+    }
+
+    private static GetMethodCall call(Address address, long methodId) {
+        return GetMethodCall.builder().address(address).methodName("get_" + methodId).build();
+    }
+
+    /**
+     * Contract id is the number in the address, exit code of get method is its id. Contracts at
+     * SILENT address and at numbers from SILENT_FROM are never answered.
+     */
+    private static class GetMethods implements Function<String, String> {
+        /**
+         * when smc.load of the address was sent first
+         */
+        final Map<String, Long> sendTimes = new ConcurrentHashMap<>();
+
+        @Override
+        public String apply(String query) {
+            if (query.contains("\"smc.load\"")) {
+                String raw = query.replaceAll(".*\"account_address\":\"([^\"]+)\".*", "$1");
+                sendTimes.putIfAbsent(raw, System.nanoTime());
+                int id = Integer.parseInt(raw.substring(raw.length() - 4), 16);
+                if (id == 0 || id >= SILENT_FROM) {
+                    return null;
+                }
+                return "{\"@type\":\"smc.info\",\"id\":" + id + "}";
+            }
+            if (query.contains("\"smc.runGetMethod\"")) {
+                long id = Long.parseLong(query.replaceAll(".*\"id\":(\\d+).*", "$1"));
+                String method = query.replaceAll(".*\"name\":\"get_(\\d+)\".*", "$1");
+                return "{\"@type\":\"smc.runResult\",\"gas_used\":" + id + ",\"stack\":[],\"exit_code\":" + method + "}";
+            }
+            return null;
+        }
+    }
+
+    @Test
+    public void testRunMethodsReusesLoadedContracts() {
+        GetMethods getMethods = new GetMethods();
+        FakeTonlibJson tonlibJson = new FakeTonlibJson(getMethods);
+        TonlibDispatcher dispatcher = new TonlibDispatcher(tonlibJson, 1, null);
+        Tonlib tonlib = tonlibJson.builder(dispatcher).build();
+
+        List<GetMethodCall> calls = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            calls.add(call(address(1 + i % 5), i));
+        }
+        List<RunResult> results = tonlib.runMethods(calls, 4);
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(results.get(i).getExit_code()).isEqualTo(i);
+            assertThat(results.get(i).getGas_used().intValue()).isEqualTo(1 + i % 5);
+        }
+        assertThat(tonlibJson.count("smc.load")).isEqualTo(5);
+        assertThat(tonlibJson.count("smc.runGetMethod")).isEqualTo(20);
+        assertThat(dispatcher.getPendingCount()).isZero();
+        tonlib.destroy();
+    }
+
+    @Test
+    public void testRunMethodsWithUnansweredCall() {
+        GetMethods getMethods = new GetMethods();
+        FakeTonlibJson tonlibJson = new FakeTonlibJson(getMethods);
+        TonlibDispatcher dispatcher = new TonlibDispatcher(tonlibJson, 1, null);
+        Tonlib tonlib = tonlibJson.builder(dispatcher).build();
+
+        List<GetMethodCall> calls = new ArrayList<>();
+        calls.add(call(Address.of(SILENT), 1));
+        calls.add(call(address(2), 2));
+        calls.add(call(address(3), 3));
+        List<RunResult> results = tonlib.runMethods(calls, 1);
+
+        assertThat(results.get(0)).isNull();
+        assertThat(results.get(1).getExit_code()).isEqualTo(2);
+        assertThat(results.get(2).getExit_code()).isEqualTo(3);
+
+        // the only permit was released by the timeout of the unanswered call, not before
+        long gapMs = (getMethods.sendTimes.get(address(2).toRaw()) - getMethods.sendTimes.get(SILENT)) / 1_000_000;
+        assertThat(gapMs).isGreaterThanOrEqualTo(150);
+        // unanswered call is sent once more
+        assertThat(tonlibJson.sent.stream().filter(q -> q.contains(SILENT)).count()).isEqualTo(2);
+        assertThat(dispatcher.getPendingCount()).isZero();
+        tonlib.destroy();
+    }
+
+    @Test
+    public void testRunMethodsWithManyUnansweredCalls() {
+        GetMethods getMethods = new GetMethods();
+        FakeTonlibJson tonlibJson = new FakeTonlibJson(getMethods);
+        TonlibDispatcher dispatcher = new TonlibDispatcher(tonlibJson, 1, null);
+        Tonlib tonlib = tonlibJson.builder(dispatcher).build();
+
+        List<GetMethodCall> calls = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            calls.add(call(address(i < 40 ? SILENT_FROM + i : i), i));
+        }
+        long start = System.nanoTime();
+        List<RunResult> results = tonlib.runMethods(calls, 10);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        for (int i = 0; i < 50; i++) {
+            if (i < 40) {
+                assertThat(results.get(i)).isNull();
+            } else {
+                assertThat(results.get(i).getExit_code()).isEqualTo(i);
+            }
+        }
+        // unanswered calls time out 10 at a time, not one after another, 2 x 4 x 200 ms
+        assertThat(elapsedMs).isLessThan(4000);
+        assertThat(dispatcher.getPendingCount()).isZero();
+        tonlib.destroy();
+    }
+}
@@ -0,0 +1,114 @@
+package org.ton.java.tonlib;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.ton.java.tonlib.types.LastTransactionId;
+import org.ton.java.tonlib.types.RawTransaction;
+import org.ton.java.tonlib.types.RawTransactions;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static java.util.Objects.isNull;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Slf4j
+@RunWith(JUnit4.class)
+public class TestTransactionIterator {
+
+    /**
+     * History of transactions with lt and utime from 1 to total, pages of pageSize.
+     */
+    private static class FakeHistory implements Function<LastTransactionId, RawTransactions> {
+        final List<Long> requested = new CopyOnWriteArrayList<>();
+        final int total;
+        final int pageSize;
+
+        FakeHistory(int total, int pageSize) {
+            this.total = total;
+            this.pageSize = pageSize;
+        }
+
+        @Override
+        public RawTransactions apply(LastTransactionId from) {
+            long lt = isNull(from) ? total : from.getLt().longValue();
+            requested.add(lt);
+            List<RawTransaction> transactions = new ArrayList<>();
+            for (long i = lt; i > Math.max(0, lt - pageSize); i--) {
+                transactions.add(RawTransaction.builder()
+                        .utime(i)
+                        .transaction_id(LastTransactionId.builder().lt(BigInteger.valueOf(i)).hash("h" + i).build())
+                        .build());
+            }
+            long previous = Math.max(0, lt - pageSize);
+            return RawTransactions.builder()
+                    .transactions(transactions)
+                    .previous_transaction_id(LastTransactionId.builder()
+                            .lt(BigInteger.valueOf(previous)).hash(previous == 0 ? "" : "h" + previous).build())
+                    .build();
+        }
+    }
+
+    private static List<Long> lts(TransactionIterator iterator) {
+        return iterator.stream().map(tx -> tx.getTransaction_id().getLt().longValue()).collect(Collectors.toList());
+    }
+
+    @Test
+    public void testWholeHistory() {
+        FakeHistory history = new FakeHistory(10, 3);
+        assertThat(lts(new TransactionIterator(history, null, 0)))
+                .containsExactly(10L, 9L, 8L, 7L, 6L, 5L, 4L, 3L, 2L, 1L);
+        assertThat(history.requested).containsExactly(10L, 7L, 4L, 1L);
+    }
+
+    @Test
+    public void testStopAtLt() {
+        FakeHistory history = new FakeHistory(10, 3);
+        assertThat(lts(new TransactionIterator(history, BigInteger.valueOf(5), 0))).containsExactly(10L, 9L, 8L, 7L, 6L);
+        // page starting at 4 is not needed
+        assertThat(history.requested).containsExactly(10L, 7L);
+    }
+
+    @Test
+    public void testStopAtUtime() {
+        FakeHistory history = new FakeHistory(10, 5);
+        assertThat(lts(new TransactionIterator(history, null, 8))).containsExactly(10L, 9L, 8L);
+        assertThat(history.requested).containsExactly(10L);
+    }
+
+    @Test
+    public void testPagesAreFetchedOnDemand() throws InterruptedException {
+        FakeHistory history = new FakeHistory(100, 10);
+        TransactionIterator iterator = new TransactionIterator(history, null, 0);
+        assertThat(history.requested).isEmpty();
+
+        assertThat(iterator.next().getTransaction_id().getLt()).isEqualTo(BigInteger.valueOf(100));
+        Thread.sleep(200);
+        // current and prefetched pages only
+        assertThat(history.requested).containsExactly(100L, 90L);
+
+        iterator.close();
+        assertThat(iterator.hasNext()).isFalse();
+    }
+
+    @Test
+    public void testEmptyHistory() {
+        TransactionIterator iterator = new TransactionIterator(from -> RawTransactions.builder().build(), null, 0);
+        assertThat(iterator.hasNext()).isFalse();
+    }
+
+    @Test
+    public void testErrorIsRethrown() {
+        TransactionIterator iterator = new TransactionIterator(from -> {
+            throw new Error("lite-server error");
+        }, null, 0);
+        assertThatThrownBy(iterator::hasNext).isInstanceOf(Error.class).hasMessage("lite-server error");
+    }
+}
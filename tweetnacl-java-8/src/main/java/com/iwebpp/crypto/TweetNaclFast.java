@@ -4,6 +4,14 @@ package com.iwebpp.crypto;
 
 import java.io.UnsupportedEncodingException;
 import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
 
@@ -781,6 +789,21 @@ public final class TweetNaclFast {
             return sig;
         }
 
+        /*
+         * @description
+         *   Signs the message with the secret key expanded by crypto_sign_expand() and returns a
+         *   signature, same as detached() without hashing the seed on every call.
+         * */
+        public static byte[] detached_expanded(byte[] message, byte[] expandedSecretKey, byte[] publicKey) {
+            if (expandedSecretKey.length != 64 || publicKey.length != publicKeyLength)
+                return null;
+            byte[] sm = new byte[message.length + signatureLength];
+            crypto_sign_expanded(sm, -1, message, 0, message.length, expandedSecretKey, publicKey, 0);
+            byte[] sig = new byte[signatureLength];
+            System.arraycopy(sm, 0, sig, 0, signatureLength);
+            return sig;
+        }
+
         /*
          * @description
          *   Verifies the signature for the message and
@@ -800,6 +823,47 @@ public final class TweetNaclFast {
             return (crypto_sign_open(m, -1, sm, 0, sm.length, theirPublicKey) >= 0);
         }
 
+        /*
+         * @description
+         *   Verifies detached signatures of many messages at once and
+         *   returns verification result of each message.
+         *   See crypto_sign_verify_batch.
+         * */
+        public static boolean[] detached_verify_batch(byte[][] messages, byte[][] signatures, byte[][] publicKeys) {
+            return detached_verify_batch(messages, signatures, publicKeys, 1);
+        }
+
+        /*
+         * @description
+         *   Same as above, batches of batchChunkLength signatures are verified in parallel
+         *   using the given number of threads of a shared daemon thread pool.
+         * */
+        public static boolean[] detached_verify_batch(byte[][] messages, byte[][] signatures, byte[][] publicKeys, int threads) {
+            check_batch_arguments(messages, signatures, publicKeys);
+
+            boolean[] result = new boolean[messages.length];
+            crypto_sign_verify_batch(result, messages, signatures, publicKeys, batchExecutor, threads);
+            return result;
+        }
+
+        /*
+         * @description
+         *   Same as above, batches of batchChunkLength signatures are verified in parallel
+         *   by the given executor, the calling thread waits for all of them.
+         * */
+        public static boolean[] detached_verify_batch(byte[][] messages, byte[][] signatures, byte[][] publicKeys, Executor executor) {
+            check_batch_arguments(messages, signatures, publicKeys);
+
+            boolean[] result = new boolean[messages.length];
+            crypto_sign_verify_batch(result, messages, signatures, publicKeys, executor, Integer.MAX_VALUE);
+            return result;
+        }
+
+        private static void check_batch_arguments(byte[][] messages, byte[][] signatures, byte[][] publicKeys) {
+            if (messages.length != signatures.length || messages.length != publicKeys.length)
+                throw new IllegalArgumentException("messages, signatures and public keys should have the same length");
+        }
+
         /*
          * @description
          *   Generates new random key pair for signing and
@@ -3264,11 +3328,113 @@ public final class TweetNaclFast {
         q[2] = new long[16];
         q[3] = new long[16];
 
-        set25519(q[0], X);
-        set25519(q[1], Y);
-        set25519(q[2], gf1);
-        M(q[3], 0, X, 0, Y, 0);
-        scalarmult(p, q, s, soff);
+        // fixed base table covers scalars below 2^255, e.g. S of a signature may be larger
+        if ((s[31 + soff] & 0x80) != 0) {
+            set25519(q[0], X);
+            set25519(q[1], Y);
+            set25519(q[2], gf1);
+            M(q[3], 0, X, 0, Y, 0);
+            scalarmult(p, q, s, soff);
+            return;
+        }
+
+        // s = sum(e[i] * 16^i), -8 <= e[i] < 8
+        byte[] e = new byte[64];
+        int i, carry = 0;
+
+        for (i = 0; i < 32; i++) {
+            e[2 * i] = (byte) (s[i + soff] & 15);
+            e[2 * i + 1] = (byte) ((s[i + soff] >>> 4) & 15);
+        }
+        for (i = 0; i < 63; i++) {
+            e[i] += carry;
+            carry = (e[i] + 8) >> 4;
+            e[i] -= carry << 4;
+        }
+        e[63] += carry;
+
+        set25519(p[0], gf0);
+        set25519(p[1], gf1);
+        set25519(p[2], gf1);
+        set25519(p[3], gf0);
+
+        // odd digits, multiplied by 16 below, then even digits
+        for (i = 1; i < 64; i += 2) {
+            selectbase(q, i / 2, e[i]);
+            add(p, q);
+        }
+
+        add(p, p);
+        add(p, p);
+        add(p, p);
+        add(p, p);
+
+        for (i = 0; i < 64; i += 2) {
+            selectbase(q, i / 2, e[i]);
+            add(p, q);
+        }
+    }
+
+    /*
+     * @description
+     *   Fixed base table for scalarbase, BASE[i][j] = (j + 1) * 256^i * B,
+     *   built on first use and shared.
+     * */
+    private static final class BaseTable {
+        static final long[][][][] BASE = new long[32][8][][];
+
+        static {
+            long[][] b = new long[4][];
+            b[0] = new long[16];
+            b[1] = new long[16];
+            b[2] = new long[16];
+            b[3] = new long[16];
+
+            set25519(b[0], X);
+            set25519(b[1], Y);
+            set25519(b[2], gf1);
+            M(b[3], 0, X, 0, Y, 0);
+
+            for (int i = 0; i < 32; i++) {
+                for (int j = 0; j < 8; j++) {
+                    long[][] q = new long[4][];
+                    for (int c = 0; c < 4; c++) {
+                        q[c] = new long[16];
+                        set25519(q[c], j == 0 ? b[c] : BASE[i][j - 1][c]);
+                    }
+                    if (j > 0) add(q, b);
+                    BASE[i][j] = q;
+                }
+                for (int k = 0; k < 8; k++) add(b, b);
+            }
+        }
+    }
+
+    // constant time: p = digit * 256^pos * B, -8 <= digit <= 8
+    private static void selectbase(long[] p[], int pos, byte digit) {
+        int negative = (digit >>> 31) & 1;
+        int abs = digit - ((-negative & digit) << 1);
+        long[][][] row = BaseTable.BASE[pos];
+        long[] t = new long[16];
+
+        set25519(p[0], gf0);
+        set25519(p[1], gf1);
+        set25519(p[2], gf1);
+        set25519(p[3], gf0);
+
+        for (int j = 0; j < 8; j++) {
+            int eq = ((abs ^ (j + 1)) - 1) >>> 31;
+            for (int c = 0; c < 4; c++) {
+                set25519(t, row[j][c]);
+                sel25519(p[c], t, eq);
+            }
+        }
+
+        // -(x, y, z, t) = (-x, y, z, -t)
+        Z(t, gf0, p[0]);
+        sel25519(p[0], t, negative);
+        Z(t, gf0, p[3]);
+        sel25519(p[3], t, negative);
     }
 
     public static int crypto_sign_keypair(byte[] pk, byte[] sk, boolean seeded) {
@@ -3346,7 +3512,31 @@ public final class TweetNaclFast {
     // TBD... 64bits of n
     ///int crypto_sign(byte [] sm, long * smlen, byte [] m, long n, byte [] sk)
     public static int crypto_sign(byte[] sm, long dummy /* *smlen not used*/, byte[] m, final int moff, int/*long*/ n, byte[] sk) {
-        byte[] d = new byte[64], h = new byte[64], r = new byte[64];
+        return crypto_sign_expanded(sm, dummy, m, moff, n, crypto_sign_expand(sk), sk, 32);
+    }
+
+    /*
+     * @description
+     *   SHA-512 of the 32 bytes seed of sk with the clamped scalar in the first half and the nonce
+     *   prefix in the second half, which crypto_sign() computes on every call.
+     * */
+    public static byte[] crypto_sign_expand(byte[] sk) {
+        byte[] d = new byte[64];
+        crypto_hash(d, sk, 0, 32);
+        d[0] &= 248;
+        d[31] &= 127;
+        d[31] |= 64;
+        return d;
+    }
+
+    /*
+     * @description
+     *   Same as crypto_sign(), with the secret key expanded by crypto_sign_expand() and the public
+     *   key at pkoff of pk.
+     * */
+    public static int crypto_sign_expanded(byte[] sm, long dummy /* *smlen not used*/, byte[] m, final int moff, int/*long*/ n,
+                                           byte[] d, byte[] pk, final int pkoff) {
+        byte[] h = new byte[64], r = new byte[64];
 
         int i, j;
         long[] x = new long[64];
@@ -3357,11 +3547,6 @@ public final class TweetNaclFast {
         p[2] = new long[16];
         p[3] = new long[16];
 
-        crypto_hash(d, sk, 0, 32);
-        d[0] &= 248;
-        d[31] &= 127;
-        d[31] |= 64;
-
         ///*smlen = n+64;
 
         for (i = 0; i < n; i++) sm[64 + i] = m[i + moff];
@@ -3373,7 +3558,7 @@ public final class TweetNaclFast {
         scalarbase(p, r, 0);
         pack(sm, p);
 
-        for (i = 0; i < 32; i++) sm[i + 32] = sk[i + 32];
+        for (i = 0; i < 32; i++) sm[i + 32] = pk[i + pkoff];
         crypto_hash(h, sm, 0, n + 64);
         reduce(h);
 
@@ -3482,6 +3667,311 @@ public final class TweetNaclFast {
         return 0;
     }
 
+    /*
+     * @description
+     *   Batch verification of detached signatures.
+     *
+     *   A batch is accepted if
+     *     8 * ([sum(z_i * S_i)]B - sum([z_i]R_i) - sum([z_i * h_i]A_i)) == 0
+     *   for random 128 bits z_i, it costs one multi-scalar multiplication instead of
+     *   two scalar multiplications per signature. Failed batch is split in halves
+     *   until failed signatures are found, batches of up to 4 signatures are checked
+     *   one by one with crypto_sign_open.
+     *
+     *   The equation is cofactored, so it can not tell small order components of R
+     *   or A. Signatures with small order R or A are rejected, otherwise anyone could
+     *   forge them, e.g. with A = (0, -1), R = B and S = 1. Note that crypto_sign_open
+     *   accepts some of them. Non-canonical R or A are checked with crypto_sign_open.
+     *   Signatures with mixed order R or A can be created only by the key owner.
+     * */
+    public static final int batchChunkLength = 64;
+
+    private static final ExecutorService batchExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "tweetnacl-batch-verify");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // prepare_batch_entry results
+    private static final int BATCH_ENTRY_OK = 0;
+    private static final int BATCH_ENTRY_INVALID = 1;
+    private static final int BATCH_ENTRY_SINGLE = 2;
+
+    private static final class BatchEntry {
+        int index;
+        byte[] message;
+        byte[] signature;
+        byte[] publicKey;
+
+        long[][] negR;
+        long[][] negA;
+        byte[] h;
+        byte[] z;
+    }
+
+    private static void crypto_sign_verify_batch(
+            final boolean[] result, final byte[][] m, final byte[][] sm, final byte[][] pk,
+            final Executor executor, int threads) {
+        final int n = result.length;
+
+        if (threads <= 1 || n <= batchChunkLength) {
+            verify_batch_chunk(result, m, sm, pk, 0, n);
+            return;
+        }
+
+        // each worker takes next chunk until all are verified
+        final AtomicInteger nextChunk = new AtomicInteger();
+        Runnable worker = () -> {
+            int from;
+            while ((from = nextChunk.getAndAdd(batchChunkLength)) < n)
+                verify_batch_chunk(result, m, sm, pk, from, Math.min(n, from + batchChunkLength));
+        };
+
+        int workers = Math.min(threads, (n + batchChunkLength - 1) / batchChunkLength);
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < workers; i++)
+            futures.add(CompletableFuture.runAsync(worker, executor));
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get();
+        } catch (InterruptedException e) {
+            // stop workers that have not started a chunk yet
+            nextChunk.set(n);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("batch verification interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("batch verification failed", e.getCause());
+        }
+    }
+
+    private static void verify_batch_chunk(
+            boolean[] result, byte[][] m, byte[][] sm, byte[][] pk, int from, int to) {
+        BatchEntry[] entries = new BatchEntry[to - from];
+        int count = 0;
+
+        for (int i = from; i < to; i++) {
+            result[i] = false;
+            if (m[i] == null || sm[i] == null || pk[i] == null
+                    || sm[i].length != Signature.signatureLength || pk[i].length != Signature.publicKeyLength)
+                continue;
+
+            BatchEntry e = new BatchEntry();
+            e.index = i;
+            e.message = m[i];
+            e.signature = sm[i];
+            e.publicKey = pk[i];
+
+            int prepared = prepare_batch_entry(e);
+            if (prepared == BATCH_ENTRY_INVALID)
+                continue;
+            if (prepared == BATCH_ENTRY_SINGLE) {
+                result[i] = verify_one(e);
+                continue;
+            }
+            entries[count] = e;
+            count++;
+        }
+
+        boolean[] ok = new boolean[count];
+        verify_batch_range(entries, ok, 0, count);
+
+        for (int j = 0; j < count; j++)
+            result[entries[j].index] = ok[j];
+    }
+
+    private static int prepare_batch_entry(BatchEntry e) {
+        byte[] sig = e.signature;
+        byte[] r = new byte[32];
+        for (int i = 0; i < 32; i++) r[i] = sig[i];
+
+        long[][] negA = newPoint();
+        if (unpackneg(negA, e.publicKey) != 0) return BATCH_ENTRY_INVALID;
+        if (is_small_order(negA)) return BATCH_ENTRY_INVALID;
+
+        long[][] negR = newPoint();
+        if (unpackneg(negR, r) != 0) return BATCH_ENTRY_INVALID;
+        if (is_small_order(negR)) return BATCH_ENTRY_INVALID;
+
+        // crypto_sign_open hashes A and R as given and compares R with packed point
+        if (!is_canonical(negA, e.publicKey) || !is_canonical(negR, r)) return BATCH_ENTRY_SINGLE;
+        e.negA = negA;
+        e.negR = negR;
+
+        // h = H(R || A || M) mod L
+        byte[] hm = new byte[64 + e.message.length];
+        for (int i = 0; i < 32; i++) hm[i] = sig[i];
+        for (int i = 0; i < 32; i++) hm[i + 32] = e.publicKey[i];
+        for (int i = 0; i < e.message.length; i++) hm[i + 64] = e.message[i];
+
+        byte[] h = new byte[64];
+        crypto_hash(h, hm, 0, hm.length);
+        reduce(h);
+        e.h = h;
+
+        byte[] z = new byte[32];
+        jrandom.nextBytes(z);
+        for (int i = 16; i < 32; i++) z[i] = 0;
+        z[0] |= 1;
+        e.z = z;
+
+        return BATCH_ENTRY_OK;
+    }
+
+    // [8]P is identity, i.e. P is one of 8 points of small order
+    private static boolean is_small_order(long[] p[]) {
+        long[][] q = newPoint();
+        for (int i = 0; i < 4; i++) set25519(q[i], p[i]);
+
+        add(q, q);
+        add(q, q);
+        add(q, q);
+
+        return neq25519(q[0], gf0) == 0 && neq25519(q[1], q[2]) == 0;
+    }
+
+    // packed -P is the same as given encoding of P
+    private static boolean is_canonical(long[] negP[], byte[] encoded) {
+        byte[] t = new byte[32];
+        pack(t, negP);
+        t[31] ^= (byte) 0x80;
+        return crypto_verify_32(t, 0, encoded, 0) == 0;
+    }
+
+    private static boolean verify_one(BatchEntry e) {
+        int n = 64 + e.message.length;
+        byte[] sm = new byte[n];
+        byte[] m = new byte[n];
+
+        for (int i = 0; i < 64; i++) sm[i] = e.signature[i];
+        for (int i = 0; i < e.message.length; i++) sm[i + 64] = e.message[i];
+
+        return crypto_sign_open(m, -1, sm, 0, n, e.publicKey) >= 0;
+    }
+
+    private static void verify_batch_range(BatchEntry[] entries, boolean[] ok, int from, int to) {
+        if (to - from <= 4) {
+            for (int i = from; i < to; i++) ok[i] = verify_one(entries[i]);
+            return;
+        }
+
+        if (verify_batch_equation(entries, from, to)) {
+            for (int i = from; i < to; i++) ok[i] = true;
+            return;
+        }
+
+        int mid = (from + to) >>> 1;
+        verify_batch_range(entries, ok, from, mid);
+        verify_batch_range(entries, ok, mid, to);
+    }
+
+    private static boolean verify_batch_equation(BatchEntry[] entries, int from, int to) {
+        int count = to - from;
+        long[][][] points = new long[2 * count + 1][][];
+        byte[][] scalars = new byte[2 * count + 1][];
+
+        // sum(z_i * S_i) mod L, multiplier of B
+        byte[] s = new byte[32];
+        long[] x = new long[64];
+
+        for (int k = 0; k < count; k++) {
+            BatchEntry e = entries[from + k];
+
+            points[2 * k] = e.negR;
+            scalars[2 * k] = e.z;
+
+            points[2 * k + 1] = e.negA;
+            scalars[2 * k + 1] = mulModL(e.z, e.h, 0);
+
+            byte[] zs = mulModL(e.z, e.signature, 32);
+            for (int i = 0; i < 64; i++) x[i] = 0;
+            for (int i = 0; i < 32; i++) x[i] = (long) (s[i] & 0xff) + (long) (zs[i] & 0xff);
+            modL(s, 0, x);
+        }
+
+        long[][] b = newPoint();
+        set25519(b[0], X);
+        set25519(b[1], Y);
+        set25519(b[2], gf1);
+        M(b[3], 0, X, 0, Y, 0);
+        points[2 * count] = b;
+        scalars[2 * count] = s;
+
+        long[][] p = newPoint();
+        multiscalarmult(p, points, scalars);
+
+        // clear small order components
+        add(p, p);
+        add(p, p);
+        add(p, p);
+
+        byte[] t = new byte[32];
+        pack(t, p);
+        return crypto_verify_32(t, 0, IDENTITY, 0) == 0;
+    }
+
+    private static final byte[] IDENTITY = new byte[32];
+
+    static {
+        IDENTITY[0] = 1;
+    }
+
+    // a (32 bytes) * b (32 bytes from boff) mod L
+    private static byte[] mulModL(byte[] a, byte[] b, final int boff) {
+        long[] x = new long[64];
+        byte[] r = new byte[32];
+
+        for (int i = 0; i < 32; i++)
+            for (int j = 0; j < 32; j++)
+                x[i + j] += (long) (a[i] & 0xff) * (long) (b[j + boff] & 0xff);
+
+        modL(r, 0, x);
+        return r;
+    }
+
+    private static long[][] newPoint() {
+        long[][] p = new long[4][];
+
+        p[0] = new long[16];
+        p[1] = new long[16];
+        p[2] = new long[16];
+        p[3] = new long[16];
+
+        return p;
+    }
+
+    // Straus method with 4 bits windows, variable time, public data only
+    private static void multiscalarmult(long[] p[], long[][][] points, byte[][] scalars) {
+        int n = points.length;
+        long[][][][] tables = new long[n][16][][];
+
+        for (int i = 0; i < n; i++) {
+            tables[i][1] = points[i];
+            for (int k = 2; k < 16; k++) {
+                long[][] q = newPoint();
+                for (int c = 0; c < 4; c++) set25519(q[c], tables[i][k - 1][c]);
+                add(q, points[i]);
+                tables[i][k] = q;
+            }
+        }
+
+        set25519(p[0], gf0);
+        set25519(p[1], gf1);
+        set25519(p[2], gf1);
+        set25519(p[3], gf0);
+
+        for (int w = 63; w >= 0; --w) {
+            if (w != 63) {
+                add(p, p);
+                add(p, p);
+                add(p, p);
+                add(p, p);
+            }
+            for (int i = 0; i < n; i++) {
+                int nibble = ((scalars[i][w >>> 1] & 0xff) >>> ((w & 1) << 2)) & 15;
+                if (nibble != 0) add(p, tables[i][nibble]);
+            }
+        }
+    }
+
     /*
      * @description
      *   Java SecureRandom generator
@@ -0,0 +1,147 @@
+package com.iwebpp.crypto;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(JUnit4.class)
+public class TestTweetNaclFastBatch {
+
+    /**
+     * (0, -1), point of order 2
+     */
+    private static final String SMALL_ORDER_A = "ecffffffffffffffffffffffffffffffffffffffffffffffffffffffffffff7f";
+    private static final String BASE_POINT = "5866666666666666666666666666666666666666666666666666666666666666";
+    private static final String IDENTITY = "0100000000000000000000000000000000000000000000000000000000000000";
+
+    private final byte[][] messages;
+    private final byte[][] signatures;
+    private final byte[][] publicKeys;
+
+    public TestTweetNaclFastBatch() {
+        int n = 150;
+        messages = new byte[n][];
+        signatures = new byte[n][];
+        publicKeys = new byte[n][];
+        for (int i = 0; i < n; i++) {
+            TweetNaclFast.Signature.KeyPair keyPair = TweetNaclFast.Signature.keyPair();
+            messages[i] = TweetNaclFast.randombytes(i % 100);
+            signatures[i] = new TweetNaclFast.Signature(null, keyPair.getSecretKey()).detached(messages[i]);
+            publicKeys[i] = keyPair.getPublicKey();
+        }
+    }
+
+    private static byte[] hex(String hex) {
+        byte[] result = new byte[hex.length() / 2];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = (byte) Integer.parseInt(hex.substring(2 * i, 2 * i + 2), 16);
+        }
+        return result;
+    }
+
+    private static byte[] concat(byte[] a, byte[] b) {
+        byte[] result = new byte[a.length + b.length];
+        System.arraycopy(a, 0, result, 0, a.length);
+        System.arraycopy(b, 0, result, a.length, b.length);
+        return result;
+    }
+
+    private static boolean detachedVerify(byte[] message, byte[] signature, byte[] publicKey) {
+        return new TweetNaclFast.Signature(publicKey, null).detached_verify(message, signature);
+    }
+
+    private void assertSameAsDetachedVerify(boolean[] result) {
+        for (int i = 0; i < result.length; i++) {
+            assertThat(result[i]).as("signature %d", i)
+                    .isEqualTo(detachedVerify(messages[i], signatures[i], publicKeys[i]));
+        }
+    }
+
+    @Test
+    public void testValidSignatures() {
+        boolean[] result = TweetNaclFast.Signature.detached_verify_batch(messages, signatures, publicKeys);
+        for (boolean ok : result) {
+            assertThat(ok).isTrue();
+        }
+        assertSameAsDetachedVerify(result);
+    }
+
+    @Test
+    public void testTamperedSignatures() {
+        messages[3] = concat(messages[3], new byte[]{1});
+        signatures[10][5] ^= 1;
+        signatures[70][40] ^= (byte) 0x80;
+        publicKeys[149] = publicKeys[148];
+        signatures[100] = new byte[10];
+
+        boolean[] result = TweetNaclFast.Signature.detached_verify_batch(messages, signatures, publicKeys);
+
+        for (int i = 0; i < result.length; i++) {
+            assertThat(result[i]).as("signature %d", i)
+                    .isEqualTo(i != 3 && i != 10 && i != 70 && i != 100 && i != 149);
+        }
+        assertSameAsDetachedVerify(result);
+    }
+
+    @Test
+    public void testParallelVerification() {
+        signatures[130][0] ^= 1;
+
+        boolean[] result = TweetNaclFast.Signature.detached_verify_batch(messages, signatures, publicKeys, 3);
+        assertThat(result[130]).isFalse();
+        assertSameAsDetachedVerify(result);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            result = TweetNaclFast.Signature.detached_verify_batch(messages, signatures, publicKeys, executor);
+            assertThat(result[130]).isFalse();
+            assertSameAsDetachedVerify(result);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testSmallOrderPublicKeyIsRejected() {
+        // S = 1, R = B satisfies the cofactored equation for any message, crypto_sign_open accepts
+        // it if the hash is even
+        byte[] forged = concat(hex(BASE_POINT), hex(IDENTITY));
+        int acceptedByDetachedVerify = 0;
+        for (int i = 0; i < 20; i++) {
+            messages[i] = TweetNaclFast.randombytes(32);
+            signatures[i] = forged;
+            publicKeys[i] = hex(SMALL_ORDER_A);
+            if (detachedVerify(messages[i], forged, publicKeys[i])) {
+                acceptedByDetachedVerify++;
+            }
+        }
+        assertThat(acceptedByDetachedVerify).isPositive();
+
+        boolean[] result = TweetNaclFast.Signature.detached_verify_batch(messages, signatures, publicKeys);
+        for (int i = 0; i < result.length; i++) {
+            assertThat(result[i]).as("signature %d", i).isEqualTo(i >= 20);
+        }
+    }
+
+    @Test
+    public void testSmallOrderRIsRejected() {
+        // R = identity and S = 0 satisfy the cofactored equation with small order A
+        byte[] forged = concat(hex(IDENTITY), new byte[32]);
+        for (int i = 0; i < 10; i++) {
+            signatures[i] = forged;
+            publicKeys[i] = hex(SMALL_ORDER_A);
+        }
+        // small order R with valid public key
+        signatures[10] = concat(hex(SMALL_ORDER_A), new byte[32]);
+
+        boolean[] result = TweetNaclFast.Signature.detached_verify_batch(messages, signatures, publicKeys);
+        for (int i = 0; i < result.length; i++) {
+            assertThat(result[i]).as("signature %d", i).isEqualTo(i > 10);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.iwebpp.crypto;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(JUnit4.class)
+public class TestTweetNaclFastKeyPair {
+
+    private static final BigInteger P = BigInteger.ONE.shiftLeft(255).subtract(BigInteger.valueOf(19));
+
+    private static byte[] hex(String hex) {
+        byte[] result = new byte[hex.length() / 2];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = (byte) Integer.parseInt(hex.substring(2 * i, 2 * i + 2), 16);
+        }
+        return result;
+    }
+
+    private static BigInteger littleEndian(byte[] bytes) {
+        byte[] reversed = new byte[bytes.length];
+        for (int i = 0; i < bytes.length; i++) {
+            reversed[i] = bytes[bytes.length - 1 - i];
+        }
+        return new BigInteger(1, reversed);
+    }
+
+    /**
+     * Public key computed by X25519 Montgomery ladder, which does not use the fixed-base table, and
+     * converted to Edwards y: u = (1 + y) / (1 - y).
+     */
+    private static BigInteger montgomeryU(byte[] seed) throws Exception {
+        byte[] h = MessageDigest.getInstance("SHA-512").digest(seed);
+        byte[] scalar = new byte[32];
+        System.arraycopy(h, 0, scalar, 0, 32);
+        byte[] u = new byte[32];
+        TweetNaclFast.crypto_scalarmult_base(u, scalar);
+        return littleEndian(u);
+    }
+
+    private static BigInteger edwardsToMontgomery(byte[] publicKey) {
+        byte[] y = publicKey.clone();
+        y[31] &= 0x7f;
+        BigInteger yy = littleEndian(y);
+        return BigInteger.ONE.add(yy).multiply(BigInteger.ONE.subtract(yy).modInverse(P)).mod(P);
+    }
+
+    @Test
+    public void testKeyPairFromSeedRfc8032() {
+        TweetNaclFast.Signature.KeyPair keyPair = TweetNaclFast.Signature.keyPair_fromSeed(
+                hex("9d61b19deffd5a60ba844af492ec2cc44449c5697b326919703bac031cae7f60"));
+        assertThat(keyPair.getPublicKey())
+                .isEqualTo(hex("d75a980182b10ab7d54bfed3c964073a0ee172f3daa62325af021a68f707511a"));
+
+        keyPair = TweetNaclFast.Signature.keyPair_fromSeed(
+                hex("c5aa8df43f9f837bedb7442f31dcb7b166d38535076f094b85ce3a2e0b4458f7"));
+        assertThat(keyPair.getPublicKey())
+                .isEqualTo(hex("fc51cd8e6218a1a38da47ed00230f0580816ed13ba3303ac5deb911548908025"));
+    }
+
+    @Test
+    public void testKeyPairFromSeedMatchesMontgomeryLadder() throws Exception {
+        Random random = new Random(42);
+        for (int i = 0; i < 300; i++) {
+            byte[] seed = new byte[32];
+            random.nextBytes(seed);
+            if (i == 0) {
+                seed = new byte[32];
+            }
+            TweetNaclFast.Signature.KeyPair keyPair = TweetNaclFast.Signature.keyPair_fromSeed(seed);
+
+            assertThat(edwardsToMontgomery(keyPair.getPublicKey())).as("seed %d", i).isEqualTo(montgomeryU(seed));
+            assertThat(keyPair.getSecretKey()).hasSize(64);
+            byte[] signature = new TweetNaclFast.Signature(null, keyPair.getSecretKey()).detached(seed);
+            assertThat(new TweetNaclFast.Signature(keyPair.getPublicKey(), null).detached_verify(seed, signature)).isTrue();
+        }
+    }
+
+    @Test
+    public void testDetachedExpandedRfc8032() {
+        TweetNaclFast.Signature.KeyPair keyPair = TweetNaclFast.Signature.keyPair_fromSeed(
+                hex("4ccd089b28ff96da9db6c346ec114e0f5b8a319f35aba624da8cf6ed4fb8a6fb"));
+        byte[] expanded = TweetNaclFast.crypto_sign_expand(keyPair.getSecretKey());
+        assertThat(TweetNaclFast.Signature.detached_expanded(hex("72"), expanded, keyPair.getPublicKey()))
+                .isEqualTo(hex("92a009a9f0d4cab8720e820b5f642540a2b27b5416503f8fb3762223ebdb69da"
+                        + "085ac1e43e15996e458f3613d0f11d8c387b2eaeb4302aeeb00d291612bb0c00"));
+    }
+
+    @Test
+    public void testDetachedExpandedSameAsDetached() {
+        Random random = new Random(7);
+        for (int i = 0; i < 100; i++) {
+            byte[] seed = new byte[32];
+            random.nextBytes(seed);
+            byte[] message = new byte[random.nextInt(300)];
+            random.nextBytes(message);
+            TweetNaclFast.Signature.KeyPair keyPair = TweetNaclFast.Signature.keyPair_fromSeed(seed);
+            byte[] expanded = TweetNaclFast.crypto_sign_expand(keyPair.getSecretKey());
+
+            assertThat(TweetNaclFast.Signature.detached_expanded(message, expanded, keyPair.getPublicKey()))
+                    .isEqualTo(new TweetNaclFast.Signature(null, keyPair.getSecretKey()).detached(message));
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package org.ton.java.utils;
+
+/**
+ * Table-driven CRC-16/XMODEM, poly 0x1021, used in user-friendly addresses and method ids.
+ */
+public final class CRC16 {
+
+    private static final int[] LOOKUP_TABLE = new int[256];
+
+    static {
+        for (int i = 0; i < 256; i++) {
+            int crc = i << 8;
+            for (int j = 0; j < 8; j++) {
+                crc = (crc & 0x8000) != 0 ? (crc << 1) ^ 0x1021 : crc << 1;
+            }
+            LOOKUP_TABLE[i] = crc & 0xffff;
+        }
+    }
+
+    private CRC16() {
+    }
+
+    public static int compute(byte[] bytes) {
+        return compute(bytes, 0, bytes.length);
+    }
+
+    public static int compute(byte[] bytes, int off, int len) {
+        int crc = 0;
+        for (int i = off; i < off + len; i++) {
+            crc = ((crc << 8) ^ LOOKUP_TABLE[((crc >>> 8) ^ bytes[i]) & 0xff]) & 0xffff;
+        }
+        return crc;
+    }
+}
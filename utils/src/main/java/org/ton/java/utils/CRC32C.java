@@ -1,11 +1,23 @@
 package org.ton.java.utils;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.util.zip.Checksum;
 
 // poly 0x1EDC6F41
 
+/**
+ * Slice-by-8 CRC32C, used on Java 8. Use {@link #create()} or {@link #compute(byte[], int, int)}
+ * to get java.util.zip.CRC32C on Java 9+, which is intrinsified by the JVM.
+ */
 public final class CRC32C implements Checksum {
 
+    /**
+     * constructor of java.util.zip.CRC32C, null on Java 8
+     */
+    private static final MethodHandle JDK_CRC32C = findJdkCrc32c();
+
     // Full provided lookup table
     private static final int[] LOOKUP_TABLE = {
             0x00000000, 0xf26b8303, 0xe13b70f7, 0x1350f3f4, 0xc79a971f, 0x35f1141c, 0x26a1e7e8, 0xd4ca64eb,
@@ -42,8 +54,58 @@ public final class CRC32C implements Checksum {
             0x79b737ba, 0x8bdcb4b9, 0x988c474d, 0x6ae7c44e, 0xbe2da0a5, 0x4c4623a6, 0x5f16d052, 0xad7d5351
     };
 
+    /**
+     * SLICES[k][i] - crc of byte i followed by k zero bytes
+     */
+    private static final int[][] SLICES = new int[8][];
+
+    static {
+        SLICES[0] = LOOKUP_TABLE;
+        for (int k = 1; k < 8; k++) {
+            SLICES[k] = new int[256];
+            for (int i = 0; i < 256; i++) {
+                int c = SLICES[k - 1][i];
+                SLICES[k][i] = (c >>> 8) ^ LOOKUP_TABLE[c & 0xff];
+            }
+        }
+    }
+
     private int crc = 0xffffffff;
 
+    private static MethodHandle findJdkCrc32c() {
+        try {
+            Class<?> clazz = Class.forName("java.util.zip.CRC32C");
+            return MethodHandles.publicLookup()
+                    .findConstructor(clazz, MethodType.methodType(void.class))
+                    .asType(MethodType.methodType(Checksum.class));
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return java.util.zip.CRC32C if available, otherwise slice-by-8 implementation
+     */
+    public static Checksum create() {
+        if (JDK_CRC32C != null) {
+            try {
+                return (Checksum) JDK_CRC32C.invokeExact();
+            } catch (Throwable e) {
+                throw new Error("Cannot create CRC32C", e);
+            }
+        }
+        return new CRC32C();
+    }
+
+    /**
+     * @return CRC32C of the range as unsigned int
+     */
+    public static long compute(byte[] b, int off, int len) {
+        Checksum checksum = create();
+        checksum.update(b, off, len);
+        return checksum.getValue() & 0xffffffffL;
+    }
+
     @Override
     public void update(int b) {
         crc = (crc >>> 8) ^ LOOKUP_TABLE[(crc ^ b) & 0xff];
@@ -51,9 +113,21 @@ public final class CRC32C implements Checksum {
 
     @Override
     public void update(byte[] b, int off, int len) {
-        for (int i = off; i < off + len; i++) {
-            crc = (crc >>> 8) ^ LOOKUP_TABLE[(crc ^ b[i]) & 0xff];
+        int c = crc;
+        int i = off;
+        int end = off + len;
+        int[] t0 = SLICES[0], t1 = SLICES[1], t2 = SLICES[2], t3 = SLICES[3];
+        int[] t4 = SLICES[4], t5 = SLICES[5], t6 = SLICES[6], t7 = SLICES[7];
+        for (; i + 8 <= end; i += 8) {
+            int one = c ^ ((b[i] & 0xff) | ((b[i + 1] & 0xff) << 8)
+                    | ((b[i + 2] & 0xff) << 16) | ((b[i + 3] & 0xff) << 24));
+            c = t7[one & 0xff] ^ t6[(one >>> 8) & 0xff] ^ t5[(one >>> 16) & 0xff] ^ t4[one >>> 24]
+                    ^ t3[b[i + 4] & 0xff] ^ t2[b[i + 5] & 0xff] ^ t1[b[i + 6] & 0xff] ^ t0[b[i + 7] & 0xff];
+        }
+        for (; i < end; i++) {
+            c = (c >>> 8) ^ t0[(c ^ b[i]) & 0xff];
         }
+        crc = c;
     }
 
     @Override
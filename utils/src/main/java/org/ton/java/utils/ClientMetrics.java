@@ -0,0 +1,48 @@
+package org.ton.java.utils;
+
+/**
+ * Callbacks for observing queries of blockchain clients (Tonlib, LiteClient), e.g. to export
+ * them to a metrics library. All methods do nothing by default, implementations should be
+ * thread-safe and fast since they are called on the query path.
+ * <p>
+ * querySent() is followed by exactly one queryCompleted() for the same query, so the number of
+ * queries in flight is their difference, see {@link SimpleClientMetrics}.
+ */
+public interface ClientMetrics {
+
+    ClientMetrics NOOP = new ClientMetrics() {
+    };
+
+    /**
+     * @param client    client name, e.g. tonlib or lite-client
+     * @param queryType tonlib @type of the query or lite-client command
+     */
+    default void querySent(String client, String queryType) {
+    }
+
+    /**
+     * @param server        lite-server used to answer, index and ip, can be null if unknown
+     * @param latencyNanos  total time including retries
+     * @param retries       number of retries, 0 if the first attempt succeeded
+     * @param responseBytes length of the last response, 0 if there is none
+     * @param success       false if the query failed or the response is an error
+     */
+    default void queryCompleted(String client, String queryType, String server, long latencyNanos,
+                                int retries, long responseBytes, boolean success) {
+    }
+
+    /**
+     * Single attempt of a query.
+     *
+     * @param waitNanos time spent waiting for the response
+     * @param timedOut  true if no response was received
+     */
+    default void attemptCompleted(String client, String queryType, String server, long waitNanos, boolean timedOut) {
+    }
+
+    /**
+     * Time the client spent synchronizing with the blockchain before it could answer queries.
+     */
+    default void syncWait(String client, long waitNanos) {
+    }
+}
@@ -0,0 +1,311 @@
+package org.ton.java.utils;
+
+import java.util.Arrays;
+
+/**
+ * Conversions between byte arrays, packed bits (most significant bit first), hex and base64
+ * (standard and url safe) based on precomputed lookup tables.
+ * <p>
+ * Methods taking a destination array write into it and return the number of written elements,
+ * so the same output buffer can be reused between calls.
+ */
+public final class Codec {
+
+    private static final char[] HEX_LOWER = "0123456789abcdef".toCharArray();
+    private static final char[] HEX_UPPER = "0123456789ABCDEF".toCharArray();
+    private static final char[] BASE64 =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".toCharArray();
+    private static final char[] BASE64_URL =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".toCharArray();
+
+    /**
+     * byte value to its two hex characters, high and low nibble packed in one int
+     */
+    private static final int[] HEX_LOWER_PAIRS = new int[256];
+    private static final int[] HEX_UPPER_PAIRS = new int[256];
+    private static final byte[] HEX_DECODE = new byte[128];
+    /**
+     * accepts both standard and url safe alphabets
+     */
+    private static final byte[] BASE64_DECODE = new byte[128];
+    /**
+     * byte value to its 8 binary digits
+     */
+    private static final char[][] BINARY = new char[256][8];
+
+    static {
+        for (int i = 0; i < 256; i++) {
+            HEX_LOWER_PAIRS[i] = (HEX_LOWER[i >>> 4] << 16) | HEX_LOWER[i & 0xf];
+            HEX_UPPER_PAIRS[i] = (HEX_UPPER[i >>> 4] << 16) | HEX_UPPER[i & 0xf];
+            for (int j = 0; j < 8; j++) {
+                BINARY[i][j] = ((i >>> (7 - j)) & 1) == 1 ? '1' : '0';
+            }
+        }
+        Arrays.fill(HEX_DECODE, (byte) -1);
+        for (int i = 0; i < 16; i++) {
+            HEX_DECODE[HEX_LOWER[i]] = (byte) i;
+            HEX_DECODE[HEX_UPPER[i]] = (byte) i;
+        }
+        Arrays.fill(BASE64_DECODE, (byte) -1);
+        for (int i = 0; i < 64; i++) {
+            BASE64_DECODE[BASE64[i]] = (byte) i;
+            BASE64_DECODE[BASE64_URL[i]] = (byte) i;
+        }
+    }
+
+    private Codec() {
+    }
+
+    // hex
+
+    public static String toHex(byte[] data) {
+        return toHex(data, 0, data.length, false);
+    }
+
+    public static String toHex(byte[] data, int offset, int length, boolean upperCase) {
+        char[] chars = new char[length * 2];
+        toHex(data, offset, length, chars, 0, upperCase);
+        return new String(chars);
+    }
+
+    /**
+     * @return number of written chars, length * 2
+     */
+    public static int toHex(byte[] data, int offset, int length, char[] dst, int dstOffset, boolean upperCase) {
+        int[] pairs = upperCase ? HEX_UPPER_PAIRS : HEX_LOWER_PAIRS;
+        int j = dstOffset;
+        for (int i = offset; i < offset + length; i++) {
+            int pair = pairs[data[i] & 0xff];
+            dst[j++] = (char) (pair >>> 16);
+            dst[j++] = (char) (pair & 0xffff);
+        }
+        return length * 2;
+    }
+
+    /**
+     * @param data unsigned bytes
+     */
+    public static String toHex(int[] data) {
+        char[] chars = new char[data.length * 2];
+        for (int i = 0, j = 0; i < data.length; i++) {
+            int pair = HEX_LOWER_PAIRS[data[i] & 0xff];
+            chars[j++] = (char) (pair >>> 16);
+            chars[j++] = (char) (pair & 0xffff);
+        }
+        return new String(chars);
+    }
+
+    public static byte[] fromHex(CharSequence hex) {
+        checkHexLength(hex);
+        byte[] result = new byte[hex.length() / 2];
+        fromHex(hex, result, 0);
+        return result;
+    }
+
+    /**
+     * @return number of written bytes, hex.length() / 2
+     */
+    public static int fromHex(CharSequence hex, byte[] dst, int dstOffset) {
+        checkHexLength(hex);
+        int length = hex.length() / 2;
+        for (int i = 0, j = dstOffset; i < hex.length(); i += 2) {
+            dst[j++] = (byte) ((hexDigit(hex, i) << 4) | hexDigit(hex, i + 1));
+        }
+        return length;
+    }
+
+    /**
+     * @return unsigned bytes
+     */
+    public static int[] fromHexToUnsigned(CharSequence hex) {
+        checkHexLength(hex);
+        int[] result = new int[hex.length() / 2];
+        for (int i = 0, j = 0; i < hex.length(); i += 2) {
+            result[j++] = (hexDigit(hex, i) << 4) | hexDigit(hex, i + 1);
+        }
+        return result;
+    }
+
+    private static void checkHexLength(CharSequence hex) {
+        if ((hex.length() & 1) != 0) {
+            throw new IllegalArgumentException("Hex string should contain even number of characters");
+        }
+    }
+
+    private static int hexDigit(CharSequence hex, int index) {
+        char c = hex.charAt(index);
+        int digit = c < 128 ? HEX_DECODE[c] : -1;
+        if (digit < 0) {
+            throw new IllegalArgumentException("Illegal hex character '" + c + "' at position " + index);
+        }
+        return digit;
+    }
+
+    // base64
+
+    public static String toBase64(byte[] data, boolean urlSafe) {
+        char[] chars = new char[base64Length(data.length)];
+        toBase64(data, 0, data.length, chars, 0, urlSafe);
+        return new String(chars);
+    }
+
+    /**
+     * @return length of padded base64 string for length bytes
+     */
+    public static int base64Length(int length) {
+        return ((length + 2) / 3) * 4;
+    }
+
+    /**
+     * Encodes with padding.
+     *
+     * @return number of written chars, base64Length(length)
+     */
+    public static int toBase64(byte[] data, int offset, int length, char[] dst, int dstOffset, boolean urlSafe) {
+        char[] alphabet = urlSafe ? BASE64_URL : BASE64;
+        int end = offset + length;
+        int i = offset;
+        int j = dstOffset;
+        for (; i + 2 < end; i += 3) {
+            int n = ((data[i] & 0xff) << 16) | ((data[i + 1] & 0xff) << 8) | (data[i + 2] & 0xff);
+            dst[j++] = alphabet[n >>> 18];
+            dst[j++] = alphabet[(n >>> 12) & 0x3f];
+            dst[j++] = alphabet[(n >>> 6) & 0x3f];
+            dst[j++] = alphabet[n & 0x3f];
+        }
+        int rest = end - i;
+        if (rest > 0) {
+            int n = (data[i] & 0xff) << 16;
+            if (rest == 2) {
+                n |= (data[i + 1] & 0xff) << 8;
+            }
+            dst[j++] = alphabet[n >>> 18];
+            dst[j++] = alphabet[(n >>> 12) & 0x3f];
+            dst[j++] = rest == 2 ? alphabet[(n >>> 6) & 0x3f] : '=';
+            dst[j++] = '=';
+        }
+        return j - dstOffset;
+    }
+
+    /**
+     * Decodes standard or url safe base64, with or without padding.
+     */
+    public static byte[] fromBase64(CharSequence base64) {
+        int length = base64.length();
+        while (length > 0 && base64.charAt(length - 1) == '=') {
+            length--;
+        }
+        if (length % 4 == 1) {
+            throw new IllegalArgumentException("Illegal base64 length " + base64.length());
+        }
+        byte[] result = new byte[length * 3 / 4];
+        fromBase64(base64, 0, length, result, 0);
+        return result;
+    }
+
+    /**
+     * @param length number of base64 characters without padding
+     * @return number of written bytes
+     */
+    public static int fromBase64(CharSequence base64, int offset, int length, byte[] dst, int dstOffset) {
+        int end = offset + length;
+        int i = offset;
+        int j = dstOffset;
+        for (; i + 3 < end; i += 4) {
+            int n = (base64Digit(base64, i) << 18) | (base64Digit(base64, i + 1) << 12)
+                    | (base64Digit(base64, i + 2) << 6) | base64Digit(base64, i + 3);
+            dst[j++] = (byte) (n >>> 16);
+            dst[j++] = (byte) (n >>> 8);
+            dst[j++] = (byte) n;
+        }
+        int rest = end - i;
+        if (rest >= 2) {
+            int n = (base64Digit(base64, i) << 18) | (base64Digit(base64, i + 1) << 12);
+            dst[j++] = (byte) (n >>> 16);
+            if (rest == 3) {
+                n |= base64Digit(base64, i + 2) << 6;
+                dst[j++] = (byte) (n >>> 8);
+            }
+        }
+        return j - dstOffset;
+    }
+
+    private static int base64Digit(CharSequence base64, int index) {
+        char c = base64.charAt(index);
+        int digit = c < 128 ? BASE64_DECODE[c] : -1;
+        if (digit < 0) {
+            throw new IllegalArgumentException("Illegal base64 character '" + c + "' at position " + index);
+        }
+        return digit;
+    }
+
+    // bits
+
+    public static boolean getBit(byte[] data, int index) {
+        return (data[index >>> 3] & (0x80 >>> (index & 7))) != 0;
+    }
+
+    public static void setBit(byte[] data, int index, boolean value) {
+        if (value) {
+            data[index >>> 3] |= (byte) (0x80 >>> (index & 7));
+        } else {
+            data[index >>> 3] &= (byte) ~(0x80 >>> (index & 7));
+        }
+    }
+
+    /**
+     * @param data      packed bits
+     * @param bitLength number of bits to render
+     * @return string of '0' and '1' characters, for display and tests
+     */
+    public static String toBinary(byte[] data, int bitLength) {
+        char[] chars = new char[bitLength];
+        toBinary(data, bitLength, chars, 0);
+        return new String(chars);
+    }
+
+    /**
+     * @return number of written chars, bitLength
+     */
+    public static int toBinary(byte[] data, int bitLength, char[] dst, int dstOffset) {
+        int fullBytes = bitLength >>> 3;
+        for (int i = 0; i < fullBytes; i++) {
+            System.arraycopy(BINARY[data[i] & 0xff], 0, dst, dstOffset + i * 8, 8);
+        }
+        int rest = bitLength & 7;
+        if (rest != 0) {
+            System.arraycopy(BINARY[data[fullBytes] & 0xff], 0, dst, dstOffset + fullBytes * 8, rest);
+        }
+        return bitLength;
+    }
+
+    /**
+     * @param bits string of '0' and '1' characters
+     * @return packed bits, last byte padded with zeros
+     */
+    public static byte[] fromBinary(CharSequence bits) {
+        byte[] result = new byte[(bits.length() + 7) >>> 3];
+        for (int i = 0; i < bits.length(); i++) {
+            char c = bits.charAt(i);
+            if (c == '1') {
+                result[i >>> 3] |= (byte) (0x80 >>> (i & 7));
+            } else if (c != '0') {
+                throw new IllegalArgumentException("Illegal binary character '" + c + "' at position " + i);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Packs bits, last byte padded with zeros.
+     */
+    public static byte[] packBits(boolean[] bits) {
+        byte[] result = new byte[(bits.length + 7) >>> 3];
+        for (int i = 0; i < bits.length; i++) {
+            if (bits[i]) {
+                result[i >>> 3] |= (byte) (0x80 >>> (i & 7));
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,130 @@
+package org.ton.java.utils;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * SHA-256, SHA-1 and MD5 with MessageDigest instances cached per thread.
+ * <p>
+ * Digests returned by sha256Digest(), sha1Digest() and md5Digest() are reset and can be used
+ * for incremental hashing, but only until the next call of any other method of this class of the
+ * same algorithm in the same thread.
+ */
+public final class Hashing {
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> getInstance("SHA-256"));
+    private static final ThreadLocal<MessageDigest> SHA1 = ThreadLocal.withInitial(() -> getInstance("SHA-1"));
+    private static final ThreadLocal<MessageDigest> MD5 = ThreadLocal.withInitial(() -> getInstance("MD5"));
+
+    private Hashing() {
+    }
+
+    private static MessageDigest getInstance(String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static MessageDigest reset(ThreadLocal<MessageDigest> digest) {
+        MessageDigest md = digest.get();
+        md.reset();
+        return md;
+    }
+
+    public static MessageDigest sha256Digest() {
+        return reset(SHA256);
+    }
+
+    public static MessageDigest sha1Digest() {
+        return reset(SHA1);
+    }
+
+    public static MessageDigest md5Digest() {
+        return reset(MD5);
+    }
+
+    public static byte[] sha256(byte[] data) {
+        return sha256Digest().digest(data);
+    }
+
+    public static byte[] sha256(byte[] data, int offset, int length) {
+        MessageDigest md = sha256Digest();
+        md.update(data, offset, length);
+        return md.digest();
+    }
+
+    /**
+     * Hashes remaining bytes of the buffer, position is moved to the limit.
+     */
+    public static byte[] sha256(ByteBuffer data) {
+        MessageDigest md = sha256Digest();
+        md.update(data);
+        return md.digest();
+    }
+
+    /**
+     * @return hash of concatenation of all parts
+     */
+    public static byte[] sha256(byte[]... parts) {
+        MessageDigest md = sha256Digest();
+        for (byte[] part : parts) {
+            md.update(part);
+        }
+        return md.digest();
+    }
+
+    /**
+     * @param data array of unsigned bytes
+     */
+    public static byte[] sha256(int[] data) {
+        MessageDigest md = sha256Digest();
+        update(md, data);
+        return md.digest();
+    }
+
+    public static byte[] sha1(byte[] data) {
+        return sha1Digest().digest(data);
+    }
+
+    public static byte[] sha1(byte[] data, int offset, int length) {
+        MessageDigest md = sha1Digest();
+        md.update(data, offset, length);
+        return md.digest();
+    }
+
+    public static byte[] sha1(ByteBuffer data) {
+        MessageDigest md = sha1Digest();
+        md.update(data);
+        return md.digest();
+    }
+
+    public static byte[] md5(byte[] data) {
+        return md5Digest().digest(data);
+    }
+
+    public static byte[] md5(byte[] data, int offset, int length) {
+        MessageDigest md = md5Digest();
+        md.update(data, offset, length);
+        return md.digest();
+    }
+
+    public static byte[] md5(ByteBuffer data) {
+        MessageDigest md = md5Digest();
+        md.update(data);
+        return md.digest();
+    }
+
+    private static void update(MessageDigest md, int[] data) {
+        byte[] chunk = new byte[Math.min(data.length, 256)];
+        for (int i = 0; i < data.length; i += chunk.length) {
+            int length = Math.min(chunk.length, data.length - i);
+            for (int j = 0; j < length; j++) {
+                chunk[j] = (byte) data[i + j];
+            }
+            md.update(chunk, 0, length);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package org.ton.java.utils;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory {@link ClientMetrics} without dependencies, keeps counters and latency histograms per
+ * client and query type and per lite-server.
+ * <p>
+ * Latency histogram has power of two buckets in milliseconds, bucket i counts latencies below
+ * 2^i ms, the last one counts the rest.
+ */
+public class SimpleClientMetrics implements ClientMetrics {
+
+    public static final int BUCKETS = 18;
+
+    private final Map<String, Stats> queries = new ConcurrentHashMap<>();
+    private final Map<String, Stats> servers = new ConcurrentHashMap<>();
+    private final AtomicLong syncWaitNanos = new AtomicLong();
+
+    public static class Stats {
+        private final AtomicLong inFlight = new AtomicLong();
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicLong retries = new AtomicLong();
+        private final AtomicLong timeouts = new AtomicLong();
+        private final AtomicLong responseBytes = new AtomicLong();
+        private final AtomicLong latencyNanos = new AtomicLong();
+        private final AtomicLongArray latencyHistogram = new AtomicLongArray(BUCKETS);
+
+        void record(long nanos, int retries, long bytes, boolean success) {
+            count.incrementAndGet();
+            if (!success) {
+                errors.incrementAndGet();
+            }
+            this.retries.addAndGet(retries);
+            responseBytes.addAndGet(bytes);
+            latencyNanos.addAndGet(nanos);
+            latencyHistogram.incrementAndGet(bucket(nanos));
+        }
+
+        public long getInFlight() {
+            return inFlight.get();
+        }
+
+        public long getCount() {
+            return count.get();
+        }
+
+        public long getErrors() {
+            return errors.get();
+        }
+
+        public long getRetries() {
+            return retries.get();
+        }
+
+        public long getTimeouts() {
+            return timeouts.get();
+        }
+
+        public long getResponseBytes() {
+            return responseBytes.get();
+        }
+
+        /**
+         * @return number of queries in histogram bucket, see SimpleClientMetrics
+         */
+        public long getLatencyHistogram(int bucket) {
+            return latencyHistogram.get(bucket);
+        }
+
+        public double getAverageLatencyMs() {
+            long n = count.get();
+            return n == 0 ? 0 : latencyNanos.get() / 1e6 / n;
+        }
+
+        /**
+         * @param percentile from 0 to 100
+         * @return upper bound of the histogram bucket in ms, Long.MAX_VALUE for the last bucket
+         */
+        public long getLatencyPercentileMs(double percentile) {
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                total += latencyHistogram.get(i);
+            }
+            long rank = (long) Math.ceil(total * percentile / 100);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += latencyHistogram.get(i);
+                if (seen >= rank && seen > 0) {
+                    return i == BUCKETS - 1 ? Long.MAX_VALUE : 1L << i;
+                }
+            }
+            return 0;
+        }
+
+        private static int bucket(long nanos) {
+            long ms = nanos / 1_000_000;
+            int bucket = 64 - Long.numberOfLeadingZeros(ms);
+            return Math.min(bucket, BUCKETS - 1);
+        }
+    }
+
+    @Override
+    public void querySent(String client, String queryType) {
+        stats(queries, key(client, queryType)).inFlight.incrementAndGet();
+    }
+
+    @Override
+    public void queryCompleted(String client, String queryType, String server, long latencyNanos,
+                               int retries, long responseBytes, boolean success) {
+        Stats stats = stats(queries, key(client, queryType));
+        stats.inFlight.decrementAndGet();
+        stats.record(latencyNanos, retries, responseBytes, success);
+    }
+
+    @Override
+    public void attemptCompleted(String client, String queryType, String server, long waitNanos, boolean timedOut) {
+        Stats stats = stats(servers, key(client, String.valueOf(server)));
+        stats.record(waitNanos, 0, 0, !timedOut);
+        if (timedOut) {
+            stats.timeouts.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void syncWait(String client, long waitNanos) {
+        syncWaitNanos.addAndGet(waitNanos);
+    }
+
+    /**
+     * @return stats by "client:queryType", sorted
+     */
+    public Map<String, Stats> getQueryStats() {
+        return new TreeMap<>(queries);
+    }
+
+    /**
+     * @return stats of single attempts by "client:server", sorted
+     */
+    public Map<String, Stats> getServerStats() {
+        return new TreeMap<>(servers);
+    }
+
+    public long getSyncWaitMs() {
+        return syncWaitNanos.get() / 1_000_000;
+    }
+
+    public long getInFlight() {
+        long inFlight = 0;
+        for (Stats stats : queries.values()) {
+            inFlight += stats.inFlight.get();
+        }
+        return inFlight;
+    }
+
+    public void reset() {
+        queries.clear();
+        servers.clear();
+        syncWaitNanos.set(0);
+    }
+
+    private static Stats stats(Map<String, Stats> map, String key) {
+        return map.computeIfAbsent(key, k -> new Stats());
+    }
+
+    private static String key(String client, String name) {
+        return client + ":" + name;
+    }
+}
@@ -6,7 +6,6 @@ import com.sun.jna.Native;
 import com.sun.jna.platform.win32.Kernel32;
 import com.sun.jna.platform.win32.WinNT;
 import org.apache.commons.codec.DecoderException;
-import org.apache.commons.codec.binary.Hex;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.commons.lang3.StringUtils;
 
@@ -16,8 +15,6 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.math.RoundingMode;
 import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
@@ -34,7 +31,6 @@ import static java.util.Objects.isNull;
 
 public class Utils {
     private static final Logger log = Logger.getLogger(Utils.class.getName());
-    private static final String HEXES = "0123456789ABCDEF";
     private static final long BLN1 = 1000000000L;
     private static final BigInteger BI_BLN1 = BigInteger.valueOf(BLN1);
     private static final BigDecimal BD_BLN1 = BigDecimal.valueOf(BLN1);
@@ -53,9 +49,7 @@ public class Utils {
      * uses POLY 0x1EDC6F41
      */
     public static Long getCRC32ChecksumAsLong(byte[] bytes) {
-        CRC32C crc32c = new CRC32C();
-        crc32c.update(bytes, 0, bytes.length);
-        return crc32c.getValue() & 0x00000000ffffffffL;
+        return CRC32C.compute(bytes, 0, bytes.length);
     }
 
     public static String getCRC32ChecksumAsHex(byte[] bytes) {
@@ -175,20 +169,7 @@ public class Utils {
 
     // CRC-16/XMODEM
     public static int getCRC16ChecksumAsInt(byte[] bytes) {
-        int crc = 0x0000;
-        int polynomial = 0x1021;
-
-        for (byte b : bytes) {
-            for (int i = 0; i < 8; i++) {
-                boolean bit = ((b >> (7 - i) & 1) == 1);
-                boolean c15 = ((crc >> 15 & 1) == 1);
-                crc <<= 1;
-                if (c15 ^ bit) crc ^= polynomial;
-            }
-        }
-
-        crc &= 0xffff;
-        return crc;
+        return CRC16.compute(bytes);
     }
 
     public static int calculateMethodId(String methodName) {
@@ -206,27 +187,11 @@ public class Utils {
     }
 
     public static String sha256(final String base) {
-        try {
-            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            final byte[] hash = digest.digest(base.getBytes(StandardCharsets.UTF_8));
-            final StringBuilder hexString = new StringBuilder();
-            for (byte b : hash) {
-                final String hex = Integer.toHexString(0xff & b);
-                if (hex.length() == 1) hexString.append('0');
-                hexString.append(hex);
-            }
-            return hexString.toString();
-        } catch (Exception ex) {
-            throw new RuntimeException(ex);
-        }
+        return bytesToHex(Hashing.sha256(base.getBytes(StandardCharsets.UTF_8)));
     }
 
     public static String sha256(int[] bytes) {
-        byte[] converted = new byte[bytes.length];
-        for (int i = 0; i < bytes.length; i++) {
-            converted[i] = (byte) (bytes[i] & 0xff);
-        }
-        return sha256(converted);
+        return bytesToHex(Hashing.sha256(bytes));
     }
 
     public static byte[] unsignedBytesToSigned(int[] bytes) {
@@ -246,104 +211,70 @@ public class Utils {
     }
 
     public static byte[] sha256AsArray(byte[] bytes) {
-        try {
-            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            return digest.digest(bytes);
-        } catch (NoSuchAlgorithmException ex) {
-            throw new RuntimeException(ex);
-        }
+        return Hashing.sha256(bytes);
     }
 
     public static byte[] sha1AsArray(byte[] bytes) {
-        try {
-            final MessageDigest digest = MessageDigest.getInstance("SHA-1");
-            return digest.digest(bytes);
-        } catch (NoSuchAlgorithmException ex) {
-            throw new RuntimeException(ex);
-        }
+        return Hashing.sha1(bytes);
     }
 
     public static byte[] md5AsArray(byte[] bytes) {
-        try {
-            final MessageDigest digest = MessageDigest.getInstance("MD5");
-            return digest.digest(bytes);
-        } catch (NoSuchAlgorithmException ex) {
-            throw new RuntimeException(ex);
-        }
+        return Hashing.md5(bytes);
     }
 
     public static String md5(byte[] bytes) {
-        try {
-            final MessageDigest digest = MessageDigest.getInstance("MD5");
-            final byte[] hash = digest.digest(bytes);
-            return Utils.bytesToHex(hash);
-        } catch (NoSuchAlgorithmException ex) {
-            throw new RuntimeException(ex);
-        }
+        return Utils.bytesToHex(Hashing.md5(bytes));
     }
 
     public static String sha256(byte[] bytes) {
-        try {
-            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            final byte[] hash = digest.digest(bytes);
-            return Utils.bytesToHex(hash);
-        } catch (NoSuchAlgorithmException ex) {
-            throw new RuntimeException(ex);
-        }
+        return Utils.bytesToHex(Hashing.sha256(bytes));
     }
 
     public static String sha1(byte[] bytes) {
-        try {
-            final MessageDigest digest = MessageDigest.getInstance("SHA-1");
-            final byte[] hash = digest.digest(bytes);
-            return Utils.bytesToHex(hash);
-        } catch (NoSuchAlgorithmException ex) {
-            throw new RuntimeException(ex);
-        }
+        return Utils.bytesToHex(Hashing.sha1(bytes));
     }
 
     public static String bitsToDec(boolean[] bits) {
-        StringBuilder s = new StringBuilder();
-        for (boolean b : bits) {
-            s.append(b ? '1' : '0');
-        }
-        return new BigInteger(s.toString(), 2).toString(10);
+        return bitsToBigInteger(bits).toString(10);
     }
 
     public static String bitsToHex(boolean[] bits) {
-        StringBuilder s = new StringBuilder();
-        for (boolean b : bits) {
-            s.append(b ? '1' : '0');
-        }
-        return new BigInteger(s.toString(), 2).toString(16);
+        return bitsToBigInteger(bits).toString(16);
+    }
+
+    private static BigInteger bitsToBigInteger(boolean[] bits) {
+        int pad = (8 - bits.length % 8) % 8;
+        return new BigInteger(1, Codec.packBits(bits)).shiftRight(pad);
     }
 
+    /**
+     * @return binary representation without leading zeros
+     */
     public static String bytesToBitString(byte[] raw) {
-        String hex = Utils.bytesToHex(signedBytesToUnsigned(raw));
-        BigInteger bi = new BigInteger(hex, 16);
-        return bi.toString(2);
+        return stripLeadingZeros(Codec.toBinary(raw, raw.length * 8));
     }
 
+    /**
+     * @return binary representation without leading zeros
+     */
     public static String bytesToBitString(int[] raw) {
-        String hex = Utils.bytesToHex(raw);
-        BigInteger bi = new BigInteger(hex, 16);
-        return bi.toString(2);
+        return bytesToBitString(unsignedBytesToSigned(raw));
     }
 
-    public static String bytesToHex(byte[] raw) {
-        final StringBuilder hex = new StringBuilder(2 * raw.length);
-        for (final byte b : raw) {
-            hex.append(HEXES.charAt((b & 0xF0) >> 4)).append(HEXES.charAt((b & 0x0F)));
+    private static String stripLeadingZeros(String digits) {
+        int i = 0;
+        while (i < digits.length() - 1 && digits.charAt(i) == '0') {
+            i++;
         }
-        return hex.toString().toLowerCase();
+        return digits.substring(i);
+    }
+
+    public static String bytesToHex(byte[] raw) {
+        return Codec.toHex(raw);
     }
 
     public static String bytesToHex(int[] raw) {
-        final StringBuilder hex = new StringBuilder(2 * raw.length);
-        for (final int b : raw) {
-            hex.append(HEXES.charAt((b & 0xF0) >> 4)).append(HEXES.charAt((b & 0x0F)));
-        }
-        return hex.toString().toLowerCase();
+        return Codec.toHex(raw);
     }
 
     public static String base64UrlSafeToHexString(String base64) {
@@ -357,18 +288,18 @@ public class Utils {
     }
 
     public static String hexStringToBase64UrlSafe(String hex) throws DecoderException {
-        byte[] decodedHex = Hex.decodeHex(hex);
-        return new String(Base64.getUrlEncoder().encode(decodedHex));
+        return Codec.toBase64(Codec.fromHex(hex), true);
     }
 
     public static String hexStringToBase64(String hex) throws DecoderException {
-        byte[] decodedHex = Hex.decodeHex(hex);
-        return new String(Base64.getEncoder().encode(decodedHex));
+        return Codec.toBase64(Codec.fromHex(hex), false);
     }
 
+    /**
+     * @return binary representation without leading zeros
+     */
     public static String base64ToBitString(String base64) {
-        byte[] decode = Base64.getDecoder().decode(base64);
-        return new BigInteger(1, decode).toString(2);
+        return bytesToBitString(Base64.getDecoder().decode(base64));
     }
 
     public static String bytesToBase64(byte[] bytes) {
@@ -408,28 +339,19 @@ public class Utils {
         return Base64.getEncoder().encodeToString(str.getBytes(StandardCharsets.UTF_8));
     }
 
+    /**
+     * @param binary bits, padded with zeros up to whole bytes
+     * @return hex representation without leading zeros
+     */
     public static String bitStringToHex(String binary) {
-        int toPad = (binary.length() % 8) == 0 ? 0 : 8 - (binary.length() % 8);
-        final StringBuilder bits = new StringBuilder(binary);
-        if (toPad != 0) {
-            for (int i = 0; i < toPad; i++) {
-                bits.append('0');
-            }
-        }
-        return new BigInteger(bits.toString(), 2).toString(16);
+        return stripLeadingZeros(Codec.toHex(Codec.fromBinary(binary)));
     }
 
+    /**
+     * @param binary bits, padded with zeros up to whole bytes
+     */
     public static String bitStringToBase64(String binary) throws DecoderException {
-        int toPad = (binary.length() % 8) == 0 ? 0 : 8 - (binary.length() % 8);
-        final StringBuilder bits = new StringBuilder(binary);
-        if (toPad != 0) {
-            for (int i = 0; i < toPad; i++) {
-                bits.append('0');
-            }
-        }
-        String hex = new BigInteger(bits.toString(), 2).toString(16);
-        byte[] decodedHex = Hex.decodeHex(hex);
-        return new String(Base64.getEncoder().encode(decodedHex));
+        return Codec.toBase64(Codec.fromBinary(binary), false);
     }
 
     public static String repeat(String str, int count) {
@@ -440,53 +362,19 @@ public class Utils {
         return sb.toString();
     }
 
+    /**
+     * @param binary bits, padded with zeros up to whole bytes
+     */
     public static String bitStringToBase64UrlSafe(String binary) throws DecoderException {
-        int toPad = (binary.length() % 8) == 0 ? 0 : 8 - (binary.length() % 8);
-        final StringBuilder bits = new StringBuilder(binary);
-        if (toPad != 0) {
-            for (int i = 0; i < toPad; i++) {
-                bits.append('0');
-            }
-        }
-        String hex = new BigInteger(bits.toString(), 2).toString(16);
-        byte[] decodedHex = Hex.decodeHex(hex);
-        return new String(Base64.getUrlEncoder().encode(decodedHex));
+        return Codec.toBase64(Codec.fromBinary(binary), true);
     }
 
     public static int[] bitStringToIntArray(String bitString) {
-        if (bitString.isEmpty()) {
-            return new int[0];
-        }
-        int sz = bitString.length();
-        int[] result = new int[(sz + 7) / 8];
-
-        for (int i = 0; i < sz; i++) {
-            if (bitString.charAt(i) == '1') {
-                result[(i / 8)] |= 1 << (7 - (i % 8));
-            } else {
-                result[(i / 8)] &= ~(1 << (7 - (i % 8)));
-            }
-        }
-
-        return result;
+        return signedBytesToUnsigned(Codec.fromBinary(bitString));
     }
 
     public static byte[] bitStringToByteArray(String bitString) {
-        if (bitString.isEmpty()) {
-            return new byte[0];
-        }
-        int sz = bitString.length();
-        byte[] result = new byte[(sz + 7) / 8];
-
-        for (int i = 0; i < sz; i++) {
-            if (bitString.charAt(i) == '1') {
-                result[(i / 8)] |= (byte) (1 << (7 - (i % 8)));
-            } else {
-                result[(i / 8)] &= (byte) ~(1 << (7 - (i % 8)));
-            }
-        }
-
-        return result;
+        return Codec.fromBinary(bitString);
     }
 
     public static byte[] concatBytes(byte[] a, byte[] b) {
@@ -581,21 +469,11 @@ public class Utils {
     }
 
     private static byte[] hexStringToByteArray(String s) {
-        int len = s.length();
-        byte[] data = new byte[len / 2];
-        for (int i = 0; i < len; i += 2) {
-            data[i / 2] =
-                    (byte) ((Character.digit(s.charAt(i), 16) << 4) + Character.digit(s.charAt(i + 1), 16));
-        }
-        return data;
+        return Codec.fromHex(s);
     }
 
     private static int[] hexStringToIntArray(String s) {
-        int[] result = new int[s.length() / 2];
-        for (int i = 0; i < s.length(); i += 2) {
-            result[i / 2] = Integer.parseInt(s.substring(i, i + 2), 16);
-        }
-        return result;
+        return Codec.fromHexToUnsigned(s);
     }
 
     /**
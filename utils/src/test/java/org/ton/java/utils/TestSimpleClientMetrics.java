@@ -0,0 +1,55 @@
+package org.ton.java.utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+@Slf4j
+@RunWith(JUnit4.class)
+public class TestSimpleClientMetrics {
+
+    private static final long MS = 1_000_000;
+
+    @Test
+    public void testQueryStats() {
+        SimpleClientMetrics metrics = new SimpleClientMetrics();
+        metrics.querySent("tonlib", "blocks.getShards");
+        metrics.querySent("tonlib", "blocks.getShards");
+        metrics.querySent("tonlib", "smc.runGetMethod");
+        assertThat(metrics.getInFlight()).isEqualTo(3);
+
+        metrics.queryCompleted("tonlib", "blocks.getShards", "0 (1.2.3.4)", 3 * MS, 0, 100, true);
+        metrics.queryCompleted("tonlib", "blocks.getShards", "0 (1.2.3.4)", 300 * MS, 2, 50, false);
+        assertThat(metrics.getInFlight()).isEqualTo(1);
+
+        SimpleClientMetrics.Stats stats = metrics.getQueryStats().get("tonlib:blocks.getShards");
+        assertThat(stats.getCount()).isEqualTo(2);
+        assertThat(stats.getErrors()).isEqualTo(1);
+        assertThat(stats.getRetries()).isEqualTo(2);
+        assertThat(stats.getResponseBytes()).isEqualTo(150);
+        assertThat(stats.getAverageLatencyMs()).isEqualTo(151.5);
+        assertThat(stats.getLatencyHistogram(2)).isEqualTo(1);
+        assertThat(stats.getLatencyPercentileMs(50)).isEqualTo(4);
+        assertThat(stats.getLatencyPercentileMs(99)).isEqualTo(512);
+    }
+
+    @Test
+    public void testServerStats() {
+        SimpleClientMetrics metrics = new SimpleClientMetrics();
+        metrics.attemptCompleted("tonlib", "blocks.getShards", "1 (5.6.7.8)", 10 * MS, false);
+        metrics.attemptCompleted("tonlib", "blocks.getShards", "1 (5.6.7.8)", 20000 * MS, true);
+        metrics.syncWait("tonlib", 1500 * MS);
+
+        SimpleClientMetrics.Stats stats = metrics.getServerStats().get("tonlib:1 (5.6.7.8)");
+        assertThat(stats.getCount()).isEqualTo(2);
+        assertThat(stats.getTimeouts()).isEqualTo(1);
+        assertThat(stats.getErrors()).isEqualTo(1);
+        assertThat(metrics.getSyncWaitMs()).isEqualTo(1500);
+
+        metrics.reset();
+        assertThat(metrics.getServerStats().isEmpty()).isTrue();
+    }
+}
@@ -444,4 +444,79 @@ public class TestUtils {
         }
         log.info("10k switches took {}ms", System.currentTimeMillis() - l);
     }
+
+    @Test
+    public void testHashing() {
+        assertThat(Utils.sha256("abc")).isEqualTo("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad");
+        assertThat(Utils.bytesToHex(Hashing.sha1("abc".getBytes()))).isEqualTo("a9993e364706816aba3e25717850c26c9cd0d89d");
+        assertThat(Utils.bytesToHex(Hashing.md5("abc".getBytes()))).isEqualTo("900150983cd24fb0d6963f7d28e17f72");
+
+        byte[] data = "xxabcxx".getBytes();
+        assertThat(Hashing.sha256(data, 2, 3)).isEqualTo(Hashing.sha256("abc".getBytes()));
+        assertThat(Hashing.sha256(java.nio.ByteBuffer.wrap(data, 2, 3))).isEqualTo(Hashing.sha256("abc".getBytes()));
+        assertThat(Hashing.sha256("a".getBytes(), "bc".getBytes())).isEqualTo(Hashing.sha256("abc".getBytes()));
+        assertThat(Hashing.sha256(new int[]{'a', 'b', 'c'})).isEqualTo(Hashing.sha256("abc".getBytes()));
+    }
+
+    @Test
+    public void testCodec() {
+        byte[] data = {0, 1, (byte) 0x7f, (byte) 0x80, (byte) 0xff};
+        assertThat(Codec.toHex(data)).isEqualTo("00017f80ff");
+        assertThat(Codec.toHex(data, 1, 3, true)).isEqualTo("017F80");
+        assertThat(Codec.fromHex("00017F80ff")).isEqualTo(data);
+        assertThat(Codec.fromHexToUnsigned("00017f80ff")).isEqualTo(new int[]{0, 1, 127, 128, 255});
+        assertThrows(IllegalArgumentException.class, () -> Codec.fromHex("0g"));
+        assertThrows(IllegalArgumentException.class, () -> Codec.fromHex("abc"));
+
+        for (int len = 0; len < 8; len++) {
+            byte[] bytes = new byte[len];
+            for (int i = 0; i < len; i++) {
+                bytes[i] = (byte) (i * 73 + 250);
+            }
+            assertThat(Codec.toBase64(bytes, false)).isEqualTo(java.util.Base64.getEncoder().encodeToString(bytes));
+            assertThat(Codec.toBase64(bytes, true)).isEqualTo(java.util.Base64.getUrlEncoder().encodeToString(bytes));
+            assertThat(Codec.fromBase64(Codec.toBase64(bytes, true))).isEqualTo(bytes);
+            assertThat(Codec.fromBase64(java.util.Base64.getEncoder().withoutPadding().encodeToString(bytes))).isEqualTo(bytes);
+        }
+
+        char[] buffer = new char[16];
+        assertThat(Codec.toBinary(data, 12, buffer, 0)).isEqualTo(12);
+        assertThat(new String(buffer, 0, 12)).isEqualTo("000000000000");
+        assertThat(Codec.toBinary(new byte[]{(byte) 0xa5, (byte) 0xf0}, 12)).isEqualTo("101001011111");
+        assertThat(Codec.fromBinary("101001011111")).isEqualTo(new byte[]{(byte) 0xa5, (byte) 0xf0});
+        assertThat(Codec.getBit(new byte[]{0x40}, 1)).isTrue();
+
+        assertThat(Utils.bytesToBitString(new byte[]{0, 5})).isEqualTo("101");
+        assertThat(Utils.bitStringToHex("00000001")).isEqualTo("1");
+        assertThat(Utils.bitsToHex(new boolean[]{true, false, true, true, true})).isEqualTo("17");
+    }
+
+    @Test
+    public void testCrc32cSliceBy8() {
+        byte[] check = "123456789".getBytes();
+        assertThat(CRC32C.compute(check, 0, check.length)).isEqualTo(0xe3069283L);
+
+        byte[] data = new byte[1000];
+        new java.util.Random(1).nextBytes(data);
+        for (int off = 0; off < 9; off++) {
+            for (int len = 0; len < 40; len++) {
+                CRC32C sliceBy8 = new CRC32C();
+                sliceBy8.update(data, off, len);
+                CRC32C byteByByte = new CRC32C();
+                for (int i = off; i < off + len; i++) {
+                    byteByByte.update(data[i]);
+                }
+                assertThat(sliceBy8.getValue() & 0xffffffffL).isEqualTo(byteByByte.getValue() & 0xffffffffL);
+                assertThat(CRC32C.compute(data, off, len)).isEqualTo(sliceBy8.getValue() & 0xffffffffL);
+            }
+        }
+    }
+
+    @Test
+    public void testCrc16() {
+        assertThat(CRC16.compute("123456789".getBytes())).isEqualTo(0x31c3);
+        assertThat(Utils.calculateMethodId("seqno")).isEqualTo(85143);
+        byte[] data = "xx123456789".getBytes();
+        assertThat(CRC16.compute(data, 2, 9)).isEqualTo(0x31c3);
+    }
 }